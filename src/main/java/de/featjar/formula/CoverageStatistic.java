@@ -63,6 +63,22 @@ public class CoverageStatistic {
         numberOfIgnoredElements++;
     }
 
+    public void incNumberOfInvalidElements(long count) {
+        numberOfInvalidElements += count;
+    }
+
+    public void incNumberOfCoveredElements(long count) {
+        numberOfCoveredElements += count;
+    }
+
+    public void incNumberOfUncoveredElements(long count) {
+        numberOfUncoveredElements += count;
+    }
+
+    public void incNumberOfIgnoredElements(long count) {
+        numberOfIgnoredElements += count;
+    }
+
     public long total() {
         return numberOfInvalidElements + numberOfCoveredElements + numberOfUncoveredElements + numberOfIgnoredElements;
     }
@@ -37,6 +37,7 @@ import de.featjar.formula.assignment.ValueClause;
 import de.featjar.formula.assignment.ValueSolution;
 import de.featjar.formula.structure.IExpression;
 import de.featjar.formula.structure.IFormula;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -56,6 +57,41 @@ import java.util.stream.Collectors;
  */
 public class VariableMap extends RangeMap<String> {
 
+    private static final class TranslationTable {
+        private final WeakReference<VariableMap> newVariableMap;
+        private final List<String> oldNames;
+        private final List<String> newNames;
+        private final int[] table;
+
+        private TranslationTable(
+                VariableMap newVariableMap, List<String> oldNames, List<String> newNames, int[] table) {
+            this.newVariableMap = new WeakReference<>(newVariableMap);
+            this.oldNames = oldNames;
+            this.newNames = newNames;
+            this.table = table;
+        }
+
+        private boolean isValid(VariableMap newVariableMap, List<String> oldNames, List<String> newNames) {
+            return this.newVariableMap.get() == newVariableMap
+                    && isIdentical(this.oldNames, oldNames)
+                    && isIdentical(this.newNames, newNames);
+        }
+
+        private static boolean isIdentical(List<String> names1, List<String> names2) {
+            if (names1.size() != names2.size()) {
+                return false;
+            }
+            for (int i = 0; i < names1.size(); i++) {
+                if (names1.get(i) != names2.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private transient volatile TranslationTable translationTable;
+
     /**
      * Constructs a new empty variable map.
      */
@@ -135,6 +171,82 @@ public class VariableMap extends RangeMap<String> {
         return new BooleanAssignment(entryStream().mapToInt(e -> e.getValue()).toArray());
     }
 
+    /**
+     * {@return a table that maps each index of this map to the index of the same variable in the given map}
+     * The entry for an index is 0 if the index is not mapped in this map or its variable is not contained in the given map.
+     * The table for the last given map is cached and reused until one of the two maps changes.
+     * The given map is only referenced weakly.
+     *
+     * @param newVariableMap the new variable map
+     */
+    public int[] getTranslationTable(VariableMap newVariableMap) {
+        final List<String> oldNames = getObjects(true);
+        final List<String> newNames = newVariableMap.getObjects(true);
+        final TranslationTable cachedTable = translationTable;
+        if (cachedTable != null && cachedTable.isValid(newVariableMap, oldNames, newNames)) {
+            return cachedTable.table;
+        }
+        final int maxIndex = maxIndex();
+        final int[] table = new int[Math.max(0, maxIndex) + 1];
+        for (int i = 1; i <= maxIndex; i++) {
+            final Result<String> name = get(i);
+            if (name.isPresent()) {
+                final Integer newIndex = newVariableMap.objectToIndex.get(name.get());
+                table[i] = newIndex != null ? newIndex : 0;
+            }
+        }
+        translationTable = new TranslationTable(newVariableMap, oldNames, newNames, table);
+        return table;
+    }
+
+    /**
+     * {@return the given literal translated with the given table}
+     * Literals without an entry in the table are translated by {@link #adapt(int, RangeMap, boolean)}.
+     *
+     * @param literal the literal
+     * @param translationTable a table computed by {@link #getTranslationTable(VariableMap)}
+     * @param newVariableMap the variable map for which the table was computed
+     */
+    public int translate(int literal, int[] translationTable, VariableMap newVariableMap) {
+        if (literal == 0) {
+            return 0;
+        }
+        final int variable = Math.abs(literal);
+        final int newVariable = variable < translationTable.length ? translationTable[variable] : 0;
+        if (newVariable == 0) {
+            return adapt(literal, newVariableMap, false);
+        }
+        return literal > 0 ? newVariable : -newVariable;
+    }
+
+    /**
+     * Translates the given literals with the given table.
+     * Behaves like {@link #adapt(int[], int[], RangeMap, boolean) adapt(oldLiterals, newLiterals, newVariableMap, false)}:
+     * If both arrays are identical, each literal is replaced in place,
+     * otherwise, each translated literal {@code l} is stored at index {@code |l| - 1} of the new array.
+     *
+     * @param oldLiterals the literals to translate
+     * @param newLiterals the array for the translated literals
+     * @param translationTable a table computed by {@link #getTranslationTable(VariableMap)}
+     * @param newVariableMap the variable map for which the table was computed
+     */
+    public void translate(int[] oldLiterals, int[] newLiterals, int[] translationTable, VariableMap newVariableMap) {
+        if (oldLiterals == newLiterals) {
+            for (int i = 0; i < oldLiterals.length; i++) {
+                oldLiterals[i] = translate(oldLiterals[i], translationTable, newVariableMap);
+            }
+        } else {
+            for (int literal : oldLiterals) {
+                if (literal != 0) {
+                    final int newLiteral = translate(literal, translationTable, newVariableMap);
+                    if (newLiteral != 0) {
+                        newLiterals[Math.abs(newLiteral) - 1] = newLiteral;
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * {@return a human readable mapping}
      */
@@ -0,0 +1,516 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A list of Boolean assignments that stores the literals of all assignments in large primitive arrays (chunks).
+ * Each assignment is stored contiguously within one chunk, and a chunk holds up to {@value #CHUNK_SIZE} literals
+ * (or a single longer assignment).
+ * Thus, the total number of literals is not limited by the maximum length of an array.
+ * As long as all assignments have the same length (e.g., complete solutions), they are addressed by a fixed stride.
+ * Otherwise, additional arrays of positions and lengths are used.
+ * <p>
+ * As a {@link BooleanAssignment} owns its literal array, assignments returned by {@link #get(int)} and during iteration are materialized copies.
+ * Changing them does not change this list.
+ * To scan this list without creating objects, use the flyweight views returned by {@link #row(int)} and {@link #forEachRow(java.util.function.Consumer)},
+ * which point directly into the chunks.
+ * Only the type of each assignment ({@link BooleanSolution}, {@link BooleanClause}, or {@link BooleanAssignment}) is retained,
+ * additional state of other subclasses is not.
+ * Appending assignments and replacing an assignment by one of the same length is cheap,
+ * inserting or removing assignments anywhere else copies all subsequent assignments.
+ *
+ * @author agent
+ */
+public class ArenaBooleanAssignmentList extends BooleanAssignmentList {
+
+    /**
+     * The maximum number of literals in a chunk, unless it contains a single longer assignment.
+     */
+    public static final int CHUNK_SIZE = 1 << 24;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final int TRANSLATION_BLOCK_SIZE = 1024;
+
+    private static final class Rows extends Storage {
+        private final int chunkSize;
+
+        private int[][] chunks;
+        private int[] chunkSizes;
+        private int numberOfChunks;
+        private int literalCapacity;
+        private long numberOfLiterals;
+
+        private int stride = -1;
+        private int rowsPerChunk;
+
+        private long[] positions;
+        private int[] lengths;
+
+        private byte[] types;
+        private int size;
+
+        private Rows(int capacity, long literalCapacity, int chunkSize) {
+            this.chunkSize = chunkSize;
+            chunks = new int[0][];
+            chunkSizes = new int[0];
+            this.literalCapacity = (int) Math.max(0, Math.min(literalCapacity, chunkSize));
+            types = new byte[Math.max(0, capacity)];
+        }
+
+        private Rows(Rows other) {
+            chunkSize = other.chunkSize;
+            numberOfChunks = other.numberOfChunks;
+            chunks = new int[numberOfChunks][];
+            chunkSizes = Arrays.copyOf(other.chunkSizes, numberOfChunks);
+            for (int c = 0; c < numberOfChunks; c++) {
+                chunks[c] = Arrays.copyOf(other.chunks[c], other.chunkSizes[c]);
+            }
+            numberOfLiterals = other.numberOfLiterals;
+            stride = other.stride;
+            rowsPerChunk = other.rowsPerChunk;
+            positions = other.positions == null ? null : Arrays.copyOf(other.positions, other.size);
+            lengths = other.lengths == null ? null : Arrays.copyOf(other.lengths, other.size);
+            types = Arrays.copyOf(other.types, other.size);
+            size = other.size;
+        }
+
+        private int chunkOf(int index) {
+            return positions == null ? index / rowsPerChunk : (int) (positions[index] >>> 32);
+        }
+
+        private int offsetOf(int index) {
+            return positions == null ? (index % rowsPerChunk) * stride : (int) positions[index];
+        }
+
+        private int lengthOf(int index) {
+            return positions == null ? stride : lengths[index];
+        }
+
+        private void load(int index, Row row) {
+            row.set(chunks[chunkOf(index)], offsetOf(index), lengthOf(index), types[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public BooleanAssignment get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            final int offset = offsetOf(index);
+            final int[] literals = Arrays.copyOfRange(chunks[chunkOf(index)], offset, offset + lengthOf(index));
+            switch (types[index]) {
+                case SOLUTION_TYPE:
+                    return new BooleanSolution(literals, false);
+                case CLAUSE_TYPE:
+                    return new BooleanClause(literals, false);
+                default:
+                    return new BooleanAssignment(literals);
+            }
+        }
+
+        @Override
+        public void add(int index, BooleanAssignment assignment) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            final int[] literals = assignment.get();
+            if (index == size) {
+                append(literals, 0, literals.length, typeOf(assignment));
+            } else {
+                splice(index, 0, literals, typeOf(assignment));
+            }
+            modCount++;
+        }
+
+        @Override
+        public BooleanAssignment set(int index, BooleanAssignment assignment) {
+            final BooleanAssignment oldAssignment = get(index);
+            final int[] literals = assignment.get();
+            if (literals.length == lengthOf(index)) {
+                System.arraycopy(literals, 0, chunks[chunkOf(index)], offsetOf(index), literals.length);
+                types[index] = typeOf(assignment);
+            } else {
+                splice(index, 1, literals, typeOf(assignment));
+            }
+            return oldAssignment;
+        }
+
+        @Override
+        public BooleanAssignment remove(int index) {
+            final BooleanAssignment oldAssignment = get(index);
+            splice(index, 1, null, ASSIGNMENT_TYPE);
+            modCount++;
+            return oldAssignment;
+        }
+
+        @Override
+        public void clear() {
+            chunks = new int[0][];
+            chunkSizes = new int[0];
+            numberOfChunks = 0;
+            numberOfLiterals = 0;
+            stride = -1;
+            positions = null;
+            lengths = null;
+            size = 0;
+            modCount++;
+        }
+
+        /**
+         * Appends a row containing the literals in a section of the given array.
+         *
+         * @param literals the array containing the literals
+         * @param offset the position of the first literal
+         * @param length the number of literals
+         * @param type the type of the new row
+         */
+        private void append(int[] literals, int offset, int length, byte type) {
+            if (size == types.length) {
+                types = Arrays.copyOf(types, Math.max(MIN_CAPACITY, Math.multiplyExact(types.length, 2)));
+            }
+            if (size == 0) {
+                stride = length;
+                rowsPerChunk = length == 0 ? Integer.MAX_VALUE : Math.max(1, chunkSize / length);
+            } else if (positions == null && length != stride) {
+                usePositions();
+            }
+
+            final int chunk;
+            final int chunkOffset;
+            if (positions == null) {
+                chunk = size / rowsPerChunk;
+                chunkOffset = (size % rowsPerChunk) * stride;
+            } else {
+                final int lastChunk = numberOfChunks - 1;
+                if (lastChunk >= 0 && (chunkSizes[lastChunk] == 0 || (long) chunkSizes[lastChunk] + length <= chunkSize)) {
+                    chunk = lastChunk;
+                    chunkOffset = chunkSizes[lastChunk];
+                } else {
+                    chunk = numberOfChunks;
+                    chunkOffset = 0;
+                }
+                if (size == positions.length) {
+                    positions = Arrays.copyOf(positions, types.length);
+                    lengths = Arrays.copyOf(lengths, types.length);
+                }
+                positions[size] = ((long) chunk << 32) | chunkOffset;
+                lengths[size] = length;
+            }
+            final int[] chunkArray = ensureChunk(chunk, chunkOffset + length);
+            System.arraycopy(literals, offset, chunkArray, chunkOffset, length);
+            chunkSizes[chunk] = chunkOffset + length;
+            types[size++] = type;
+            numberOfLiterals += length;
+        }
+
+        private void usePositions() {
+            positions = new long[types.length];
+            lengths = new int[types.length];
+            for (int i = 0; i < size; i++) {
+                positions[i] = ((long) (i / rowsPerChunk) << 32) | ((i % rowsPerChunk) * stride);
+                lengths[i] = stride;
+            }
+        }
+
+        private int[] ensureChunk(int chunk, int requiredLength) {
+            if (chunk >= numberOfChunks) {
+                if (chunk >= chunks.length) {
+                    final int newLength = Math.max(MIN_CAPACITY, Math.multiplyExact(chunks.length, 2));
+                    chunks = Arrays.copyOf(chunks, newLength);
+                    chunkSizes = Arrays.copyOf(chunkSizes, newLength);
+                }
+                numberOfChunks = chunk + 1;
+                chunks[chunk] = new int[Math.max(requiredLength, chunk == 0 ? literalCapacity : MIN_CAPACITY)];
+            } else if (chunks[chunk].length < requiredLength) {
+                final long doubledLength = 2L * chunks[chunk].length;
+                final int newLength = (int) Math.max(requiredLength, Math.min(doubledLength, chunkSize));
+                chunks[chunk] = Arrays.copyOf(chunks[chunk], newLength);
+            }
+            return chunks[chunk];
+        }
+
+        /**
+         * Removes all rows starting at the given index.
+         *
+         * @param index the index of the first row to remove
+         */
+        private void truncate(int index) {
+            if (index == 0) {
+                clear();
+                return;
+            }
+            for (int i = index; i < size; i++) {
+                numberOfLiterals -= lengthOf(i);
+            }
+            final int lastChunk = chunkOf(index - 1);
+            for (int c = lastChunk + 1; c < numberOfChunks; c++) {
+                chunks[c] = null;
+                chunkSizes[c] = 0;
+            }
+            numberOfChunks = lastChunk + 1;
+            chunkSizes[lastChunk] = offsetOf(index - 1) + lengthOf(index - 1);
+            size = index;
+        }
+
+        /**
+         * Replaces the given number of rows at the given index with the given literals.
+         * All subsequent rows are copied and appended again.
+         *
+         * @param index the index of the first row to replace
+         * @param removedRows the number of rows to replace (0 or 1)
+         * @param literals the literals of the new row or {@code null} if no row is inserted
+         * @param type the type of the new row
+         */
+        private void splice(int index, int removedRows, int[] literals, byte type) {
+            final int tailSize = size - index - removedRows;
+            final int[][] tail = new int[tailSize][];
+            final byte[] tailTypes = new byte[tailSize];
+            for (int i = 0; i < tailSize; i++) {
+                final int row = index + removedRows + i;
+                final int offset = offsetOf(row);
+                tail[i] = Arrays.copyOfRange(chunks[chunkOf(row)], offset, offset + lengthOf(row));
+                tailTypes[i] = types[row];
+            }
+            truncate(index);
+            if (literals != null) {
+                append(literals, 0, literals.length, type);
+            }
+            for (int i = 0; i < tailSize; i++) {
+                append(tail[i], 0, tail[i].length, tailTypes[i]);
+            }
+        }
+
+        private void translate(VariableMap oldVariables, int[] translationTable, VariableMap newVariables) {
+            for (int c = 0; c < numberOfChunks; c++) {
+                final int[] chunk = chunks[c];
+                IntStream.range(0, chunkSizes[c])
+                        .parallel()
+                        .forEach(k -> chunk[k] = oldVariables.translate(chunk[k], translationTable, newVariables));
+            }
+        }
+
+        /**
+         * {@return whether all rows are solutions addressed by a fixed stride}
+         */
+        private boolean isSolutionMatrix() {
+            if (size == 0 || positions != null) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (types[i] != SOLUTION_TYPE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Translates all rows with the given table as {@link BooleanSolution#adapt(VariableMap, VariableMap, int[])} does,
+         * i.e., each translated literal {@code l} is stored at position {@code |l| - 1} of its row.
+         * Requires {@link #isSolutionMatrix()}.
+         * If the stride does not change, the rows are permuted in place, otherwise they are written to new chunks.
+         */
+        private void translateSolutions(VariableMap oldVariables, int[] translationTable, VariableMap newVariables) {
+            final int newStride = newVariables.size();
+            final boolean inPlace = newStride == stride;
+            final int newRowsPerChunk = newStride == 0 ? Integer.MAX_VALUE : Math.max(1, chunkSize / newStride);
+            final int newNumberOfChunks = inPlace ? numberOfChunks : (size - 1) / newRowsPerChunk + 1;
+            final int[][] newChunks;
+            final int[] newChunkSizes;
+            if (inPlace) {
+                newChunks = chunks;
+                newChunkSizes = chunkSizes;
+            } else {
+                newChunks = new int[Math.max(MIN_CAPACITY, newNumberOfChunks)][];
+                newChunkSizes = new int[newChunks.length];
+                for (int c = 0; c < newNumberOfChunks; c++) {
+                    final int rowsInChunk = (int) Math.min(newRowsPerChunk, size - (long) c * newRowsPerChunk);
+                    newChunks[c] = new int[rowsInChunk * newStride];
+                    newChunkSizes[c] = newChunks[c].length;
+                }
+            }
+
+            final int numberOfBlocks = (size - 1) / TRANSLATION_BLOCK_SIZE + 1;
+            IntStream.range(0, numberOfBlocks).parallel().forEach(block -> {
+                final int[] buffer = inPlace ? new int[newStride] : null;
+                final int end = (int) Math.min(size, (long) (block + 1) * TRANSLATION_BLOCK_SIZE);
+                for (int i = block * TRANSLATION_BLOCK_SIZE; i < end; i++) {
+                    final int[] source = chunks[i / rowsPerChunk];
+                    final int sourceOffset = (i % rowsPerChunk) * stride;
+                    final int[] target;
+                    final int targetOffset;
+                    if (inPlace) {
+                        Arrays.fill(buffer, 0);
+                        target = buffer;
+                        targetOffset = 0;
+                    } else {
+                        target = newChunks[i / newRowsPerChunk];
+                        targetOffset = (i % newRowsPerChunk) * newStride;
+                    }
+                    for (int k = sourceOffset; k < sourceOffset + stride; k++) {
+                        final int literal = source[k];
+                        if (literal != 0) {
+                            final int newLiteral = oldVariables.translate(literal, translationTable, newVariables);
+                            if (newLiteral != 0) {
+                                target[targetOffset + Math.abs(newLiteral) - 1] = newLiteral;
+                            }
+                        }
+                    }
+                    if (inPlace) {
+                        System.arraycopy(buffer, 0, source, sourceOffset, newStride);
+                    }
+                }
+            });
+
+            if (!inPlace) {
+                chunks = newChunks;
+                chunkSizes = newChunkSizes;
+                numberOfChunks = newNumberOfChunks;
+                stride = newStride;
+                rowsPerChunk = newRowsPerChunk;
+                numberOfLiterals = (long) size * newStride;
+            }
+        }
+    }
+
+    private final Rows rows;
+
+    public ArenaBooleanAssignmentList(VariableMap variableMap) {
+        this(variableMap, new Rows(0, 0, CHUNK_SIZE));
+    }
+
+    /**
+     * Creates an empty list and reserves space for the given number of assignments and literals.
+     *
+     * @param variableMap the variable map
+     * @param numberOfAssignments the expected number of assignments
+     * @param numberOfLiterals the expected total number of literals
+     */
+    public ArenaBooleanAssignmentList(VariableMap variableMap, int numberOfAssignments, long numberOfLiterals) {
+        this(variableMap, new Rows(numberOfAssignments, numberOfLiterals, CHUNK_SIZE));
+    }
+
+    /**
+     * Creates an empty list whose chunks hold up to the given number of literals instead of {@value #CHUNK_SIZE}.
+     * Allows to test chunk boundaries with few assignments.
+     *
+     * @param variableMap the variable map
+     * @param chunkSize the maximum number of literals in a chunk
+     */
+    ArenaBooleanAssignmentList(VariableMap variableMap, int chunkSize) {
+        this(variableMap, new Rows(0, 0, chunkSize));
+    }
+
+    public ArenaBooleanAssignmentList(VariableMap variableMap, Collection<? extends BooleanAssignment> assignments) {
+        this(variableMap, new Rows(assignments.size(), countLiterals(assignments), CHUNK_SIZE));
+        addAll(assignments);
+    }
+
+    public ArenaBooleanAssignmentList(BooleanAssignmentList other) {
+        this(other.getVariableMap(), other.size(), 0);
+        other.forEachRow(row -> rows.append(row.getArray(), row.getOffset(), row.size(), typeOf(row)));
+    }
+
+    public ArenaBooleanAssignmentList(ArenaBooleanAssignmentList other) {
+        this(other.getVariableMap(), new Rows(other.rows));
+    }
+
+    private ArenaBooleanAssignmentList(VariableMap variableMap, Rows rows) {
+        super(variableMap, rows);
+        this.rows = rows;
+    }
+
+    private static long countLiterals(Collection<? extends BooleanAssignment> assignments) {
+        long count = 0;
+        for (BooleanAssignment assignment : assignments) {
+            count += assignment.size();
+        }
+        return count;
+    }
+
+    private static byte typeOf(Row row) {
+        return row.isSolution() ? SOLUTION_TYPE : row.isClause() ? CLAUSE_TYPE : ASSIGNMENT_TYPE;
+    }
+
+    /**
+     * {@return the total number of literals of all assignments}
+     */
+    public long getNumberOfLiterals() {
+        return rows.numberOfLiterals;
+    }
+
+    @Override
+    protected void loadRow(int index, Row row) {
+        rows.load(index, row);
+    }
+
+    @Override
+    public ArenaBooleanAssignmentList adapt(VariableMap newVariables, boolean integrateOldVariables) {
+        final VariableMap oldVariables = variableMap;
+        if (!integrateOldVariables && rows.isSolutionMatrix()) {
+            rows.translateSolutions(oldVariables, oldVariables.getTranslationTable(newVariables), newVariables);
+            variableMap = newVariables;
+            return this;
+        }
+        boolean containsSolutions = false;
+        for (int i = 0; i < rows.size; i++) {
+            if (rows.types[i] == SOLUTION_TYPE) {
+                containsSolutions = true;
+                break;
+            }
+        }
+        if (integrateOldVariables || containsSolutions) {
+            // Adapted solutions are indexed by the new variables and may change their length, so all rows are rebuilt.
+            final int[] translationTable = integrateOldVariables ? null : oldVariables.getTranslationTable(newVariables);
+            final List<BooleanAssignment> adaptedAssignments = new ArrayList<>(rows.size);
+            for (int i = 0; i < rows.size; i++) {
+                final BooleanAssignment assignment = rows.get(i);
+                adaptedAssignments.add(
+                        integrateOldVariables
+                                ? assignment.adapt(oldVariables, newVariables, true)
+                                : assignment.adapt(oldVariables, newVariables, translationTable));
+            }
+            rows.clear();
+            rows.addAll(adaptedAssignments);
+        } else {
+            rows.translate(oldVariables, oldVariables.getTranslationTable(newVariables), newVariables);
+        }
+        variableMap = newVariables;
+        return this;
+    }
+
+    @Override
+    public ArenaBooleanAssignmentList clone() {
+        return new ArenaBooleanAssignmentList(this);
+    }
+}
@@ -28,7 +28,6 @@ import de.featjar.base.computation.Progress;
 import de.featjar.base.data.IntegerList;
 import de.featjar.base.data.Maps;
 import de.featjar.base.data.Result;
-import de.featjar.base.data.Sets;
 import de.featjar.formula.VariableMap;
 import java.util.*;
 import java.util.stream.IntStream;
@@ -78,7 +77,7 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      */
     public static int[] unitPropagation(BooleanClause clause, BooleanAssignment core) {
         final int[] literals = clause.get();
-        final LinkedHashSet<Integer> literalSet = new LinkedHashSet<>(literals.length << 1);
+        final LiteralSet literalSet = LiteralSet.threadLocal();
 
         for (int var : literals) {
             if (core.indexOf(var) >= 0) {
@@ -91,16 +90,11 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
                 }
             }
         }
-        final int[] literalArray = new int[literalSet.size()];
-        int i = 0;
-        for (final int lit : literalSet) {
-            literalArray[i++] = lit;
-        }
-        return literalArray;
+        return literalSet.toArray();
     }
 
     public static int[] simplify(int[] literals) {
-        final LinkedHashSet<Integer> integerSet = Sets.empty();
+        final LiteralSet integerSet = LiteralSet.threadLocal();
         for (final int integer : literals) {
             if (integer != 0 && integerSet.contains(-integer)) {
                 // If this assignment is a contradiction or tautology, it can be simplified.
@@ -112,34 +106,25 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         if (integerSet.size() == literals.length) {
             return Arrays.copyOf(literals, literals.length);
         }
-        int[] newArray = new int[integerSet.size()];
-        int i = 0;
-        for (final int lit : integerSet) {
-            newArray[i++] = lit;
-        }
-        return newArray;
+        return integerSet.toArray();
     }
 
     public static int[] shuffle(int[] literals, Random random) {
         final long seed = random.nextLong();
         Random curRandom = new Random(seed);
 
-        final LinkedHashSet<Integer> integerSet = Sets.empty();
+        final LiteralSet integerSet = LiteralSet.threadLocal();
         for (final int integer : literals) {
             if (integer != 0) {
                 integerSet.add(integer);
             }
         }
-        int[] newArray = new int[integerSet.size()];
-        int i = -1;
-        for (final int lit : integerSet) {
-            newArray[++i] = lit;
-        }
-        for (; i > 0; --i) {
-            int swapIndex = curRandom.nextInt(literals.length);
-            int temp = literals[i];
-            literals[i] = literals[swapIndex];
-            literals[swapIndex] = temp;
+        int[] newArray = integerSet.toArray();
+        for (int i = newArray.length - 1; i > 0; --i) {
+            int swapIndex = curRandom.nextInt(i + 1);
+            int temp = newArray[i];
+            newArray[i] = newArray[swapIndex];
+            newArray[swapIndex] = temp;
         }
         return newArray;
     }
@@ -188,6 +173,21 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         return this;
     }
 
+    /**
+     * Changes the literals in this assignment to a new mapping using a precomputed translation table.
+     * This does not create a copy of this assignment, but directly changes it.
+     *
+     * @param oldVariableMap the old variable map
+     * @param newVariableMap the new variable map
+     * @param translationTable the table computed by {@link VariableMap#getTranslationTable(VariableMap) oldVariableMap.getTranslationTable(newVariableMap)}
+     * @return this assignment
+     */
+    public BooleanAssignment adapt(VariableMap oldVariableMap, VariableMap newVariableMap, int[] translationTable) {
+        oldVariableMap.translate(elements, elements, translationTable, newVariableMap);
+        hashCodeValid = false;
+        return this;
+    }
+
     public BooleanAssignment shuffle(Random random) {
         return new BooleanAssignment(shuffle(elements, random));
     }
@@ -196,10 +196,12 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
         if (variable < 0) {
             throw new IllegalArgumentException(String.format("%d is negative", variable));
         }
-        return IntStream.range(0, elements.length)
-                .filter(i -> Math.abs(elements[i]) == variable)
-                .findFirst()
-                .orElse(-1);
+        for (int i = 0; i < elements.length; i++) {
+            if (Math.abs(elements[i]) == variable) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     public int[] indicesOfVariable(int variable) {
@@ -216,15 +218,25 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
     }
 
     public final boolean containsAnyVariable(int... integers) {
-        return Arrays.stream(integers).anyMatch(integer -> containsVariable(integer));
+        for (int integer : integers) {
+            if (containsVariable(integer)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public final boolean containsAllVariables(int... integers) {
-        return Arrays.stream(integers).allMatch(integer -> containsVariable(integer));
+        for (int integer : integers) {
+            if (!containsVariable(integer)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public final boolean containsNoneVariables(int... integers) {
-        return Arrays.stream(integers).noneMatch(integer -> containsVariable(integer));
+        return !containsAnyVariable(integers);
     }
 
     /**
@@ -233,30 +245,64 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public final int[] retainAllVariables(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOfVariable(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
+        final int[] newArray = filterVariables(sortVariables(integers), true);
+        assert Arrays.stream(elements)
+                .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
+                        == Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
+        return newArray;
+    }
+
+    /**
+     * {@return the variables of the given integers in ascending order}
+     *
+     * @param integers the integers
+     */
+    private static int[] sortVariables(int... integers) {
+        final int[] variables = Arrays.copyOf(integers, integers.length);
+        for (int variable : variables) {
+            if (variable < 0) {
+                throw new IllegalArgumentException(String.format("%d is negative", variable));
+            }
+        }
+        Arrays.sort(variables);
+        return variables;
+    }
+
+    /**
+     * {@return the variables of the given assignment in ascending order}
+     * Avoids sorting if the assignment is already sorted by variable.
+     *
+     * @param integers the assignment
+     */
+    private static int[] sortVariables(BooleanAssignment integers) {
+        if (integers instanceof SortedBooleanAssignment) {
+            final int[] variables = integers.get();
+            for (int variable : variables) {
+                if (variable < 0) {
+                    throw new IllegalArgumentException(String.format("%d is negative", variable));
                 }
             }
+            return variables;
         }
+        return sortVariables(integers.get());
+    }
 
-        int[] newArray = new int[count];
+    /**
+     * {@return all elements of this assignment whose variable is contained (or not contained) in the given variables}
+     * The order of the elements is retained.
+     *
+     * @param sortedVariables the variables in ascending order
+     * @param retain whether to keep the elements whose variable is contained ({@code true}) or not contained ({@code false})
+     */
+    protected int[] filterVariables(int[] sortedVariables, boolean retain) {
+        final int[] newArray = new int[elements.length];
         int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (intersectionMarker[i]) {
-                newArray[j++] = elements[i];
+        for (int element : elements) {
+            if ((Arrays.binarySearch(sortedVariables, Math.abs(element)) >= 0) == retain) {
+                newArray[j++] = element;
             }
         }
-        assert Arrays.stream(elements)
-                .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
-                        == Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
-        return newArray;
+        return j == newArray.length ? newArray : Arrays.copyOf(newArray, j);
     }
 
     /**
@@ -297,26 +343,7 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
      * @param integers the integers
      */
     public final int[] removeAllVariables(int... integers) {
-        boolean[] intersectionMarker = new boolean[elements.length];
-        int count = 0;
-        for (int integer : integers) {
-            final int[] indices = indicesOfVariable(integer);
-            for (int i = 0; i < indices.length; i++) {
-                int index = indices[i];
-                if (index >= 0 && !intersectionMarker[index]) {
-                    count++;
-                    intersectionMarker[index] = true;
-                }
-            }
-        }
-
-        int[] newArray = new int[elements.length - count];
-        int j = 0;
-        for (int i = 0; i < elements.length; i++) {
-            if (!intersectionMarker[i]) {
-                newArray[j++] = elements[i];
-            }
-        }
+        final int[] newArray = filterVariables(sortVariables(integers), false);
         assert Arrays.stream(elements)
                 .allMatch(e -> Arrays.stream(newArray).anyMatch(i -> i == e)
                         ^ Arrays.stream(integers).anyMatch(i -> i == Math.abs(e)));
@@ -418,7 +445,7 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
     }
 
     public BooleanAssignment retainAllVariables(BooleanAssignment integers) {
-        return new BooleanAssignment(retainAllVariables(integers.get()));
+        return new BooleanAssignment(filterVariables(sortVariables(integers), true));
     }
 
     public BooleanAssignment removeAll(BooleanAssignment integers) {
@@ -426,6 +453,6 @@ public class BooleanAssignment extends IntegerList implements IAssignment<Intege
     }
 
     public BooleanAssignment removeAllVariables(BooleanAssignment integers) {
-        return new BooleanAssignment(removeAllVariables(integers.get()));
+        return new BooleanAssignment(filterVariables(sortVariables(integers), false));
     }
 }
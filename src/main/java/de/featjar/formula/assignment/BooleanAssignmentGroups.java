@@ -25,7 +25,10 @@ import de.featjar.formula.VariableMap;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Stores multiple groups of {@link BooleanAssignmentList}.
@@ -35,7 +38,158 @@ import java.util.Objects;
  */
 public class BooleanAssignmentGroups implements Iterable<BooleanAssignmentList> {
 
-    protected final VariableMap variableMap;
+    /**
+     * A read-only view that concatenates the assignments of multiple groups.
+     * Indices are resolved by a binary search over the group offsets, which are computed on creation of the view.
+     */
+    private static final class MergedList extends BooleanAssignmentList.Storage {
+        private final List<BooleanAssignmentList> groups;
+        private final int[] offsets;
+
+        private MergedList(List<BooleanAssignmentList> groups) {
+            this.groups = groups;
+            offsets = new int[groups.size() + 1];
+            for (int i = 0; i < groups.size(); i++) {
+                offsets[i + 1] = offsets[i] + groups.get(i).size();
+            }
+        }
+
+        @Override
+        public BooleanAssignment get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(
+                        String.format("Index %d out of bounds for length %d", index, size()));
+            }
+            int groupIndex = Arrays.binarySearch(offsets, index);
+            if (groupIndex < 0) {
+                groupIndex = -groupIndex - 2;
+            } else {
+                while (offsets[groupIndex + 1] == index) {
+                    groupIndex++;
+                }
+            }
+            return groups.get(groupIndex).get(index - offsets[groupIndex]);
+        }
+
+        @Override
+        public int size() {
+            return offsets[offsets.length - 1];
+        }
+
+        @Override
+        public Iterator<BooleanAssignment> iterator() {
+            return new Iterator<>() {
+                private int groupIndex = 0;
+                private Iterator<BooleanAssignment> current = null;
+
+                @Override
+                public boolean hasNext() {
+                    while (current == null || !current.hasNext()) {
+                        if (groupIndex >= groups.size()) {
+                            return false;
+                        }
+                        current = groups.get(groupIndex++).iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public BooleanAssignment next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<BooleanAssignment> spliterator() {
+            return new GroupSpliterator(groups, 0, groups.size(), null);
+        }
+    }
+
+    /**
+     * Splits at group boundaries first and delegates to the spliterator of a group once only a single group is left.
+     */
+    private static final class GroupSpliterator implements Spliterator<BooleanAssignment> {
+        private final List<BooleanAssignmentList> groups;
+        private int fromGroup;
+        private final int toGroup;
+        private Spliterator<BooleanAssignment> current;
+
+        private GroupSpliterator(
+                List<BooleanAssignmentList> groups,
+                int fromGroup,
+                int toGroup,
+                Spliterator<BooleanAssignment> current) {
+            this.groups = groups;
+            this.fromGroup = fromGroup;
+            this.toGroup = toGroup;
+            this.current = current;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super BooleanAssignment> action) {
+            while (fromGroup < toGroup) {
+                if (current == null) {
+                    current = groups.get(fromGroup).getAll().spliterator();
+                }
+                if (current.tryAdvance(action)) {
+                    return true;
+                }
+                current = null;
+                fromGroup++;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super BooleanAssignment> action) {
+            while (fromGroup < toGroup) {
+                if (current == null) {
+                    current = groups.get(fromGroup).getAll().spliterator();
+                }
+                current.forEachRemaining(action);
+                current = null;
+                fromGroup++;
+            }
+        }
+
+        @Override
+        public Spliterator<BooleanAssignment> trySplit() {
+            if (toGroup - fromGroup > 1) {
+                final int middleGroup = (fromGroup + toGroup) >>> 1;
+                final GroupSpliterator prefix = new GroupSpliterator(groups, fromGroup, middleGroup, current);
+                fromGroup = middleGroup;
+                current = null;
+                return prefix;
+            } else if (fromGroup < toGroup) {
+                if (current == null) {
+                    current = groups.get(fromGroup).getAll().spliterator();
+                }
+                return current.trySplit();
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = 0;
+            for (int i = fromGroup; i < toGroup; i++) {
+                size += (i == fromGroup && current != null) ? current.estimateSize() : groups.get(i).size();
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    protected VariableMap variableMap;
     protected final List<BooleanAssignmentList> assignmentGroups;
 
     public BooleanAssignmentGroups(VariableMap variableMap, List<BooleanAssignmentList> assignmentGroups) {
@@ -62,6 +216,22 @@ public class BooleanAssignmentGroups implements Iterable<BooleanAssignmentList>
         return variableMap;
     }
 
+    /**
+     * Changes the {@link VariableMap variable map} of this object and adapts all groups to it.
+     * The translation table between both maps is computed only once for all groups.
+     *
+     * @param newVariables the new variable map
+     * @return this object
+     * @see BooleanAssignmentList#adapt(VariableMap)
+     */
+    public BooleanAssignmentGroups adapt(VariableMap newVariables) {
+        for (BooleanAssignmentList group : assignmentGroups) {
+            group.adapt(newVariables);
+        }
+        variableMap = newVariables;
+        return this;
+    }
+
     public List<BooleanAssignmentList> getGroups() {
         return assignmentGroups;
     }
@@ -70,11 +240,23 @@ public class BooleanAssignmentGroups implements Iterable<BooleanAssignmentList>
         return assignmentGroups.get(0);
     }
 
+    /**
+     * {@return a read-only view that contains the assignments of all groups in order}
+     * No assignments are copied; changes to existing assignments are visible in the view.
+     * Adding or removing assignments to a group after creating the view is not supported.
+     * Streams of the view are split along group boundaries and can be processed in parallel.
+     * Use {@link #getMergedGroups()} to obtain a modifiable copy.
+     */
+    public BooleanAssignmentList getMergedGroupsView() {
+        return new BooleanAssignmentList(variableMap, new MergedList(assignmentGroups));
+    }
+
+    /**
+     * {@return a new modifiable list that contains the assignments of all groups in order}
+     * The assignments themselves are not copied.
+     */
     public BooleanAssignmentList getMergedGroups() {
-        return assignmentGroups.stream().reduce(new BooleanAssignmentList(variableMap), (l1, l2) -> {
-            l1.addAll(l2);
-            return l1;
-        });
+        return new BooleanAssignmentList(getMergedGroupsView());
     }
 
     public BooleanAssignmentList toClauseList() {
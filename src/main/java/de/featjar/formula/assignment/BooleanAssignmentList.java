@@ -21,13 +21,19 @@
 package de.featjar.formula.assignment;
 
 import de.featjar.formula.VariableMap;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -74,8 +80,272 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         }
     }
 
+    /**
+     * Base class for lists that store the assignments of a {@link BooleanAssignmentList} differently than an {@link ArrayList},
+     * such as views on other lists or primitive arrays.
+     * A storage passed to {@link BooleanAssignmentList#BooleanAssignmentList(VariableMap, Storage)} is used directly instead of being copied.
+     */
+    protected abstract static class Storage extends AbstractList<BooleanAssignment> implements RandomAccess {
+
+        /**
+         * {@return whether {@link #set(int, Object) set} is supported and can be called concurrently for different indices}
+         * If not, {@link BooleanAssignmentList#adapt(VariableMap, boolean)} replaces this storage with adapted copies of its assignments.
+         */
+        protected boolean supportsSet() {
+            return false;
+        }
+    }
+
+    /**
+     * A flyweight view on the literals of one assignment of a list.
+     * A view can be moved to another assignment without creating a new object.
+     * The literals are read from a section of an array, which may be shared with other assignments of the list,
+     * so they must not be changed.
+     * A view is invalidated by changes of the list.
+     */
+    public static final class Row {
+        private final BooleanAssignmentList list;
+        private int index = -1;
+        private int[] array;
+        private int offset;
+        private int length;
+        private byte type;
+        private int[] buffer;
+
+        private Row(BooleanAssignmentList list) {
+            this.list = list;
+        }
+
+        /**
+         * Moves this view to the assignment with the given index.
+         *
+         * @param index the index of the assignment
+         * @return this view
+         */
+        public Row moveTo(int index) {
+            if (index < 0 || index >= list.size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            list.loadRow(index, this);
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Points this view to a section of the given array.
+         * Is called by implementations of {@link BooleanAssignmentList#loadRow(int, Row)}.
+         *
+         * @param array the array containing the literals
+         * @param offset the position of the first literal
+         * @param length the number of literals
+         * @param type the type of the assignment, one of {@link BooleanAssignmentList#ASSIGNMENT_TYPE}, {@link BooleanAssignmentList#SOLUTION_TYPE}, or {@link BooleanAssignmentList#CLAUSE_TYPE}
+         */
+        public void set(int[] array, int offset, int length, byte type) {
+            this.array = array;
+            this.offset = offset;
+            this.length = length;
+            this.type = type;
+        }
+
+        /**
+         * {@return an array owned by this view with at least the given length}
+         * Can be used by implementations of {@link BooleanAssignmentList#loadRow(int, Row)} that have to decode the literals.
+         *
+         * @param length the minimum length
+         */
+        public int[] getBuffer(int length) {
+            if (buffer == null || buffer.length < length) {
+                buffer = new int[length];
+            }
+            return buffer;
+        }
+
+        /**
+         * {@return the index of the current assignment}
+         */
+        public int index() {
+            return index;
+        }
+
+        /**
+         * {@return the number of literals of the current assignment}
+         */
+        public int size() {
+            return length;
+        }
+
+        /**
+         * {@return the array containing the literals of the current assignment}
+         * The literals start at {@link #getOffset()}, the array must not be changed.
+         */
+        public int[] getArray() {
+            return array;
+        }
+
+        /**
+         * {@return the position of the first literal of the current assignment in the array returned by {@link #getArray()}}
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+        /**
+         * {@return whether the current assignment is a {@link BooleanSolution}}
+         */
+        public boolean isSolution() {
+            return type == SOLUTION_TYPE;
+        }
+
+        /**
+         * {@return whether the current assignment is a {@link BooleanClause}}
+         */
+        public boolean isClause() {
+            return type == CLAUSE_TYPE;
+        }
+
+        /**
+         * {@return the literal at the given position}
+         *
+         * @param position the position within the current assignment
+         */
+        public int get(int position) {
+            return array[offset + position];
+        }
+
+        /**
+         * {@return a copy of the literals of the current assignment}
+         */
+        public int[] get() {
+            return Arrays.copyOfRange(array, offset, offset + length);
+        }
+
+        /**
+         * Copies the literals of the current assignment into the given array.
+         *
+         * @param destination the array to copy to
+         * @param destinationOffset the position in the destination array
+         */
+        public void copyTo(int[] destination, int destinationOffset) {
+            System.arraycopy(array, offset, destination, destinationOffset, length);
+        }
+
+        /**
+         * Writes the literals of the current assignment into the given array, indexed by variable.
+         *
+         * @param solution an array with one entry per variable, which is overwritten
+         * @return the given array
+         */
+        public int[] toSolution(int[] solution) {
+            Arrays.fill(solution, 0);
+            for (int i = offset, end = offset + length; i < end; i++) {
+                final int l = array[i];
+                if (l != 0) {
+                    solution[Math.abs(l) - 1] = l;
+                }
+            }
+            return solution;
+        }
+
+        /**
+         * {@return the position of the given literal in the current assignment or -1 if it is not contained}
+         *
+         * @param literal the literal
+         */
+        public int indexOf(int literal) {
+            if (type == SOLUTION_TYPE) {
+                final int position = Math.abs(literal) - 1;
+                return literal != 0 && position < length && array[offset + position] == literal ? position : -1;
+            }
+            for (int i = 0; i < length; i++) {
+                if (array[offset + i] == literal) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * {@return whether the current assignment contains the given literal}
+         *
+         * @param literal the literal
+         */
+        public boolean contains(int literal) {
+            return indexOf(literal) >= 0;
+        }
+
+        /**
+         * {@return whether the current assignment contains all given literals}
+         *
+         * @param literals the literals
+         */
+        public boolean containsAll(int... literals) {
+            for (int literal : literals) {
+                if (indexOf(literal) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * {@return the number of positive literals in the current assignment}
+         */
+        public int countPositives() {
+            int count = 0;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                if (array[i] > 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * {@return the number of negative literals in the current assignment}
+         */
+        public int countNegatives() {
+            int count = 0;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                if (array[i] < 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * {@return a materialized copy of the current assignment}
+         */
+        public BooleanAssignment toAssignment() {
+            final int[] literals = get();
+            switch (type) {
+                case SOLUTION_TYPE:
+                    return new BooleanSolution(literals, false);
+                case CLAUSE_TYPE:
+                    return new BooleanClause(literals, false);
+                default:
+                    return new BooleanAssignment(literals);
+            }
+        }
+    }
+
+    /**
+     * Type of a {@link Row} that is neither a solution nor a clause.
+     */
+    public static final byte ASSIGNMENT_TYPE = 0;
+
+    /**
+     * Type of a {@link Row} that is a {@link BooleanSolution}.
+     */
+    public static final byte SOLUTION_TYPE = 1;
+
+    /**
+     * Type of a {@link Row} that is a {@link BooleanClause}.
+     */
+    public static final byte CLAUSE_TYPE = 2;
+
     protected VariableMap variableMap;
-    protected final List<BooleanAssignment> assignments;
+    protected List<BooleanAssignment> assignments;
 
     public BooleanAssignmentList(VariableMap variableMap) {
         this.variableMap = variableMap;
@@ -106,6 +376,17 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         this(other.variableMap, other.getAll());
     }
 
+    /**
+     * Creates a list that uses the given storage instead of copying its elements.
+     *
+     * @param variableMap the variable map
+     * @param storage the list used to store the assignments
+     */
+    protected BooleanAssignmentList(VariableMap variableMap, Storage storage) {
+        this.variableMap = variableMap;
+        assignments = storage;
+    }
+
     public VariableMap getVariableMap() {
         return variableMap;
     }
@@ -115,25 +396,197 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
         return assignments;
     }
 
+    /**
+     * {@return a new flyweight view on this list, which has to be moved to an assignment before it is read}
+     */
+    public Row row() {
+        return new Row(this);
+    }
+
+    /**
+     * {@return a new flyweight view on the assignment with the given index}
+     *
+     * @param index the index of the assignment
+     */
+    public Row row(int index) {
+        return new Row(this).moveTo(index);
+    }
+
+    /**
+     * Applies the given consumer to each assignment of this list using a single flyweight view.
+     * In contrast to iterating over this list, no assignment objects are created by lists that do not store them,
+     * such as {@link ArenaBooleanAssignmentList} and {@link MappedSampleStore}.
+     *
+     * @param consumer the consumer, which must not keep a reference to the view
+     */
+    public void forEachRow(Consumer<Row> consumer) {
+        final Row row = new Row(this);
+        for (int i = 0, size = size(); i < size; i++) {
+            consumer.accept(row.moveTo(i));
+        }
+    }
+
+    /**
+     * Points the given view to the literals of the assignment with the given index.
+     * Lists that do not store assignment objects override this method to provide direct access to their literals.
+     *
+     * @param index the index of the assignment, which is within the bounds of this list
+     * @param row the view
+     */
+    protected void loadRow(int index, Row row) {
+        final BooleanAssignment assignment = assignments.get(index);
+        final int[] literals = assignment.get();
+        row.set(literals, 0, literals.length, typeOf(assignment));
+    }
+
+    /**
+     * {@return the type of the given assignment as used by {@link Row}}
+     *
+     * @param assignment the assignment
+     */
+    protected static byte typeOf(BooleanAssignment assignment) {
+        if (assignment instanceof BooleanSolution) {
+            return SOLUTION_TYPE;
+        } else if (assignment instanceof BooleanClause) {
+            return CLAUSE_TYPE;
+        } else {
+            return ASSIGNMENT_TYPE;
+        }
+    }
+
+    /**
+     * A read-only view on a list that converts each element on access.
+     */
+    private static final class ConvertingList extends Storage {
+        private final List<BooleanAssignment> list;
+        private final UnaryOperator<BooleanAssignment> converter;
+
+        private ConvertingList(List<BooleanAssignment> list, UnaryOperator<BooleanAssignment> converter) {
+            this.list = list;
+            this.converter = converter;
+        }
+
+        @Override
+        public BooleanAssignment get(int index) {
+            return converter.apply(list.get(index));
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * If converting does not change any assignment, this list is returned instead of a copy,
+     * so callers that change the returned list or its assignments have to {@link #clone()} it first.
+     */
     @Override
     public BooleanAssignmentList toAssignmentList() {
-        return new BooleanAssignmentList(
-                variableMap,
-                assignments.stream().map(BooleanAssignment::toAssignment).collect(Collectors.toList()));
+        return convert(BooleanAssignment::toAssignment, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * If converting does not change any assignment, this list is returned instead of a copy,
+     * so callers that change the returned list or its assignments have to {@link #clone()} it first.
+     */
     @Override
     public BooleanAssignmentList toClauseList() {
-        return new BooleanAssignmentList(
-                variableMap,
-                assignments.stream().map(BooleanAssignment::toClause).collect(Collectors.toList()));
+        return convert(BooleanAssignment::toClause, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * If converting does not change any assignment, this list is returned instead of a copy,
+     * so callers that change the returned list or its assignments have to {@link #clone()} it first.
+     */
     @Override
     public BooleanAssignmentList toSolutionList() {
+        final int variableCount = variableMap.size();
+        return convert(a -> a.toSolution(variableCount), false);
+    }
+
+    /**
+     * {@return an assignment list with the same contents of this assignment list}
+     * If converting does not change any assignment, this list is returned instead of a copy,
+     * so callers that change the returned list or its assignments have to {@link #clone()} it first.
+     *
+     * @param parallel whether the assignments are converted in parallel
+     */
+    public BooleanAssignmentList toAssignmentList(boolean parallel) {
+        return convert(BooleanAssignment::toAssignment, parallel);
+    }
+
+    /**
+     * {@return a clause list with the same contents of this assignment list}
+     * If converting does not change any assignment, this list is returned instead of a copy,
+     * so callers that change the returned list or its assignments have to {@link #clone()} it first.
+     *
+     * @param parallel whether the assignments are converted in parallel
+     */
+    public BooleanAssignmentList toClauseList(boolean parallel) {
+        return convert(BooleanAssignment::toClause, parallel);
+    }
+
+    /**
+     * {@return a solution list with the same contents of this assignment list}
+     * If converting does not change any assignment, this list is returned instead of a copy,
+     * so callers that change the returned list or its assignments have to {@link #clone()} it first.
+     *
+     * @param parallel whether the assignments are converted in parallel
+     */
+    public BooleanAssignmentList toSolutionList(boolean parallel) {
+        final int variableCount = variableMap.size();
+        return convert(a -> a.toSolution(variableCount), parallel);
+    }
+
+    /**
+     * {@return a read-only view on this list that converts each assignment to an assignment on access}
+     * The view reflects later changes of this list.
+     */
+    public BooleanAssignmentList toAssignmentListView() {
+        return new BooleanAssignmentList(
+                variableMap, new ConvertingList(assignments, BooleanAssignment::toAssignment));
+    }
+
+    /**
+     * {@return a read-only view on this list that converts each assignment to a clause on access}
+     * The view reflects later changes of this list.
+     */
+    public BooleanAssignmentList toClauseListView() {
+        return new BooleanAssignmentList(
+                variableMap, new ConvertingList(assignments, BooleanAssignment::toClause));
+    }
+
+    /**
+     * {@return a read-only view on this list that converts each assignment to a solution on access}
+     * The view reflects later changes of this list, but not of its variable map.
+     */
+    public BooleanAssignmentList toSolutionListView() {
+        final int variableCount = variableMap.size();
         return new BooleanAssignmentList(
-                variableMap,
-                assignments.stream().map(a -> a.toSolution(variableMap.size())).collect(Collectors.toList()));
+                variableMap, new ConvertingList(assignments, a -> a.toSolution(variableCount)));
+    }
+
+    private BooleanAssignmentList convert(UnaryOperator<BooleanAssignment> converter, boolean parallel) {
+        final int size = assignments.size();
+        final BooleanAssignment[] convertedAssignments = new BooleanAssignment[size];
+        final boolean[] changed = new boolean[1];
+        IntStream indices = IntStream.range(0, size);
+        if (parallel) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            final BooleanAssignment assignment = assignments.get(i);
+            final BooleanAssignment convertedAssignment = converter.apply(assignment);
+            convertedAssignments[i] = convertedAssignment;
+            if (convertedAssignment != assignment) {
+                changed[0] = true;
+            }
+        });
+        return changed[0] ? new BooleanAssignmentList(variableMap, Arrays.asList(convertedAssignments)) : this;
     }
 
     /**
@@ -151,13 +604,40 @@ public class BooleanAssignmentList implements IAssignmentList<BooleanAssignment>
     /**
      * Changes the {@link VariableMap variable map} and calls {@link BooleanAssignment#adapt(VariableMap, VariableMap, boolean)} for every assignment in this list.
      * This does not create a copy of this list, but directly changes each assignment.
+     * Assignments for which adapt returns a new object, such as {@link BooleanSolution solutions}, are replaced in this list.
+     * If this list is a read-only view, it is detached from the viewed list by copying its assignments first.
      *
      * @param newVariables the new variable map
      * @param integrateOldVariables whether variable names from the old variable map are added to the new variable map, if missing
      * @return this list
      */
     public BooleanAssignmentList adapt(VariableMap newVariables, boolean integrateOldVariables) {
-        assignments.forEach(assignment -> assignment.adapt(variableMap, newVariables, integrateOldVariables));
+        if (assignments instanceof Storage && !((Storage) assignments).supportsSet()) {
+            assignments =
+                    assignments.stream().map(BooleanAssignment::clone).collect(Collectors.toCollection(ArrayList::new));
+        }
+        final List<BooleanAssignment> list = assignments;
+        final VariableMap oldVariables = variableMap;
+        if (integrateOldVariables) {
+            final ListIterator<BooleanAssignment> iterator = list.listIterator();
+            while (iterator.hasNext()) {
+                final BooleanAssignment assignment = iterator.next();
+                final BooleanAssignment adaptedAssignment = assignment.adapt(oldVariables, newVariables, true);
+                if (adaptedAssignment != assignment) {
+                    iterator.set(adaptedAssignment);
+                }
+            }
+        } else {
+            final int[] translationTable = oldVariables.getTranslationTable(newVariables);
+            IntStream.range(0, list.size()).parallel().forEach(i -> {
+                final BooleanAssignment assignment = list.get(i);
+                final BooleanAssignment adaptedAssignment =
+                        assignment.adapt(oldVariables, newVariables, translationTable);
+                if (adaptedAssignment != assignment) {
+                    list.set(i, adaptedAssignment);
+                }
+            });
+        }
         variableMap = newVariables;
         return this;
     }
@@ -209,6 +209,13 @@ public class BooleanSolution extends BooleanAssignment implements ISolution<Inte
         return new BooleanSolution(newElements);
     }
 
+    @Override
+    public BooleanSolution adapt(VariableMap oldVariableMap, VariableMap newVariableMap, int[] translationTable) {
+        int[] newElements = new int[newVariableMap.size()];
+        oldVariableMap.translate(elements, newElements, translationTable, newVariableMap);
+        return new BooleanSolution(newElements);
+    }
+
     @Override
     public BooleanSolution inverse() {
         return new BooleanSolution(negate(), false);
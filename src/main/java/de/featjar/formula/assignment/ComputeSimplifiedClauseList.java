@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Simplifies a list of clauses without changing its set of models.
+ * Removes tautologies, duplicate clauses, and subsumed clauses, and optionally strengthens clauses by self-subsuming resolution.
+ * Candidate clauses are found via occurrence lists and filtered by 64-bit clause signatures.
+ * Each round checks all clauses in parallel against a snapshot of the previous round, which is sound, because every new clause is implied by the old clauses and subsumes one of them.
+ *
+ * @author agent
+ */
+public class ComputeSimplifiedClauseList extends AComputation<BooleanAssignmentList> {
+
+    public static final Dependency<BooleanAssignmentList> CLAUSES =
+            Dependency.newDependency(BooleanAssignmentList.class);
+    public static final Dependency<Boolean> SELF_SUBSUMING_RESOLUTION = Dependency.newDependency(Boolean.class);
+
+    public ComputeSimplifiedClauseList(IComputation<BooleanAssignmentList> clauseList) {
+        super(clauseList, Computations.of(Boolean.TRUE));
+    }
+
+    protected ComputeSimplifiedClauseList(ComputeSimplifiedClauseList other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        return Result.of(simplify(CLAUSES.get(dependencyList), SELF_SUBSUMING_RESOLUTION.get(dependencyList)));
+    }
+
+    /**
+     * {@return a new list containing the simplified clauses of the given list in their original order}
+     * If the clauses are unsatisfiable by self-subsuming resolution, the returned list contains only the empty clause.
+     *
+     * @param clauseList the clause list
+     * @param selfSubsumingResolution whether clauses are strengthened by self-subsuming resolution
+     */
+    public static BooleanAssignmentList simplify(BooleanAssignmentList clauseList, boolean selfSubsumingResolution) {
+        final int size = clauseList.size();
+        final int[][] clauses = new int[size][];
+        IntStream.range(0, size)
+                .parallel()
+                .forEach(i -> clauses[i] = normalize(clauseList.get(i).get()));
+        final int tautologies = (int) Arrays.stream(clauses).filter(c -> c == null).count();
+
+        int subsumed = 0;
+        int strengthened = 0;
+        while (true) {
+            if (Arrays.stream(clauses).anyMatch(c -> c != null && c.length == 0)) {
+                final BooleanAssignmentList emptyClauseList = new BooleanAssignmentList(clauseList.getVariableMap());
+                emptyClauseList.add(new BooleanClause());
+                return emptyClauseList;
+            }
+            final int[][] occurrences = computeOccurrences(clauses);
+            final long[] signatures = computeSignatures(clauses);
+
+            final boolean[] isSubsumed = new boolean[size];
+            IntStream.range(0, size)
+                    .parallel()
+                    .forEach(i -> isSubsumed[i] = isSubsumed(i, clauses, occurrences, signatures));
+            for (int i = 0; i < size; i++) {
+                if (isSubsumed[i]) {
+                    clauses[i] = null;
+                    subsumed++;
+                }
+            }
+
+            if (!selfSubsumingResolution) {
+                break;
+            }
+            final int[][] strengthenedClauses = new int[size][];
+            IntStream.range(0, size)
+                    .parallel()
+                    .forEach(i -> strengthenedClauses[i] = strengthen(i, clauses, occurrences, signatures));
+            int changed = 0;
+            for (int i = 0; i < size; i++) {
+                if (strengthenedClauses[i] != null) {
+                    clauses[i] = strengthenedClauses[i];
+                    changed++;
+                }
+            }
+            if (changed == 0) {
+                break;
+            }
+            strengthened += changed;
+        }
+
+        FeatJAR.log()
+                .debug(
+                        "removed %d tautologies and %d subsumed clauses, strengthened %d clauses",
+                        tautologies, subsumed, strengthened);
+        final BooleanAssignmentList simplifiedClauseList =
+                new BooleanAssignmentList(clauseList.getVariableMap(), size - tautologies - subsumed);
+        for (int[] clause : clauses) {
+            if (clause != null) {
+                simplifiedClauseList.add(new BooleanClause(clause, false));
+            }
+        }
+        return simplifiedClauseList;
+    }
+
+    /**
+     * {@return the sorted literals of the given clause without duplicates, or {@code null} if the clause is a tautology}
+     *
+     * @param literals the literals of the clause
+     */
+    private static int[] normalize(int[] literals) {
+        final int[] sortedLiterals = literals.clone();
+        Arrays.sort(sortedLiterals);
+        int length = 0;
+        for (int i = 0; i < sortedLiterals.length; i++) {
+            final int literal = sortedLiterals[i];
+            if (literal == 0) {
+                throw new IllegalArgumentException(
+                        String.format("Clause contains zero: %s", Arrays.toString(literals)));
+            }
+            if (length == 0 || sortedLiterals[length - 1] != literal) {
+                if (literal > 0 && Arrays.binarySearch(sortedLiterals, 0, length, -literal) >= 0) {
+                    return null;
+                }
+                sortedLiterals[length++] = literal;
+            }
+        }
+        return length == sortedLiterals.length ? sortedLiterals : Arrays.copyOf(sortedLiterals, length);
+    }
+
+    /**
+     * {@return for each literal {@code l} the ascending indices of all clauses containing {@code l}, stored at index {@code l + n}}
+     * where {@code n} is the largest variable in any clause.
+     *
+     * @param clauses the clauses, {@code null} entries are ignored
+     */
+    private static int[][] computeOccurrences(int[][] clauses) {
+        int maxVariable = 0;
+        for (int[] clause : clauses) {
+            if (clause != null && clause.length > 0) {
+                maxVariable = Math.max(maxVariable, Math.max(-clause[0], clause[clause.length - 1]));
+            }
+        }
+        final int offset = maxVariable;
+        final int[] counts = new int[2 * offset + 1];
+        for (int[] clause : clauses) {
+            if (clause != null) {
+                for (int literal : clause) {
+                    counts[literal + offset]++;
+                }
+            }
+        }
+        final int[][] occurrences = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            occurrences[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int i = 0; i < clauses.length; i++) {
+            final int[] clause = clauses[i];
+            if (clause != null) {
+                for (int literal : clause) {
+                    final int index = literal + offset;
+                    occurrences[index][counts[index]++] = i;
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * {@return for each clause a signature with one bit set per contained variable}
+     * A clause can only be a subset of another clause, if its signature is a subset of the other signature.
+     * Signatures are based on variables, so that they also filter candidates for self-subsuming resolution.
+     *
+     * @param clauses the clauses, {@code null} entries are ignored
+     */
+    private static long[] computeSignatures(int[][] clauses) {
+        final long[] signatures = new long[clauses.length];
+        for (int i = 0; i < clauses.length; i++) {
+            final int[] clause = clauses[i];
+            if (clause != null) {
+                long signature = 0;
+                for (int literal : clause) {
+                    signature |= 1L << (Math.abs(literal) & 63);
+                }
+                signatures[i] = signature;
+            }
+        }
+        return signatures;
+    }
+
+    /**
+     * {@return whether the given clause is subsumed by another clause}
+     * A clause is not considered subsumed by an identical clause with a higher index, so exactly one of multiple duplicates remains.
+     * Every candidate clause is checked only once, namely via its smallest literal.
+     */
+    private static boolean isSubsumed(int index, int[][] clauses, int[][] occurrences, long[] signatures) {
+        final int[] clause = clauses[index];
+        if (clause == null) {
+            return false;
+        }
+        final int offset = occurrences.length >> 1;
+        final long signature = signatures[index];
+        for (int literal : clause) {
+            for (int otherIndex : occurrences[literal + offset]) {
+                final int[] otherClause = clauses[otherIndex];
+                if (otherIndex != index
+                        && otherClause[0] == literal
+                        && (otherClause.length < clause.length
+                                || (otherClause.length == clause.length && otherIndex < index))
+                        && (signatures[otherIndex] & ~signature) == 0
+                        && isSubset(otherClause, clause, 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@return the given clause without one of its literals {@code l}, if there is another clause that contains {@code -l} and whose other literals are all contained in the given clause, or {@code null} otherwise}
+     */
+    private static int[] strengthen(int index, int[][] clauses, int[][] occurrences, long[] signatures) {
+        final int[] clause = clauses[index];
+        if (clause == null) {
+            return null;
+        }
+        final int offset = occurrences.length >> 1;
+        final long signature = signatures[index];
+        for (int i = 0; i < clause.length; i++) {
+            final int literal = clause[i];
+            final int negatedIndex = offset - literal;
+            if (negatedIndex < 0 || negatedIndex >= occurrences.length) {
+                continue;
+            }
+            for (int otherIndex : occurrences[negatedIndex]) {
+                final int[] otherClause = clauses[otherIndex];
+                if (otherClause != null
+                        && otherClause.length <= clause.length
+                        && (signatures[otherIndex] & ~signature) == 0
+                        && isSubset(otherClause, clause, -literal)) {
+                    final int[] strengthenedClause = new int[clause.length - 1];
+                    System.arraycopy(clause, 0, strengthenedClause, 0, i);
+                    System.arraycopy(clause, i + 1, strengthenedClause, i, clause.length - i - 1);
+                    return strengthenedClause;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@return whether all literals of the first sorted clause, except for the given literal, are contained in the second sorted clause}
+     *
+     * @param subset the potential subset
+     * @param superset the potential superset
+     * @param ignoredLiteral a literal that is ignored in the subset, or {@code 0}
+     */
+    private static boolean isSubset(int[] subset, int[] superset, int ignoredLiteral) {
+        int j = 0;
+        for (int literal : subset) {
+            if (literal == ignoredLiteral) {
+                continue;
+            }
+            while (j < superset.length && superset[j] < literal) {
+                j++;
+            }
+            if (j == superset.length || superset[j] != literal) {
+                return false;
+            }
+            j++;
+        }
+        return true;
+    }
+}
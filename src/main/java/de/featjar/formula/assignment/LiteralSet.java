@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive integers (e.g., literals) that retains the insertion order.
+ * Uses open addressing with linear probing and does not box its elements.
+ * {@link #clear()} runs in constant time, so an instance can be reused cheaply, e.g., via {@link #threadLocal()}.
+ *
+ * @author agent
+ */
+public final class LiteralSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * The maximum capacity of a set that is kept by {@link #threadLocal()}.
+     * Larger sets are replaced, so a single large assignment does not pin its table in every thread.
+     */
+    private static final int MAX_THREAD_LOCAL_CAPACITY = 1 << 16;
+
+    private static final ThreadLocal<LiteralSet> THREAD_LOCAL_SET = ThreadLocal.withInitial(LiteralSet::new);
+
+    /**
+     * {@return an empty set that is reused by all calls of this method in the current thread}
+     * The set must not be used anymore after the next call of this method in the same thread.
+     */
+    public static LiteralSet threadLocal() {
+        LiteralSet set = THREAD_LOCAL_SET.get();
+        if (set.table.length > MAX_THREAD_LOCAL_CAPACITY || set.elements.length > MAX_THREAD_LOCAL_CAPACITY) {
+            set = new LiteralSet();
+            THREAD_LOCAL_SET.set(set);
+        } else {
+            set.clear();
+        }
+        return set;
+    }
+
+    private int[] table;
+    private int[] tableStamps;
+    private int stamp = 1;
+    private int mask;
+
+    private int[] elements;
+    private int size;
+
+    public LiteralSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @param expectedSize the expected number of elements
+     */
+    public LiteralSet(int expectedSize) {
+        allocateTable(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+        elements = new int[Math.max(MIN_CAPACITY, expectedSize)];
+    }
+
+    private void allocateTable(int capacity) {
+        table = new int[capacity];
+        tableStamps = new int[capacity];
+        mask = capacity - 1;
+        stamp = 1;
+    }
+
+    private int slot(int element) {
+        final int hash = element * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Adds the given element, if it is not already contained.
+     *
+     * @param element the element
+     * @return {@code true} if the element was added, {@code false} if it was already contained
+     */
+    public boolean add(int element) {
+        int slot = slot(element);
+        while (tableStamps[slot] == stamp) {
+            if (table[slot] == element) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = element;
+        tableStamps[slot] = stamp;
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    private void rehash() {
+        allocateTable(table.length * 2);
+        for (int i = 0; i < size; i++) {
+            final int element = elements[i];
+            int slot = slot(element);
+            while (tableStamps[slot] == stamp) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = element;
+            tableStamps[slot] = stamp;
+        }
+    }
+
+    /**
+     * {@return whether the given element is contained in this set}
+     *
+     * @param element the element
+     */
+    public boolean contains(int element) {
+        int slot = slot(element);
+        while (tableStamps[slot] == stamp) {
+            if (table[slot] == element) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        size = 0;
+        if (++stamp == 0) {
+            Arrays.fill(tableStamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * {@return the number of elements}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the element at the given position in insertion order}
+     *
+     * @param index the position
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    /**
+     * {@return a new array containing all elements in insertion order}
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
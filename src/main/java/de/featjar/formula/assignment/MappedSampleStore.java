@@ -0,0 +1,531 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only list of solutions that is stored in a file and accessed via memory mapping.
+ * The list does not occupy heap memory for its configurations, instead the operating system's page cache is used.
+ * Thus, it can hold samples that are larger than the heap.
+ * <p>
+ * Each configuration is stored with a fixed stride as two bitplanes (assigned and positive) like in {@link PackedSampleMatrix}.
+ * Assignments returned by {@link #get(int)} and during iteration are materialized copies.
+ * To read configurations without creating objects, use the flyweight views returned by {@link #row(int)} and {@link #forEachRow(java.util.function.Consumer)},
+ * or {@link #getLiteral(int, int)} and {@link #getLiterals(int, int[])}.
+ * Files are created with a {@link Writer}, which does not need to hold the sample in memory either.
+ * <p>
+ * {@link #adapt(VariableMap, boolean)} does not change the file, but only the mapping of stored columns to variables.
+ *
+ * @author agent
+ */
+public class MappedSampleStore extends BooleanAssignmentList {
+
+    private static final int MAGIC_NUMBER = 0x464A5353;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int SIZE_POSITION = 3 * Integer.BYTES;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    /**
+     * Writes configurations to a file that can be opened with {@link MappedSampleStore#open(Path)}.
+     * Configurations are written directly to the file.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final int numberOfColumns;
+        private final int wordsPerRow;
+        private final ByteBuffer rowBuffer;
+        private final long[] assigned;
+        private final long[] positive;
+        private int size;
+
+        private Writer(Path file, VariableMap variableMap) throws IOException {
+            numberOfColumns = variableMap.maxIndex();
+            wordsPerRow = getWordsPerRow(numberOfColumns);
+            assigned = new long[wordsPerRow];
+            positive = new long[wordsPerRow];
+            rowBuffer = ByteBuffer.allocate(2 * wordsPerRow * Long.BYTES);
+
+            final byte[][] encodedNames = new byte[numberOfColumns][];
+            int headerSize = HEADER_SIZE;
+            for (int i = 0; i < numberOfColumns; i++) {
+                final String name = variableMap.get(i + 1).orElse(null);
+                encodedNames[i] = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+                headerSize += Integer.BYTES + (name == null ? 0 : encodedNames[i].length);
+            }
+            final ByteBuffer header = ByteBuffer.allocate(align(headerSize));
+            header.putInt(MAGIC_NUMBER);
+            header.putInt(VERSION);
+            header.putInt(numberOfColumns);
+            header.putInt(0);
+            for (byte[] encodedName : encodedNames) {
+                if (encodedName == null) {
+                    header.putInt(-1);
+                } else {
+                    header.putInt(encodedName.length);
+                    header.put(encodedName);
+                }
+            }
+            header.clear();
+
+            channel = FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            try {
+                writeFully(header);
+            } catch (IOException | RuntimeException e) {
+                try {
+                    channel.close();
+                } catch (IOException e2) {
+                    e.addSuppressed(e2);
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Appends a configuration.
+         *
+         * @param assignment the configuration
+         */
+        public void add(BooleanAssignment assignment) throws IOException {
+            final int[] literals = assignment.get();
+            add(literals, 0, literals.length);
+        }
+
+        /**
+         * Appends a configuration that is stored in a section of the given array.
+         *
+         * @param literals the array containing the literals
+         * @param offset the position of the first literal
+         * @param length the number of literals
+         */
+        public void add(int[] literals, int offset, int length) throws IOException {
+            if (size == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Maximum number of configurations reached.");
+            }
+            Arrays.fill(assigned, 0);
+            Arrays.fill(positive, 0);
+            for (int k = offset, end = offset + length; k < end; k++) {
+                final int literal = literals[k];
+                if (literal != 0) {
+                    final int column = Math.abs(literal) - 1;
+                    if (column >= numberOfColumns) {
+                        throw new IllegalArgumentException(String.format(
+                                "Variable %d is larger than number of variables %d.", column + 1, numberOfColumns));
+                    }
+                    final long mask = 1L << column;
+                    assigned[column >> 6] |= mask;
+                    if (literal > 0) {
+                        positive[column >> 6] |= mask;
+                    } else {
+                        positive[column >> 6] &= ~mask;
+                    }
+                }
+            }
+            rowBuffer.clear();
+            for (long word : assigned) {
+                rowBuffer.putLong(word);
+            }
+            for (long word : positive) {
+                rowBuffer.putLong(word);
+            }
+            rowBuffer.flip();
+            writeFully(rowBuffer);
+            size++;
+        }
+
+        /**
+         * {@return the number of configurations written so far}
+         */
+        public int size() {
+            return size;
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        /**
+         * Writes the number of configurations into the header and closes the file.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                final ByteBuffer sizeBuffer = ByteBuffer.allocate(Integer.BYTES);
+                sizeBuffer.putInt(size).flip();
+                while (sizeBuffer.hasRemaining()) {
+                    channel.write(sizeBuffer, SIZE_POSITION + sizeBuffer.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class Rows extends Storage {
+        private MappedSampleStore store;
+
+        @Override
+        public BooleanAssignment get(int index) {
+            return new BooleanSolution(store.getLiterals(index, new int[store.variableMap.maxIndex()]), false);
+        }
+
+        @Override
+        public int size() {
+            return store.size;
+        }
+    }
+
+    private final MappedByteBuffer[] chunks;
+    private final int rowsPerChunk;
+    private final int numberOfColumns;
+    private final int wordsPerRow;
+    private final int size;
+
+    /**
+     * Maps each stored column to its variable index in the current variable map, 0 if the variable was removed.
+     * Is {@code null} as long as column {@code c} corresponds to variable {@code c + 1}.
+     */
+    private int[] columnVariables;
+
+    /**
+     * Maps each variable index in the current variable map to its stored column, -1 if the variable is not stored.
+     * Is {@code null} as long as {@link #columnVariables} is {@code null}.
+     */
+    private int[] variableColumns;
+
+    private MappedSampleStore(
+            VariableMap variableMap,
+            MappedByteBuffer[] chunks,
+            int rowsPerChunk,
+            int numberOfColumns,
+            int size,
+            int[] columnVariables) {
+        this(variableMap, new Rows(), chunks, rowsPerChunk, numberOfColumns, size, columnVariables);
+    }
+
+    private MappedSampleStore(
+            VariableMap variableMap,
+            Rows rows,
+            MappedByteBuffer[] chunks,
+            int rowsPerChunk,
+            int numberOfColumns,
+            int size,
+            int[] columnVariables) {
+        super(variableMap, rows);
+        rows.store = this;
+        this.chunks = chunks;
+        this.rowsPerChunk = rowsPerChunk;
+        this.numberOfColumns = numberOfColumns;
+        wordsPerRow = getWordsPerRow(numberOfColumns);
+        this.size = size;
+        this.columnVariables = columnVariables;
+        variableColumns = invert(columnVariables, variableMap.maxIndex());
+    }
+
+    /**
+     * {@return a new writer that creates a store in the given file}
+     * An existing file is overwritten.
+     *
+     * @param file the file
+     * @param variableMap the variable map of the configurations
+     * @throws IOException if the file cannot be written
+     */
+    public static Writer create(Path file, VariableMap variableMap) throws IOException {
+        return new Writer(file, variableMap);
+    }
+
+    /**
+     * Writes the given list to the given file and opens it as a store.
+     *
+     * @param file the file
+     * @param list the list of configurations
+     * @return the store
+     * @throws IOException if the file cannot be written or read
+     */
+    public static MappedSampleStore write(Path file, BooleanAssignmentList list) throws IOException {
+        try (Writer writer = create(file, list.getVariableMap())) {
+            for (BooleanAssignment assignment : list) {
+                writer.add(assignment);
+            }
+        }
+        return open(file);
+    }
+
+    /**
+     * Opens a store from the given file.
+     * The file is mapped into memory and closed, the mapping remains valid until the store is garbage collected.
+     *
+     * @param file the file
+     * @return the store
+     * @throws IOException if the file cannot be read or has an invalid format
+     */
+    public static MappedSampleStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC_NUMBER) {
+                throw new IOException(String.format("%s is not a sample store.", file));
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported version %d.", version));
+            }
+            final int numberOfColumns = header.getInt();
+            final int size = header.getInt();
+
+            final VariableMap variableMap = new VariableMap();
+            long position = HEADER_SIZE;
+            final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+            for (int i = 1; i <= numberOfColumns; i++) {
+                lengthBuffer.clear();
+                readFully(channel, lengthBuffer, position);
+                position += Integer.BYTES;
+                final int length = lengthBuffer.flip().getInt();
+                if (length >= 0) {
+                    final ByteBuffer nameBuffer = ByteBuffer.allocate(length);
+                    readFully(channel, nameBuffer, position);
+                    position += length;
+                    variableMap.add(i, new String(nameBuffer.array(), StandardCharsets.UTF_8));
+                }
+            }
+            final long dataOffset = align(position);
+
+            final long rowSize = 2L * getWordsPerRow(numberOfColumns) * Long.BYTES;
+            if (dataOffset + size * rowSize > fileSize) {
+                throw new IOException(String.format("%s is truncated.", file));
+            }
+            final int rowsPerChunk = (int) Math.max(1, MAX_CHUNK_SIZE / Math.max(1, rowSize));
+            final int numberOfChunks = size == 0 ? 0 : (size - 1) / rowsPerChunk + 1;
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[numberOfChunks];
+            for (int i = 0; i < numberOfChunks; i++) {
+                final long firstRow = (long) i * rowsPerChunk;
+                final long rows = Math.min(rowsPerChunk, size - firstRow);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + firstRow * rowSize, rows * rowSize);
+            }
+            return new MappedSampleStore(variableMap, chunks, rowsPerChunk, numberOfColumns, size, null);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+    }
+
+    private static int getWordsPerRow(int numberOfColumns) {
+        return ((numberOfColumns - 1) >> 6) + 1;
+    }
+
+    private static int align(long position) {
+        return Math.toIntExact((position + Long.BYTES - 1) & -Long.BYTES);
+    }
+
+    /**
+     * {@return the number of configurations}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the number of variables stored per configuration}
+     */
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    private long getWord(int row, int word) {
+        return chunks[row / rowsPerChunk].getLong(((row % rowsPerChunk) * wordsPerRow * 2 + word) * Long.BYTES);
+    }
+
+    private int getVariable(int column) {
+        return columnVariables == null ? column + 1 : columnVariables[column];
+    }
+
+    private static int[] invert(int[] columnVariables, int maxIndex) {
+        if (columnVariables == null) {
+            return null;
+        }
+        final int[] variableColumns = new int[maxIndex + 1];
+        Arrays.fill(variableColumns, -1);
+        for (int column = 0; column < columnVariables.length; column++) {
+            final int variable = columnVariables[column];
+            if (variable > 0 && variable <= maxIndex) {
+                variableColumns[variable] = column;
+            }
+        }
+        return variableColumns;
+    }
+
+    /**
+     * {@return the literal of the given variable in the given configuration or 0 if the variable is not assigned}
+     *
+     * @param row the index of the configuration
+     * @param variable the variable index
+     */
+    public int getLiteral(int row, int variable) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        final int column;
+        if (variableColumns == null) {
+            column = variable - 1;
+        } else {
+            column = variable > 0 && variable < variableColumns.length ? variableColumns[variable] : -1;
+        }
+        if (column < 0 || column >= numberOfColumns) {
+            return 0;
+        }
+        final long mask = 1L << column;
+        final int wordIndex = column >> 6;
+        return (getWord(row, wordIndex) & mask) == 0
+                ? 0
+                : (getWord(row, wordsPerRow + wordIndex) & mask) != 0 ? variable : -variable;
+    }
+
+    /**
+     * Writes the literals of the given configuration into the given array, indexed by variable.
+     *
+     * @param row the index of the configuration
+     * @param literals an array with one entry for each variable index up to the maximum index of the variable map
+     * @return the given array
+     */
+    public int[] getLiterals(int row, int[] literals) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        Arrays.fill(literals, 0);
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = getWord(row, w);
+            final long positiveWord = getWord(row, wordsPerRow + w);
+            while (word != 0) {
+                final int bit = Long.numberOfTrailingZeros(word);
+                final int variable = getVariable((w << 6) + bit);
+                if (variable != 0) {
+                    literals[variable - 1] = (positiveWord & (1L << bit)) != 0 ? variable : -variable;
+                }
+                word &= word - 1;
+            }
+        }
+        return literals;
+    }
+
+    @Override
+    protected void loadRow(int index, Row row) {
+        final int numberOfVariables = variableMap.maxIndex();
+        row.set(getLiterals(index, row.getBuffer(numberOfVariables)), 0, numberOfVariables, SOLUTION_TYPE);
+    }
+
+    /**
+     * {@return this store, as all configurations in this store are solutions}
+     */
+    @Override
+    public MappedSampleStore toSolutionList() {
+        return this;
+    }
+
+    /**
+     * {@return this store, as all configurations in this store are solutions}
+     *
+     * @param parallel ignored
+     */
+    @Override
+    public MappedSampleStore toSolutionList(boolean parallel) {
+        return this;
+    }
+
+    @Override
+    public MappedSampleStore adapt(VariableMap newVariables, boolean integrateOldVariables) {
+        final int[] newColumnVariables = new int[numberOfColumns];
+        for (int column = 0; column < numberOfColumns; column++) {
+            final int variable = getVariable(column);
+            if (variable != 0 && variableMap.has(variable)) {
+                newColumnVariables[column] = variableMap.adapt(variable, newVariables, integrateOldVariables);
+            }
+        }
+        columnVariables = newColumnVariables;
+        variableColumns = invert(newColumnVariables, newVariables.maxIndex());
+        variableMap = newVariables;
+        return this;
+    }
+
+    /**
+     * {@return a store that shares the mapped file with this store, but can be adapted independently}
+     */
+    @Override
+    public MappedSampleStore clone() {
+        return new MappedSampleStore(
+                variableMap,
+                chunks,
+                rowsPerChunk,
+                numberOfColumns,
+                size,
+                columnVariables == null ? null : columnVariables.clone());
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] literals = new int[variableMap.maxIndex()];
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + Arrays.hashCode(getLiterals(i, literals));
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MappedSampleStore that = (MappedSampleStore) o;
+        if (size != that.size || variableMap.maxIndex() != that.variableMap.maxIndex()) {
+            return false;
+        }
+        final int[] literals1 = new int[variableMap.maxIndex()];
+        final int[] literals2 = new int[variableMap.maxIndex()];
+        for (int i = 0; i < size; i++) {
+            if (!Arrays.equals(getLiterals(i, literals1), that.getLiterals(i, literals2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.util.Arrays;
+
+/**
+ * Stores a sample as a matrix with one row per configuration and two bits per variable.
+ * The first bitplane stores whether a variable is assigned, the second one whether it is assigned positively.
+ * The rows of both planes are stored contiguously in one {@code long} array each.
+ * Allows to compute distances, literal frequencies, and duplicates of configurations with bitwise operations.
+ * <p>
+ * Each row is indexed by variable, i.e., a row corresponds to a (partial) {@link BooleanSolution}.
+ * The literal of variable {@code v} is stored at column {@code v - 1}.
+ *
+ * @author agent
+ */
+public class PackedSampleMatrix {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int MAXIMUM_TABLE_CAPACITY = 1 << 30;
+
+    private final VariableMap variableMap;
+    private final int numberOfVariables;
+    private final int wordsPerRow;
+
+    private long[] assigned;
+    private long[] positive;
+    private int size;
+
+    /**
+     * Creates an empty matrix with one column for each variable in the given variable map.
+     *
+     * @param variableMap the variable map
+     */
+    public PackedSampleMatrix(VariableMap variableMap) {
+        this(variableMap, 16);
+    }
+
+    /**
+     * Creates an empty matrix with one column for each variable in the given variable map.
+     *
+     * @param variableMap the variable map
+     * @param numberOfInitialRows the initial capacity of rows
+     */
+    public PackedSampleMatrix(VariableMap variableMap, int numberOfInitialRows) {
+        this(variableMap, variableMap.size(), numberOfInitialRows);
+    }
+
+    private PackedSampleMatrix(VariableMap variableMap, int numberOfVariables, int numberOfInitialRows) {
+        this.variableMap = variableMap;
+        this.numberOfVariables = numberOfVariables;
+        wordsPerRow = wordIndex(numberOfVariables - 1) + 1;
+        final int numberOfWords = Math.multiplyExact(wordsPerRow, Math.max(1, numberOfInitialRows));
+        assigned = new long[numberOfWords];
+        positive = new long[numberOfWords];
+    }
+
+    /**
+     * Creates a new matrix containing all assignments of the given list.
+     *
+     * @param list the list of assignments
+     */
+    public PackedSampleMatrix(BooleanAssignmentList list) {
+        this(list.getVariableMap(), list.size());
+        list.forEachRow(row -> add(row.getArray(), row.getOffset(), row.size()));
+    }
+
+    private static int wordIndex(int column) {
+        return column >> ADDRESS_BITS_PER_WORD;
+    }
+
+    private void ensureCapacity(int rows) {
+        final int requiredWords = Math.multiplyExact(rows, wordsPerRow);
+        if (requiredWords > assigned.length) {
+            final int newNumberOfWords = Math.max(requiredWords, 2 * assigned.length);
+            assigned = Arrays.copyOf(assigned, newNumberOfWords);
+            positive = Arrays.copyOf(positive, newNumberOfWords);
+        }
+    }
+
+    /**
+     * Adds a new row containing the literals of the given assignment.
+     *
+     * @param assignment the assignment
+     * @return the index of the new row
+     */
+    public int add(BooleanAssignment assignment) {
+        final int[] literals = assignment.get();
+        return add(literals, 0, literals.length);
+    }
+
+    /**
+     * Adds a new row containing the literals in a section of the given array.
+     *
+     * @param literals the array containing the literals
+     * @param offset the position of the first literal
+     * @param length the number of literals
+     * @return the index of the new row
+     */
+    public int add(int[] literals, int offset, int length) {
+        ensureCapacity(size + 1);
+        final int row = size++;
+        final int rowOffset = row * wordsPerRow;
+        for (int k = offset, end = offset + length; k < end; k++) {
+            final int literal = literals[k];
+            if (literal != 0) {
+                final int column = Math.abs(literal) - 1;
+                if (column >= numberOfVariables) {
+                    throw new IllegalArgumentException(String.format(
+                            "Variable %d is larger than number of variables %d.", column + 1, numberOfVariables));
+                }
+                final int word = rowOffset + wordIndex(column);
+                final long mask = 1L << column;
+                assigned[word] |= mask;
+                if (literal > 0) {
+                    positive[word] |= mask;
+                } else {
+                    positive[word] &= ~mask;
+                }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * {@return the number of rows}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@return the number of columns (i.e., variables)}
+     */
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    /**
+     * {@return the number of {@code long} words used per row and bitplane}
+     */
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * {@return the variable map}
+     */
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * {@return the literal of the given variable in the given row or 0 if the variable is not assigned}
+     *
+     * @param row the row index
+     * @param variable the variable index
+     */
+    public int getLiteral(int row, int variable) {
+        final int column = variable - 1;
+        final int word = row * wordsPerRow + wordIndex(column);
+        final long mask = 1L << column;
+        return (assigned[word] & mask) == 0 ? 0 : (positive[word] & mask) != 0 ? variable : -variable;
+    }
+
+    /**
+     * {@return the literals of the given row indexed by variable}
+     *
+     * @param row the row index
+     */
+    public int[] getLiterals(int row) {
+        final int[] literals = new int[numberOfVariables];
+        final int rowOffset = row * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = assigned[rowOffset + w];
+            final long positiveWord = positive[rowOffset + w];
+            while (word != 0) {
+                final int bit = Long.numberOfTrailingZeros(word);
+                final int variable = (w << ADDRESS_BITS_PER_WORD) + bit + 1;
+                literals[variable - 1] = (positiveWord & (1L << bit)) != 0 ? variable : -variable;
+                word &= word - 1;
+            }
+        }
+        return literals;
+    }
+
+    /**
+     * {@return the given row as a solution}
+     *
+     * @param row the row index
+     */
+    public BooleanSolution get(int row) {
+        return new BooleanSolution(getLiterals(row), false);
+    }
+
+    /**
+     * {@return a new list containing one solution for each row}
+     */
+    public ArenaBooleanAssignmentList toAssignmentList() {
+        final ArenaBooleanAssignmentList list =
+                new ArenaBooleanAssignmentList(variableMap, size, (long) size * numberOfVariables);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    /**
+     * {@return the number of variables that are assigned differently in the given rows}
+     * A variable is assigned differently if it has opposite values in both rows or if it is only assigned in one row.
+     *
+     * @param row1 the first row index
+     * @param row2 the second row index
+     */
+    public int countDifferences(int row1, int row2) {
+        final int offset1 = row1 * wordsPerRow;
+        final int offset2 = row2 * wordsPerRow;
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount((assigned[offset1 + w] ^ assigned[offset2 + w])
+                    | (positive[offset1 + w] ^ positive[offset2 + w]));
+        }
+        return count;
+    }
+
+    /**
+     * {@return the number of variables that are positive in both given rows}
+     *
+     * @param row1 the first row index
+     * @param row2 the second row index
+     */
+    public int countCommonPositives(int row1, int row2) {
+        final int offset1 = row1 * wordsPerRow;
+        final int offset2 = row2 * wordsPerRow;
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(positive[offset1 + w] & positive[offset2 + w]);
+        }
+        return count;
+    }
+
+    /**
+     * {@return the number of variables that are negative in both given rows}
+     *
+     * @param row1 the first row index
+     * @param row2 the second row index
+     */
+    public int countCommonNegatives(int row1, int row2) {
+        final int offset1 = row1 * wordsPerRow;
+        final int offset2 = row2 * wordsPerRow;
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(assigned[offset1 + w]
+                    & ~positive[offset1 + w]
+                    & assigned[offset2 + w]
+                    & ~positive[offset2 + w]);
+        }
+        return count;
+    }
+
+    /**
+     * {@return the number of positive literals in the given row}
+     *
+     * @param row the row index
+     */
+    public int countPositives(int row) {
+        final int rowOffset = row * wordsPerRow;
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(positive[rowOffset + w]);
+        }
+        return count;
+    }
+
+    /**
+     * {@return the number of negative literals in the given row}
+     *
+     * @param row the row index
+     */
+    public int countNegatives(int row) {
+        final int rowOffset = row * wordsPerRow;
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(assigned[rowOffset + w] & ~positive[rowOffset + w]);
+        }
+        return count;
+    }
+
+    /**
+     * {@return the Jaccard distance between the sets of positive literals of the given rows}
+     * Returns 0 if both rows do not contain any positive literal.
+     *
+     * @param row1 the first row index
+     * @param row2 the second row index
+     */
+    public double computeJaccardDistance(int row1, int row2) {
+        final int intersection = countCommonPositives(row1, row2);
+        final int union = countPositives(row1) + countPositives(row2) - intersection;
+        return union == 0 ? 0 : 1 - ((double) intersection / union);
+    }
+
+    /**
+     * {@return how often each literal occurs in this matrix}
+     * The occurrences of literal {@code l} are stored at index {@code numberOfVariables + l}.
+     */
+    public int[] countLiteralFrequencies() {
+        final int[] frequencies = new int[2 * numberOfVariables + 1];
+        for (int row = 0; row < size; row++) {
+            final int rowOffset = row * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = assigned[rowOffset + w];
+                final long positiveWord = positive[rowOffset + w];
+                while (word != 0) {
+                    final int bit = Long.numberOfTrailingZeros(word);
+                    final int variable = (w << ADDRESS_BITS_PER_WORD) + bit + 1;
+                    final int literal = (positiveWord & (1L << bit)) != 0 ? variable : -variable;
+                    frequencies[numberOfVariables + literal]++;
+                    word &= word - 1;
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    /**
+     * {@return a hash code of the given row}
+     * Equal rows have equal hash codes.
+     *
+     * @param row the row index
+     */
+    public int hashCode(int row) {
+        final int rowOffset = row * wordsPerRow;
+        long hash = 1;
+        for (int w = 0; w < wordsPerRow; w++) {
+            hash = 31 * hash + assigned[rowOffset + w];
+            hash = 31 * hash + positive[rowOffset + w];
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * {@return whether the given rows contain the same literals}
+     *
+     * @param row1 the first row index
+     * @param row2 the second row index
+     */
+    public boolean equals(int row1, int row2) {
+        final int offset1 = row1 * wordsPerRow;
+        final int offset2 = row2 * wordsPerRow;
+        return Arrays.equals(assigned, offset1, offset1 + wordsPerRow, assigned, offset2, offset2 + wordsPerRow)
+                && Arrays.equals(positive, offset1, offset1 + wordsPerRow, positive, offset2, offset2 + wordsPerRow);
+    }
+
+    /**
+     * {@return a new matrix containing the first occurrence of each distinct row in this matrix}
+     * Distinct rows are found with an open-addressing hash table that stores row indices in an int array.
+     */
+    public PackedSampleMatrix removeDuplicates() {
+        final PackedSampleMatrix matrix = new PackedSampleMatrix(variableMap, numberOfVariables, size);
+        final long minimumCapacity = Math.max(2, 2L * size);
+        if (minimumCapacity > MAXIMUM_TABLE_CAPACITY) {
+            throw new IllegalArgumentException(String.format("Too many rows (%d).", size));
+        }
+        final int capacityBits = Long.SIZE - Long.numberOfLeadingZeros(minimumCapacity - 1);
+        final int mask = (1 << capacityBits) - 1;
+        final int[] slots = new int[1 << capacityBits];
+        for (int row = 0; row < size; row++) {
+            int slot = (hashCode(row) * 0x9E3779B9) >>> (Integer.SIZE - capacityBits);
+            boolean duplicate = false;
+            while (slots[slot] != 0) {
+                if (equals(slots[slot] - 1, row)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) {
+                slots[slot] = row + 1;
+                matrix.copyRow(this, row);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * {@return a new matrix in which all variables except the given ones are unassigned}
+     *
+     * @param variables the variables to keep
+     */
+    public PackedSampleMatrix project(int... variables) {
+        final long[] mask = new long[wordsPerRow];
+        for (int variable : variables) {
+            final int column = Math.abs(variable) - 1;
+            if (column < 0 || column >= numberOfVariables) {
+                throw new IllegalArgumentException(String.format("Variable %d is not in range.", variable));
+            }
+            mask[wordIndex(column)] |= 1L << column;
+        }
+        final PackedSampleMatrix matrix = new PackedSampleMatrix(variableMap, numberOfVariables, size);
+        for (int row = 0; row < size; row++) {
+            matrix.copyRow(this, row);
+            final int rowOffset = row * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                matrix.assigned[rowOffset + w] &= mask[w];
+                matrix.positive[rowOffset + w] &= mask[w];
+            }
+        }
+        return matrix;
+    }
+
+    private void copyRow(PackedSampleMatrix other, int row) {
+        ensureCapacity(size + 1);
+        System.arraycopy(other.assigned, row * wordsPerRow, assigned, size * wordsPerRow, wordsPerRow);
+        System.arraycopy(other.positive, row * wordsPerRow, positive, size * wordsPerRow, wordsPerRow);
+        size++;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import de.featjar.formula.VariableMap;
+import java.util.Arrays;
+
+/**
+ * A {@link BooleanAssignment} whose literals are sorted by variable.
+ * Literals of the same variable are ordered by value, i.e., a negative literal precedes its positive complement.
+ * Lookups use binary search and set operations with other sorted variables are computed by merging.
+ * Useful for large partial assignments, for which {@link BooleanSolution}'s index-by-variable layout would be sparse.
+ *
+ * @author agent
+ */
+public class SortedBooleanAssignment extends BooleanAssignment {
+
+    private static final long serialVersionUID = -2716343873213950727L;
+
+    /**
+     * Creates a new assignment from a sorted copy of the given literals.
+     *
+     * @param integers the literals
+     */
+    public SortedBooleanAssignment(int... integers) {
+        super(sortByVariable(Arrays.copyOf(integers, integers.length)));
+    }
+
+    /**
+     * Creates a new assignment from a sorted copy of the literals of the given assignment.
+     *
+     * @param booleanAssignment the assignment
+     */
+    public SortedBooleanAssignment(BooleanAssignment booleanAssignment) {
+        super(
+                booleanAssignment instanceof SortedBooleanAssignment
+                        ? Arrays.copyOf(booleanAssignment.get(), booleanAssignment.size())
+                        : sortByVariable(Arrays.copyOf(booleanAssignment.get(), booleanAssignment.size())));
+    }
+
+    private SortedBooleanAssignment(int[] sortedIntegers, boolean sorted) {
+        super(sortedIntegers);
+        assert isSortedByVariable(sortedIntegers) : Arrays.toString(sortedIntegers);
+    }
+
+    private static int compareByVariable(int literal1, int literal2) {
+        final int result = Integer.compare(Math.abs(literal1), Math.abs(literal2));
+        return result != 0 ? result : Integer.compare(literal1, literal2);
+    }
+
+    private static boolean isSortedByVariable(int[] integers) {
+        for (int i = 1; i < integers.length; i++) {
+            if (compareByVariable(integers[i - 1], integers[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorts the given literals in place by variable.
+     *
+     * @param integers the literals
+     * @return the given array
+     */
+    public static int[] sortByVariable(int[] integers) {
+        if (!isSortedByVariable(integers)) {
+            final long[] keys = new long[integers.length];
+            for (int i = 0; i < integers.length; i++) {
+                final int literal = integers[i];
+                keys[i] = (Math.abs((long) literal) << 1) | (literal > 0 ? 1 : 0);
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < integers.length; i++) {
+                final int variable = (int) (keys[i] >>> 1);
+                integers[i] = (keys[i] & 1) != 0 ? variable : -variable;
+            }
+        }
+        return integers;
+    }
+
+    /**
+     * {@return the position of the first literal with the given variable or -1 if there is none}
+     *
+     * @param variable the variable
+     */
+    private int lowerBound(int variable) {
+        int low = 0;
+        int high = elements.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (Math.abs(elements[middle]) < variable) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < elements.length && Math.abs(elements[low]) == variable ? low : -1;
+    }
+
+    @Override
+    public int indexOf(int literal) {
+        for (int i = lowerBound(Math.abs(literal)); i >= 0 && i < elements.length; i++) {
+            final int element = elements[i];
+            if (element == literal) {
+                return i;
+            } else if (Math.abs(element) != Math.abs(literal)) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int[] indicesOf(int literal) {
+        final int first = indexOf(literal);
+        if (first < 0) {
+            return new int[0];
+        }
+        int end = first + 1;
+        while (end < elements.length && elements[end] == literal) {
+            end++;
+        }
+        final int[] indices = new int[end - first];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = first + i;
+        }
+        return indices;
+    }
+
+    @Override
+    public int indexOfVariable(int variable) {
+        if (variable < 0) {
+            throw new IllegalArgumentException(String.format("%d is negative", variable));
+        }
+        return lowerBound(variable);
+    }
+
+    @Override
+    public int[] indicesOfVariable(int variable) {
+        final int first = indexOfVariable(variable);
+        if (first < 0) {
+            return new int[0];
+        }
+        int end = first + 1;
+        while (end < elements.length && Math.abs(elements[end]) == variable) {
+            end++;
+        }
+        final int[] indices = new int[end - first];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = first + i;
+        }
+        return indices;
+    }
+
+    @Override
+    protected int[] filterVariables(int[] sortedVariables, boolean retain) {
+        final int[] newArray = new int[elements.length];
+        int j = 0;
+        int k = 0;
+        for (int element : elements) {
+            final int variable = Math.abs(element);
+            while (k < sortedVariables.length && sortedVariables[k] < variable) {
+                k++;
+            }
+            if ((k < sortedVariables.length && sortedVariables[k] == variable) == retain) {
+                newArray[j++] = element;
+            }
+        }
+        return j == newArray.length ? newArray : Arrays.copyOf(newArray, j);
+    }
+
+    @Override
+    public SortedBooleanAssignment adapt(
+            VariableMap oldVariableMap, VariableMap newVariableMap, boolean integrateOldVariables) {
+        super.adapt(oldVariableMap, newVariableMap, integrateOldVariables);
+        sortByVariable(elements);
+        hashCodeValid = false;
+        return this;
+    }
+
+    @Override
+    public SortedBooleanAssignment adapt(
+            VariableMap oldVariableMap, VariableMap newVariableMap, int[] translationTable) {
+        super.adapt(oldVariableMap, newVariableMap, translationTable);
+        sortByVariable(elements);
+        hashCodeValid = false;
+        return this;
+    }
+
+    @Override
+    public SortedBooleanAssignment inverse() {
+        return new SortedBooleanAssignment(negate());
+    }
+
+    @Override
+    public SortedBooleanAssignment retainAllVariables(BooleanAssignment integers) {
+        return new SortedBooleanAssignment(super.retainAllVariables(integers).get(), true);
+    }
+
+    @Override
+    public SortedBooleanAssignment removeAllVariables(BooleanAssignment integers) {
+        return new SortedBooleanAssignment(super.removeAllVariables(integers).get(), true);
+    }
+
+    @Override
+    public SortedBooleanAssignment clone() {
+        return new SortedBooleanAssignment(this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SortedBooleanAssignment[%s]", Arrays.toString(elements));
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Boolean constraint propagation over a list of clauses using two watched literals per clause.
+ * Literals can be assumed incrementally on a stack of decision levels and retracted again by backtracking.
+ * Unit clauses of the clause list are propagated once on creation and form the root level, which cannot be retracted.
+ * Propagation alone is not complete, so a consistent state does not imply that the clauses are satisfiable.
+ * Instances are not thread-safe.
+ *
+ * @author agent
+ */
+public class UnitPropagator {
+
+    private static final int MIN_WATCH_CAPACITY = 4;
+
+    private final int variableCount;
+    private final int[][] clauses;
+
+    private final int[][] watches;
+    private final int[] watchSizes;
+
+    private final byte[] values;
+    private final int[] trail;
+    private int trailSize;
+    private int propagationHead;
+
+    private int[] levelStarts = new int[16];
+    private int level;
+
+    private boolean unsatisfiable;
+
+    /**
+     * Creates a new propagator for the given clause list and propagates all unit clauses.
+     * Duplicate literals are removed from each clause and tautological clauses are ignored.
+     *
+     * @param clauseList the clause list
+     */
+    public UnitPropagator(BooleanAssignmentList clauseList) {
+        int maxVariable = clauseList.getVariableMap() != null ? clauseList.getVariableMap().size() : 0;
+        for (BooleanAssignment clause : clauseList) {
+            for (int literal : clause.get()) {
+                maxVariable = Math.max(maxVariable, Math.abs(literal));
+            }
+        }
+        variableCount = maxVariable;
+        values = new byte[variableCount + 1];
+        trail = new int[variableCount];
+        watches = new int[2 * variableCount + 1][];
+        watchSizes = new int[2 * variableCount + 1];
+
+        final int[][] normalizedClauses = new int[clauseList.size()][];
+        int clauseCount = 0;
+        for (BooleanAssignment clause : clauseList) {
+            final int[] literals = BooleanAssignment.simplify(clause.get());
+            if (literals.length == 0 && clause.size() > 0) {
+                continue;
+            }
+            normalizedClauses[clauseCount++] = literals;
+        }
+        clauses = Arrays.copyOf(normalizedClauses, clauseCount);
+
+        for (int i = 0; i < clauses.length; i++) {
+            final int[] literals = clauses[i];
+            if (literals.length == 0) {
+                unsatisfiable = true;
+            } else if (literals.length == 1) {
+                if (!enqueue(literals[0])) {
+                    unsatisfiable = true;
+                }
+            } else {
+                watch(literals[0], i);
+                watch(literals[1], i);
+            }
+        }
+        if (!unsatisfiable && !propagate()) {
+            unsatisfiable = true;
+        }
+    }
+
+    /**
+     * {@return whether propagating the unit clauses led to a conflict}
+     * In this case, no literal can be assumed.
+     */
+    public boolean isUnsatisfiable() {
+        return unsatisfiable;
+    }
+
+    /**
+     * {@return the number of variables known to this propagator}
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * {@return the current decision level}
+     * The root level is {@code 0}.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * {@return the value of the given literal, that is, {@code 1} if it is true, {@code -1} if it is false, and {@code 0} if it is unassigned}
+     *
+     * @param literal the literal
+     */
+    public int getValue(int literal) {
+        checkLiteral(literal);
+        return value(literal);
+    }
+
+    /**
+     * {@return all literals assigned by propagation or assumption in the order of their assignment}
+     */
+    public BooleanAssignment getAssignment() {
+        return new BooleanAssignment(Arrays.copyOf(trail, trailSize));
+    }
+
+    /**
+     * {@return all literals implied by the unit clauses; that is, the literals of the root level}
+     */
+    public BooleanAssignment getRootAssignment() {
+        return new BooleanAssignment(Arrays.copyOf(trail, level == 0 ? trailSize : levelStarts[0]));
+    }
+
+    /**
+     * Opens a new decision level, assigns the given literals, and propagates them.
+     * If a conflict occurs, the new level is retracted.
+     *
+     * @param literals the literals to assume
+     * @return {@code true} if no conflict occurred, {@code false} otherwise
+     */
+    public boolean assume(int... literals) {
+        for (int literal : literals) {
+            checkLiteral(literal);
+        }
+        if (unsatisfiable) {
+            return false;
+        }
+        if (level == levelStarts.length) {
+            levelStarts = Arrays.copyOf(levelStarts, level * 2);
+        }
+        levelStarts[level++] = trailSize;
+        for (int literal : literals) {
+            if (!enqueue(literal)) {
+                backtrack();
+                return false;
+            }
+        }
+        if (!propagate()) {
+            backtrack();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * {@return whether the given literals can be assumed without a conflict}
+     * The state of this propagator is unchanged afterwards.
+     *
+     * @param literals the literals to test
+     */
+    public boolean test(int... literals) {
+        if (assume(literals)) {
+            backtrack();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retracts the current decision level.
+     *
+     * @throws IllegalStateException if the current level is the root level
+     */
+    public void backtrack() {
+        if (level == 0) {
+            throw new IllegalStateException("Cannot backtrack from root level");
+        }
+        backtrack(level - 1);
+    }
+
+    /**
+     * Retracts all decision levels above the given level.
+     *
+     * @param targetLevel the level to return to
+     */
+    public void backtrack(int targetLevel) {
+        if (targetLevel < 0 || targetLevel > level) {
+            throw new IllegalArgumentException(
+                    String.format("Level %d is not between 0 and %d", targetLevel, level));
+        }
+        if (targetLevel == level) {
+            return;
+        }
+        final int start = levelStarts[targetLevel];
+        for (int i = trailSize - 1; i >= start; i--) {
+            values[Math.abs(trail[i])] = 0;
+        }
+        trailSize = start;
+        propagationHead = start;
+        level = targetLevel;
+    }
+
+    private void checkLiteral(int literal) {
+        if (literal == 0 || Math.abs(literal) > variableCount) {
+            throw new IllegalArgumentException(String.format("Invalid literal %d", literal));
+        }
+    }
+
+    private int value(int literal) {
+        return literal > 0 ? values[literal] : -values[-literal];
+    }
+
+    private boolean enqueue(int literal) {
+        final int value = value(literal);
+        if (value != 0) {
+            return value > 0;
+        }
+        values[Math.abs(literal)] = (byte) (literal > 0 ? 1 : -1);
+        trail[trailSize++] = literal;
+        return true;
+    }
+
+    private void watch(int literal, int clauseIndex) {
+        final int index = literal + variableCount;
+        int[] list = watches[index];
+        if (list == null) {
+            list = new int[MIN_WATCH_CAPACITY];
+            watches[index] = list;
+        } else if (watchSizes[index] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            watches[index] = list;
+        }
+        list[watchSizes[index]++] = clauseIndex;
+    }
+
+    /**
+     * Propagates all literals on the trail that were not propagated yet.
+     * For each clause watching a literal that became false, another non-false literal is watched instead.
+     * If there is none, the other watched literal is either assigned or the clause is in conflict.
+     *
+     * @return {@code true} if no conflict occurred, {@code false} otherwise
+     */
+    private boolean propagate() {
+        while (propagationHead < trailSize) {
+            final int falseLiteral = -trail[propagationHead++];
+            final int index = falseLiteral + variableCount;
+            final int[] list = watches[index];
+            if (list == null) {
+                continue;
+            }
+            final int size = watchSizes[index];
+            int kept = 0;
+            int i = 0;
+            clauseLoop:
+            while (i < size) {
+                final int clauseIndex = list[i++];
+                final int[] literals = clauses[clauseIndex];
+                if (literals[0] == falseLiteral) {
+                    literals[0] = literals[1];
+                    literals[1] = falseLiteral;
+                }
+                final int otherLiteral = literals[0];
+                if (value(otherLiteral) > 0) {
+                    list[kept++] = clauseIndex;
+                    continue;
+                }
+                for (int k = 2; k < literals.length; k++) {
+                    final int literal = literals[k];
+                    if (value(literal) >= 0) {
+                        literals[1] = literal;
+                        literals[k] = falseLiteral;
+                        watch(literal, clauseIndex);
+                        continue clauseLoop;
+                    }
+                }
+                list[kept++] = clauseIndex;
+                if (!enqueue(otherLiteral)) {
+                    while (i < size) {
+                        list[kept++] = list[i++];
+                    }
+                    watchSizes[index] = kept;
+                    propagationHead = trailSize;
+                    return false;
+                }
+            }
+            watchSizes[index] = kept;
+        }
+        return true;
+    }
+}
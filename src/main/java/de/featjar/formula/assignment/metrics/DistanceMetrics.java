@@ -20,6 +20,9 @@
  */
 package de.featjar.formula.assignment.metrics;
 
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.PackedSampleMatrix;
 import java.util.List;
 import java.util.function.DoubleSupplier;
 
@@ -55,17 +58,50 @@ public class DistanceMetrics extends AAggregatableMetrics {
     protected double[] computeValues() {
         final int size = sample.size();
         final double[] values = new double[(size * (size - 1)) >> 1];
-        int index = 0;
-        for (int i = 0; i < (size - 1); i++) {
-            final int[] literals1 = sample.get(i).get();
-            for (int j = i + 1; j < size; j++) {
-                values[index++] =
-                        function.computeDistance(literals1, sample.get(j).get());
+        if (isPackable()) {
+            final PackedSampleMatrix matrix = new PackedSampleMatrix(sample);
+            int index = 0;
+            for (int i = 0; i < (size - 1); i++) {
+                for (int j = i + 1; j < size; j++) {
+                    values[index++] = function.computeDistance(matrix, i, j);
+                }
+            }
+        } else {
+            final int[][] literals = new int[size][];
+            for (int i = 0; i < size; i++) {
+                literals[i] = sample.get(i).get();
+            }
+            int index = 0;
+            for (int i = 0; i < (size - 1); i++) {
+                final int[] literals1 = literals[i];
+                for (int j = i + 1; j < size; j++) {
+                    values[index++] = function.computeDistance(literals1, literals[j]);
+                }
             }
         }
         return values;
     }
 
+    /**
+     * {@return whether the sample only consists of solutions over all variables}
+     * Only then, the rows of a {@link PackedSampleMatrix} are equal to the literal arrays of the sample.
+     */
+    private boolean isPackable() {
+        final VariableMap variableMap = sample.getVariableMap();
+        if (variableMap == null) {
+            return false;
+        }
+        final int numberOfVariables = variableMap.size();
+        final BooleanAssignmentList.Row row = sample.row();
+        for (int i = 0; i < sample.size(); i++) {
+            row.moveTo(i);
+            if (!row.isSolution() || row.size() != numberOfVariables) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected void reset() {
         super.reset();
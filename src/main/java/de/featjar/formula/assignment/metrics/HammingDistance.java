@@ -20,6 +20,8 @@
  */
 package de.featjar.formula.assignment.metrics;
 
+import de.featjar.formula.assignment.PackedSampleMatrix;
+
 /**
  * Computes the Hamming distance between two literal arrays.
  *
@@ -36,6 +38,11 @@ public class HammingDistance implements IDistanceFunction {
         return conflicts / literals1.length;
     }
 
+    @Override
+    public double computeDistance(PackedSampleMatrix matrix, int row1, int row2) {
+        return (double) matrix.countDifferences(row1, row2) / matrix.getNumberOfVariables();
+    }
+
     @Override
     public String getName() {
         return "Hamming";
@@ -20,6 +20,8 @@
  */
 package de.featjar.formula.assignment.metrics;
 
+import de.featjar.formula.assignment.PackedSampleMatrix;
+
 /**
  * Computes the distance between to literal arrays (e.g., configurations).
  *
@@ -29,5 +31,19 @@ public interface IDistanceFunction {
 
     double computeDistance(final int[] literals1, final int[] literals2);
 
+    /**
+     * Computes the distance between two rows of a packed sample.
+     * By default, the literals of both rows are extracted and passed to {@link #computeDistance(int[], int[])}.
+     * Implementations can override this method to use the bitwise operations of {@link PackedSampleMatrix}.
+     *
+     * @param matrix the packed sample
+     * @param row1 the index of the first row
+     * @param row2 the index of the second row
+     * @return the distance
+     */
+    default double computeDistance(PackedSampleMatrix matrix, int row1, int row2) {
+        return computeDistance(matrix.getLiterals(row1), matrix.getLiterals(row2));
+    }
+
     String getName();
 }
@@ -37,6 +37,8 @@ public abstract class ACombinationSpecification implements ICombinationSpecifica
     protected int[] elements;
     protected VariableMap variableMap;
 
+    private Combinadic combinadic;
+
     protected ACombinationSpecification(int[] elements, int t, VariableMap variableMap) {
         setT(t);
         setElements(elements, variableMap);
@@ -104,11 +106,75 @@ public abstract class ACombinationSpecification implements ICombinationSpecifica
         if (elements == null) {
             setElements(newVariableMap.getVariables().get(), newVariableMap);
         } else {
-            variableMap.adapt(elements, elements, newVariableMap, false);
+            variableMap.translate(elements, elements, variableMap.getTranslationTable(newVariableMap), newVariableMap);
             variableMap = newVariableMap;
         }
     }
 
+    /**
+     * {@return whether each element is combined as a positive and a negative literal}
+     */
+    protected abstract boolean usesBothSigns();
+
+    /**
+     * {@return the combinadic for the current elements and t}
+     */
+    protected Combinadic getCombinadic() {
+        Combinadic currentCombinadic = combinadic;
+        if (currentCombinadic == null || currentCombinadic.n() != elements.length || currentCombinadic.t() != t) {
+            currentCombinadic = new Combinadic(elements.length, t);
+            combinadic = currentCombinadic;
+        }
+        return currentCombinadic;
+    }
+
+    @Override
+    public int[] unrank(long rank) {
+        final int signBits = usesBothSigns() ? t : 0;
+        final int[] positions = new int[t];
+        final Combinadic currentCombinadic = getCombinadic();
+        currentCombinadic.unrank(rank >>> signBits, positions, 0);
+        final int[] combination = new int[t];
+        currentCombinadic.writeLiterals(elements, positions, rank & ((1L << signBits) - 1), combination, 0);
+        return combination;
+    }
+
+    @Override
+    public long rank(int[] combination) {
+        return combination.length == t ? getCombinadic().rankLiterals(elements, combination, 0, usesBothSigns()) : -1;
+    }
+
+    @Override
+    public <V> void forEach(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        if (fromRank < 0 || toRank > loopCount()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d) out of bounds [0, %d).", fromRank, toRank, loopCount()));
+        }
+        if (fromRank >= toRank) {
+            return;
+        }
+        final Combinadic currentCombinadic = getCombinadic();
+        final int signBits = usesBothSigns() ? t : 0;
+        final long signMask = (1L << signBits) - 1;
+        final int[] positions = new int[t];
+        final int[] combination = new int[t];
+        currentCombinadic.unrank(fromRank >>> signBits, positions, 0);
+        long signs = fromRank & signMask;
+
+        final V environment = environmentCreator.get();
+        for (long rank = fromRank; rank < toRank; rank++) {
+            currentCombinadic.writeLiterals(elements, positions, signs, combination, 0);
+            consumer.accept(environment, combination);
+            if (signs == signMask) {
+                signs = 0;
+                currentCombinadic.next(positions, 0);
+            } else {
+                signs++;
+            }
+        }
+    }
+
     public abstract void forEach(Consumer<int[]> consumer);
 
     public abstract <V> void forEach(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
@@ -37,6 +37,8 @@ public abstract class ASetsCombinationSpecification implements ICombinationSpeci
     protected int[][] elementSets;
     protected VariableMap variableMap;
 
+    private Combinadic[] combinadics;
+
     protected ASetsCombinationSpecification(int[][] elementSets, int[] tValues, VariableMap variableMap) {
         if (elementSets.length < tValues.length) {
             throw new IllegalArgumentException(String.format(
@@ -96,12 +98,141 @@ public abstract class ASetsCombinationSpecification implements ICombinationSpeci
 
     public void adapt(VariableMap newVariableMap) {
         Objects.requireNonNull(newVariableMap);
+        final int[] translationTable = variableMap.getTranslationTable(newVariableMap);
         for (int[] elements : elementSets) {
-            variableMap.adapt(elements, elements, newVariableMap, false);
+            variableMap.translate(elements, elements, translationTable, newVariableMap);
         }
         variableMap = newVariableMap;
     }
 
+    /**
+     * {@return whether each element is combined as a positive and a negative literal}
+     */
+    protected abstract boolean usesBothSigns();
+
+    /**
+     * {@return the combinadic for the current element set with the given index and its t value}
+     * @param setIndex the index of the element set
+     */
+    protected Combinadic getCombinadic(int setIndex) {
+        Combinadic[] currentCombinadics = combinadics;
+        if (currentCombinadics == null || currentCombinadics.length != tValues.length) {
+            currentCombinadics = new Combinadic[tValues.length];
+            combinadics = currentCombinadics;
+        }
+        Combinadic combinadic = currentCombinadics[setIndex];
+        if (combinadic == null
+                || combinadic.n() != elementSets[setIndex].length
+                || combinadic.t() != tValues[setIndex]) {
+            combinadic = new Combinadic(elementSets[setIndex].length, tValues[setIndex]);
+            currentCombinadics[setIndex] = combinadic;
+        }
+        return combinadic;
+    }
+
+    private int combinationLength() {
+        int length = 0;
+        for (int t : tValues) {
+            length += t;
+        }
+        return length;
+    }
+
+    private long radix(int setIndex) {
+        return getCombinadic(setIndex).count() << (usesBothSigns() ? tValues[setIndex] : 0);
+    }
+
+    @Override
+    public int[] unrank(long rank) {
+        if (rank < 0 || rank >= loopCount()) {
+            throw new IndexOutOfBoundsException(String.format("Rank %d out of bounds [0, %d).", rank, loopCount()));
+        }
+        final int[] positions = new int[combinationLength()];
+        final int[] combination = new int[positions.length];
+        int offset = positions.length;
+        for (int i = tValues.length - 1; i >= 0; i--) {
+            final Combinadic combinadic = getCombinadic(i);
+            final int signBits = usesBothSigns() ? tValues[i] : 0;
+            final long radix = radix(i);
+            final long digit = rank % radix;
+            rank /= radix;
+            offset -= tValues[i];
+            combinadic.unrank(digit >>> signBits, positions, offset);
+            combinadic.writeLiterals(elementSets[i], positions, digit & ((1L << signBits) - 1), combination, offset);
+        }
+        return combination;
+    }
+
+    @Override
+    public long rank(int[] combination) {
+        if (combination.length != combinationLength()) {
+            return -1;
+        }
+        long rank = 0;
+        int offset = 0;
+        for (int i = 0; i < tValues.length; i++) {
+            final long digit = getCombinadic(i).rankLiterals(elementSets[i], combination, offset, usesBothSigns());
+            if (digit < 0) {
+                return -1;
+            }
+            rank = rank * radix(i) + digit;
+            offset += tValues[i];
+        }
+        return rank;
+    }
+
+    @Override
+    public <V> void forEach(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        if (fromRank < 0 || toRank > loopCount()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d) out of bounds [0, %d).", fromRank, toRank, loopCount()));
+        }
+        if (fromRank >= toRank) {
+            return;
+        }
+        final int numberOfSets = tValues.length;
+        final Combinadic[] currentCombinadics = new Combinadic[numberOfSets];
+        final int[] offsets = new int[numberOfSets];
+        final long[] signMasks = new long[numberOfSets];
+        final long[] signs = new long[numberOfSets];
+        final int[] positions = new int[combinationLength()];
+        final int[] combination = new int[positions.length];
+
+        long remainingRank = fromRank;
+        int offset = positions.length;
+        for (int i = numberOfSets - 1; i >= 0; i--) {
+            currentCombinadics[i] = getCombinadic(i);
+            final int signBits = usesBothSigns() ? tValues[i] : 0;
+            final long radix = radix(i);
+            final long digit = remainingRank % radix;
+            remainingRank /= radix;
+            offset -= tValues[i];
+            offsets[i] = offset;
+            signMasks[i] = (1L << signBits) - 1;
+            signs[i] = digit & signMasks[i];
+            currentCombinadics[i].unrank(digit >>> signBits, positions, offset);
+        }
+
+        final V environment = environmentCreator.get();
+        for (long rank = fromRank; rank < toRank; rank++) {
+            for (int i = 0; i < numberOfSets; i++) {
+                currentCombinadics[i].writeLiterals(elementSets[i], positions, signs[i], combination, offsets[i]);
+            }
+            consumer.accept(environment, combination);
+            for (int i = numberOfSets - 1; i >= 0; i--) {
+                if (signs[i] != signMasks[i]) {
+                    signs[i]++;
+                    break;
+                }
+                signs[i] = 0;
+                if (currentCombinadics[i].next(positions, offsets[i])) {
+                    break;
+                }
+            }
+        }
+    }
+
     public abstract void forEach(Consumer<int[]> consumer);
 
     public abstract <V> void forEach(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
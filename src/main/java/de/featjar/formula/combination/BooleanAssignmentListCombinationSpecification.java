@@ -22,8 +22,11 @@ package de.featjar.formula.combination;
 
 import de.featjar.base.data.IntegerList;
 import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -80,6 +83,43 @@ public class BooleanAssignmentListCombinationSpecification implements ICombinati
                 .forEach(assignment -> consumer.accept(environmentCreator.get(), assignment));
     }
 
+    @Override
+    public <V> void forEach(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        if (fromRank < 0 || toRank > loopCount()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d) out of bounds [0, %d).", fromRank, toRank, loopCount()));
+        }
+        if (fromRank >= toRank) {
+            return;
+        }
+        final List<BooleanAssignment> assignments = booleanAssignmentList.getAll();
+        final V environment = environmentCreator.get();
+        for (int rank = (int) fromRank; rank < toRank; rank++) {
+            consumer.accept(environment, assignments.get(rank).get());
+        }
+    }
+
+    @Override
+    public int[] unrank(long rank) {
+        if (rank < 0 || rank >= loopCount()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Rank %d out of bounds [0, %d).", rank, loopCount()));
+        }
+        return booleanAssignmentList.getAll().get((int) rank).get().clone();
+    }
+
+    @Override
+    public long rank(int[] combination) {
+        final List<BooleanAssignment> assignments = booleanAssignmentList.getAll();
+        for (int i = 0; i < assignments.size(); i++) {
+            if (Arrays.equals(assignments.get(i).get(), combination)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Override
     public VariableMap variableMap() {
         return booleanAssignmentList.getVariableMap();
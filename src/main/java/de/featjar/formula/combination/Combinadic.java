@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.combination;
+
+/**
+ * Ranks and unranks combinations of positions in colexicographic order using the combinatorial number system.
+ * A combination is given as an array of strictly increasing positions within {@code [0, n)}.
+ * The rank of a combination {@code p_0 < p_1 < ... < p_(t-1)} is the sum of {@code binomial(p_i, i + 1)}.
+ *
+ * @author agent
+ */
+public final class Combinadic {
+
+    private final int n;
+    private final int t;
+    private final long[][] binomials;
+
+    /**
+     * Creates a new combinadic for combinations of size t from n positions.
+     *
+     * @param n the number of positions
+     * @param t the size of each combination
+     */
+    public Combinadic(int n, int t) {
+        if (t < 0 || n < t) {
+            throw new IllegalArgumentException(String.format("Invalid values n = %d and t = %d.", n, t));
+        }
+        this.n = n;
+        this.t = t;
+        binomials = new long[n + 1][t + 1];
+        for (int m = 0; m <= n; m++) {
+            binomials[m][0] = 1;
+            for (int k = 1; k <= Math.min(m, t); k++) {
+                long sum = binomials[m - 1][k - 1] + binomials[m - 1][k];
+                binomials[m][k] = sum < 0 ? Long.MAX_VALUE : sum;
+            }
+        }
+    }
+
+    /**
+     * {@return the number of positions}
+     */
+    public int n() {
+        return n;
+    }
+
+    /**
+     * {@return the size of each combination}
+     */
+    public int t() {
+        return t;
+    }
+
+    /**
+     * {@return the number of combinations}
+     * @throws ArithmeticException if the number of combinations cannot be represented as a long
+     */
+    public long count() {
+        long count = binomials[n][t];
+        if (count == Long.MAX_VALUE) {
+            throw new ArithmeticException("Long overflow for combination count.");
+        }
+        return count;
+    }
+
+    /**
+     * {@return the rank of the given combination}
+     * @param positions the strictly increasing positions of the combination
+     * @param offset the index of the first position in the given array
+     */
+    public long rank(int[] positions, int offset) {
+        long rank = 0;
+        for (int i = 0; i < t; i++) {
+            rank += binomials[positions[offset + i]][i + 1];
+        }
+        return rank;
+    }
+
+    /**
+     * Computes the combination for the given rank.
+     *
+     * @param rank the rank
+     * @param positions the array in which to write the positions of the combination
+     * @param offset the index of the first position in the given array
+     */
+    public void unrank(long rank, int[] positions, int offset) {
+        if (rank < 0 || rank >= count()) {
+            throw new IndexOutOfBoundsException(String.format("Rank %d out of bounds [0, %d).", rank, count()));
+        }
+        int upper = n - 1;
+        for (int i = t - 1; i >= 0; i--) {
+            final int k = i + 1;
+            int low = i;
+            int high = upper;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (binomials[mid][k] <= rank) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            positions[offset + i] = low;
+            rank -= binomials[low][k];
+            upper = low - 1;
+        }
+    }
+
+    /**
+     * Sets the given combination to its successor in colexicographic order.
+     * If the given combination is the last one, it is set to the first combination.
+     *
+     * @param positions the strictly increasing positions of the combination
+     * @param offset the index of the first position in the given array
+     * @return {@code true} if the combination was advanced, {@code false} if it was reset to the first combination
+     */
+    public boolean next(int[] positions, int offset) {
+        for (int i = 0; i < t; i++) {
+            final int limit = i == t - 1 ? n : positions[offset + i + 1];
+            if (positions[offset + i] + 1 < limit) {
+                positions[offset + i]++;
+                for (int j = 0; j < i; j++) {
+                    positions[offset + j] = j;
+                }
+                return true;
+            }
+        }
+        for (int j = 0; j < t; j++) {
+            positions[offset + j] = j;
+        }
+        return false;
+    }
+
+    /**
+     * {@return the rank of the combination of the given literals or -1 if the literals do not form a valid combination}
+     * If both signs are used, the rank is composed of the rank of the combination of positions (upper bits)
+     * and a bit for each literal that indicates whether it is negated (lower t bits).
+     *
+     * @param elements the elements from which the combination is built
+     * @param combination the array containing the literals of the combination
+     * @param offset the index of the first literal in the given array
+     * @param usesBothSigns whether elements are combined as positive and negative literals
+     */
+    long rankLiterals(int[] elements, int[] combination, int offset, boolean usesBothSigns) {
+        final int[] positions = new int[t];
+        final boolean[] negated = new boolean[t];
+        for (int i = 0; i < t; i++) {
+            final int literal = combination[offset + i];
+            final int element = usesBothSigns ? Math.abs(literal) : literal;
+            int position = -1;
+            for (int k = 0; k < elements.length; k++) {
+                if ((usesBothSigns ? Math.abs(elements[k]) : elements[k]) == element) {
+                    position = k;
+                    break;
+                }
+            }
+            if (position < 0) {
+                return -1;
+            }
+            int j = i;
+            for (; j > 0 && positions[j - 1] > position; j--) {
+                positions[j] = positions[j - 1];
+                negated[j] = negated[j - 1];
+            }
+            positions[j] = position;
+            negated[j] = literal != elements[position];
+        }
+        for (int i = 1; i < t; i++) {
+            if (positions[i - 1] == positions[i]) {
+                return -1;
+            }
+        }
+        long rank = rank(positions, 0);
+        if (usesBothSigns) {
+            for (int i = t - 1; i >= 0; i--) {
+                rank = (rank << 1) | (negated[i] ? 1 : 0);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Writes the literals of a combination into the given array.
+     *
+     * @param elements the elements from which the combination is built
+     * @param positions the array containing the positions of the combination
+     * @param signs a bit for each literal that indicates whether it is negated
+     * @param combination the array in which to write the literals
+     * @param offset the index of the first position in the given arrays
+     */
+    void writeLiterals(int[] elements, int[] positions, long signs, int[] combination, int offset) {
+        for (int i = 0; i < t; i++) {
+            final int element = elements[positions[offset + i]];
+            combination[offset + i] = ((signs >>> i) & 1) != 0 ? -element : element;
+        }
+    }
+}
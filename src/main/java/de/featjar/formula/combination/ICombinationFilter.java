@@ -28,13 +28,28 @@ import de.featjar.formula.VariableMap;
  */
 public interface ICombinationFilter {
 
+    /**
+     * Filter that accepts every combination.
+     */
+    ICombinationFilter ACCEPT_ALL = new ICombinationFilter() {
+        @Override
+        public boolean test(int... literals) {
+            return true;
+        }
+    };
+
+    /**
+     * Filter that rejects every combination.
+     */
+    ICombinationFilter ACCEPT_NONE = new ICombinationFilter() {
+        @Override
+        public boolean test(int... literals) {
+            return false;
+        }
+    };
+
     static ICombinationFilter of(boolean testResult) {
-        return new ICombinationFilter() {
-            @Override
-            public boolean test(int... literals) {
-                return testResult;
-            }
-        };
+        return testResult ? ACCEPT_ALL : ACCEPT_NONE;
     }
 
     boolean test(int... literals);
@@ -80,6 +80,49 @@ public interface ICombinationSpecification {
      */
     <V> void forEachParallel(BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
 
+    /**
+     * Applies the given consumer sequentially to each combination with a rank in the given range.
+     * The ranks of all combinations range from {@code 0} (inclusive) to {@link #loopCount()} (exclusive).
+     * Thus, the combinations can be split into multiple independent ranges.
+     *
+     * @param fromRank the first rank (inclusive)
+     * @param toRank the last rank (exclusive)
+     * @param consumer the consumer function
+     */
+    default void forEach(long fromRank, long toRank, Consumer<int[]> consumer) {
+        forEach(fromRank, toRank, (environment, combination) -> consumer.accept(combination), () -> null);
+    }
+
+    /**
+     * Applies the given consumer sequentially to each combination with a rank in the given range.
+     * The consumer also receives an environment object for context.
+     *
+     * @param <V> the type of the environment object
+     * @param fromRank the first rank (inclusive)
+     * @param toRank the last rank (exclusive)
+     * @param consumer the consumer function
+     * @param environmentCreator a supplier for an environment object
+     *
+     * @see #forEach(long, long, Consumer)
+     */
+    <V> void forEach(long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator);
+
+    /**
+     * {@return the combination with the given rank}
+     * Ranks are only stable as long as the elements of this specification are not changed (e.g., by {@link #shuffleElements(Random)}).
+     *
+     * @param rank the rank, must be between {@code 0} (inclusive) and {@link #loopCount()} (exclusive)
+     */
+    int[] unrank(long rank);
+
+    /**
+     * {@return the rank of the given combination or {@code -1} if the combination is not described by this specification}
+     * This method is the inverse of {@link #unrank(long)}.
+     *
+     * @param combination the combination
+     */
+    long rank(int[] combination);
+
     /**
      * {@return the variable map}
      */
@@ -80,6 +80,11 @@ public class LiteralCombinationSpecification extends ACombinationSpecification {
                 });
     }
 
+    @Override
+    protected boolean usesBothSigns() {
+        return false;
+    }
+
     @Override
     public long loopCount() {
         try {
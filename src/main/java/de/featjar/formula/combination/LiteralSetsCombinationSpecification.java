@@ -78,6 +78,11 @@ public class LiteralSetsCombinationSpecification extends ASetsCombinationSpecifi
                 });
     }
 
+    @Override
+    protected boolean usesBothSigns() {
+        return false;
+    }
+
     @Override
     public long loopCount() {
         try {
@@ -98,6 +98,52 @@ public class MultiCombinationSpecification implements ICombinationSpecification
         }
     }
 
+    @Override
+    public <V> void forEach(
+            long fromRank, long toRank, BiConsumer<V, int[]> consumer, Supplier<V> environmentCreator) {
+        long offset = 0;
+        for (ICombinationSpecification combinationSet : combinationSets) {
+            if (offset >= toRank) {
+                break;
+            }
+            final long count = combinationSet.loopCount();
+            final long start = Math.max(fromRank - offset, 0);
+            final long end = Math.min(toRank - offset, count);
+            if (start < end) {
+                combinationSet.forEach(start, end, consumer, environmentCreator);
+            }
+            offset += count;
+        }
+    }
+
+    @Override
+    public int[] unrank(long rank) {
+        if (rank >= 0) {
+            long offset = 0;
+            for (ICombinationSpecification combinationSet : combinationSets) {
+                final long count = combinationSet.loopCount();
+                if (rank - offset < count) {
+                    return combinationSet.unrank(rank - offset);
+                }
+                offset += count;
+            }
+        }
+        throw new IndexOutOfBoundsException(String.format("Rank %d out of bounds.", rank));
+    }
+
+    @Override
+    public long rank(int[] combination) {
+        long offset = 0;
+        for (ICombinationSpecification combinationSet : combinationSets) {
+            final long rank = combinationSet.rank(combination);
+            if (rank >= 0) {
+                return offset + rank;
+            }
+            offset += combinationSet.loopCount();
+        }
+        return -1;
+    }
+
     @Override
     public VariableMap variableMap() {
         VariableMap mergedVariableMap = new VariableMap(combinationSets.stream()
@@ -141,6 +141,11 @@ public class VariableCombinationSpecification extends ACombinationSpecification
                 });
     }
 
+    @Override
+    protected boolean usesBothSigns() {
+        return true;
+    }
+
     @Override
     public long loopCount() {
         try {
@@ -77,12 +77,16 @@ public class VariableSetsCombinationSpecification extends ASetsCombinationSpecif
                 });
     }
 
+    @Override
+    protected boolean usesBothSigns() {
+        return false;
+    }
+
     @Override
     public long loopCount() {
         try {
             long count = 1;
             for (int i = 0; i < elementSets.length; i++) {
-                count = Math.multiplyExact(count, 1 << tValues[i]);
                 count = Math.multiplyExact(
                         count, BinomialCalculator.computeBinomial(elementSets[i].length, tValues[i]));
             }
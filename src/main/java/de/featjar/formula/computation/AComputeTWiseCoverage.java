@@ -31,15 +31,24 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.CoverageStatistic;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.ACombinationSpecification;
+import de.featjar.formula.combination.ASetsCombinationSpecification;
 import de.featjar.formula.combination.ICombinationFilter;
 import de.featjar.formula.combination.ICombinationSpecification;
+import de.featjar.formula.combination.VariableCombinationSpecification;
 import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.MappedSampleBitIndex;
 import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.index.SampleIndexType;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * Calculates statistics regarding t-wise feature coverage of a set of
@@ -59,12 +68,55 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     public static final Dependency<ICombinationFilter> INCLUDE_INTERACTIONS =
             Dependency.newDependency(ICombinationFilter.class);
 
+    /**
+     * The directory in which checkpoints of long-running computations are stored.
+     */
+    public static final Dependency<Path> CHECKPOINT_DIRECTORY = Dependency.newDependency(Path.class);
+
+    /**
+     * The minimum number of interactions for which checkpoints are written.
+     * Use {@link Long#MAX_VALUE} to disable checkpoints.
+     */
+    public static final Dependency<Long> CHECKPOINT_THRESHOLD = Dependency.newDependency(Long.class);
+
+    /**
+     * Whether to resume the computation from an existing checkpoint.
+     */
+    public static final Dependency<Boolean> RESUME = Dependency.newDependency(Boolean.class);
+
+    /**
+     * The type of index used to test interactions.
+     * Interactions are counted by a {@link PrefixCoverageTraversal} on a {@link SampleBitIndex} only if the type allows it (see {@link SampleIndexType#allowsBitIndex()}).
+     */
+    public static final Dependency<SampleIndexType> INDEX_TYPE = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The file from which the sample was read.
+     * If given, the index of the sample is stored in an index file next to it and reused by later computations as long as it was created for the same sample
+     * (see {@link MappedSampleBitIndex#createBitIndex(BooleanAssignmentList, Path)}).
+     */
+    public static final Dependency<Path> SAMPLE_FILE = Dependency.newDependency(Path.class);
+
+    /**
+     * Default value for {@link #CHECKPOINT_THRESHOLD}.
+     * Computations with fewer interactions finish within minutes, so they are not worth resuming.
+     */
+    public static final long DEFAULT_CHECKPOINT_THRESHOLD = 100_000_000L;
+
+    private static final int MAXIMUM_NUMBER_OF_RANGES = 1024;
+    private static final int CHECKPOINT_BLOCK_SIZE = 1 << 16;
+
     public AComputeTWiseCoverage(IComputation<BooleanAssignmentList> sample, IComputation<?>... computations) {
         super(
                 sample,
                 sample.map(VariableCombinationSpecificationComputation::new),
                 Computations.of(ICombinationFilter.of(false)),
                 Computations.of(ICombinationFilter.of(true)),
+                Computations.of(Path.of(System.getProperty("java.io.tmpdir"))),
+                Computations.of(DEFAULT_CHECKPOINT_THRESHOLD),
+                Computations.of(Boolean.FALSE),
+                Computations.of(SampleIndexType.ADAPTIVE),
+                Computations.of(MappedSampleBitIndex.NO_SAMPLE_FILE),
                 computations);
     }
 
@@ -78,6 +130,8 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     protected ICombinationFilter excludeFilter;
     protected ICombinationFilter includeFilter;
     protected BooleanAssignmentList sample;
+    protected SampleIndexType indexType;
+    protected Path sampleFile;
 
     protected final void init(List<Object> dependencyList) {
         initWithOriginalVariableMap(dependencyList);
@@ -98,6 +152,8 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     protected void initWithOriginalVariableMap(List<Object> dependencyList) {
         sample = SAMPLE.get(dependencyList).toSolutionList();
         combinationSet = COMBINATION_SET.get(dependencyList);
+        indexType = INDEX_TYPE.get(dependencyList);
+        sampleFile = SAMPLE_FILE.get(dependencyList);
     }
 
     protected void adaptVariableMap(List<Object> dependencyList) {
@@ -106,7 +162,7 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     }
 
     protected void adaptToMergedVariableMap(VariableMap mergedVariableMap) {
-        sample.adapt(mergedVariableMap);
+        sample = sample.clone().adapt(mergedVariableMap);
     }
 
     protected VariableMap getReferenceVariableMap() {
@@ -117,36 +173,245 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
     public Result<CoverageStatistic> compute(List<Object> dependencyList, Progress progress) {
         init(dependencyList);
 
-        SampleBitIndex sampleIndex = new SampleBitIndex(sample);
-
-        progress.setTotalSteps(combinationSet.loopCount());
-
-        process(
-                combinationSet,
-                (statistic, interaction) -> {
-                    checkCancel();
-                    progress.incrementCurrentStep();
-                    if (excludeFilter.test(interaction) || !includeFilter.test(interaction)) {
-                        statistic.incNumberOfIgnoredElements();
-                    } else {
-                        if (sampleIndex.test(interaction)) {
-                            statistic.incNumberOfCoveredElements();
-                        } else {
-                            countUncovered(interaction, statistic);
-                        }
-                    }
-                },
-                this::createStatistic);
+        CoverageCheckpoint checkpoint = createCheckpoint(dependencyList);
+        try {
+            if (isPrefixTraversalApplicable()) {
+                computeWithPrefixTraversal(
+                        MappedSampleBitIndex.createBitIndex(sample, sampleFile), checkpoint, progress);
+            } else if (checkpoint != null) {
+                computeWithRanges(indexType.create(sample, sampleFile), checkpoint, progress);
+            } else {
+                ISampleIndex sampleIndex = indexType.create(sample, sampleFile);
+                progress.setTotalSteps(combinationSet.loopCount());
+                process(
+                        combinationSet,
+                        (statistic, interaction) -> count(sampleIndex, statistic, interaction, progress),
+                        this::createStatistic);
+            }
+        } catch (RuntimeException e) {
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+            throw e;
+        }
+        if (checkpoint != null) {
+            checkpoint.delete();
+        }
         return Result.ofOptional(statisticList.stream() //
                 .reduce((s1, s2) -> s1.merge(s2)));
     }
 
+    private void count(ISampleIndex sampleIndex, CoverageStatistic statistic, int[] interaction, Progress progress) {
+        checkCancel();
+        progress.incrementCurrentStep();
+        if (excludeFilter.test(interaction) || !includeFilter.test(interaction)) {
+            statistic.incNumberOfIgnoredElements();
+        } else {
+            if (sampleIndex.test(interaction)) {
+                statistic.incNumberOfCoveredElements();
+            } else {
+                countUncovered(interaction, statistic);
+            }
+        }
+    }
+
+    private void computeWithPrefixTraversal(
+            ISampleIndex sampleIndex, CoverageCheckpoint checkpoint, Progress progress) {
+        VariableCombinationSpecification variableCombinationSet = (VariableCombinationSpecification) combinationSet;
+        PrefixCoverageTraversal traversal = new PrefixCoverageTraversal(
+                sampleIndex, variableCombinationSet.elements(), variableCombinationSet.t());
+        int numberOfSubTraversals = traversal.getNumberOfSubTraversals();
+
+        if (checkpoint == null) {
+            progress.setTotalSteps(numberOfSubTraversals);
+            IntStream.range(0, numberOfSubTraversals).parallel().forEach(i -> {
+                checkCancel();
+                traversal.traverse(i, createStatistic());
+                progress.incrementCurrentStep();
+            });
+        } else {
+            for (int i = 0; i < numberOfSubTraversals; i++) {
+                if (checkpoint.getPosition(i) != 0) {
+                    addStatistic(checkpoint.getStatistic(i));
+                }
+            }
+            int[] remaining = IntStream.range(0, numberOfSubTraversals)
+                    .filter(i -> checkpoint.getPosition(i) == 0)
+                    .toArray();
+            progress.setTotalSteps(remaining.length);
+            IntStream.of(remaining).parallel().forEach(i -> {
+                checkCancel();
+                CoverageStatistic statistic = new CoverageStatistic();
+                traversal.traverse(i, statistic);
+                checkpoint.update(i, 1, statistic);
+                addStatistic(statistic);
+                progress.incrementCurrentStep();
+            });
+        }
+    }
+
+    private void computeWithRanges(ISampleIndex sampleIndex, CoverageCheckpoint checkpoint, Progress progress) {
+        long loopCount = combinationSet.loopCount();
+        int numberOfRanges = checkpoint.getNumberOfTasks();
+        long remainingSteps = 0;
+        for (int i = 0; i < numberOfRanges; i++) {
+            long start = Math.max(checkpoint.getPosition(i), rangeStart(loopCount, numberOfRanges, i));
+            remainingSteps += rangeStart(loopCount, numberOfRanges, i + 1) - start;
+        }
+        progress.setTotalSteps(remainingSteps);
+
+        IntStream.range(0, numberOfRanges).parallel().forEach(i -> {
+            long end = rangeStart(loopCount, numberOfRanges, i + 1);
+            CoverageStatistic statistic = checkpoint.getStatistic(i);
+            long position = Math.max(checkpoint.getPosition(i), rangeStart(loopCount, numberOfRanges, i));
+            while (position < end) {
+                long blockEnd = Math.min(position + CHECKPOINT_BLOCK_SIZE, end);
+                processRange(
+                        combinationSet,
+                        position,
+                        blockEnd,
+                        (s, interaction) -> count(sampleIndex, s, interaction, progress),
+                        () -> statistic);
+                position = blockEnd;
+                checkpoint.update(i, position, statistic);
+            }
+            addStatistic(statistic);
+        });
+    }
+
+    private static long rangeStart(long loopCount, int numberOfRanges, int range) {
+        return (loopCount / numberOfRanges) * range + Math.min(range, loopCount % numberOfRanges);
+    }
+
+    private CoverageCheckpoint createCheckpoint(List<Object> dependencyList) {
+        long loopCount = combinationSet.loopCount();
+        long threshold = CHECKPOINT_THRESHOLD.get(dependencyList);
+        if (loopCount == 0 || threshold == Long.MAX_VALUE || loopCount < threshold) {
+            return null;
+        }
+        int numberOfTasks;
+        if (isPrefixTraversalApplicable()) {
+            VariableCombinationSpecification variableCombinationSet = (VariableCombinationSpecification) combinationSet;
+            numberOfTasks = variableCombinationSet.elements().length - variableCombinationSet.t() + 1;
+        } else {
+            numberOfTasks = (int) Math.min(loopCount, MAXIMUM_NUMBER_OF_RANGES);
+        }
+        String key = getCheckpointKey();
+        Path file = CHECKPOINT_DIRECTORY
+                .get(dependencyList)
+                .resolve(String.format("coverage-%08x.checkpoint", key.hashCode()));
+        CoverageCheckpoint checkpoint =
+                new CoverageCheckpoint(file, key, numberOfTasks, CoverageCheckpoint.DEFAULT_INTERVAL);
+        if (!checkpoint.lock()) {
+            FeatJAR.log().warning("Checkpoint %s is used by another computation, no checkpoints are written.", file);
+            return null;
+        }
+        if (RESUME.get(dependencyList) && checkpoint.load()) {
+            FeatJAR.log().info("Resuming coverage computation from checkpoint %s.", file);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * {@return a string identifying the input of this computation}
+     * It is used to check whether a checkpoint belongs to this computation.
+     */
+    protected String getCheckpointKey() {
+        return String.format(
+                "%s %s %d %d %s %08x %d %08x %s %s",
+                getClass().getName(),
+                indexType,
+                combinationSet.loopCount(),
+                combinationSet.maxT(),
+                getCombinationKey(combinationSet),
+                sample.getVariableMap().getVariableNames().hashCode(),
+                sample.size(),
+                sample.hashCode(),
+                getFilterKey(excludeFilter),
+                getFilterKey(includeFilter));
+    }
+
+    /**
+     * {@return a string identifying the interactions of the given combination specification in a {@link #getCheckpointKey() checkpoint key}}
+     * Specifications with elements are identified by their elements and t.
+     * Any other specification is identified by its object identity, so checkpoints using it can only be resumed within the same process.
+     *
+     * @param combinationSet the combination specification
+     */
+    protected static String getCombinationKey(ICombinationSpecification combinationSet) {
+        if (combinationSet instanceof ACombinationSpecification) {
+            ACombinationSpecification specification = (ACombinationSpecification) combinationSet;
+            return String.format(
+                    "%s:%d:%08x",
+                    specification.getClass().getName(),
+                    specification.t(),
+                    Arrays.hashCode(specification.elements()));
+        } else if (combinationSet instanceof ASetsCombinationSpecification) {
+            ASetsCombinationSpecification specification = (ASetsCombinationSpecification) combinationSet;
+            return String.format(
+                    "%s:%08x:%08x",
+                    specification.getClass().getName(),
+                    Arrays.hashCode(specification.t()),
+                    Arrays.deepHashCode(specification.elements()));
+        } else {
+            return String.format(
+                    "%s@%08x", combinationSet.getClass().getName(), System.identityHashCode(combinationSet));
+        }
+    }
+
+    /**
+     * {@return a string identifying the given filter in a {@link #getCheckpointKey() checkpoint key}}
+     * Sample indices are identified by their configurations.
+     * Any other filter is identified by its object identity, so checkpoints using it can only be resumed within the same process.
+     *
+     * @param filter the filter
+     */
+    protected static String getFilterKey(ICombinationFilter filter) {
+        if (filter == ICombinationFilter.ACCEPT_ALL) {
+            return "all";
+        } else if (filter == ICombinationFilter.ACCEPT_NONE) {
+            return "none";
+        } else if (filter instanceof ISampleIndex) {
+            ISampleIndex index = (ISampleIndex) filter;
+            int hashCode = 1;
+            for (int i = 0; i < index.size(); i++) {
+                hashCode = 31 * hashCode + Arrays.hashCode(index.getConfiguration(i));
+            }
+            return String.format("index:%d:%08x", index.size(), hashCode);
+        } else {
+            return String.format("%s@%08x", filter.getClass().getName(), System.identityHashCode(filter));
+        }
+    }
+
+    /**
+     * {@return whether the coverage can be computed by a {@link PrefixCoverageTraversal}}
+     * This is the case if the {@link #INDEX_TYPE index type} allows a {@link SampleBitIndex}, all variable combinations are considered without filters,
+     * and uncovered interactions can be counted without inspecting them individually (see {@link #isCountingUncoveredInBulk()}).
+     */
+    protected boolean isPrefixTraversalApplicable() {
+        return indexType.allowsBitIndex()
+                && combinationSet instanceof VariableCombinationSpecification
+                && excludeFilter == ICombinationFilter.ACCEPT_NONE
+                && includeFilter == ICombinationFilter.ACCEPT_ALL
+                && isCountingUncoveredInBulk();
+    }
+
+    /**
+     * {@return whether every uncovered interaction is counted in the same way regardless of its literals}
+     */
+    protected boolean isCountingUncoveredInBulk() {
+        return false;
+    }
+
     protected CoverageStatistic createStatistic() {
-        CoverageStatistic env = new CoverageStatistic();
+        return addStatistic(new CoverageStatistic());
+    }
+
+    private CoverageStatistic addStatistic(CoverageStatistic statistic) {
         synchronized (statisticList) {
-            statisticList.add(env);
+            statisticList.add(statistic);
         }
-        return env;
+        return statistic;
     }
 
     protected void process(
@@ -156,5 +421,26 @@ public abstract class AComputeTWiseCoverage extends AComputation<CoverageStatist
         combinationSet.forEachParallel(consumer, environmentCreator);
     }
 
+    /**
+     * Applies the given consumer to each interaction with a rank in the given range.
+     * Used instead of {@link #process(ICombinationSpecification, BiConsumer, Supplier)} when checkpoints are written.
+     * All ranges together must yield the same interactions as {@link #process(ICombinationSpecification, BiConsumer, Supplier) process},
+     * so subclasses that override one of both methods must override the other one accordingly.
+     *
+     * @param combinationSet the combination specification
+     * @param fromRank the first rank (inclusive)
+     * @param toRank the last rank (exclusive)
+     * @param consumer the consumer function
+     * @param environmentCreator a supplier for the statistic of the range
+     */
+    protected void processRange(
+            ICombinationSpecification combinationSet,
+            long fromRank,
+            long toRank,
+            BiConsumer<CoverageStatistic, int[]> consumer,
+            Supplier<CoverageStatistic> environmentCreator) {
+        combinationSet.forEach(fromRank, toRank, consumer, environmentCreator);
+    }
+
     protected abstract void countUncovered(int[] uncoveredInteraction, CoverageStatistic statistic);
 }
@@ -39,6 +39,11 @@ public class ComputeAbsoluteTWiseCoverage extends AComputeTWiseCoverage {
         super(other);
     }
 
+    @Override
+    protected boolean isCountingUncoveredInBulk() {
+        return true;
+    }
+
     @Override
     protected void countUncovered(int[] uncoveredInteraction, CoverageStatistic statistic) {
         statistic.incNumberOfUncoveredElements();
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.ICombinationFilter;
+import de.featjar.formula.combination.ICombinationSpecification;
+import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.MappedSampleBitIndex;
+import de.featjar.formula.index.SampleIndexType;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Calculates the t-wise coverage of each prefix of an ordered sample.
+ * The i-th statistic of the result describes the coverage of the first i + 1 configurations.
+ * All statistics are computed in a single enumeration of the interactions by determining the first configuration
+ * that covers each interaction.
+ *
+ * @author agent
+ */
+public class ComputeCoverageCurve extends AComputation<List<CoverageStatistic>> {
+
+    public static final Dependency<BooleanAssignmentList> SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    public static final Dependency<ICombinationSpecification> COMBINATION_SET =
+            Dependency.newDependency(ICombinationSpecification.class);
+    public static final Dependency<ICombinationFilter> EXCLUDE_INTERACTIONS =
+            Dependency.newDependency(ICombinationFilter.class);
+    public static final Dependency<ICombinationFilter> INCLUDE_INTERACTIONS =
+            Dependency.newDependency(ICombinationFilter.class);
+
+    /**
+     * The type of index used to find the first configuration that covers an interaction.
+     */
+    public static final Dependency<SampleIndexType> INDEX_TYPE = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The file from which the sample was read.
+     * If given, the index of the sample is stored in an index file next to it and reused by later computations as long as it was created for the same sample
+     * (see {@link SampleIndexType#create(BooleanAssignmentList, Path)}).
+     */
+    public static final Dependency<Path> SAMPLE_FILE = Dependency.newDependency(Path.class);
+
+    public ComputeCoverageCurve(IComputation<BooleanAssignmentList> sample) {
+        super(
+                sample,
+                sample.map(VariableCombinationSpecificationComputation::new),
+                Computations.of(ICombinationFilter.of(false)),
+                Computations.of(ICombinationFilter.of(true)),
+                Computations.of(SampleIndexType.ADAPTIVE),
+                Computations.of(MappedSampleBitIndex.NO_SAMPLE_FILE));
+    }
+
+    public ComputeCoverageCurve(ComputeCoverageCurve other) {
+        super(other);
+    }
+
+    private static class Histogram {
+        private final long[] firstCoveringConfigurations;
+        private long uncovered;
+        private long ignored;
+
+        private Histogram(int size) {
+            firstCoveringConfigurations = new long[size];
+        }
+    }
+
+    @Override
+    public Result<List<CoverageStatistic>> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList sample = SAMPLE.get(dependencyList).toSolutionList();
+        ICombinationSpecification combinationSet = COMBINATION_SET.get(dependencyList);
+
+        VariableMap referenceVariableMap = combinationSet.variableMap();
+        VariableMap sampleVariableMap = sample.getVariableMap();
+        if (!Objects.equals(referenceVariableMap, sampleVariableMap)) {
+            FeatJAR.log().warning("Variable maps of given sample and reference are different.");
+            sample = sample.clone().adapt(new VariableMap(sampleVariableMap, referenceVariableMap));
+        }
+        combinationSet.adapt(sample.getVariableMap());
+        ICombinationFilter excludeFilter = EXCLUDE_INTERACTIONS.get(dependencyList).adapt(sample.getVariableMap());
+        ICombinationFilter includeFilter = INCLUDE_INTERACTIONS.get(dependencyList).adapt(sample.getVariableMap());
+
+        int sampleSize = sample.size();
+        ISampleIndex sampleIndex = INDEX_TYPE.get(dependencyList).create(sample, SAMPLE_FILE.get(dependencyList));
+        List<Histogram> histogramList = new ArrayList<>();
+
+        progress.setTotalSteps(combinationSet.loopCount());
+
+        combinationSet.forEachParallel(
+                (histogram, interaction) -> {
+                    checkCancel();
+                    progress.incrementCurrentStep();
+                    if (excludeFilter.test(interaction) || !includeFilter.test(interaction)) {
+                        histogram.ignored++;
+                    } else {
+                        int firstIndex = sampleIndex.index(interaction);
+                        if (firstIndex >= 0) {
+                            histogram.firstCoveringConfigurations[firstIndex]++;
+                        } else {
+                            histogram.uncovered++;
+                        }
+                    }
+                },
+                () -> {
+                    Histogram histogram = new Histogram(sampleSize);
+                    synchronized (histogramList) {
+                        histogramList.add(histogram);
+                    }
+                    return histogram;
+                });
+
+        Histogram mergedHistogram = new Histogram(sampleSize);
+        for (Histogram histogram : histogramList) {
+            for (int i = 0; i < sampleSize; i++) {
+                mergedHistogram.firstCoveringConfigurations[i] += histogram.firstCoveringConfigurations[i];
+            }
+            mergedHistogram.uncovered += histogram.uncovered;
+            mergedHistogram.ignored += histogram.ignored;
+        }
+
+        long valid = mergedHistogram.uncovered;
+        for (long count : mergedHistogram.firstCoveringConfigurations) {
+            valid += count;
+        }
+
+        List<CoverageStatistic> curve = new ArrayList<>(sampleSize);
+        long covered = 0;
+        for (int i = 0; i < sampleSize; i++) {
+            covered += mergedHistogram.firstCoveringConfigurations[i];
+            CoverageStatistic statistic = new CoverageStatistic();
+            statistic.setNumberOfCoveredElements(covered);
+            statistic.setNumberOfUncoveredElements(valid - covered);
+            statistic.setNumberOfIgnoredElements(mergedHistogram.ignored);
+            curve.add(statistic);
+        }
+        return Result.of(curve);
+    }
+}
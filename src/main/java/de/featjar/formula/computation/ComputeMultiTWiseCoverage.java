@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.ICombinationSpecification;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.MappedSampleBitIndex;
+import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.index.SampleIndexType;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates statistics regarding t-wise feature coverage of a set of
+ * solutions for multiple values of t at once.
+ * The result contains one statistic for each t from {@link #MIN_T} up to the t of the given combination specification.
+ * All statistics are computed in a single traversal, as each prefix of an interaction is an interaction of smaller size.
+ * If the {@link #INDEX_TYPE index type} does not allow a {@link SampleBitIndex}, the interactions of each t are enumerated separately instead.
+ *
+ * @author agent
+ * @see PrefixCoverageTraversal
+ */
+public class ComputeMultiTWiseCoverage extends AComputation<List<CoverageStatistic>> {
+
+    public static final Dependency<BooleanAssignmentList> SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    public static final Dependency<ICombinationSpecification> COMBINATION_SET =
+            Dependency.newDependency(ICombinationSpecification.class);
+
+    public static final Dependency<Integer> MIN_T = Dependency.newDependency(Integer.class);
+
+    /**
+     * The type of index used to test interactions.
+     * The single traversal is only used if the type allows a {@link SampleBitIndex} (see {@link SampleIndexType#allowsBitIndex()}).
+     */
+    public static final Dependency<SampleIndexType> INDEX_TYPE = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The file from which the sample was read.
+     * If given, the index of the sample is stored in an index file next to it and reused by later computations as long as it was created for the same sample
+     * (see {@link MappedSampleBitIndex#createBitIndex(BooleanAssignmentList, Path)}).
+     */
+    public static final Dependency<Path> SAMPLE_FILE = Dependency.newDependency(Path.class);
+
+    public ComputeMultiTWiseCoverage(IComputation<BooleanAssignmentList> sample) {
+        super(
+                sample,
+                sample.map(VariableCombinationSpecificationComputation::new),
+                Computations.of(1),
+                Computations.of(SampleIndexType.ADAPTIVE),
+                Computations.of(MappedSampleBitIndex.NO_SAMPLE_FILE));
+    }
+
+    public ComputeMultiTWiseCoverage(ComputeMultiTWiseCoverage other) {
+        super(other);
+    }
+
+    @Override
+    public Result<List<CoverageStatistic>> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList sample = SAMPLE.get(dependencyList).toSolutionList();
+        ICombinationSpecification combinationSet = COMBINATION_SET.get(dependencyList);
+        int minT = MIN_T.get(dependencyList);
+
+        if (!(combinationSet instanceof VariableCombinationSpecification)) {
+            return Result.empty(new IllegalArgumentException(String.format(
+                    "Combination specification must be a %s. Was %s.",
+                    VariableCombinationSpecification.class.getSimpleName(),
+                    combinationSet.getClass().getSimpleName())));
+        }
+        VariableCombinationSpecification variableCombinationSet = (VariableCombinationSpecification) combinationSet;
+        int maxT = variableCombinationSet.t();
+        if (minT < 1 || minT > maxT) {
+            return Result.empty(new IllegalArgumentException(String.format(
+                    "Minimum t must be between 1 and the t of the combination specification (%d). Was %d.",
+                    maxT, minT)));
+        }
+
+        VariableMap referenceVariableMap = combinationSet.variableMap();
+        VariableMap sampleVariableMap = sample.getVariableMap();
+        if (!Objects.equals(referenceVariableMap, sampleVariableMap)) {
+            FeatJAR.log().warning("Variable maps of given sample and reference are different.");
+            sample = sample.clone().adapt(new VariableMap(sampleVariableMap, referenceVariableMap));
+        }
+        combinationSet.adapt(sample.getVariableMap());
+
+        SampleIndexType indexType = INDEX_TYPE.get(dependencyList);
+        Path sampleFile = SAMPLE_FILE.get(dependencyList);
+        if (!indexType.allowsBitIndex()) {
+            return Result.of(computeWithIndex(
+                    indexType.create(sample),
+                    variableCombinationSet.elements(),
+                    sample.getVariableMap(),
+                    minT,
+                    maxT,
+                    progress));
+        }
+
+        PrefixCoverageTraversal traversal = new PrefixCoverageTraversal(
+                MappedSampleBitIndex.createBitIndex(sample, sampleFile), variableCombinationSet.elements(), minT, maxT);
+
+        progress.setTotalSteps(traversal.getNumberOfSubTraversals());
+
+        List<CoverageStatistic[]> statisticList = new ArrayList<>();
+        IntStream.range(0, traversal.getNumberOfSubTraversals()).parallel().forEach(i -> {
+            checkCancel();
+            CoverageStatistic[] statistics = createStatistics(maxT - minT + 1);
+            traversal.traverse(i, statistics);
+            synchronized (statisticList) {
+                statisticList.add(statistics);
+            }
+            progress.incrementCurrentStep();
+        });
+
+        CoverageStatistic[] mergedStatistics = createStatistics(maxT - minT + 1);
+        for (CoverageStatistic[] statistics : statisticList) {
+            for (int i = 0; i < statistics.length; i++) {
+                mergedStatistics[i].merge(statistics[i]);
+            }
+        }
+        return Result.of(List.of(mergedStatistics));
+    }
+
+    private List<CoverageStatistic> computeWithIndex(
+            ISampleIndex sampleIndex, int[] variables, VariableMap variableMap, int minT, int maxT, Progress progress) {
+        List<VariableCombinationSpecification> combinationSets = new ArrayList<>();
+        long totalSteps = 0;
+        for (int t = minT; t <= maxT; t++) {
+            VariableCombinationSpecification combinationSet =
+                    new VariableCombinationSpecification(t, variables, variableMap);
+            combinationSets.add(combinationSet);
+            totalSteps += combinationSet.loopCount();
+        }
+        progress.setTotalSteps(totalSteps);
+
+        List<CoverageStatistic> mergedStatistics = new ArrayList<>();
+        for (VariableCombinationSpecification combinationSet : combinationSets) {
+            List<CoverageStatistic> statisticList = new ArrayList<>();
+            combinationSet.forEachParallel(
+                    (statistic, interaction) -> {
+                        checkCancel();
+                        progress.incrementCurrentStep();
+                        if (sampleIndex.test(interaction)) {
+                            statistic.incNumberOfCoveredElements();
+                        } else {
+                            statistic.incNumberOfUncoveredElements();
+                        }
+                    },
+                    () -> {
+                        CoverageStatistic statistic = new CoverageStatistic();
+                        synchronized (statisticList) {
+                            statisticList.add(statistic);
+                        }
+                        return statistic;
+                    });
+            CoverageStatistic mergedStatistic = new CoverageStatistic();
+            for (CoverageStatistic statistic : statisticList) {
+                mergedStatistic.merge(statistic);
+            }
+            mergedStatistics.add(mergedStatistic);
+        }
+        return mergedStatistics;
+    }
+
+    private static CoverageStatistic[] createStatistics(int count) {
+        CoverageStatistic[] statistics = new CoverageStatistic[count];
+        for (int i = 0; i < count; i++) {
+            statistics[i] = new CoverageStatistic();
+        }
+        return statistics;
+    }
+}
@@ -55,7 +55,8 @@ public class ComputeProjectedSample extends AComputation<BooleanAssignmentList>
         BooleanAssignmentList sample = SAMPLE.get(dependencyList);
         BooleanAssignment includeVariables = INCLUDE_VARIABLES.get(dependencyList);
         BooleanAssignment excludeVariables = EXCLUDE_VARIABLES.get(dependencyList);
-        BooleanAssignment projectedVariables = includeVariables.removeAllVariables(excludeVariables);
+        BooleanAssignment projectedVariables =
+                new SortedBooleanAssignment(includeVariables.removeAllVariables(excludeVariables));
 
         Stream<BooleanAssignment> projectedSample =
                 sample.stream().map(assignment -> assignment.retainAllVariables(projectedVariables));
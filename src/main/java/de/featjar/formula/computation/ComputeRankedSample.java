@@ -31,8 +31,11 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanAssignmentValueMap;
 import de.featjar.formula.assignment.ValuedBooleanAssignment;
 import de.featjar.formula.assignment.ValuedBooleanAssignmentList;
-import de.featjar.formula.index.SampleBitIndex;
-import java.util.BitSet;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.MappedSampleBitIndex;
+import de.featjar.formula.index.SampleIndexType;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -49,9 +52,22 @@ public class ComputeRankedSample extends AComputation<BooleanAssignmentList> {
     public static final Dependency<ValuedBooleanAssignmentList> RANK_VALUES =
             Dependency.newDependency(ValuedBooleanAssignmentList.class);
     public static final Dependency<Boolean> OPTIMIZE = Dependency.newDependency(Boolean.class);
+    public static final Dependency<SampleIndexType> INDEX_TYPE = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The file from which the sample was read.
+     * If given, the index of the sample is stored in an index file next to it and reused by later computations as long as it was created for the same sample
+     * (see {@link SampleIndexType#create(BooleanAssignmentList, Path)}).
+     */
+    public static final Dependency<Path> SAMPLE_FILE = Dependency.newDependency(Path.class);
 
     public ComputeRankedSample(IComputation<BooleanAssignmentList> sample) {
-        super(sample, sample.map(BooleanAssignmentValueMap.EmptyComputation::new), Computations.of(Boolean.FALSE));
+        super(
+                sample,
+                sample.map(BooleanAssignmentValueMap.EmptyComputation::new),
+                Computations.of(Boolean.FALSE),
+                Computations.of(SampleIndexType.ADAPTIVE),
+                Computations.of(MappedSampleBitIndex.NO_SAMPLE_FILE));
     }
 
     @Override
@@ -62,28 +78,41 @@ public class ComputeRankedSample extends AComputation<BooleanAssignmentList> {
 
         progress.setTotalSteps(rankValues.size());
 
-        SampleBitIndex index = new SampleBitIndex(sample);
+        ISampleIndex index = INDEX_TYPE.get(dependencyList).create(sample, SAMPLE_FILE.get(dependencyList));
         Collections.sort(rankValues, Comparator.comparing(ValuedBooleanAssignment::getValue));
         boolean[] used = new boolean[sample.size()];
         BooleanAssignmentList sortedList = new BooleanAssignmentList(sample.getVariableMap());
 
         int size = rankValues.size();
         for (int i = 0; i < size; i++) {
-            BitSet bs = index.getBitSet(rankValues.get(i).get());
-            int k = bs.nextSetBit(0);
+            int[] literals = rankValues.get(i).get();
+            int k = index.index(literals);
             if (k < 0) {
                 FeatJAR.log().warning("Combination not found in sample: ", rankValues.get(i));
                 progress.incrementCurrentStep();
             } else {
-                if (optimize) {
+                if (optimize && literals.length > 0) {
+                    // unused slots of the buffer are filled with the first literal, which does not change any query
+                    int[] combinedLiterals = Arrays.copyOf(literals, 2 * literals.length);
+                    Arrays.fill(combinedLiterals, literals.length, combinedLiterals.length, literals[0]);
+                    int length = literals.length;
                     i++;
                     for (; i < size; i++) {
-                        index.updateBitSet(bs, rankValues.get(i).get());
-                        int l = bs.nextSetBit(k);
+                        int[] nextLiterals = rankValues.get(i).get();
+                        int newLength = length + nextLiterals.length;
+                        if (newLength > combinedLiterals.length) {
+                            int oldCapacity = combinedLiterals.length;
+                            combinedLiterals = Arrays.copyOf(combinedLiterals, Math.max(newLength, 2 * oldCapacity));
+                            Arrays.fill(combinedLiterals, oldCapacity, combinedLiterals.length, literals[0]);
+                        }
+                        System.arraycopy(nextLiterals, 0, combinedLiterals, length, nextLiterals.length);
+                        int l = index.nextIndex(k, combinedLiterals);
                         progress.incrementCurrentStep();
                         if (l >= 0) {
                             k = l;
+                            length = newLength;
                         } else {
+                            Arrays.fill(combinedLiterals, length, newLength, literals[0]);
                             i--;
                             break;
                         }
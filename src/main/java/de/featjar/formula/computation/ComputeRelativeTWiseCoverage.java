@@ -26,7 +26,7 @@ import de.featjar.base.computation.IComputation;
 import de.featjar.formula.CoverageStatistic;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.index.ISampleIndex;
 import java.util.List;
 
 /**
@@ -48,7 +48,7 @@ public class ComputeRelativeTWiseCoverage extends AComputeTWiseCoverage {
     }
 
     private BooleanAssignmentList referenceSample;
-    private SampleBitIndex referenceIndex;
+    private ISampleIndex referenceIndex;
 
     @Override
     protected void initWithOriginalVariableMap(List<Object> dependencyList) {
@@ -64,13 +64,19 @@ public class ComputeRelativeTWiseCoverage extends AComputeTWiseCoverage {
     @Override
     protected void adaptToMergedVariableMap(VariableMap mergedVariableMap) {
         super.adaptToMergedVariableMap(mergedVariableMap);
-        referenceSample.adapt(mergedVariableMap);
+        referenceSample = referenceSample.clone().adapt(mergedVariableMap);
     }
 
     @Override
     protected void adaptVariableMap(List<Object> dependencyList) {
         super.adaptVariableMap(dependencyList);
-        referenceIndex = new SampleBitIndex(referenceSample);
+        referenceIndex = INDEX_TYPE.get(dependencyList).create(referenceSample);
+    }
+
+    @Override
+    protected String getCheckpointKey() {
+        return String.format(
+                "%s %d %08x", super.getCheckpointKey(), referenceSample.size(), referenceSample.hashCode());
     }
 
     @Override
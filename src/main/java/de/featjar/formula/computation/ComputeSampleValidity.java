@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.index.SampleBitIndex;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Checks all configurations of a sample against a list of clauses.
+ * Clauses are evaluated bit-sliced on the bit vectors of a {@link SampleBitIndex}, that is, for 64 configurations per {@code long} at once.
+ * A clause is satisfied by all configurations whose bit is set in the union of the bit vectors of its literals.
+ * Blocks of clauses are evaluated in parallel.
+ * The result contains the number of violated clauses for each configuration, so a configuration is valid if and only if its count is {@code 0}
+ * (see {@link #getValidConfigurations(int[])}).
+ * For partial configurations, a clause counts as violated if none of its literals is contained in the configuration.
+ *
+ * @author agent
+ */
+public class ComputeSampleValidity extends AComputation<int[]> {
+
+    private static final int CLAUSE_BLOCK_SIZE = 1024;
+
+    public static final Dependency<BooleanAssignmentList> SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+    public static final Dependency<BooleanAssignmentList> CLAUSES =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    public ComputeSampleValidity(
+            IComputation<BooleanAssignmentList> sample, IComputation<BooleanAssignmentList> clauses) {
+        super(sample, clauses);
+    }
+
+    protected ComputeSampleValidity(ComputeSampleValidity other) {
+        super(other);
+    }
+
+    @Override
+    public Result<int[]> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList sample = SAMPLE.get(dependencyList);
+        BooleanAssignmentList clauses = CLAUSES.get(dependencyList);
+
+        VariableMap clauseVariableMap = clauses.getVariableMap();
+        VariableMap sampleVariableMap = sample.getVariableMap();
+        if (!Objects.equals(clauseVariableMap, sampleVariableMap)) {
+            FeatJAR.log().warning("Variable maps of given sample and clauses are different.");
+            VariableMap mergedVariableMap = new VariableMap(sampleVariableMap, clauseVariableMap);
+            sample = sample.clone().adapt(mergedVariableMap);
+            clauses = clauses.clone().adapt(mergedVariableMap);
+        }
+
+        final SampleBitIndex index = new SampleBitIndex(sample);
+        final BooleanAssignmentList clauseList = clauses;
+        final int sampleSize = index.size();
+        final int numberOfBlocks = (clauseList.size() + CLAUSE_BLOCK_SIZE - 1) / CLAUSE_BLOCK_SIZE;
+        progress.setTotalSteps(numberOfBlocks);
+
+        return Result.of(IntStream.range(0, numberOfBlocks)
+                .parallel()
+                .collect(
+                        () -> new int[sampleSize],
+                        (violatedClauses, block) -> {
+                            checkCancel();
+                            final int end = Math.min(clauseList.size(), (block + 1) * CLAUSE_BLOCK_SIZE);
+                            for (int i = block * CLAUSE_BLOCK_SIZE; i < end; i++) {
+                                countViolations(index, clauseList.get(i).get(), violatedClauses);
+                            }
+                            progress.incrementCurrentStep();
+                        },
+                        (violatedClauses1, violatedClauses2) -> {
+                            for (int i = 0; i < sampleSize; i++) {
+                                violatedClauses1[i] += violatedClauses2[i];
+                            }
+                        }));
+    }
+
+    /**
+     * {@return for each configuration in the given index the number of given clauses it violates}
+     * Evaluates the clauses sequentially.
+     *
+     * @param index the index containing the configurations
+     * @param clauses the clauses
+     */
+    public static int[] countViolations(SampleBitIndex index, BooleanAssignmentList clauses) {
+        final int[] violatedClauses = new int[index.size()];
+        for (int i = 0; i < clauses.size(); i++) {
+            countViolations(index, clauses.get(i).get(), violatedClauses);
+        }
+        return violatedClauses;
+    }
+
+    /**
+     * {@return the ids of all configurations in the given index that satisfy all given clauses}
+     * Unlike {@link #countViolations(SampleBitIndex, BooleanAssignmentList)}, this only intersects the satisfied bit vectors of each clause
+     * and stops as soon as no configuration is valid anymore.
+     *
+     * @param index the index containing the configurations
+     * @param clauses the clauses
+     */
+    public static BitSet getValidConfigurations(SampleBitIndex index, BooleanAssignmentList clauses) {
+        final int sampleSize = index.size();
+        final int numberOfWords = index.getNumberOfWords();
+        final long[] valid = new long[numberOfWords];
+        Arrays.fill(valid, -1L);
+        if ((sampleSize & 63) != 0) {
+            valid[numberOfWords - 1] = (1L << sampleSize) - 1;
+        }
+        int numberOfValidWords = numberOfWords;
+        for (int i = 0; i < clauses.size() && numberOfValidWords > 0; i++) {
+            final int[] clause = clauses.get(i).get();
+            final long[][] literalWords = getLiteralWords(index, clause);
+            numberOfValidWords = 0;
+            for (int w = 0; w < numberOfWords; w++) {
+                if (valid[w] != 0) {
+                    long satisfied = 0;
+                    for (int k = 0; k < literalWords.length; k++) {
+                        satisfied |= literalWords[k][w];
+                    }
+                    valid[w] &= satisfied;
+                    if (valid[w] != 0) {
+                        numberOfValidWords++;
+                    }
+                }
+            }
+        }
+        return BitSet.valueOf(valid);
+    }
+
+    /**
+     * {@return the ids of all configurations whose number of violated clauses is {@code 0}}
+     *
+     * @param violatedClauses the number of violated clauses per configuration, as computed by this computation
+     */
+    public static BitSet getValidConfigurations(int[] violatedClauses) {
+        final BitSet valid = new BitSet(violatedClauses.length);
+        for (int i = 0; i < violatedClauses.length; i++) {
+            if (violatedClauses[i] == 0) {
+                valid.set(i);
+            }
+        }
+        return valid;
+    }
+
+    private static long[][] getLiteralWords(SampleBitIndex index, int[] clause) {
+        final long[][] literalWords = new long[clause.length][];
+        for (int k = 0; k < clause.length; k++) {
+            literalWords[k] = index.getInternalWords(clause[k]);
+        }
+        return literalWords;
+    }
+
+    private static void countViolations(SampleBitIndex index, int[] clause, int[] violatedClauses) {
+        final int sampleSize = index.size();
+        final int numberOfWords = index.getNumberOfWords();
+        final int lastWord = numberOfWords - 1;
+        final long lastWordMask = (sampleSize & 63) == 0 ? -1L : (1L << sampleSize) - 1;
+        final long[][] literalWords = getLiteralWords(index, clause);
+        for (int w = 0; w < numberOfWords; w++) {
+            long satisfied = 0;
+            for (int k = 0; k < literalWords.length; k++) {
+                satisfied |= literalWords[k][w];
+            }
+            long violated = ~satisfied;
+            if (w == lastWord) {
+                violated &= lastWordMask;
+            }
+            final int offset = w << 6;
+            while (violated != 0) {
+                violatedClauses[offset + Long.numberOfTrailingZeros(violated)]++;
+                violated &= violated - 1;
+            }
+        }
+    }
+}
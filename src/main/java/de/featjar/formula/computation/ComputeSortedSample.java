@@ -21,6 +21,7 @@
 package de.featjar.formula.computation;
 
 import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
@@ -30,9 +31,11 @@ import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanAssignmentValueMap;
 import de.featjar.formula.assignment.ValuedBooleanAssignment;
 import de.featjar.formula.assignment.ValuedBooleanAssignmentList;
-import de.featjar.formula.index.SampleBitIndex;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.MappedSampleBitIndex;
+import de.featjar.formula.index.SampleIndexType;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -62,9 +65,21 @@ public class ComputeSortedSample extends AComputation<BooleanAssignmentList> {
             Dependency.newDependency(BooleanAssignmentList.class);
     public static final Dependency<ValuedBooleanAssignmentList> SORTING_VALUES =
             Dependency.newDependency(ValuedBooleanAssignmentList.class);
+    public static final Dependency<SampleIndexType> INDEX_TYPE = Dependency.newDependency(SampleIndexType.class);
+
+    /**
+     * The file from which the sample was read.
+     * If given, the index of the sample is stored in an index file next to it and reused by later computations as long as it was created for the same sample
+     * (see {@link SampleIndexType#create(BooleanAssignmentList, Path)}).
+     */
+    public static final Dependency<Path> SAMPLE_FILE = Dependency.newDependency(Path.class);
 
     public ComputeSortedSample(IComputation<BooleanAssignmentList> sample) {
-        super(sample, sample.map(BooleanAssignmentValueMap.EmptyComputation::new));
+        super(
+                sample,
+                sample.map(BooleanAssignmentValueMap.EmptyComputation::new),
+                Computations.of(SampleIndexType.ADAPTIVE),
+                Computations.of(MappedSampleBitIndex.NO_SAMPLE_FILE));
     }
 
     @Override
@@ -74,7 +89,7 @@ public class ComputeSortedSample extends AComputation<BooleanAssignmentList> {
 
         progress.setTotalSteps(sortingValues.size());
 
-        SampleBitIndex index = new SampleBitIndex(sample);
+        ISampleIndex index = INDEX_TYPE.get(dependencyList).create(sample, SAMPLE_FILE.get(dependencyList));
         long maxScore = sortingValues.stream()
                 .mapToLong(ValuedBooleanAssignment::getValue)
                 .max()
@@ -86,14 +101,13 @@ public class ComputeSortedSample extends AComputation<BooleanAssignmentList> {
 
         for (ValuedBooleanAssignment a : sortingValues) {
             long weightedDelta = maxScore - a.getValue();
-            BitSet bs = index.getBitSet(a.get());
-            for (int i = bs.nextSetBit(0); i >= 0; i = bs.nextSetBit(i + 1)) {
-                SortedListElement sortedListElement = sortedList.get(i);
-                sortedListElement.rank = sortedListElement.rank + weightedDelta;
-                if (i == Integer.MAX_VALUE) {
-                    break;
-                }
-            }
+            int[] literals = a.get();
+            index.forEachMatch(
+                    i -> {
+                        SortedListElement sortedListElement = sortedList.get(i);
+                        sortedListElement.rank = sortedListElement.rank + weightedDelta;
+                    },
+                    literals);
             progress.incrementCurrentStep();
         }
 
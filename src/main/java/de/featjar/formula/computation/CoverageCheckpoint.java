@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.CoverageStatistic;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the progress of a coverage computation, such that an interrupted computation can be resumed.
+ * The work of a computation is split into a fixed number of tasks.
+ * For each task, a checkpoint stores the position up to which the task has been processed together with the partial
+ * {@link CoverageStatistic} of this work.
+ * Checkpoints are written to disk at most once per given interval, which keeps their cost negligible compared to the computation.
+ * While a computation uses a checkpoint file, it holds a lock on a sibling lock file (see {@link #lock()}),
+ * such that concurrent computations with the same input do not overwrite or delete each other's checkpoint.
+ *
+ * @author agent
+ */
+public class CoverageCheckpoint {
+
+    /**
+     * Default minimal time between two writes of a checkpoint in milliseconds.
+     */
+    public static final long DEFAULT_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static final String HEADER = "coverage-checkpoint";
+
+    private final Path file;
+    private final String key;
+    private final long intervalNanos;
+
+    private final long[] positions;
+    private final CoverageStatistic[] statistics;
+
+    private long lastWriteTime;
+    private boolean modified;
+    private boolean closed;
+    private FileLock lock;
+
+    /**
+     * Creates a new empty checkpoint.
+     *
+     * @param file the file the checkpoint is written to
+     * @param key a string identifying the computation, used to validate the checkpoint when it is loaded
+     * @param numberOfTasks the number of tasks
+     * @param interval the minimal time between two writes in milliseconds
+     */
+    public CoverageCheckpoint(Path file, String key, int numberOfTasks, long interval) {
+        if (numberOfTasks < 0) {
+            throw new IllegalArgumentException(String.format("Number of tasks must not be negative (was %d).", numberOfTasks));
+        }
+        this.file = file;
+        this.key = key.replace('\n', ' ');
+        intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        positions = new long[numberOfTasks];
+        statistics = new CoverageStatistic[numberOfTasks];
+        for (int i = 0; i < numberOfTasks; i++) {
+            statistics[i] = new CoverageStatistic();
+        }
+        lastWriteTime = System.nanoTime();
+    }
+
+    /**
+     * {@return the file this checkpoint is written to}
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * {@return the number of tasks}
+     */
+    public int getNumberOfTasks() {
+        return positions.length;
+    }
+
+    /**
+     * {@return the position up to which the given task has been processed}
+     *
+     * @param task the task index
+     */
+    public synchronized long getPosition(int task) {
+        return positions[task];
+    }
+
+    /**
+     * {@return a copy of the partial statistic of the given task}
+     *
+     * @param task the task index
+     */
+    public synchronized CoverageStatistic getStatistic(int task) {
+        return new CoverageStatistic().merge(statistics[task]);
+    }
+
+    /**
+     * Records the progress of a task.
+     * If the last write of this checkpoint is older than the interval, the checkpoint is written to disk.
+     * Does nothing if this checkpoint is already {@link #close() closed}.
+     *
+     * @param task the task index
+     * @param position the position up to which the task has been processed
+     * @param statistic the partial statistic of all work processed by the task so far, which is copied
+     */
+    public synchronized void update(int task, long position, CoverageStatistic statistic) {
+        if (closed) {
+            return;
+        }
+        positions[task] = position;
+        statistics[task] = new CoverageStatistic().merge(statistic);
+        modified = true;
+        if (System.nanoTime() - lastWriteTime >= intervalNanos) {
+            write();
+        }
+    }
+
+    /**
+     * Tries to acquire the lock for the checkpoint file.
+     * The lock is held until {@link #delete()}, {@link #close()}, or {@link #unlock()} is called.
+     *
+     * @return {@code true} if the lock was acquired, {@code false} if another computation holds it or it could not be created
+     */
+    public synchronized boolean lock() {
+        if (lock != null) {
+            return true;
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(getLockFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = channel.tryLock();
+        } catch (IOException | OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null && channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                FeatJAR.log().warning(e);
+            }
+        }
+        return lock != null;
+    }
+
+    /**
+     * Releases the lock for the checkpoint file, if it is held.
+     */
+    public synchronized void unlock() {
+        if (lock != null) {
+            try {
+                lock.channel().close();
+            } catch (IOException e) {
+                FeatJAR.log().warning(e);
+            }
+            lock = null;
+        }
+    }
+
+    private Path getLockFile() {
+        return file.resolveSibling(file.getFileName() + ".lock");
+    }
+
+    /**
+     * Loads the progress from the checkpoint file, if it exists and belongs to the same computation.
+     *
+     * @return {@code true} if the progress was loaded, {@code false} otherwise
+     */
+    public synchronized boolean load() {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine()) || !key.equals(reader.readLine())) {
+                FeatJAR.log().warning("Checkpoint %s belongs to a different computation and is ignored.", file);
+                return false;
+            }
+            if (Integer.parseInt(reader.readLine()) != positions.length) {
+                FeatJAR.log().warning("Checkpoint %s uses a different number of tasks and is ignored.", file);
+                return false;
+            }
+            long[] loadedPositions = new long[positions.length];
+            CoverageStatistic[] loadedStatistics = new CoverageStatistic[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                String[] values = reader.readLine().split(" ");
+                loadedPositions[i] = Long.parseLong(values[0]);
+                CoverageStatistic statistic = new CoverageStatistic();
+                statistic.setNumberOfCoveredElements(Long.parseLong(values[1]));
+                statistic.setNumberOfUncoveredElements(Long.parseLong(values[2]));
+                statistic.setNumberOfInvalidElements(Long.parseLong(values[3]));
+                statistic.setNumberOfIgnoredElements(Long.parseLong(values[4]));
+                loadedStatistics[i] = statistic;
+            }
+            System.arraycopy(loadedPositions, 0, positions, 0, positions.length);
+            System.arraycopy(loadedStatistics, 0, statistics, 0, statistics.length);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            FeatJAR.log().warning("Checkpoint %s could not be read and is ignored.", file);
+            return false;
+        }
+    }
+
+    /**
+     * Writes this checkpoint to disk, if it was modified since the last write.
+     * The file is written to a new temporary file first and then replaced atomically,
+     * such that an interruption during writing does not corrupt an older checkpoint.
+     * Does nothing if this checkpoint is already {@link #close() closed}.
+     */
+    public synchronized void write() {
+        lastWriteTime = System.nanoTime();
+        if (closed || !modified) {
+            return;
+        }
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(
+                    file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                writer.write(key);
+                writer.newLine();
+                writer.write(String.valueOf(positions.length));
+                writer.newLine();
+                for (int i = 0; i < positions.length; i++) {
+                    CoverageStatistic statistic = statistics[i];
+                    writer.write(String.format(
+                            "%d %d %d %d %d",
+                            positions[i],
+                            statistic.covered(),
+                            statistic.uncovered(),
+                            statistic.invalid(),
+                            statistic.ignored()));
+                    writer.newLine();
+                }
+            }
+            Files.move(
+                    temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+        } catch (IOException e) {
+            FeatJAR.log().warning(e);
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException e2) {
+                    FeatJAR.log().warning(e2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes this checkpoint a last time, closes it, and releases the lock.
+     * Afterwards, {@link #update(int, long, CoverageStatistic) updates} and {@link #write() writes} are ignored,
+     * such that tasks still running cannot overwrite a checkpoint file that is locked by another computation in the meantime.
+     */
+    public synchronized void close() {
+        write();
+        closed = true;
+        unlock();
+    }
+
+    /**
+     * Deletes the checkpoint file, if it exists, closes this checkpoint, and releases the lock.
+     */
+    public synchronized void delete() {
+        closed = true;
+        try {
+            Files.deleteIfExists(file);
+            if (lock != null) {
+                Files.deleteIfExists(getLockFile());
+            }
+        } catch (IOException e) {
+            FeatJAR.log().warning(e);
+        }
+        unlock();
+    }
+}
@@ -25,256 +25,804 @@ import de.featjar.base.computation.ComputeConstant;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
-import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import de.featjar.formula.assignment.ValuedBooleanAssignment;
-import java.util.BitSet;
-import java.util.LinkedHashSet;
+import de.featjar.formula.index.SampleBitIndex;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * Removes solutions from a given sample without reducing the t-wise interaction coverage for a given t.
+ * Interactions that are covered by more than one solution are stored as packed primitive keys,
+ * which are indexed by a hash table.
+ * In each round, the solution with the highest score is selected using a lazily updated priority queue (CELF).
+ * After a selection, only the interactions of the selected solution are looked up in the table,
+ * and only the scores of solutions that share a newly covered interaction with the selected solution are updated.
+ * <p>
+ * The reduction can be stopped by a {@link #TIME_BUDGET time budget} or by cancelling the computation.
+ * In this case, the solutions selected so far are returned together with a warning that states the number of interactions
+ * that are not covered by them.
+ * Intermediate results are published to an {@link IIntermediateResultListener}.
+ * <p>
+ * Optionally, multiple reductions with randomized tie-breaking are run in parallel and the smallest result is kept.
+ * All reductions share the read-only interactions and index, but use their own scores, queues, and counters.
+ * If multiple reductions run in parallel, each of them runs sequentially.
+ * Afterwards, solutions whose interactions are all covered by other selected solutions are removed.
  *
  * @author Sebastian Krieter
  * @author Rahel Sundermann
  */
 public class GreedySampleReducer extends AComputation<BooleanAssignmentList> {
 
-    private static class Config extends BooleanAssignment {
-        private static final long serialVersionUID = 6908616425377756720L;
+    /**
+     * Receives intermediate results of a running reduction.
+     */
+    @FunctionalInterface
+    public interface IIntermediateResultListener {
 
-        private double score = 0;
-        private int interactionCount = 0;
+        /**
+         * Listener that ignores all intermediate results.
+         */
+        IIntermediateResultListener NONE = (reducedSample, uncoveredInteractions) -> {};
 
-        public Config(BooleanAssignment solution) {
-            super(solution);
+        /**
+         * Receives the solutions selected so far.
+         *
+         * @param reducedSample the selected solutions
+         * @param uncoveredInteractions the number of interactions that are covered by the original sample, but not by the selected solutions
+         */
+        void accept(BooleanAssignmentList reducedSample, long uncoveredInteractions);
+    }
+
+    /**
+     * Stores interactions as packed keys together with the number of solutions covering each interaction.
+     * Each literal is encoded by its variable and its sign using the same number of bits,
+     * and as many literals as possible are packed into one {@code long}.
+     * Thus, for common values of t and numbers of variables, each interaction is stored in a single {@code long}.
+     */
+    private static class InteractionStore {
+        private final int t;
+        private final int bitsPerLiteral;
+        private final long literalMask;
+        private final int literalsPerWord;
+        private final int wordsPerInteraction;
+        private long[] keys;
+        private int[] counts;
+        private int size;
+
+        private InteractionStore(int t, int n, int initialCapacity) {
+            this.t = t;
+            bitsPerLiteral = Integer.SIZE - Integer.numberOfLeadingZeros(n) + 1;
+            literalMask = (1L << bitsPerLiteral) - 1;
+            literalsPerWord = Long.SIZE / bitsPerLiteral;
+            wordsPerInteraction = (t + literalsPerWord - 1) / literalsPerWord;
+            keys = new long[Math.multiplyExact(initialCapacity, wordsPerInteraction)];
+            counts = new int[initialCapacity];
         }
 
-        public synchronized void incScore(double s) {
-            score += s;
-            interactionCount++;
+        private void pack(int[] interaction, long[] key) {
+            Arrays.fill(key, 0);
+            for (int k = 0; k < t; k++) {
+                final int literal = interaction[k];
+                final long code = ((long) Math.abs(literal) << 1) | (literal < 0 ? 1 : 0);
+                key[k / literalsPerWord] |= code << ((k % literalsPerWord) * bitsPerLiteral);
+            }
         }
 
-        public synchronized void decScore(double s) {
-            score -= s;
-            interactionCount--;
+        private int literal(int interactionIndex, int k) {
+            final long code = (keys[interactionIndex * wordsPerInteraction + k / literalsPerWord]
+                            >>> ((k % literalsPerWord) * bitsPerLiteral))
+                    & literalMask;
+            final int variable = (int) (code >>> 1);
+            return (code & 1) == 0 ? variable : -variable;
         }
 
-        @Override
-        public int hashCode() {
-            return super.hashCode();
+        private void add(long[] key, int count) {
+            if (size == counts.length) {
+                int newCapacity = Math.max(16, Math.multiplyExact(size, 2));
+                keys = Arrays.copyOf(keys, Math.multiplyExact(newCapacity, wordsPerInteraction));
+                counts = Arrays.copyOf(counts, newCapacity);
+            }
+            System.arraycopy(key, 0, keys, size * wordsPerInteraction, wordsPerInteraction);
+            counts[size++] = count;
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            return super.equals(obj);
+        private void addAll(InteractionStore other) {
+            System.arraycopy(
+                    other.keys, 0, keys, size * wordsPerInteraction, other.size * wordsPerInteraction);
+            System.arraycopy(other.counts, 0, counts, size, other.size);
+            size += other.size;
         }
     }
 
-    public static final Dependency<BooleanAssignmentList> SAMPLE =
-            Dependency.newDependency(BooleanAssignmentList.class);
+    /**
+     * Maps the packed keys of an {@link InteractionStore} to the index of their interaction using open addressing.
+     */
+    private static class InteractionTable {
+        private static final int MAXIMUM_CAPACITY = 1 << 30;
 
-    public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
+        private final InteractionStore store;
+        private final int[] slots;
+        private final int mask;
 
-    private Config[] fieldConfigurations;
-    private int n, t, t2;
+        private InteractionTable(InteractionStore store) {
+            this.store = store;
+            long minimumCapacity = Math.max(2, 2L * store.size);
+            if (minimumCapacity > MAXIMUM_CAPACITY) {
+                throw new IllegalArgumentException(String.format("Too many interactions (%d).", store.size));
+            }
+            int capacity = Integer.highestOneBit((int) minimumCapacity - 1) << 1;
+            slots = new int[capacity];
+            mask = capacity - 1;
+            for (int i = 0; i < store.size; i++) {
+                int slot = hash(store.keys, i * store.wordsPerInteraction) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = i + 1;
+            }
+        }
 
-    private LinkedHashSet<BooleanAssignment> reducedSample;
-    private LinkedHashSet<ValuedBooleanAssignment> interactions;
-    private BitSet mainIndex;
-    private BitSet[] indices;
+        private int hash(long[] keys, int offset) {
+            long hash = 0;
+            for (int w = 0; w < store.wordsPerInteraction; w++) {
+                hash = (hash + keys[offset + w]) * 0x9e3779b97f4a7c15L;
+            }
+            return (int) (hash ^ (hash >>> 32));
+        }
 
-    public GreedySampleReducer(GreedySampleReducer other) {
-        super(other);
+        /**
+         * {@return the index of the interaction with the given key or -1 if it is not stored}
+         *
+         * @param key the packed key
+         */
+        private int get(long[] key) {
+            final int wordsPerInteraction = store.wordsPerInteraction;
+            int slot = hash(key, 0) & mask;
+            while (slots[slot] != 0) {
+                final int interactionIndex = slots[slot] - 1;
+                final int offset = interactionIndex * wordsPerInteraction;
+                boolean equal = true;
+                for (int w = 0; w < wordsPerInteraction; w++) {
+                    if (store.keys[offset + w] != key[w]) {
+                        equal = false;
+                        break;
+                    }
+                }
+                if (equal) {
+                    return interactionIndex;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
     }
 
-    public GreedySampleReducer(IComputation<BooleanAssignmentList> sampleComputation) {
-        super(sampleComputation, new ComputeConstant<>(1));
-    }
+    /**
+     * Stores for each solution the sum of the weights and the number of the uncovered interactions it covers.
+     */
+    private static class ScoreTable {
+        private final double[] scores;
+        private final int[] interactionCounts;
 
-    private void generate(int first) {
-        int[] elementIndices;
-        boolean[] marker;
-        elementIndices = new int[t];
-        marker = new boolean[t];
-        for (int i = 0; i < t - 1; i++) {
-            elementIndices[i] = i;
-        }
-        elementIndices[t - 1] = first;
-
-        int i = 0;
-        for (; ; ) {
-            int[] literals = new int[t];
-            BitSet curIndices = (BitSet) mainIndex.clone();
-            for (int k2 = 0; k2 < literals.length; k2++) {
-                int var = elementIndices[k2] + 1;
-                int l = marker[k2] ? -var : var;
-                literals[k2] = l;
-                curIndices.and(indices[l + n]);
-            }
-            int counter = curIndices.cardinality();
-            if (counter > 1) {
-                ValuedBooleanAssignment interaction = new ValuedBooleanAssignment(literals);
-                interaction.setValue(counter);
-                synchronized (interactions) {
-                    interactions.add(interaction);
-                }
-            } else if (counter == 1) {
-                BooleanAssignment config = fieldConfigurations[curIndices.nextSetBit(0)];
-                synchronized (reducedSample) {
-                    reducedSample.add(config);
+        private ScoreTable(int size) {
+            scores = new double[size];
+            interactionCounts = new int[size];
+        }
+
+        private ScoreTable(ScoreTable other) {
+            scores = other.scores.clone();
+            interactionCounts = other.interactionCounts.clone();
+        }
+
+        private void add(long[] configs, double score, int count) {
+            for (int w = 0; w < configs.length; w++) {
+                for (long word = configs[w]; word != 0; word &= word - 1) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(word);
+                    scores[j] += score;
+                    interactionCounts[j] += count;
                 }
             }
+        }
+    }
 
-            for (i = 0; i < t2; i++) {
-                int index = elementIndices[i];
-                if (index + 1 < elementIndices[i + 1]) {
-                    if (marker[i]) {
-                        elementIndices[i] = index + 1;
-                    }
-                    marker[i] = !marker[i];
-                    for (int j = i - 1; j >= 0; j--) {
-                        elementIndices[j] = j;
-                        marker[j] = false;
+    /**
+     * Enumerates all interactions depth-first and reuses the intersection of each prefix for all of its extensions.
+     */
+    private class InteractionGenerator {
+        private final InteractionStore store = new InteractionStore(t, n, 0);
+        private final long[] uniquelyCovering = new long[numberOfWords];
+        private final long[][] intersections = new long[t][numberOfWords];
+        private final int[] interaction = new int[t];
+        private final long[] key = new long[store.wordsPerInteraction];
+
+        private void visit(int depth, int position) {
+            for (int literal = position + 1; ; literal = -literal) {
+                interaction[depth] = literal;
+                final long[] literalWords = index.getInternalWords(literal);
+                final long[] intersection = intersections[depth];
+                boolean empty = true;
+                if (depth == 0) {
+                    for (int w = 0; w < numberOfWords; w++) {
+                        intersection[w] = literalWords[w];
+                        empty &= literalWords[w] == 0;
                     }
-                    break;
                 } else {
-                    if (marker[i]) {
-                        marker[i] = false;
-                        continue;
+                    final long[] prefix = intersections[depth - 1];
+                    for (int w = 0; w < numberOfWords; w++) {
+                        final long word = prefix[w] & literalWords[w];
+                        intersection[w] = word;
+                        empty &= word == 0;
+                    }
+                }
+                if (!empty) {
+                    if (depth == t - 1) {
+                        int count = 0;
+                        int lastWord = 0;
+                        for (int w = 0; w < numberOfWords; w++) {
+                            if (intersection[w] != 0) {
+                                count += Long.bitCount(intersection[w]);
+                                lastWord = w;
+                            }
+                        }
+                        if (count > 1) {
+                            store.pack(interaction, key);
+                            store.add(key, count);
+                        } else {
+                            uniquelyCovering[lastWord] |= intersection[lastWord];
+                        }
                     } else {
-                        marker[i] = true;
-                        for (int j = i - 1; j >= 0; j--) {
-                            elementIndices[j] = j;
-                            marker[j] = false;
+                        for (int nextPosition = position + 1; nextPosition < n - (t - depth - 2); nextPosition++) {
+                            visit(depth + 1, nextPosition);
                         }
-                        break;
                     }
                 }
+                if (literal < 0) {
+                    break;
+                }
             }
-            if (i == t2) {
-                if (marker[i]) {
+        }
+    }
+
+    public static final Dependency<BooleanAssignmentList> SAMPLE =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    public static final Dependency<Integer> T = Dependency.newDependency(Integer.class);
+
+    /**
+     * The maximum time for the reduction. After this time, the solutions selected so far are returned.
+     * A duration of zero means that there is no time limit.
+     */
+    public static final Dependency<Duration> TIME_BUDGET = Dependency.newDependency(Duration.class);
+
+    public static final Dependency<IIntermediateResultListener> INTERMEDIATE_RESULT_LISTENER =
+            Dependency.newDependency(IIntermediateResultListener.class);
+
+    /**
+     * The number of reductions that are run in parallel.
+     * The first reduction breaks ties by the order of the sample, all others break ties randomly.
+     */
+    public static final Dependency<Integer> NUMBER_OF_RUNS = Dependency.newDependency(Integer.class);
+
+    public static final Dependency<Long> RANDOM_SEED = Dependency.newDependency(Long.class);
+
+    private static final long INTERMEDIATE_RESULT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private BooleanAssignmentList sample;
+    private long startTime;
+    private long timeBudget;
+
+    private int n, t;
+    private int numberOfWords;
+    private SampleBitIndex index;
+
+    private InteractionStore interactions;
+    private InteractionTable interactionTable;
+    private long[] uniquelyCovering;
+    private int[] initiallyUncoveredInteractions;
+    private long[] initiallyCoveredInteractions;
+    private ScoreTable initialScores;
+
+    /**
+     * Holds the state of a single greedy reduction.
+     */
+    private class Reduction {
+        private final long[] selected;
+        private final long[] candidates;
+        private final ScoreTable scores;
+        private final long[] coveredInteractions;
+        private int numberOfUncoveredInteractions;
+
+        private final int[] selectionOrder;
+        private int numberOfSelections;
+
+        private final int[] priorities;
+        private final double[] queueScores;
+        private final int[] queue;
+        private int queueSize;
+
+        private final int[] configLiterals = new int[n];
+        private final int[] positions = new int[t];
+        private final int[] interaction = new int[t];
+        private final long[] key = new long[interactions.wordsPerInteraction];
+        private final long[] intersection = new long[numberOfWords];
+
+        private boolean interrupted;
+
+        private Reduction(Random random) {
+            final int sampleSize = sample.size();
+            selected = uniquelyCovering.clone();
+            candidates = new long[numberOfWords];
+            for (int j = 0; j < sampleSize; j++) {
+                if ((selected[j >>> 6] & (1L << j)) == 0) {
+                    candidates[j >>> 6] |= 1L << j;
+                }
+            }
+            scores = new ScoreTable(initialScores);
+            coveredInteractions = initiallyCoveredInteractions.clone();
+            numberOfUncoveredInteractions = initiallyUncoveredInteractions.length;
+            selectionOrder = new int[sampleSize];
+
+            priorities = new int[sampleSize];
+            for (int j = 0; j < sampleSize; j++) {
+                priorities[j] = j;
+            }
+            if (random != null) {
+                for (int j = sampleSize - 1; j > 0; j--) {
+                    int k = random.nextInt(j + 1);
+                    int priority = priorities[j];
+                    priorities[j] = priorities[k];
+                    priorities[k] = priority;
+                }
+            }
+            queueScores = new double[sampleSize];
+            queue = new int[sampleSize];
+            for (int j = 0; j < sampleSize; j++) {
+                if (isCandidate(j)) {
+                    push(j, scores.scores[j]);
+                }
+            }
+        }
+
+        /**
+         * Runs this reduction.
+         *
+         * @param progress the progress, which is incremented for each covered interaction, or {@code null} if this reduction does not report its progress
+         * @param listener the listener for intermediate results
+         */
+        private void run(Progress progress, IIntermediateResultListener listener) {
+            long lastPublishTime = System.nanoTime();
+            while (numberOfUncoveredInteractions > 0) {
+                if (isInterrupted()) {
+                    interrupted = true;
+                    return;
+                }
+                int bestConfigIndex = pollBest();
+                if (bestConfigIndex < 0) {
                     break;
-                } else {
-                    marker[i] = true;
-                    for (int j = i - 1; j >= 0; j--) {
-                        elementIndices[j] = j;
-                        marker[j] = false;
+                }
+                selected[bestConfigIndex >>> 6] |= 1L << bestConfigIndex;
+                candidates[bestConfigIndex >>> 6] &= ~(1L << bestConfigIndex);
+                selectionOrder[numberOfSelections++] = bestConfigIndex;
+                int numberOfCoveredInteractions = cover(bestConfigIndex);
+                if (progress != null) {
+                    for (int i = 0; i < numberOfCoveredInteractions; i++) {
+                        progress.incrementCurrentStep();
+                    }
+                }
+
+                if (listener != IIntermediateResultListener.NONE
+                        && System.nanoTime() - lastPublishTime >= INTERMEDIATE_RESULT_INTERVAL) {
+                    listener.accept(toSample(), numberOfUncoveredInteractions);
+                    lastPublishTime = System.nanoTime();
+                }
+            }
+            removeRedundant();
+        }
+
+        private int size() {
+            int size = 0;
+            for (long word : selected) {
+                size += Long.bitCount(word);
+            }
+            return size;
+        }
+
+        private BooleanAssignmentList toSample() {
+            BooleanAssignmentList reducedSample = new BooleanAssignmentList(sample.getVariableMap());
+            for (int j = 0; j < sample.size(); j++) {
+                if ((selected[j >>> 6] & (1L << j)) != 0) {
+                    reducedSample.add(sample.get(j));
+                }
+            }
+            return reducedSample;
+        }
+
+        private boolean isCandidate(int configIndex) {
+            return (candidates[configIndex >>> 6] & (1L << configIndex)) != 0;
+        }
+
+        private boolean isCovered(int interactionIndex) {
+            return (coveredInteractions[interactionIndex >>> 6] & (1L << interactionIndex)) != 0;
+        }
+
+        /**
+         * Marks all uncovered interactions that are covered by the given solution as covered
+         * and updates the scores of all remaining candidates covering one of them.
+         *
+         * @param configIndex the index of the selected solution
+         * @return the number of newly covered interactions
+         */
+        private int cover(int configIndex) {
+            final int oldNumberOfUncoveredInteractions = numberOfUncoveredInteractions;
+            forEachInteraction(configIndex, interactionIndex -> {
+                if (!isCovered(interactionIndex)) {
+                    coveredInteractions[interactionIndex >>> 6] |= 1L << interactionIndex;
+                    numberOfUncoveredInteractions--;
+                    intersect(interactionIndex, candidates, intersection);
+                    scores.add(intersection, -1.0 / interactions.counts[interactionIndex], -1);
+                }
+            });
+            return oldNumberOfUncoveredInteractions - numberOfUncoveredInteractions;
+        }
+
+        /**
+         * Applies the given consumer to the index of each stored interaction that is contained in the given solution.
+         * Interactions are enumerated from the literals of the solution and looked up in the interaction table.
+         *
+         * @param configIndex the index of the solution
+         * @param consumer the consumer
+         */
+        private void forEachInteraction(int configIndex, IntConsumer consumer) {
+            final int word = configIndex >>> 6;
+            final long mask = 1L << configIndex;
+            int numberOfLiterals = 0;
+            for (int variable = 1; variable <= n; variable++) {
+                if ((index.getInternalWords(variable)[word] & mask) != 0) {
+                    configLiterals[numberOfLiterals++] = variable;
+                } else if ((index.getInternalWords(-variable)[word] & mask) != 0) {
+                    configLiterals[numberOfLiterals++] = -variable;
+                }
+            }
+            if (numberOfLiterals < t) {
+                return;
+            }
+            for (int k = 0; k < t; k++) {
+                positions[k] = k;
+            }
+            while (true) {
+                for (int k = 0; k < t; k++) {
+                    interaction[k] = configLiterals[positions[k]];
+                }
+                interactions.pack(interaction, key);
+                final int interactionIndex = interactionTable.get(key);
+                if (interactionIndex >= 0) {
+                    consumer.accept(interactionIndex);
+                }
+                int k = t - 1;
+                while (k >= 0 && positions[k] == numberOfLiterals - t + k) {
+                    k--;
+                }
+                if (k < 0) {
+                    return;
+                }
+                positions[k]++;
+                for (int l = k + 1; l < t; l++) {
+                    positions[l] = positions[l - 1] + 1;
+                }
+            }
+        }
+
+        /**
+         * Removes selected solutions, whose interactions are all covered by at least one other selected solution.
+         * Solutions are checked in the order of their selection.
+         * A solution is kept, if it is the only selected solution that covers one of the interactions.
+         * Solutions that uniquely cover an interaction of the sample are always kept,
+         * but are counted as covering solutions, such that they can make a selected solution redundant.
+         */
+        private void removeRedundant() {
+            final boolean[] required = new boolean[sample.size()];
+            for (int j = 0; j < required.length; j++) {
+                required[j] = (uniquelyCovering[j >>> 6] & (1L << j)) != 0;
+            }
+            final int[] coverCounts = new int[interactions.size];
+            for (int w = 0; w < selected.length; w++) {
+                for (long word = selected[w]; word != 0; word &= word - 1) {
+                    forEachInteraction(
+                            (w << 6) + Long.numberOfTrailingZeros(word),
+                            interactionIndex -> coverCounts[interactionIndex]++);
+                }
+            }
+            for (int s = 0; s < numberOfSelections; s++) {
+                final int configIndex = selectionOrder[s];
+                forEachInteraction(configIndex, interactionIndex -> {
+                    if (coverCounts[interactionIndex] == 1) {
+                        required[configIndex] = true;
                     }
+                });
+            }
+
+            for (int s = 0; s < numberOfSelections; s++) {
+                final int configIndex = selectionOrder[s];
+                if (!required[configIndex]) {
+                    selected[configIndex >>> 6] &= ~(1L << configIndex);
+                    forEachInteraction(configIndex, interactionIndex -> {
+                        if (--coverCounts[interactionIndex] == 1) {
+                            intersect(interactionIndex, selected, intersection);
+                            required[firstIndex(intersection)] = true;
+                        }
+                    });
+                }
+            }
+        }
+
+        /**
+         * {@return the candidate with the highest score or -1 if no candidate covers an uncovered interaction}
+         * As scores only decrease, the score stored in the queue is an upper bound of the current score.
+         * Hence, a candidate whose queued score is still up-to-date is the best candidate.
+         */
+        private int pollBest() {
+            while (queueSize > 0) {
+                int configIndex = queue[0];
+                double queuedScore = queueScores[configIndex];
+                queue[0] = queue[--queueSize];
+                siftDown(0);
+                double score = scores.scores[configIndex];
+                if (!isCandidate(configIndex) || score <= 0 || scores.interactionCounts[configIndex] == 0) {
+                    continue;
+                }
+                if (score == queuedScore) {
+                    return configIndex;
+                }
+                push(configIndex, score);
+            }
+            return -1;
+        }
+
+        private void push(int configIndex, double score) {
+            queueScores[configIndex] = score;
+            int position = queueSize++;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!isBefore(configIndex, queue[parent])) {
+                    break;
                 }
+                queue[position] = queue[parent];
+                position = parent;
             }
+            queue[position] = configIndex;
+        }
+
+        private void siftDown(int position) {
+            if (queueSize == 0) {
+                return;
+            }
+            int configIndex = queue[position];
+            int half = queueSize >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                int right = child + 1;
+                if (right < queueSize && isBefore(queue[right], queue[child])) {
+                    child = right;
+                }
+                if (!isBefore(queue[child], configIndex)) {
+                    break;
+                }
+                queue[position] = queue[child];
+                position = child;
+            }
+            queue[position] = configIndex;
+        }
+
+        private boolean isBefore(int configIndex1, int configIndex2) {
+            double score1 = queueScores[configIndex1];
+            double score2 = queueScores[configIndex2];
+            return score1 > score2 || (score1 == score2 && priorities[configIndex1] < priorities[configIndex2]);
         }
     }
 
+    public GreedySampleReducer(GreedySampleReducer other) {
+        super(other);
+    }
+
+    public GreedySampleReducer(IComputation<BooleanAssignmentList> sampleComputation) {
+        super(
+                sampleComputation,
+                new ComputeConstant<>(1),
+                new ComputeConstant<>(Duration.ZERO),
+                new ComputeConstant<>(IIntermediateResultListener.NONE),
+                new ComputeConstant<>(1),
+                new ComputeConstant<>(1L));
+    }
+
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
-        BooleanAssignmentList sample = SAMPLE.get(dependencyList);
+        startTime = System.nanoTime();
+        sample = SAMPLE.get(dependencyList);
         if (sample.size() == 0) {
             return Result.of(sample);
         }
         n = sample.get(0).size();
+        t = T.get(dependencyList);
+        Duration budget = TIME_BUDGET.get(dependencyList);
+        timeBudget = budget.isZero() ? Long.MAX_VALUE : budget.toNanos();
+        IIntermediateResultListener listener = INTERMEDIATE_RESULT_LISTENER.get(dependencyList);
+        int numberOfRuns = NUMBER_OF_RUNS.get(dependencyList);
+        long seed = RANDOM_SEED.get(dependencyList);
 
         if (t > n) {
             throw new IllegalArgumentException(String.format("%d > %d", t, n));
         }
-        t = T.get(dependencyList);
-        t2 = t - 1;
-        fieldConfigurations = new Config[sample.size()];
-        int fi = 0;
-        for (BooleanAssignment solution : sample) {
-            fieldConfigurations[fi++] = new Config(solution);
-        }
-        reducedSample = new LinkedHashSet<>();
-        interactions = new LinkedHashSet<>();
-        mainIndex = new BitSet(fieldConfigurations.length);
-        mainIndex.flip(0, fieldConfigurations.length);
-
-        indices = new BitSet[2 * n + 1];
-        for (int j = 1; j <= n; j++) {
-            BitSet negIndices = new BitSet(fieldConfigurations.length);
-            BitSet posIndices = new BitSet(fieldConfigurations.length);
-            for (int i = 0; i < fieldConfigurations.length; i++) {
-                BooleanAssignment config = fieldConfigurations[i];
-                if (config.get(j - 1) < 0) {
-                    negIndices.set(i);
-                } else {
-                    posIndices.set(i);
-                }
-            }
-            indices[n - j] = negIndices;
-            indices[j + n] = posIndices;
+        if (numberOfRuns < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Number of runs must be greater than 0. Value was %d.", numberOfRuns));
         }
+        final int sampleSize = sample.size();
+        index = new SampleBitIndex(sample);
+        numberOfWords = index.getNumberOfWords();
 
-        IntStream.range(t - 1, n).parallel().forEach(this::generate);
+        List<InteractionGenerator> generators = IntStream.range(0, n - t + 1)
+                .parallel()
+                .mapToObj(first -> {
+                    if (isInterrupted()) {
+                        return null;
+                    }
+                    InteractionGenerator generator = new InteractionGenerator();
+                    generator.visit(0, first);
+                    return generator;
+                })
+                .collect(Collectors.toList());
+        if (generators.contains(null)) {
+            return Result.of(
+                    sample,
+                    List.of(new Problem(
+                            "Reduction was interrupted before any solution was removed.", Problem.Severity.WARNING)));
+        }
 
-        for (int j = 0; j < fieldConfigurations.length; j++) {
-            BooleanAssignment config = fieldConfigurations[j];
-            if (reducedSample.contains(config)) {
-                mainIndex.clear(j);
+        uniquelyCovering = new long[numberOfWords];
+        int numberOfInteractions = 0;
+        for (InteractionGenerator generator : generators) {
+            numberOfInteractions = Math.addExact(numberOfInteractions, generator.store.size);
+            for (int w = 0; w < numberOfWords; w++) {
+                uniquelyCovering[w] |= generator.uniquelyCovering[w];
             }
         }
+        interactions = new InteractionStore(t, n, numberOfInteractions);
+        for (InteractionGenerator generator : generators) {
+            interactions.addAll(generator.store);
+        }
+        generators = null;
+        interactionTable = new InteractionTable(interactions);
 
-        List<ValuedBooleanAssignment> alreadyCoveredValuedBooleanAssignments = interactions.parallelStream()
-                .filter(interaction -> {
-                    if (reducedSample.stream().anyMatch(c -> c.containsAll(interaction))) {
-                        return true;
+        initiallyUncoveredInteractions = IntStream.range(0, interactions.size)
+                .parallel()
+                .filter(i -> !intersects(i, uniquelyCovering))
+                .toArray();
+        initiallyCoveredInteractions = new long[(interactions.size + Long.SIZE - 1) / Long.SIZE];
+        Arrays.fill(initiallyCoveredInteractions, -1L);
+        for (int interactionIndex : initiallyUncoveredInteractions) {
+            initiallyCoveredInteractions[interactionIndex >>> 6] &= ~(1L << interactionIndex);
+        }
+
+        initializeScores(sampleSize);
+
+        progress.setTotalSteps(initiallyUncoveredInteractions.length);
+        List<Reduction> reductions = IntStream.range(0, numberOfRuns)
+                .parallel()
+                .mapToObj(run -> {
+                    Reduction reduction = new Reduction(run == 0 ? null : new Random(seed + run));
+                    if (run == 0) {
+                        reduction.run(progress, listener);
                     } else {
-                        int[] is = interaction.get();
-                        BitSet curIndices = (BitSet) mainIndex.clone();
-                        for (int k2 = 0; k2 < is.length; k2++) {
-                            curIndices.and(indices[is[k2] + n]);
-                        }
-                        double s = 1.0 / interaction.getValue();
-                        curIndices.stream()
-                                .mapToObj(i -> fieldConfigurations[i])
-                                .forEach(c -> c.incScore(s));
-                        return false;
+                        reduction.run(null, IIntermediateResultListener.NONE);
                     }
+                    return reduction;
                 })
                 .collect(Collectors.toList());
-        interactions.removeAll(alreadyCoveredValuedBooleanAssignments);
-
-        while (!interactions.isEmpty()) {
-            double bestScore = -1;
-            int bestConfigIndex = -1;
-
-            for (int j = mainIndex.nextSetBit(0); j >= 0; j = mainIndex.nextSetBit(j + 1)) {
-                Config config = fieldConfigurations[j];
-                if (config.score <= 0 || config.interactionCount == 0) {
-                    mainIndex.clear(j);
-                } else if (config.score > bestScore) {
-                    bestScore = config.score;
-                    bestConfigIndex = j;
-                }
+
+        Reduction bestReduction = reductions.stream()
+                .min(Comparator.<Reduction>comparingInt(r -> r.numberOfUncoveredInteractions)
+                        .thenComparingInt(Reduction::size))
+                .get();
+        if (bestReduction.interrupted) {
+            return Result.of(
+                    bestReduction.toSample(),
+                    List.of(new Problem(
+                            String.format(
+                                    "Reduction was interrupted. %d interactions are not covered by the reduced sample.",
+                                    bestReduction.numberOfUncoveredInteractions),
+                            Problem.Severity.WARNING)));
+        }
+        return Result.of(bestReduction.toSample());
+    }
+
+    /**
+     * {@return whether the time budget is exhausted or the computation was cancelled}
+     */
+    private boolean isInterrupted() {
+        if (System.nanoTime() - startTime > timeBudget) {
+            return true;
+        }
+        try {
+            checkCancel();
+            return false;
+        } catch (CancellationException e) {
+            return true;
+        }
+    }
+
+    private void initializeScores(int sampleSize) {
+        final int numberOfUncoveredInteractions = initiallyUncoveredInteractions.length;
+        int numberOfChunks =
+                Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), numberOfUncoveredInteractions));
+        long[] candidates = new long[numberOfWords];
+        for (int j = 0; j < sampleSize; j++) {
+            if ((uniquelyCovering[j >>> 6] & (1L << j)) == 0) {
+                candidates[j >>> 6] |= 1L << j;
             }
-            if (bestConfigIndex < 0) {
-                break;
+        }
+        List<ScoreTable> chunkScores = IntStream.range(0, numberOfChunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    ScoreTable chunkScore = new ScoreTable(sampleSize);
+                    int from = (int) ((long) numberOfUncoveredInteractions * chunk / numberOfChunks);
+                    int to = (int) ((long) numberOfUncoveredInteractions * (chunk + 1) / numberOfChunks);
+                    long[] intersection = new long[numberOfWords];
+                    for (int i = from; i < to; i++) {
+                        int interactionIndex = initiallyUncoveredInteractions[i];
+                        intersect(interactionIndex, candidates, intersection);
+                        chunkScore.add(intersection, 1.0 / interactions.counts[interactionIndex], 1);
+                    }
+                    return chunkScore;
+                })
+                .collect(Collectors.toList());
+        initialScores = new ScoreTable(sampleSize);
+        for (ScoreTable chunkScore : chunkScores) {
+            for (int j = 0; j < sampleSize; j++) {
+                initialScores.scores[j] += chunkScore.scores[j];
+                initialScores.interactionCounts[j] += chunkScore.interactionCounts[j];
             }
+        }
+    }
 
-            BooleanAssignment bestConfig = fieldConfigurations[bestConfigIndex];
-            reducedSample.add(bestConfig);
-            mainIndex.clear(bestConfigIndex);
+    private boolean intersects(int interactionIndex, long[] configs) {
+        for (int w = 0; w < numberOfWords; w++) {
+            long word = configs[w];
+            for (int k = 0; k < t && word != 0; k++) {
+                word &= index.getInternalWords(interactions.literal(interactionIndex, k))[w];
+            }
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-            List<ValuedBooleanAssignment> coveredValuedBooleanAssignments = interactions.parallelStream()
-                    .filter(interaction -> bestConfig.containsAll(interaction))
-                    .peek(interaction -> {
-                        int[] is = interaction.get();
-                        BitSet curIndices = (BitSet) mainIndex.clone();
-                        for (int k2 = 0; k2 < is.length; k2++) {
-                            curIndices.and(indices[is[k2] + n]);
-                        }
-                        double s = 1.0 / interaction.getValue();
-                        curIndices.stream()
-                                .mapToObj(i -> fieldConfigurations[i])
-                                .forEach(c -> c.decScore(s));
-                    })
-                    .collect(Collectors.toList());
+    private void intersect(int interactionIndex, long[] configs, long[] intersection) {
+        for (int w = 0; w < numberOfWords; w++) {
+            long word = configs[w];
+            for (int k = 0; k < t && word != 0; k++) {
+                word &= index.getInternalWords(interactions.literal(interactionIndex, k))[w];
+            }
+            intersection[w] = word;
+        }
+    }
 
-            interactions.removeAll(coveredValuedBooleanAssignments);
+    private static int firstIndex(long[] words) {
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(words[w]);
+            }
         }
-        return Result.of(new BooleanAssignmentList(sample.getVariableMap(), reducedSample));
+        return -1;
     }
 }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.index.ISampleIndex;
+import de.featjar.formula.index.MappedSampleBitIndex;
+import de.featjar.formula.index.SampleBitIndex;
+import java.nio.LongBuffer;
+
+/**
+ * Enumerates all t-wise interactions of a set of variables depth-first and counts how many of them are covered by a sample.
+ * The intersection of the bit vectors in a {@link SampleBitIndex} or a {@link MappedSampleBitIndex} is computed only once per prefix of an interaction
+ * and reused for all of its extensions.
+ * The bit vectors of a {@link MappedSampleBitIndex} are read from the mapped file without copying them.
+ * If the intersection of a prefix is already empty, all extensions of this prefix are counted as uncovered at once.
+ * A traversal can count interactions of multiple sizes in one pass, as each prefix of an interaction is an interaction itself.
+ *
+ * @author agent
+ */
+public class PrefixCoverageTraversal {
+
+    private final SampleBitIndex bitIndex;
+    private final MappedSampleBitIndex mappedIndex;
+    private final int[] variables;
+    private final int minT;
+    private final int maxT;
+    private final long[][] binomials;
+
+    /**
+     * Creates a new traversal for interactions of size t.
+     *
+     * @param index the index of the sample, a {@link SampleBitIndex} or a {@link MappedSampleBitIndex}
+     * @param variables the variables from which to build interactions
+     * @param t the size of the interactions
+     */
+    public PrefixCoverageTraversal(ISampleIndex index, int[] variables, int t) {
+        this(index, variables, t, t);
+    }
+
+    /**
+     * Creates a new traversal for interactions of all sizes from minT to maxT.
+     *
+     * @param index the index of the sample, a {@link SampleBitIndex} or a {@link MappedSampleBitIndex}
+     * @param variables the variables from which to build interactions
+     * @param minT the minimum size of the interactions
+     * @param maxT the maximum size of the interactions
+     */
+    public PrefixCoverageTraversal(ISampleIndex index, int[] variables, int minT, int maxT) {
+        if (minT < 1) {
+            throw new IllegalArgumentException(String.format("Value for t must be greater than 0. Value was %d.", minT));
+        }
+        if (maxT < minT) {
+            throw new IllegalArgumentException(
+                    String.format("Maximum value for t must not be smaller than %d. Value was %d.", minT, maxT));
+        }
+        if (index instanceof SampleBitIndex) {
+            bitIndex = (SampleBitIndex) index;
+            mappedIndex = null;
+        } else if (index instanceof MappedSampleBitIndex) {
+            bitIndex = null;
+            mappedIndex = (MappedSampleBitIndex) index;
+        } else {
+            throw new IllegalArgumentException(String.format(
+                    "Index must be a %s or a %s. Was %s.",
+                    SampleBitIndex.class.getSimpleName(),
+                    MappedSampleBitIndex.class.getSimpleName(),
+                    index.getClass().getSimpleName()));
+        }
+        this.variables = variables;
+        this.minT = minT;
+        this.maxT = maxT;
+
+        binomials = new long[variables.length + 1][maxT + 1];
+        for (int n = 0; n <= variables.length; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, maxT); k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + (k < n ? binomials[n - 1][k] : 0);
+            }
+        }
+    }
+
+    /**
+     * {@return the number of independent sub-traversals}
+     * Each sub-traversal is identified by the position of the first variable of its interactions.
+     */
+    public int getNumberOfSubTraversals() {
+        return Math.max(0, variables.length - minT + 1);
+    }
+
+    /**
+     * Counts all interactions whose first variable is the variable at the given position.
+     * This method is thread-safe as long as the index is not modified and each thread uses its own statistics.
+     *
+     * @param firstPosition the position of the first variable
+     * @param statistics the statistics to which the counts are added, one for each size of interactions in ascending order
+     */
+    public void traverse(int firstPosition, CoverageStatistic... statistics) {
+        if (statistics.length != maxT - minT + 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Number of statistics must be %d. Value was %d.", maxT - minT + 1, statistics.length));
+        }
+        new Worker(statistics).visit(0, firstPosition);
+    }
+
+    /**
+     * {@return the number of interactions that extend a prefix by the given number of variables, if the last variable of the prefix is at the given position}
+     * @param extensionLength the number of additional variables
+     * @param lastPosition the position of the last variable in the prefix
+     */
+    protected long countExtensions(int extensionLength, int lastPosition) {
+        return binomials[variables.length - lastPosition - 1][extensionLength] << extensionLength;
+    }
+
+    private class Worker {
+        private final CoverageStatistic[] statistics;
+        private final int numberOfWords;
+        private final long[][] intersections;
+        private final int[] firstWord;
+        private final int[] lastWord;
+
+        private Worker(CoverageStatistic[] statistics) {
+            this.statistics = new CoverageStatistic[maxT];
+            System.arraycopy(statistics, 0, this.statistics, minT - 1, statistics.length);
+            numberOfWords = bitIndex != null ? bitIndex.getNumberOfWords() : mappedIndex.getNumberOfWords();
+            intersections = new long[maxT][numberOfWords];
+            firstWord = new int[maxT];
+            lastWord = new int[maxT];
+        }
+
+        private void visit(int depth, int position) {
+            final int lastDepth = maxT - 1;
+            final CoverageStatistic statistic = statistics[depth];
+            for (int literal = variables[position]; ; literal = -literal) {
+                if (depth == lastDepth) {
+                    if (intersects(depth, literal)) {
+                        statistic.incNumberOfCoveredElements();
+                    } else {
+                        statistic.incNumberOfUncoveredElements();
+                    }
+                } else if (intersect(depth, literal)) {
+                    if (statistic != null) {
+                        statistic.incNumberOfCoveredElements();
+                    }
+                    final int maxPosition = variables.length - Math.max(0, minT - depth - 2);
+                    for (int nextPosition = position + 1; nextPosition < maxPosition; nextPosition++) {
+                        visit(depth + 1, nextPosition);
+                    }
+                } else {
+                    if (statistic != null) {
+                        statistic.incNumberOfUncoveredElements();
+                    }
+                    for (int extensionDepth = depth + 1; extensionDepth <= lastDepth; extensionDepth++) {
+                        if (statistics[extensionDepth] != null) {
+                            statistics[extensionDepth].incNumberOfUncoveredElements(
+                                    countExtensions(extensionDepth - depth, position));
+                        }
+                    }
+                }
+                if (literal < 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean intersects(int depth, int literal) {
+            return bitIndex != null
+                    ? intersects(depth, bitIndex.getInternalWords(literal))
+                    : intersects(depth, mappedIndex.getWords(literal));
+        }
+
+        private boolean intersect(int depth, int literal) {
+            return bitIndex != null
+                    ? intersect(depth, bitIndex.getInternalWords(literal))
+                    : intersect(depth, mappedIndex.getWords(literal));
+        }
+
+        private boolean intersects(int depth, long[] literalWords) {
+            if (depth == 0) {
+                for (int w = 0; w < numberOfWords; w++) {
+                    if (literalWords[w] != 0) {
+                        return true;
+                    }
+                }
+            } else {
+                final long[] prefix = intersections[depth - 1];
+                for (int w = firstWord[depth - 1], end = lastWord[depth - 1]; w <= end; w++) {
+                    if ((prefix[w] & literalWords[w]) != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean intersect(int depth, long[] literalWords) {
+            final long[] intersection = intersections[depth];
+            int first = -1, last = -1;
+            if (depth == 0) {
+                for (int w = 0; w < numberOfWords; w++) {
+                    final long word = literalWords[w];
+                    intersection[w] = word;
+                    if (word != 0) {
+                        if (first < 0) {
+                            first = w;
+                        }
+                        last = w;
+                    }
+                }
+            } else {
+                final long[] prefix = intersections[depth - 1];
+                for (int w = firstWord[depth - 1], end = lastWord[depth - 1]; w <= end; w++) {
+                    final long word = prefix[w] & literalWords[w];
+                    intersection[w] = word;
+                    if (word != 0) {
+                        if (first < 0) {
+                            first = w;
+                        }
+                        last = w;
+                    }
+                }
+            }
+            firstWord[depth] = first;
+            lastWord[depth] = last;
+            return first >= 0;
+        }
+
+        private boolean intersects(int depth, LongBuffer literalWords) {
+            if (depth == 0) {
+                for (int w = 0; w < numberOfWords; w++) {
+                    if (literalWords.get(w) != 0) {
+                        return true;
+                    }
+                }
+            } else {
+                final long[] prefix = intersections[depth - 1];
+                for (int w = firstWord[depth - 1], end = lastWord[depth - 1]; w <= end; w++) {
+                    if ((prefix[w] & literalWords.get(w)) != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean intersect(int depth, LongBuffer literalWords) {
+            final long[] intersection = intersections[depth];
+            int first = -1, last = -1;
+            if (depth == 0) {
+                for (int w = 0; w < numberOfWords; w++) {
+                    final long word = literalWords.get(w);
+                    intersection[w] = word;
+                    if (word != 0) {
+                        if (first < 0) {
+                            first = w;
+                        }
+                        last = w;
+                    }
+                }
+            } else {
+                final long[] prefix = intersections[depth - 1];
+                for (int w = firstWord[depth - 1], end = lastWord[depth - 1]; w <= end; w++) {
+                    final long word = prefix[w] & literalWords.get(w);
+                    intersection[w] = word;
+                    if (word != 0) {
+                        if (first < 0) {
+                            first = w;
+                        }
+                        last = w;
+                    }
+                }
+            }
+            firstWord[depth] = first;
+            lastWord[depth] = last;
+            return first >= 0;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * A variant of {@link SampleBitIndex} to which multiple threads can add assignments concurrently.
+ * Each assignment reserves its id atomically and sets its bits with atomic word-level OR operations.
+ * The bit vector of each literal is split into segments of {@value #SEGMENT_SIZE} ids, which are allocated when the first id of a segment is reserved, so existing words never move.
+ * <p>
+ * Queries only consider assignments with an id below the published watermark, that is, assignments that were added completely together with all assignments with smaller ids.
+ * Thus, readers always see a consistent snapshot, even while other threads are adding assignments.
+ *
+ * @author agent
+ */
+public class ConcurrentSampleBitIndex implements ISampleIndex {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int SEGMENT_BITS = 12;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_WORDS = SEGMENT_SIZE >>> ADDRESS_BITS_PER_WORD;
+    private static final int WORD_INDEX_MASK = SEGMENT_WORDS - 1;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private int numberOfVariables;
+    private VariableMap variableMap;
+
+    /**
+     * Segments of all literals indexed by segment and literal.
+     * The bit vector at the position of literal {@code 0} marks the assignments that were added completely.
+     */
+    private volatile long[][][] segments;
+
+    private final AtomicInteger reservedSize = new AtomicInteger();
+    private final AtomicInteger publishedSize = new AtomicInteger();
+
+    /**
+     * Creates a new index based on the number of variables in the given map.
+     * @param variableMap the variable map
+     */
+    public ConcurrentSampleBitIndex(final VariableMap variableMap) {
+        this.variableMap = variableMap;
+        numberOfVariables = variableMap.size();
+        segments = new long[0][][];
+    }
+
+    /**
+     * Creates a new index based on the number of variables in the given sample's variable map.
+     * Adds all assignments of the given sample to this index in parallel.
+     *
+     * @param sample a list of assignments
+     */
+    public ConcurrentSampleBitIndex(BooleanAssignmentList sample) {
+        this(sample.getVariableMap());
+        addAll(sample);
+    }
+
+    private static int wordIndex(int id) {
+        return id >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * {@return the segment containing the given id, allocating it if necessary}
+     * Only the segment of the given id is allocated.
+     * The directory of segments is replaced by a copy instead of being modified, so readers of {@link #segments} always see fully initialized segments.
+     */
+    private long[][] getSegment(int id) {
+        final int segmentIndex = id >>> SEGMENT_BITS;
+        long[][][] currentSegments = segments;
+        if (segmentIndex < currentSegments.length && currentSegments[segmentIndex] != null) {
+            return currentSegments[segmentIndex];
+        }
+        synchronized (this) {
+            currentSegments = segments;
+            if (segmentIndex < currentSegments.length && currentSegments[segmentIndex] != null) {
+                return currentSegments[segmentIndex];
+            }
+            final long[][][] newSegments =
+                    Arrays.copyOf(currentSegments, Math.max(segmentIndex + 1, currentSegments.length));
+            final long[][] segment = new long[2 * numberOfVariables + 1][];
+            for (int j = 0; j < segment.length; j++) {
+                segment[j] = new long[SEGMENT_WORDS];
+            }
+            newSegments[segmentIndex] = segment;
+            segments = newSegments;
+            return segment;
+        }
+    }
+
+    @Override
+    public void addConfiguration(BooleanAssignment config) {
+        add(config.get());
+    }
+
+    @Override
+    public void addConfiguration(int[] config) {
+        add(config);
+    }
+
+    /**
+     * Adds an assignment to this index.
+     * Can be called by multiple threads concurrently.
+     * The assignment becomes visible to queries as soon as all assignments with a smaller id were added as well.
+     *
+     * @param config the literals of the assignment
+     * @return the id of the added assignment
+     * @throws IllegalArgumentException if the assignment contains a literal of a variable that is not in this index
+     */
+    public int add(int... config) {
+        checkLiterals(config);
+        final int id = reserve(1);
+        write(id, config);
+        publish();
+        return id;
+    }
+
+    /**
+     * Adds all assignments of the given list to this index in parallel.
+     * The assignments get consecutive ids in the order of the list.
+     * Can be called by multiple threads concurrently.
+     *
+     * @param assignments the assignments
+     * @throws IllegalArgumentException if an assignment contains a literal of a variable that is not in this index
+     */
+    public void addAll(BooleanAssignmentList assignments) {
+        final int size = assignments.size();
+        IntStream.range(0, size).parallel().forEach(i -> checkLiterals(assignments.get(i).get()));
+        final int firstId = reserve(size);
+        IntStream.range(0, size).parallel().forEach(i -> write(firstId + i, assignments.get(i).get()));
+        publish();
+    }
+
+    /**
+     * Checks that all literals can be written, before an id is reserved for them.
+     * An id that is reserved but never completed would block the {@link #publish() published watermark} forever.
+     */
+    private void checkLiterals(int[] config) {
+        for (int literal : config) {
+            if (literal < -numberOfVariables || literal > numberOfVariables) {
+                throw new IllegalArgumentException(String.format(
+                        "Literal %d is out of bounds for %d variables", literal, numberOfVariables));
+            }
+        }
+    }
+
+    /**
+     * {@return the first of the given number of consecutive ids, which are reserved atomically}
+     */
+    private int reserve(int count) {
+        while (true) {
+            final int reserved = reservedSize.get();
+            if (reserved > Integer.MAX_VALUE - count) {
+                throw new IllegalStateException("Index is full");
+            }
+            if (reservedSize.compareAndSet(reserved, reserved + count)) {
+                return reserved;
+            }
+        }
+    }
+
+    private void write(int id, int[] config) {
+        final long[][] segment = getSegment(id);
+        final int wordIndex = wordIndex(id) & WORD_INDEX_MASK;
+        final long mask = 1L << id;
+        for (int literal : config) {
+            if (literal != 0) {
+                WORDS.getAndBitwiseOr(segment[numberOfVariables + literal], wordIndex, mask);
+            }
+        }
+        WORDS.getAndBitwiseOr(segment[numberOfVariables], wordIndex, mask);
+    }
+
+    /**
+     * Advances the published watermark over all assignments that were added completely.
+     * Every thread calls this method after adding an assignment, so no completed assignment remains unpublished.
+     */
+    private void publish() {
+        int published = publishedSize.get();
+        while (true) {
+            int next = published;
+            final int reserved = reservedSize.get();
+            while (next < reserved && isComplete(next)) {
+                next++;
+            }
+            if (next == published) {
+                return;
+            }
+            if (publishedSize.compareAndSet(published, next)) {
+                published = next;
+            } else {
+                published = publishedSize.get();
+            }
+        }
+    }
+
+    private boolean isComplete(int id) {
+        final long[][][] currentSegments = segments;
+        final int segmentIndex = id >>> SEGMENT_BITS;
+        if (segmentIndex >= currentSegments.length || currentSegments[segmentIndex] == null) {
+            return false;
+        }
+        final long[] words = currentSegments[segmentIndex][numberOfVariables];
+        return ((long) WORDS.getVolatile(words, wordIndex(id) & WORD_INDEX_MASK) & (1L << id)) != 0;
+    }
+
+    /**
+     * {@return the number of assignments that are visible to queries}
+     */
+    @Override
+    public int size() {
+        return publishedSize.get();
+    }
+
+    /**
+     * {@return the number of assignments that were added or are currently being added}
+     */
+    public int getReservedSize() {
+        return reservedSize.get();
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * {@return the word at the given word index of the given literal, restricted to the given number of ids}
+     */
+    private static long getWord(long[][][] segments, int literalIndex, int w, int size) {
+        final long word = segments[w >>> (SEGMENT_BITS - ADDRESS_BITS_PER_WORD)][literalIndex][w & WORD_INDEX_MASK];
+        final int lastWord = wordIndex(size - 1);
+        return w < lastWord || (size & 63) == 0 ? word : word & ((1L << size) - 1);
+    }
+
+    @Override
+    public boolean test(int... literals) {
+        return index(literals) >= 0;
+    }
+
+    @Override
+    public int index(int... literals) {
+        return nextIndex(0, literals);
+    }
+
+    @Override
+    public int nextIndex(int fromIndex, int... literals) {
+        final int size = publishedSize.get();
+        final long[][][] currentSegments = segments;
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (literals.length == 0 || fromIndex >= size) {
+            return -1;
+        }
+        final int numberOfWords = wordIndex(size - 1) + 1;
+        int w = wordIndex(fromIndex);
+        long word = getWord(currentSegments, numberOfVariables + literals[0], w, size) & (-1L << fromIndex);
+        while (true) {
+            for (int k = 1; word != 0 && k < literals.length; k++) {
+                word &= getWord(currentSegments, numberOfVariables + literals[k], w, size);
+            }
+            if (word != 0) {
+                return (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == numberOfWords) {
+                return -1;
+            }
+            word = getWord(currentSegments, numberOfVariables + literals[0], w, size);
+        }
+    }
+
+    @Override
+    public int size(int... literals) {
+        final int size = publishedSize.get();
+        final long[][][] currentSegments = segments;
+        if (literals.length == 0 || size == 0) {
+            return 0;
+        }
+        final int numberOfWords = wordIndex(size - 1) + 1;
+        int count = 0;
+        for (int w = 0; w < numberOfWords; w++) {
+            long word = getWord(currentSegments, numberOfVariables + literals[0], w, size);
+            for (int k = 1; word != 0 && k < literals.length; k++) {
+                word &= getWord(currentSegments, numberOfVariables + literals[k], w, size);
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public int[] getConfiguration(int id) {
+        if (id < 0 || id >= publishedSize.get()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Id %d out of bounds for length %d", id, publishedSize.get()));
+        }
+        final long[][] segment = segments[id >>> SEGMENT_BITS];
+        final int wordIndex = wordIndex(id) & WORD_INDEX_MASK;
+        final long mask = 1L << id;
+        int[] model = new int[numberOfVariables];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            if ((segment[numberOfVariables + i][wordIndex] & mask) != 0) {
+                model[i - 1] = i;
+            } else if ((segment[numberOfVariables - i][wordIndex] & mask) != 0) {
+                model[i - 1] = -i;
+            }
+        }
+        return model;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Must not be called while other threads add assignments to or query this index.
+     */
+    @Override
+    public synchronized ConcurrentSampleBitIndex adapt(VariableMap newVariableMap) {
+        final int newNumberOfVariables = newVariableMap.size();
+        final int[] newVariables = new int[numberOfVariables + 1];
+        final int[] translationTable = variableMap.getTranslationTable(newVariableMap);
+        for (int i = 1; i <= numberOfVariables; i++) {
+            int adapt = i < translationTable.length ? translationTable[i] : 0;
+            if (adapt == 0) {
+                adapt = variableMap.adapt(i, newVariableMap, true);
+            }
+            newVariables[i] = adapt;
+        }
+
+        final long[][][] currentSegments = segments;
+        final long[][][] newSegments = new long[currentSegments.length][][];
+        for (int s = 0; s < currentSegments.length; s++) {
+            final long[][] segment = currentSegments[s];
+            if (segment != null) {
+                final long[][] newSegment = new long[2 * newNumberOfVariables + 1][];
+                newSegment[newNumberOfVariables] = segment[numberOfVariables];
+                for (int i = 1; i <= numberOfVariables; i++) {
+                    newSegment[newNumberOfVariables + newVariables[i]] = segment[numberOfVariables + i];
+                    newSegment[newNumberOfVariables - newVariables[i]] = segment[numberOfVariables - i];
+                }
+                for (int j = 0; j < newSegment.length; j++) {
+                    if (newSegment[j] == null) {
+                        newSegment[j] = new long[SEGMENT_WORDS];
+                    }
+                }
+                newSegments[s] = newSegment;
+            }
+        }
+        numberOfVariables = newNumberOfVariables;
+        variableMap = newVariableMap;
+        segments = newSegments;
+        return this;
+    }
+}
@@ -22,6 +22,7 @@ package de.featjar.formula.index;
 
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.combination.ICombinationFilter;
+import java.util.function.IntConsumer;
 
 /**
  *
@@ -35,8 +36,29 @@ public interface ISampleIndex extends ICombinationFilter {
 
     int index(int... literals);
 
+    /**
+     * {@return the smallest id of an assignment that contains the given literals and is greater or equal to the given id, or -1 if there is none}
+     * @param fromIndex the id from which to start the search (inclusive)
+     * @param literals the literals
+     */
+    int nextIndex(int fromIndex, int... literals);
+
     int size(int... literals);
 
+    /**
+     * Calls the given action for the id of each assignment that contains the given literals in ascending order.
+     * @param action the action to call for each id
+     * @param literals the literals
+     */
+    default void forEachMatch(IntConsumer action, int... literals) {
+        for (int i = index(literals); i >= 0; i = nextIndex(i + 1, literals)) {
+            action.accept(i);
+            if (i == Integer.MAX_VALUE) {
+                break;
+            }
+        }
+    }
+
     int size();
 
     int getNumberOfVariables();
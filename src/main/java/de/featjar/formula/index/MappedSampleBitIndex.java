@@ -0,0 +1,566 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanAssignmentList.Row;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A read-only {@link SampleBitIndex} that is stored in a file and accessed via memory mapping.
+ * Once written, the index can be opened by later program runs without rebuilding it from the sample,
+ * and processes that open the same file share its pages via the operating system's page cache.
+ * It can be queried directly, its bit vectors can be read without copying (see {@link #getWords(int)}),
+ * or it can be converted to a {@link SampleBitIndex} by copying its bit vectors in bulk (see {@link #toSampleBitIndex()}).
+ * <p>
+ * The file contains a header, the variable map, and the bit vector of each literal.
+ * The header stores the sample size and a hash of the sample's variable names and literals (see {@link #computeContentHash(BooleanAssignmentList)}),
+ * so {@link #open(Path, BooleanAssignmentList)} can detect whether an index file belongs to another sample.
+ *
+ * @author agent
+ */
+public class MappedSampleBitIndex implements ISampleIndex {
+
+    private static final int MAGIC_NUMBER = 0x464A5349;
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int HASH_BLOCK_SIZE = 1024;
+
+    /**
+     * The suffix that is appended to the name of a sample file to get the name of its index file.
+     */
+    public static final String FILE_SUFFIX = ".index";
+
+    /**
+     * The empty path, which denotes that a sample was not read from a file.
+     */
+    public static final Path NO_SAMPLE_FILE = Path.of("");
+
+    /**
+     * The mapped bit vector of each stored literal, indexed by {@code numberOfStoredVariables + literal}.
+     */
+    private final LongBuffer[] vectors;
+
+    private final LongBuffer emptyVector;
+    private final int numberOfStoredVariables;
+    private final int numberOfWords;
+    private final int sampleSize;
+    private final long contentHash;
+
+    private VariableMap variableMap;
+    private int numberOfVariables;
+
+    /**
+     * Maps each variable index in the current variable map to its stored variable index, 0 if the variable is not stored.
+     * Is {@code null} as long as both indices are the same.
+     */
+    private int[] storedVariables;
+
+    private MappedSampleBitIndex(
+            VariableMap variableMap, LongBuffer[] vectors, int numberOfStoredVariables, int sampleSize, long contentHash) {
+        this.variableMap = variableMap;
+        this.vectors = vectors;
+        this.numberOfStoredVariables = numberOfStoredVariables;
+        numberOfVariables = numberOfStoredVariables;
+        numberOfWords = wordIndex(sampleSize - 1) + 1;
+        emptyVector = LongBuffer.allocate(numberOfWords);
+        this.sampleSize = sampleSize;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * {@return a hash of the variable names and the literals of all assignments of the given sample}
+     * The assignments are read in parallel via {@link BooleanAssignmentList#row() flyweight views}, so no assignment objects are created.
+     *
+     * @param sample the sample
+     */
+    public static long computeContentHash(BooleanAssignmentList sample) {
+        final VariableMap variableMap = sample.getVariableMap();
+        long hash = mix(0xcbf29ce484222325L, variableMap.size());
+        for (int i = 1; i <= variableMap.size(); i++) {
+            final String name = variableMap.get(i).orElse(null);
+            hash = mix(hash, name == null ? -1 : name.hashCode());
+        }
+        final int size = sample.size();
+        hash = mix(hash, size);
+        final int numberOfBlocks = (size + HASH_BLOCK_SIZE - 1) / HASH_BLOCK_SIZE;
+        return hash
+                + IntStream.range(0, numberOfBlocks)
+                        .parallel()
+                        .mapToLong(block -> {
+                            final Row row = sample.row();
+                            final int end = (int) Math.min(size, (long) (block + 1) * HASH_BLOCK_SIZE);
+                            long blockHash = 0;
+                            for (int i = block * HASH_BLOCK_SIZE; i < end; i++) {
+                                row.moveTo(i);
+                                final int[] array = row.getArray();
+                                final int offset = row.getOffset();
+                                long rowHash = mix(mix(0xcbf29ce484222325L, i), row.size());
+                                for (int k = offset, rowEnd = offset + row.size(); k < rowEnd; k++) {
+                                    rowHash = mix(rowHash, array[k]);
+                                }
+                                blockHash += finish(rowHash);
+                            }
+                            return blockHash;
+                        })
+                        .sum();
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    private static long finish(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Writes an index for the given sample to the given file and opens it.
+     * The file is first written to a temporary file in the same directory and then moved to its target, so other processes never see a partially written index.
+     *
+     * @param file the file
+     * @param sample the sample
+     * @return the index
+     * @throws IOException if the file cannot be written or read
+     */
+    public static MappedSampleBitIndex write(Path file, BooleanAssignmentList sample) throws IOException {
+        return write(file, sample, new SampleBitIndex(sample), computeContentHash(sample));
+    }
+
+    /**
+     * Writes the given index for the given sample to the given file and opens it.
+     *
+     * @param file the file
+     * @param sample the sample from which the index was created
+     * @param index the index
+     * @return the index
+     * @throws IOException if the file cannot be written or read
+     * @see #write(Path, BooleanAssignmentList)
+     */
+    public static MappedSampleBitIndex write(Path file, BooleanAssignmentList sample, SampleBitIndex index)
+            throws IOException {
+        return write(file, sample, index, computeContentHash(sample));
+    }
+
+    private static MappedSampleBitIndex write(
+            Path file, BooleanAssignmentList sample, SampleBitIndex index, long contentHash) throws IOException {
+        final VariableMap variableMap = sample.getVariableMap();
+        final int numberOfVariables = index.getNumberOfVariables();
+        final int numberOfWords = index.getNumberOfWords();
+
+        final byte[][] encodedNames = new byte[numberOfVariables][];
+        int headerSize = HEADER_SIZE;
+        for (int i = 0; i < numberOfVariables; i++) {
+            final String name = variableMap.get(i + 1).orElse(null);
+            encodedNames[i] = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+            headerSize += Integer.BYTES + (name == null ? 0 : encodedNames[i].length);
+        }
+        final ByteBuffer header = ByteBuffer.allocate(align(headerSize));
+        header.putInt(MAGIC_NUMBER);
+        header.putInt(VERSION);
+        header.putInt(numberOfVariables);
+        header.putInt(index.size());
+        header.putLong(contentHash);
+        for (byte[] encodedName : encodedNames) {
+            if (encodedName == null) {
+                header.putInt(-1);
+            } else {
+                header.putInt(encodedName.length);
+                header.put(encodedName);
+            }
+        }
+        header.clear();
+
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(
+                    temporaryFile, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                writeFully(channel, header);
+                final ByteBuffer vectorBuffer = ByteBuffer.allocate(numberOfWords * Long.BYTES);
+                for (int literal = -numberOfVariables; literal <= numberOfVariables; literal++) {
+                    vectorBuffer.clear();
+                    vectorBuffer.asLongBuffer().put(index.getInternalWords(literal), 0, numberOfWords);
+                    writeFully(channel, vectorBuffer);
+                }
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+        return open(file);
+    }
+
+    /**
+     * Opens an index from the given file.
+     * The file is mapped into memory and closed, the mapping remains valid until the index is garbage collected.
+     *
+     * @param file the file
+     * @return the index
+     * @throws IOException if the file cannot be read or has an invalid format
+     */
+    public static MappedSampleBitIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC_NUMBER) {
+                throw new IOException(String.format("%s is not a sample index.", file));
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported version %d.", version));
+            }
+            final int numberOfVariables = header.getInt();
+            final int sampleSize = header.getInt();
+            final long contentHash = header.getLong();
+
+            final VariableMap variableMap = new VariableMap();
+            long position = HEADER_SIZE;
+            final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+            for (int i = 1; i <= numberOfVariables; i++) {
+                lengthBuffer.clear();
+                readFully(channel, lengthBuffer, position);
+                position += Integer.BYTES;
+                final int length = lengthBuffer.flip().getInt();
+                if (length >= 0) {
+                    final ByteBuffer nameBuffer = ByteBuffer.allocate(length);
+                    readFully(channel, nameBuffer, position);
+                    position += length;
+                    variableMap.add(i, new String(nameBuffer.array(), StandardCharsets.UTF_8));
+                }
+            }
+            final long dataOffset = align(position);
+
+            final int numberOfLiterals = 2 * numberOfVariables + 1;
+            final long vectorSize = (long) (wordIndex(sampleSize - 1) + 1) * Long.BYTES;
+            if (dataOffset + numberOfLiterals * vectorSize > fileSize) {
+                throw new IOException(String.format("%s is truncated.", file));
+            }
+            final int numberOfWords = (int) (vectorSize / Long.BYTES);
+            final int literalsPerChunk = (int) Math.max(1, MAX_CHUNK_SIZE / Math.max(1, vectorSize));
+            final int numberOfChunks = (numberOfLiterals - 1) / literalsPerChunk + 1;
+            final LongBuffer[] vectors = new LongBuffer[numberOfLiterals];
+            for (int i = 0; i < numberOfChunks; i++) {
+                final long firstLiteral = (long) i * literalsPerChunk;
+                final int literals = (int) Math.min(literalsPerChunk, numberOfLiterals - firstLiteral);
+                final LongBuffer chunk = channel.map(
+                                FileChannel.MapMode.READ_ONLY,
+                                dataOffset + firstLiteral * vectorSize,
+                                literals * vectorSize)
+                        .asLongBuffer();
+                for (int j = 0; j < literals; j++) {
+                    final LongBuffer vector = chunk.duplicate();
+                    vector.position(j * numberOfWords);
+                    vector.limit((j + 1) * numberOfWords);
+                    vectors[(int) firstLiteral + j] = vector.slice();
+                }
+            }
+            return new MappedSampleBitIndex(variableMap, vectors, numberOfVariables, sampleSize, contentHash);
+        }
+    }
+
+    /**
+     * Opens an index from the given file and checks whether it was created for the given sample.
+     *
+     * @param file the file
+     * @param sample the sample
+     * @return the index
+     * @throws IOException if the file cannot be read, has an invalid format, or was created for another sample
+     */
+    public static MappedSampleBitIndex open(Path file, BooleanAssignmentList sample) throws IOException {
+        return open(file, sample, computeContentHash(sample));
+    }
+
+    private static MappedSampleBitIndex open(Path file, BooleanAssignmentList sample, long contentHash)
+            throws IOException {
+        final MappedSampleBitIndex index = open(file);
+        if (index.sampleSize != sample.size()
+                || index.contentHash != contentHash
+                || !Objects.equals(index.variableMap, sample.getVariableMap())) {
+            throw new IOException(String.format("%s belongs to another sample.", file));
+        }
+        return index;
+    }
+
+    /**
+     * Opens an index from the given file, if it exists and was created for the given sample.
+     * Otherwise, creates the index from the given sample and writes it to the given file.
+     *
+     * @param file the file
+     * @param sample the sample
+     * @return the index
+     * @throws IOException if the file cannot be written or read
+     */
+    public static MappedSampleBitIndex openOrCreate(Path file, BooleanAssignmentList sample) throws IOException {
+        final long contentHash = computeContentHash(sample);
+        if (Files.exists(file)) {
+            try {
+                return open(file, sample, contentHash);
+            } catch (IOException e) {
+                // index is outdated or damaged and is written again
+            }
+        }
+        return write(file, sample, new SampleBitIndex(sample), contentHash);
+    }
+
+    /**
+     * {@return a bit index of the given sample, which is stored in an index file next to the given sample file}
+     * The index file is named after the sample file with the suffix {@value #FILE_SUFFIX}.
+     * It is reused as long as it was created for the given sample, otherwise it is written again.
+     * The returned index reads the mapped file directly, so processes using the same index file share its pages.
+     * If the sample file is {@link #NO_SAMPLE_FILE} or the index file cannot be used, a {@link SampleBitIndex} is created in memory.
+     *
+     * @param sample the sample
+     * @param sampleFile the file from which the sample was read
+     */
+    public static ISampleIndex createBitIndex(BooleanAssignmentList sample, Path sampleFile) {
+        if (NO_SAMPLE_FILE.equals(sampleFile)) {
+            return new SampleBitIndex(sample);
+        }
+        final Path file = sampleFile.resolveSibling(sampleFile.getFileName() + FILE_SUFFIX);
+        try {
+            return openOrCreate(file, sample);
+        } catch (IOException e) {
+            FeatJAR.log().warning("Could not use index file %s: %s", file, e.getMessage());
+            return new SampleBitIndex(sample);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+    }
+
+    private static int align(long position) {
+        return Math.toIntExact((position + Long.BYTES - 1) & -Long.BYTES);
+    }
+
+    private static int wordIndex(int id) {
+        return id >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * {@return the hash of the sample from which this index was created}
+     * @see #computeContentHash(BooleanAssignmentList)
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * {@return the number of words in the bit vector of each literal}
+     */
+    public int getNumberOfWords() {
+        return numberOfWords;
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    /**
+     * {@return a read-only view of the mapped bit vector of the given literal}
+     * The view contains {@link #getNumberOfWords()} words and must only be read with absolute {@link LongBuffer#get(int)} calls,
+     * as it is shared by all threads.
+     * The bit vector of a literal whose variable is not stored in the file is empty.
+     *
+     * @param literal the literal
+     */
+    public LongBuffer getWords(int literal) {
+        if (storedVariables == null) {
+            return vectors[numberOfStoredVariables + literal];
+        }
+        final int storedVariable = storedVariables[Math.abs(literal)];
+        if (storedVariable == 0 && literal != 0) {
+            return emptyVector;
+        }
+        return vectors[numberOfStoredVariables + (literal > 0 ? storedVariable : -storedVariable)];
+    }
+
+    /**
+     * {@return a {@link SampleBitIndex} with the same assignments and variable map as this index}
+     * The bit vectors are copied from the mapped file in bulk, which is considerably faster than creating the index from the sample.
+     * The returned index can be used wherever a {@link SampleBitIndex} is required, for instance, by a prefix traversal of all interactions.
+     */
+    public SampleBitIndex toSampleBitIndex() {
+        final long[][] bitSetReference = new long[2 * numberOfVariables + 1][];
+        for (int literal = -numberOfVariables; literal <= numberOfVariables; literal++) {
+            final long[] words = new long[Math.max(1, numberOfWords)];
+            getWords(literal).duplicate().get(words, 0, numberOfWords);
+            bitSetReference[numberOfVariables + literal] = words;
+        }
+        return new SampleBitIndex(variableMap, bitSetReference, sampleSize);
+    }
+
+    @Override
+    public void addConfiguration(BooleanAssignment config) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addConfiguration(int[] config) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean test(int... literals) {
+        return index(literals) >= 0;
+    }
+
+    @Override
+    public int index(int... literals) {
+        return nextIndex(0, literals);
+    }
+
+    @Override
+    public int nextIndex(int fromIndex, int... literals) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (literals.length == 0 || fromIndex >= sampleSize) {
+            return -1;
+        }
+        final LongBuffer[] literalWords = getWords(literals);
+        int w = wordIndex(fromIndex);
+        long word = literalWords[0].get(w) & (-1L << fromIndex);
+        while (true) {
+            for (int k = 1; word != 0 && k < literalWords.length; k++) {
+                word &= literalWords[k].get(w);
+            }
+            if (word != 0) {
+                return (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == numberOfWords) {
+                return -1;
+            }
+            word = literalWords[0].get(w);
+        }
+    }
+
+    private LongBuffer[] getWords(int[] literals) {
+        final LongBuffer[] literalWords = new LongBuffer[literals.length];
+        for (int k = 0; k < literals.length; k++) {
+            literalWords[k] = getWords(literals[k]);
+        }
+        return literalWords;
+    }
+
+    @Override
+    public int size(int... literals) {
+        if (literals.length == 0) {
+            return 0;
+        }
+        final LongBuffer[] literalWords = getWords(literals);
+        int count = 0;
+        for (int w = 0; w < numberOfWords; w++) {
+            long word = literalWords[0].get(w);
+            for (int k = 1; word != 0 && k < literalWords.length; k++) {
+                word &= literalWords[k].get(w);
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return sampleSize;
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    private boolean getBit(int literal, int id) {
+        return (getWords(literal).get(wordIndex(id)) & (1L << id)) != 0;
+    }
+
+    @Override
+    public int[] getConfiguration(int id) {
+        int[] model = new int[numberOfVariables];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            if (getBit(i, id)) {
+                model[i - 1] = i;
+            } else if (getBit(-i, id)) {
+                model[i - 1] = -i;
+            }
+        }
+        return model;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Does not change the file, but only the mapping of variables to stored bit vectors.
+     */
+    @Override
+    public MappedSampleBitIndex adapt(VariableMap newVariableMap) {
+        final int newNumberOfVariables = newVariableMap.size();
+        final int[] newStoredVariables = new int[newNumberOfVariables + 1];
+        final int[] translationTable = variableMap.getTranslationTable(newVariableMap);
+        for (int i = 1; i <= numberOfVariables; i++) {
+            final int storedVariable = storedVariables == null ? i : storedVariables[i];
+            if (storedVariable != 0) {
+                int adapt = i < translationTable.length ? translationTable[i] : 0;
+                if (adapt == 0) {
+                    adapt = variableMap.adapt(i, newVariableMap, true);
+                }
+                newStoredVariables[adapt] = storedVariable;
+            }
+        }
+        numberOfVariables = newNumberOfVariables;
+        storedVariables = newStoredVariables;
+        variableMap = newVariableMap;
+        return this;
+    }
+}
@@ -23,16 +23,24 @@ package de.featjar.formula.index;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
  * Stores assignments in a way that makes it easy to see which assignments share one or more given literals.
+ * For each literal, the ids of all assignments containing this literal are stored as a bit vector in a {@code long[]}.
+ * Queries via {@link #test(int...)}, {@link #index(int...)}, {@link #nextIndex(int, int...)}, and {@link #size(int...)}
+ * operate directly on these words and do not allocate any memory.
  *
  * @author Sebastian Krieter
  */
 public class SampleBitIndex implements ISampleIndex {
 
-    private BitSet[] bitSetReference;
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int MIN_NUMBER_OF_WORDS = 1;
+
+    private long[][] bitSetReference;
     private int numberOfVariables;
     private int sampleSize;
     private VariableMap variableMap;
@@ -42,14 +50,7 @@ public class SampleBitIndex implements ISampleIndex {
      * @param variableMap the variable map
      */
     public SampleBitIndex(final VariableMap variableMap) {
-        this.variableMap = variableMap;
-        numberOfVariables = variableMap.size();
-        bitSetReference = new BitSet[2 * numberOfVariables + 1];
-
-        sampleSize = 0;
-        for (int j = 0; j < bitSetReference.length; j++) {
-            bitSetReference[j] = new BitSet();
-        }
+        this(variableMap, 0);
     }
 
     /**
@@ -64,11 +65,12 @@ public class SampleBitIndex implements ISampleIndex {
     public SampleBitIndex(final VariableMap variableMap, int numberOfInitialConfigs) {
         this.variableMap = variableMap;
         numberOfVariables = variableMap.size();
-        bitSetReference = new BitSet[2 * numberOfVariables + 1];
+        bitSetReference = new long[2 * numberOfVariables + 1][];
 
         sampleSize = 0;
+        final int numberOfWords = Math.max(MIN_NUMBER_OF_WORDS, wordIndex(numberOfInitialConfigs - 1) + 1);
         for (int j = 0; j < bitSetReference.length; j++) {
-            bitSetReference[j] = new BitSet(numberOfInitialConfigs);
+            bitSetReference[j] = new long[numberOfWords];
         }
     }
 
@@ -80,7 +82,59 @@ public class SampleBitIndex implements ISampleIndex {
      */
     public SampleBitIndex(BooleanAssignmentList sample) {
         this(sample.getVariableMap(), sample.size());
-        sample.forEach(this::addConfiguration);
+        sample.forEachRow(row -> addConfiguration(row.getArray(), row.getOffset(), row.size()));
+    }
+
+    /**
+     * Creates a new index from the given bit vectors without copying them.
+     *
+     * @param variableMap the variable map
+     * @param bitSetReference the bit vector of each literal, at the position of the literal plus the number of variables
+     * @param sampleSize the number of assignments
+     */
+    SampleBitIndex(VariableMap variableMap, long[][] bitSetReference, int sampleSize) {
+        this.variableMap = variableMap;
+        numberOfVariables = variableMap.size();
+        this.bitSetReference = bitSetReference;
+        this.sampleSize = sampleSize;
+    }
+
+    private static int wordIndex(int id) {
+        return id >> ADDRESS_BITS_PER_WORD;
+    }
+
+    private void ensureCapacity(int id) {
+        final int requiredWords = wordIndex(id) + 1;
+        final int currentWords = bitSetReference[0].length;
+        if (requiredWords > currentWords) {
+            final int newNumberOfWords = Math.max(2 * currentWords, requiredWords);
+            for (int j = 0; j < bitSetReference.length; j++) {
+                bitSetReference[j] = Arrays.copyOf(bitSetReference[j], newNumberOfWords);
+            }
+        }
+    }
+
+    private int numberOfUsedWords() {
+        return wordIndex(sampleSize - 1) + 1;
+    }
+
+    private boolean getBit(int literal, int id) {
+        final long[] words = bitSetReference[numberOfVariables + literal];
+        final int wordIndex = wordIndex(id);
+        return wordIndex < words.length && (words[wordIndex] & (1L << id)) != 0;
+    }
+
+    private void setBit(int literal, int id) {
+        ensureCapacity(id);
+        bitSetReference[numberOfVariables + literal][wordIndex(id)] |= (1L << id);
+    }
+
+    private void clearBit(int literal, int id) {
+        final long[] words = bitSetReference[numberOfVariables + literal];
+        final int wordIndex = wordIndex(id);
+        if (wordIndex < words.length) {
+            words[wordIndex] &= ~(1L << id);
+        }
     }
 
     public void addConfiguration(BooleanAssignment config) {
@@ -88,11 +142,26 @@ public class SampleBitIndex implements ISampleIndex {
     }
 
     public void addConfiguration(int[] config) {
+        addConfiguration(config, 0, config.length);
+    }
+
+    /**
+     * Adds a configuration that is stored in a section of the given array.
+     *
+     * @param literals the array containing the configuration
+     * @param offset the position of the first literal of the configuration
+     * @param length the number of literals of the configuration
+     */
+    public void addConfiguration(int[] literals, int offset, int length) {
         int i = sampleSize++;
+        ensureCapacity(i);
 
-        for (int l : config) {
+        final int wordIndex = wordIndex(i);
+        final long mask = 1L << i;
+        for (int k = offset, end = offset + length; k < end; k++) {
+            final int l = literals[k];
             if (l != 0) {
-                bitSetReference[numberOfVariables + l].set(i);
+                bitSetReference[numberOfVariables + l][wordIndex] |= mask;
             }
         }
     }
@@ -102,6 +171,7 @@ public class SampleBitIndex implements ISampleIndex {
      * @return the id of the added configuration.
      */
     public int addEmptyConfiguration() {
+        ensureCapacity(sampleSize);
         return sampleSize++;
     }
 
@@ -130,8 +200,12 @@ public class SampleBitIndex implements ISampleIndex {
      * @param literal the new value
      */
     public void update(int id, int literal) {
-        bitSetReference[numberOfVariables - literal].clear(id);
-        bitSetReference[numberOfVariables + literal].set(id, literal != 0);
+        clearBit(-literal, id);
+        if (literal != 0) {
+            setBit(literal, id);
+        } else {
+            clearBit(literal, id);
+        }
     }
 
     /**
@@ -141,8 +215,8 @@ public class SampleBitIndex implements ISampleIndex {
      * @param literal the new value
      */
     public void set(int id, int literal) {
-        assert !bitSetReference[numberOfVariables - literal].get(id);
-        bitSetReference[numberOfVariables + literal].set(id);
+        assert !getBit(-literal, id);
+        setBit(literal, id);
     }
 
     /**
@@ -151,8 +225,8 @@ public class SampleBitIndex implements ISampleIndex {
      * @param variable the variable for which to remove a value
      */
     public void clear(int id, int variable) {
-        bitSetReference[numberOfVariables - variable].clear(id);
-        bitSetReference[numberOfVariables + variable].clear(id);
+        clearBit(-variable, id);
+        clearBit(variable, id);
     }
 
     /**
@@ -160,8 +234,8 @@ public class SampleBitIndex implements ISampleIndex {
      * @param id the id of the assignment to clear
      */
     public void clear(int id) {
-        for (int j = 0; j < bitSetReference.length; j++) {
-            bitSetReference[j].clear(id);
+        for (int j = -numberOfVariables; j <= numberOfVariables; j++) {
+            clearBit(j, id);
         }
     }
 
@@ -171,9 +245,9 @@ public class SampleBitIndex implements ISampleIndex {
      * @param variable the variable for which to get the value
      */
     public int get(int id, int variable) {
-        if (bitSetReference[numberOfVariables + variable].get(id)) {
+        if (getBit(variable, id)) {
             return variable;
-        } else if (bitSetReference[numberOfVariables - variable].get(id)) {
+        } else if (getBit(-variable, id)) {
             return -variable;
         }
         return 0;
@@ -184,11 +258,7 @@ public class SampleBitIndex implements ISampleIndex {
      * @param literals the values
      */
     public BitSet getBitSet(int... literals) {
-        BitSet bitSet = (BitSet) bitSetReference[numberOfVariables + literals[0]].clone();
-        for (int k = 1; k < literals.length; k++) {
-            bitSet.and(bitSetReference[numberOfVariables + literals[k]]);
-        }
-        return bitSet;
+        return getBitSet(literals, literals.length);
     }
 
     /**
@@ -198,31 +268,63 @@ public class SampleBitIndex implements ISampleIndex {
      * @return the modified bitset (no copy)
      */
     public BitSet updateBitSet(BitSet bitSet, int... literals) {
+        final long[] words = bitSet.toLongArray();
+        final int numberOfWords = Math.min(words.length, numberOfUsedWords());
         for (int k = 0; k < literals.length; k++) {
-            bitSet.and(bitSetReference[numberOfVariables + literals[k]]);
+            final long[] literalWords = bitSetReference[numberOfVariables + literals[k]];
+            for (int w = 0; w < numberOfWords; w++) {
+                words[w] &= literalWords[w];
+            }
         }
+        bitSet.clear();
+        bitSet.or(BitSet.valueOf(LongBuffer.wrap(words, 0, numberOfWords)));
         return bitSet;
     }
 
     /**
-     * {@return the internal bitset (no copy) for a given literal which represents all assignments containing this literal}
+     * {@return a bitset representing all assignments containing the given literal}
+     * The returned bitset is a copy of the internal bit vector and may be modified freely.
      * @param literal the literal for which to get the bitset
+     * @deprecated the index does not store bitsets anymore, use {@link #getInternalWords(int)} to access the internal bit vector without copying it
      */
+    @Deprecated
     public BitSet getInternalBitSet(int literal) {
+        return BitSet.valueOf(bitSetReference[numberOfVariables + literal]);
+    }
+
+    /**
+     * {@return the internal bit vector (no copy) for a given literal which represents all assignments containing this literal}
+     * Only the first {@link #getNumberOfWords()} words are in use, the array may be longer.
+     * The array is replaced when this index grows, so it should not be kept across calls of {@link #addConfiguration(int[])}.
+     * @param literal the literal for which to get the bit vector
+     */
+    public long[] getInternalWords(int literal) {
         return bitSetReference[numberOfVariables + literal];
     }
 
+    /**
+     * {@return the number of words that are needed to represent all assignments in this index}
+     */
+    public int getNumberOfWords() {
+        return numberOfUsedWords();
+    }
+
     /**
      * {@return a bitset representing the ids of all assignments that contain any of the given values' complements}
      * @param literals the values
      */
     public BitSet getNegatedBitSet(int... literals) {
-        BitSet bitSet = (BitSet) bitSetReference[numberOfVariables - literals[0]].clone();
-        for (int k = 1; k < literals.length; k++) {
-            bitSet.or(bitSetReference[numberOfVariables - literals[k]]);
+        final int numberOfWords = numberOfUsedWords();
+        final long[] words = new long[numberOfWords];
+        for (int k = 0; k < literals.length; k++) {
+            final long[] literalWords = bitSetReference[numberOfVariables - literals[k]];
+            for (int w = 0; w < numberOfWords; w++) {
+                words[w] |= literalWords[w];
+            }
         }
-        return bitSet;
+        return BitSet.valueOf(words);
     }
+
     /**
      * {@return a bitset representing the ids of all assignments that contains the given values}
      * @param literals the values
@@ -232,38 +334,104 @@ public class SampleBitIndex implements ISampleIndex {
         if (n <= 0) {
             return new BitSet();
         }
-        BitSet bitSet = (BitSet) bitSetReference[numberOfVariables + literals[0]].clone();
+        final int numberOfWords = numberOfUsedWords();
+        final long[] words = Arrays.copyOf(bitSetReference[numberOfVariables + literals[0]], numberOfWords);
         for (int k = 1; k < n; k++) {
-            bitSet.and(bitSetReference[numberOfVariables + literals[k]]);
-            if (bitSet.isEmpty()) {
-                return bitSet;
+            final long[] literalWords = bitSetReference[numberOfVariables + literals[k]];
+            long union = 0;
+            for (int w = 0; w < numberOfWords; w++) {
+                union |= (words[w] &= literalWords[w]);
+            }
+            if (union == 0) {
+                return new BitSet();
             }
         }
-        return bitSet;
+        return BitSet.valueOf(words);
     }
 
     public boolean test(int... literals) {
         switch (literals.length) {
             case 0:
                 return false;
-            case 1:
-                return getInternalBitSet(literals[0]).cardinality() > 0;
-            case 2:
-                return bitSetReference[numberOfVariables + literals[0]].intersects(
-                        bitSetReference[numberOfVariables + literals[1]]);
+            case 1: {
+                final long[] words0 = bitSetReference[numberOfVariables + literals[0]];
+                for (int w = numberOfUsedWords() - 1; w >= 0; w--) {
+                    if (words0[w] != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case 2: {
+                final long[] words0 = bitSetReference[numberOfVariables + literals[0]];
+                final long[] words1 = bitSetReference[numberOfVariables + literals[1]];
+                for (int w = numberOfUsedWords() - 1; w >= 0; w--) {
+                    if ((words0[w] & words1[w]) != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case 3: {
+                final long[] words0 = bitSetReference[numberOfVariables + literals[0]];
+                final long[] words1 = bitSetReference[numberOfVariables + literals[1]];
+                final long[] words2 = bitSetReference[numberOfVariables + literals[2]];
+                for (int w = numberOfUsedWords() - 1; w >= 0; w--) {
+                    if ((words0[w] & words1[w] & words2[w]) != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
             default:
-                return !getBitSet(literals).isEmpty();
+                return nextIndex(0, literals) >= 0;
         }
     }
 
     public int index(int... literals) {
-        return (literals.length == 1 ? getInternalBitSet(literals[0]) : getBitSet(literals)).nextSetBit(0);
+        return nextIndex(0, literals);
+    }
+
+    public int nextIndex(int fromIndex, int... literals) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (literals.length == 0 || fromIndex >= sampleSize) {
+            return -1;
+        }
+        final int numberOfWords = numberOfUsedWords();
+        final long[] words0 = bitSetReference[numberOfVariables + literals[0]];
+        int w = wordIndex(fromIndex);
+        long word = words0[w] & (-1L << fromIndex);
+        while (true) {
+            for (int k = 1; word != 0 && k < literals.length; k++) {
+                word &= bitSetReference[numberOfVariables + literals[k]][w];
+            }
+            if (word != 0) {
+                return (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == numberOfWords) {
+                return -1;
+            }
+            word = words0[w];
+        }
     }
 
     public int size(int... literals) {
-        return literals.length == 1
-                ? getInternalBitSet(literals[0]).cardinality()
-                : getBitSet(literals).cardinality();
+        if (literals.length == 0) {
+            return 0;
+        }
+        final int numberOfWords = numberOfUsedWords();
+        final long[] words0 = bitSetReference[numberOfVariables + literals[0]];
+        int count = 0;
+        for (int w = 0; w < numberOfWords; w++) {
+            long word = words0[w];
+            for (int k = 1; word != 0 && k < literals.length; k++) {
+                word &= bitSetReference[numberOfVariables + literals[k]][w];
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
     }
 
     // TODO rename
@@ -278,9 +446,9 @@ public class SampleBitIndex implements ISampleIndex {
     public int[] getConfiguration(int id) {
         int[] model = new int[numberOfVariables];
         for (int i = 1; i <= numberOfVariables; i++) {
-            if (bitSetReference[numberOfVariables + i].get(id)) {
+            if (getBit(i, id)) {
                 model[i - 1] = i;
-            } else if (bitSetReference[numberOfVariables - i].get(id)) {
+            } else if (getBit(-i, id)) {
                 model[i - 1] = -i;
             }
         }
@@ -289,14 +457,24 @@ public class SampleBitIndex implements ISampleIndex {
 
     @Override
     public SampleBitIndex adapt(VariableMap newVariableMap) {
-        int newNumberOfVariables = variableMap.size();
-        BitSet[] newBitSetReference = new BitSet[2 * newNumberOfVariables + 1];
+        int newNumberOfVariables = newVariableMap.size();
+        final int numberOfWords = bitSetReference[0].length;
+        long[][] newBitSetReference = new long[2 * newNumberOfVariables + 1][];
 
+        final int[] translationTable = variableMap.getTranslationTable(newVariableMap);
         for (int i = 1; i <= numberOfVariables; i++) {
-            int adapt = variableMap.adapt(i, newVariableMap, true);
+            int adapt = i < translationTable.length ? translationTable[i] : 0;
+            if (adapt == 0) {
+                adapt = variableMap.adapt(i, newVariableMap, true);
+            }
             newBitSetReference[newNumberOfVariables + adapt] = bitSetReference[numberOfVariables + i];
             newBitSetReference[newNumberOfVariables - adapt] = bitSetReference[numberOfVariables - i];
         }
+        for (int j = 0; j < newBitSetReference.length; j++) {
+            if (newBitSetReference[j] == null) {
+                newBitSetReference[j] = new long[numberOfWords];
+            }
+        }
         numberOfVariables = newNumberOfVariables;
         bitSetReference = newBitSetReference;
         variableMap = newVariableMap;
@@ -0,0 +1,686 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+
+/**
+ * Stores assignments in compressed bitmaps, one for each literal, similar to Roaring bitmaps.
+ * The ids of all assignments are split into chunks of 2<sup>16</sup> ids and each chunk of a literal is stored in the smallest of three containers:
+ * a sorted array of ids for sparse chunks, an uncompressed bitmap for dense chunks, and a list of runs of consecutive ids for chunks in which a literal is (almost) always or never contained.
+ * Thus, this index requires considerably less memory than {@link SampleBitIndex} for literals that are very rare or very common.
+ * Intersections are computed per chunk, starting with the container with the smallest cardinality.
+ * <p>
+ * Chunks are compressed when they are full and on {@link #optimize()}, which is called by {@link #SampleCompressedIndex(BooleanAssignmentList)}.
+ * Queries work on uncompressed chunks, too.
+ *
+ * @author agent
+ */
+public class SampleCompressedIndex implements ISampleIndex {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_ARRAY_CARDINALITY = 4096;
+    private static final int BITMAP_WORDS = CHUNK_SIZE >>> 6;
+
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int value);
+
+        /**
+         * {@return the smallest value in this container that is greater or equal to the given value, or -1 if there is none}
+         */
+        abstract int nextValue(int value);
+
+        /**
+         * Adds a value that is greater than all values in this container.
+         * @return this container or a new container containing all values
+         */
+        abstract Container append(int value);
+
+        abstract void fill(long[] words);
+
+        abstract void andInto(long[] words);
+
+        abstract int countRuns();
+
+        abstract long getSizeInBytes();
+
+        /**
+         * {@return this container without unused capacity}
+         */
+        Container trim() {
+            return this;
+        }
+
+        /**
+         * {@return the container with the smallest memory footprint that contains the same values as this container}
+         */
+        Container optimize() {
+            final int cardinality = cardinality();
+            final long arraySize = 2L * cardinality;
+            final long runSize = 4L * countRuns();
+            final long bitmapSize = 8L * BITMAP_WORDS;
+            if (runSize < arraySize && runSize < bitmapSize) {
+                return this instanceof RunContainer ? trim() : RunContainer.of(this);
+            } else if (cardinality <= MAX_ARRAY_CARDINALITY) {
+                return this instanceof ArrayContainer ? trim() : ArrayContainer.of(this);
+            } else {
+                return this instanceof BitmapContainer ? this : BitmapContainer.of(this);
+            }
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer(int capacity) {
+            values = new char[capacity];
+        }
+
+        private static ArrayContainer of(Container container) {
+            final ArrayContainer arrayContainer = new ArrayContainer(container.cardinality());
+            for (int v = container.nextValue(0); v >= 0; v = container.nextValue(v + 1)) {
+                arrayContainer.values[arrayContainer.cardinality++] = (char) v;
+            }
+            return arrayContainer;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, cardinality, (char) value) >= 0;
+        }
+
+        @Override
+        int nextValue(int value) {
+            if (value >= CHUNK_SIZE) {
+                return -1;
+            }
+            final int index = Arrays.binarySearch(values, 0, cardinality, (char) value);
+            if (index >= 0) {
+                return value;
+            }
+            final int insertionPoint = -index - 1;
+            return insertionPoint < cardinality ? values[insertionPoint] : -1;
+        }
+
+        @Override
+        Container append(int value) {
+            if (cardinality == MAX_ARRAY_CARDINALITY) {
+                return BitmapContainer.of(this).append(value);
+            }
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_ARRAY_CARDINALITY, Math.max(4, 2 * cardinality)));
+            }
+            values[cardinality++] = (char) value;
+            return this;
+        }
+
+        @Override
+        void fill(long[] words) {
+            for (int i = 0; i < cardinality; i++) {
+                final int value = values[i];
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        void andInto(long[] words) {
+            final long[] ownWords = new long[BITMAP_WORDS];
+            fill(ownWords);
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= ownWords[w];
+            }
+        }
+
+        @Override
+        int countRuns() {
+            int runs = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (i == 0 || values[i - 1] + 1 != values[i]) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return 16 + 16 + 2L * values.length;
+        }
+
+        @Override
+        Container trim() {
+            if (values.length > cardinality) {
+                values = Arrays.copyOf(values, cardinality);
+            }
+            return this;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        private static BitmapContainer of(Container container) {
+            final BitmapContainer bitmapContainer = new BitmapContainer();
+            container.fill(bitmapContainer.words);
+            bitmapContainer.cardinality = container.cardinality();
+            return bitmapContainer;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int nextValue(int value) {
+            if (value >= CHUNK_SIZE) {
+                return -1;
+            }
+            int w = value >>> 6;
+            long word = words[w] & (-1L << value);
+            while (word == 0) {
+                if (++w == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        Container append(int value) {
+            words[value >>> 6] |= 1L << value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        void fill(long[] words) {
+            System.arraycopy(this.words, 0, words, 0, BITMAP_WORDS);
+        }
+
+        @Override
+        void andInto(long[] words) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= this.words[w];
+            }
+        }
+
+        @Override
+        int countRuns() {
+            int runs = 0;
+            long previousWord = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                final long word = words[w];
+                runs += Long.bitCount(word & ~((word << 1) | (previousWord >>> 63)));
+                previousWord = word;
+            }
+            return runs;
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return 16 + 16 + 8L * BITMAP_WORDS;
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        private char[] starts;
+        private char[] lengths;
+        private int numberOfRuns;
+        private int cardinality;
+
+        private RunContainer(int capacity) {
+            starts = new char[capacity];
+            lengths = new char[capacity];
+        }
+
+        private static RunContainer of(Container container) {
+            final RunContainer runContainer = new RunContainer(container.countRuns());
+            for (int v = container.nextValue(0); v >= 0; v = container.nextValue(v + 1)) {
+                runContainer.append(v);
+            }
+            return runContainer;
+        }
+
+        /**
+         * {@return the index of the last run starting at or before the given value, or -1 if there is none}
+         */
+        private int findRun(int value) {
+            int low = 0;
+            int high = numberOfRuns - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (starts[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            final int run = findRun(value);
+            return run >= 0 && value <= starts[run] + lengths[run];
+        }
+
+        @Override
+        int nextValue(int value) {
+            if (value >= CHUNK_SIZE) {
+                return -1;
+            }
+            final int run = findRun(value);
+            if (run >= 0 && value <= starts[run] + lengths[run]) {
+                return value;
+            }
+            return run + 1 < numberOfRuns ? starts[run + 1] : -1;
+        }
+
+        @Override
+        Container append(int value) {
+            if (numberOfRuns > 0 && starts[numberOfRuns - 1] + lengths[numberOfRuns - 1] + 1 == value) {
+                lengths[numberOfRuns - 1]++;
+            } else {
+                if (numberOfRuns == starts.length) {
+                    final int capacity = Math.max(4, 2 * numberOfRuns);
+                    starts = Arrays.copyOf(starts, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                }
+                starts[numberOfRuns] = (char) value;
+                lengths[numberOfRuns] = 0;
+                numberOfRuns++;
+            }
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        void fill(long[] words) {
+            for (int i = 0; i < numberOfRuns; i++) {
+                setRange(words, starts[i], starts[i] + lengths[i] + 1);
+            }
+        }
+
+        @Override
+        void andInto(long[] words) {
+            int start = 0;
+            for (int i = 0; i < numberOfRuns; i++) {
+                clearRange(words, start, starts[i]);
+                start = starts[i] + lengths[i] + 1;
+            }
+            clearRange(words, start, CHUNK_SIZE);
+        }
+
+        @Override
+        int countRuns() {
+            return numberOfRuns;
+        }
+
+        @Override
+        long getSizeInBytes() {
+            return 16 + 24 + 4L * starts.length;
+        }
+
+        @Override
+        Container trim() {
+            if (starts.length > numberOfRuns) {
+                starts = Arrays.copyOf(starts, numberOfRuns);
+                lengths = Arrays.copyOf(lengths, numberOfRuns);
+            }
+            return this;
+        }
+
+        private static void setRange(long[] words, int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            final int firstWord = from >>> 6;
+            final int lastWord = (to - 1) >>> 6;
+            final long firstMask = -1L << from;
+            final long lastMask = -1L >>> -to;
+            if (firstWord == lastWord) {
+                words[firstWord] |= firstMask & lastMask;
+            } else {
+                words[firstWord] |= firstMask;
+                for (int w = firstWord + 1; w < lastWord; w++) {
+                    words[w] = -1L;
+                }
+                words[lastWord] |= lastMask;
+            }
+        }
+
+        private static void clearRange(long[] words, int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            final int firstWord = from >>> 6;
+            final int lastWord = (to - 1) >>> 6;
+            final long firstMask = -1L << from;
+            final long lastMask = -1L >>> -to;
+            if (firstWord == lastWord) {
+                words[firstWord] &= ~(firstMask & lastMask);
+            } else {
+                words[firstWord] &= ~firstMask;
+                for (int w = firstWord + 1; w < lastWord; w++) {
+                    words[w] = 0;
+                }
+                words[lastWord] &= ~lastMask;
+            }
+        }
+    }
+
+    private Container[][] containers;
+    private int numberOfVariables;
+    private int sampleSize;
+    private VariableMap variableMap;
+
+    /**
+     * Creates a new index based on the number of variables in the given map.
+     * @param variableMap the variable map
+     */
+    public SampleCompressedIndex(final VariableMap variableMap) {
+        this.variableMap = variableMap;
+        numberOfVariables = variableMap.size();
+        containers = new Container[2 * numberOfVariables + 1][0];
+        sampleSize = 0;
+    }
+
+    /**
+     * Creates a new index based on the number of variables in the given sample's variable map.
+     * Adds all assignments of the given sample to this index and compresses all chunks.
+     *
+     * @param sample a list of assignments
+     */
+    public SampleCompressedIndex(BooleanAssignmentList sample) {
+        this(sample.getVariableMap());
+        sample.forEach(this::addConfiguration);
+        optimize();
+    }
+
+    public void addConfiguration(BooleanAssignment config) {
+        addConfiguration(config.get());
+    }
+
+    public void addConfiguration(int[] config) {
+        final int id = sampleSize++;
+        final int chunk = id >>> CHUNK_BITS;
+        final int value = id & CHUNK_MASK;
+        if (value == 0) {
+            if (chunk > 0) {
+                optimize(chunk - 1);
+            }
+            for (int j = 0; j < containers.length; j++) {
+                containers[j] = Arrays.copyOf(containers[j], chunk + 1);
+            }
+        }
+        for (int i = 0; i < config.length; i++) {
+            final int literal = config[i];
+            if (literal != 0) {
+                final Container[] literalContainers = containers[numberOfVariables + literal];
+                final Container container = literalContainers[chunk];
+                literalContainers[chunk] = (container == null ? new ArrayContainer(4) : container).append(value);
+            }
+        }
+    }
+
+    /**
+     * Converts all containers to their most compact representation.
+     * Should be called after adding the last configuration.
+     */
+    public void optimize() {
+        final int numberOfChunks = numberOfChunks();
+        for (int chunk = 0; chunk < numberOfChunks; chunk++) {
+            optimize(chunk);
+        }
+    }
+
+    private void optimize(int chunk) {
+        for (int j = 0; j < containers.length; j++) {
+            final Container container = containers[j][chunk];
+            if (container != null) {
+                containers[j][chunk] = container.optimize();
+            }
+        }
+    }
+
+    private int numberOfChunks() {
+        return (sampleSize + CHUNK_MASK) >>> CHUNK_BITS;
+    }
+
+    /**
+     * {@return an estimate of the memory used by the containers of this index in bytes}
+     */
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Container[] literalContainers : containers) {
+            size += 16 + 4L * literalContainers.length;
+            for (Container container : literalContainers) {
+                if (container != null) {
+                    size += container.getSizeInBytes();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * {@return the containers of the given literals in the given chunk sorted by ascending cardinality, or null if any container is empty}
+     */
+    private Container[] getContainers(int chunk, int[] literals) {
+        final Container[] chunkContainers = new Container[literals.length];
+        for (int k = 0; k < literals.length; k++) {
+            final Container container = containers[numberOfVariables + literals[k]][chunk];
+            if (container == null) {
+                return null;
+            }
+            chunkContainers[k] = container;
+        }
+        if (chunkContainers.length > 1) {
+            Arrays.sort(chunkContainers, (c1, c2) -> c1.cardinality() - c2.cardinality());
+        }
+        return chunkContainers;
+    }
+
+    @Override
+    public boolean test(int... literals) {
+        return index(literals) >= 0;
+    }
+
+    @Override
+    public int index(int... literals) {
+        return nextIndex(0, literals);
+    }
+
+    @Override
+    public int nextIndex(int fromIndex, int... literals) {
+        if (literals.length == 0 || fromIndex >= sampleSize) {
+            return -1;
+        }
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        final int numberOfChunks = numberOfChunks();
+        int value = fromIndex & CHUNK_MASK;
+        for (int chunk = fromIndex >>> CHUNK_BITS; chunk < numberOfChunks; chunk++, value = 0) {
+            final Container[] chunkContainers = getContainers(chunk, literals);
+            if (chunkContainers != null) {
+                value = nextCommonValue(chunkContainers, value);
+                if (value >= 0) {
+                    return (chunk << CHUNK_BITS) | value;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@return the smallest value greater or equal to the given value that is contained in all given containers, or -1 if there is none}
+     * Leaps forward through the containers until all agree on the same value.
+     */
+    private static int nextCommonValue(Container[] chunkContainers, int value) {
+        value = chunkContainers[0].nextValue(value);
+        int agreeing = 1;
+        int k = 1;
+        while (value >= 0 && agreeing < chunkContainers.length) {
+            final int nextValue = chunkContainers[k].nextValue(value);
+            if (nextValue == value) {
+                agreeing++;
+            } else {
+                value = nextValue;
+                agreeing = 1;
+            }
+            k = k + 1 == chunkContainers.length ? 0 : k + 1;
+        }
+        return value;
+    }
+
+    @Override
+    public int size(int... literals) {
+        if (literals.length == 0) {
+            return 0;
+        }
+        final int numberOfChunks = numberOfChunks();
+        long[] words = null;
+        int count = 0;
+        for (int chunk = 0; chunk < numberOfChunks; chunk++) {
+            final Container[] chunkContainers = getContainers(chunk, literals);
+            if (chunkContainers == null) {
+                continue;
+            }
+            final Container smallestContainer = chunkContainers[0];
+            if (chunkContainers.length == 1) {
+                count += smallestContainer.cardinality();
+            } else if (smallestContainer.cardinality() <= MAX_ARRAY_CARDINALITY) {
+                for (int v = smallestContainer.nextValue(0); v >= 0; v = smallestContainer.nextValue(v + 1)) {
+                    if (containsAll(chunkContainers, v)) {
+                        count++;
+                    }
+                }
+            } else {
+                if (words == null) {
+                    words = new long[BITMAP_WORDS];
+                } else {
+                    Arrays.fill(words, 0);
+                }
+                smallestContainer.fill(words);
+                for (int k = 1; k < chunkContainers.length; k++) {
+                    chunkContainers[k].andInto(words);
+                }
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    count += Long.bitCount(words[w]);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean containsAll(Container[] chunkContainers, int value) {
+        for (int k = 1; k < chunkContainers.length; k++) {
+            if (!chunkContainers[k].contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return sampleSize;
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    private boolean contains(int literal, int id) {
+        final Container[] literalContainers = containers[numberOfVariables + literal];
+        final int chunk = id >>> CHUNK_BITS;
+        final Container container = chunk < literalContainers.length ? literalContainers[chunk] : null;
+        return container != null && container.contains(id & CHUNK_MASK);
+    }
+
+    @Override
+    public int[] getConfiguration(int id) {
+        int[] model = new int[numberOfVariables];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            if (contains(i, id)) {
+                model[i - 1] = i;
+            } else if (contains(-i, id)) {
+                model[i - 1] = -i;
+            }
+        }
+        return model;
+    }
+
+    @Override
+    public SampleCompressedIndex adapt(VariableMap newVariableMap) {
+        int newNumberOfVariables = newVariableMap.size();
+        final int numberOfChunks = numberOfChunks();
+        Container[][] newContainers = new Container[2 * newNumberOfVariables + 1][];
+
+        final int[] translationTable = variableMap.getTranslationTable(newVariableMap);
+        for (int i = 1; i <= numberOfVariables; i++) {
+            int adapt = i < translationTable.length ? translationTable[i] : 0;
+            if (adapt == 0) {
+                adapt = variableMap.adapt(i, newVariableMap, true);
+            }
+            newContainers[newNumberOfVariables + adapt] = containers[numberOfVariables + i];
+            newContainers[newNumberOfVariables - adapt] = containers[numberOfVariables - i];
+        }
+        for (int j = 0; j < newContainers.length; j++) {
+            if (newContainers[j] == null) {
+                newContainers[j] = new Container[numberOfChunks];
+            }
+        }
+        numberOfVariables = newNumberOfVariables;
+        containers = newContainers;
+        variableMap = newVariableMap;
+        return this;
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+
+/**
+ * Stores assignments using a different representation for each literal depending on its density.
+ * Literals contained in many assignments are stored as bit vectors (as in {@link SampleBitIndex}),
+ * whereas literals contained in only a few assignments are stored as sorted arrays of ids (as in {@link SampleListIndex}).
+ * A literal is considered sparse, if a sorted array requires less memory than a bit vector.
+ * The representation of each literal is chosen when creating the index from a sample and does not change when adding assignments later.
+ * Queries process the given literals in ascending order of their number of occurrences.
+ *
+ * @author agent
+ */
+public class SampleHybridIndex implements ISampleIndex {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_ID = 32;
+
+    private long[][] bitSets;
+    private int[][] ids;
+    private int[] counts;
+    private int numberOfWords;
+    private int numberOfVariables;
+    private int sampleSize;
+    private VariableMap variableMap;
+
+    /**
+     * Creates a new empty index based on the number of variables in the given map.
+     * As there is no information about the density of the literals, all literals are stored as bit vectors.
+     *
+     * @param variableMap the variable map
+     */
+    public SampleHybridIndex(final VariableMap variableMap) {
+        this.variableMap = variableMap;
+        numberOfVariables = variableMap.size();
+        bitSets = new long[2 * numberOfVariables + 1][];
+        ids = new int[2 * numberOfVariables + 1][];
+        counts = new int[2 * numberOfVariables + 1];
+        numberOfWords = 1;
+        for (int j = 0; j < bitSets.length; j++) {
+            bitSets[j] = new long[numberOfWords];
+        }
+    }
+
+    /**
+     * Creates a new index based on the number of variables in the given sample's variable map.
+     * Adds all assignments of the given sample to this index and chooses the representation of each literal based on its density.
+     *
+     * @param sample a list of assignments
+     */
+    public SampleHybridIndex(BooleanAssignmentList sample) {
+        variableMap = sample.getVariableMap();
+        numberOfVariables = variableMap.size();
+        bitSets = new long[2 * numberOfVariables + 1][];
+        ids = new int[2 * numberOfVariables + 1][];
+        counts = new int[2 * numberOfVariables + 1];
+
+        final int size = sample.size();
+        for (BooleanAssignment configuration : sample) {
+            for (int literal : configuration.get()) {
+                if (literal != 0) {
+                    counts[numberOfVariables + literal]++;
+                }
+            }
+        }
+        numberOfWords = Math.max(1, wordIndex(size - 1) + 1);
+        for (int j = 0; j < counts.length; j++) {
+            if ((long) counts[j] * BITS_PER_ID < size) {
+                ids[j] = new int[counts[j]];
+            } else {
+                bitSets[j] = new long[numberOfWords];
+            }
+            counts[j] = 0;
+        }
+        for (BooleanAssignment configuration : sample) {
+            addConfiguration(configuration.get());
+        }
+    }
+
+    private static int wordIndex(int id) {
+        return id >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * {@return whether the given literal is stored as a sorted array of ids}
+     * @param literal the literal
+     */
+    public boolean isSparse(int literal) {
+        return ids[numberOfVariables + literal] != null;
+    }
+
+    @Override
+    public void addConfiguration(BooleanAssignment config) {
+        addConfiguration(config.get());
+    }
+
+    @Override
+    public void addConfiguration(int[] config) {
+        final int id = sampleSize++;
+        final int wordIndex = wordIndex(id);
+        if (wordIndex >= numberOfWords) {
+            numberOfWords = Math.max(2 * numberOfWords, wordIndex + 1);
+            for (int j = 0; j < bitSets.length; j++) {
+                if (bitSets[j] != null) {
+                    bitSets[j] = Arrays.copyOf(bitSets[j], numberOfWords);
+                }
+            }
+        }
+        for (int literal : config) {
+            if (literal != 0) {
+                final int j = numberOfVariables + literal;
+                final long[] words = bitSets[j];
+                if (words != null) {
+                    words[wordIndex] |= 1L << id;
+                } else {
+                    final int[] literalIds = ids[j];
+                    if (counts[j] == literalIds.length) {
+                        ids[j] = Arrays.copyOf(literalIds, Math.max(4, 2 * literalIds.length));
+                    }
+                    ids[j][counts[j]] = id;
+                }
+                counts[j]++;
+            }
+        }
+    }
+
+    /**
+     * {@return the indices of the given literals sorted by ascending number of occurrences, or null if any literal does not occur}
+     */
+    private int[] getSortedIndices(int[] literals) {
+        final int[] indices = new int[literals.length];
+        for (int k = 0; k < literals.length; k++) {
+            final int j = numberOfVariables + literals[k];
+            if (counts[j] == 0) {
+                return null;
+            }
+            int i = k;
+            while (i > 0 && counts[indices[i - 1]] > counts[j]) {
+                indices[i] = indices[i - 1];
+                i--;
+            }
+            indices[i] = j;
+        }
+        return indices;
+    }
+
+    private boolean allDense(int[] indices) {
+        for (int j : indices) {
+            if (bitSets[j] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@return the smallest id greater or equal to the given id that contains the literal with the given index, or -1 if there is none}
+     * @param cursors the position in each sorted array from which to start searching, is updated by this method
+     */
+    private int nextId(int j, int id, int[] cursors, int k) {
+        final long[] words = bitSets[j];
+        if (words != null) {
+            final int numberOfUsedWords = wordIndex(sampleSize - 1) + 1;
+            int w = wordIndex(id);
+            if (w >= numberOfUsedWords) {
+                return -1;
+            }
+            long word = words[w] & (-1L << id);
+            while (word == 0) {
+                if (++w == numberOfUsedWords) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+        } else {
+            final int position = SampleListIndex.gallop(ids[j], cursors[k], counts[j], id);
+            cursors[k] = position;
+            return position < counts[j] ? ids[j][position] : -1;
+        }
+    }
+
+    @Override
+    public boolean test(int... literals) {
+        return index(literals) >= 0;
+    }
+
+    @Override
+    public int index(int... literals) {
+        return nextIndex(0, literals);
+    }
+
+    @Override
+    public int nextIndex(int fromIndex, int... literals) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (literals.length == 0 || fromIndex >= sampleSize) {
+            return -1;
+        }
+        final int[] indices = getSortedIndices(literals);
+        if (indices == null) {
+            return -1;
+        }
+        return allDense(indices)
+                ? nextIndexDense(fromIndex, indices)
+                : nextIndexMixed(fromIndex, indices, new int[indices.length]);
+    }
+
+    private int nextIndexDense(int fromIndex, int[] indices) {
+        final int numberOfUsedWords = wordIndex(sampleSize - 1) + 1;
+        final long[] words0 = bitSets[indices[0]];
+        int w = wordIndex(fromIndex);
+        long word = words0[w] & (-1L << fromIndex);
+        while (true) {
+            for (int k = 1; word != 0 && k < indices.length; k++) {
+                word &= bitSets[indices[k]][w];
+            }
+            if (word != 0) {
+                return (w << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == numberOfUsedWords) {
+                return -1;
+            }
+            word = words0[w];
+        }
+    }
+
+    /**
+     * Leaps forward through the literals until all agree on the same id.
+     */
+    private int nextIndexMixed(int fromIndex, int[] indices, int[] cursors) {
+        int candidate = fromIndex;
+        int agreeing = 0;
+        for (int k = 0; agreeing < indices.length; k = k + 1 == indices.length ? 0 : k + 1) {
+            final int id = nextId(indices[k], candidate, cursors, k);
+            if (id < 0) {
+                return -1;
+            } else if (id == candidate) {
+                agreeing++;
+            } else {
+                candidate = id;
+                agreeing = 1;
+            }
+        }
+        return candidate;
+    }
+
+    @Override
+    public int size(int... literals) {
+        if (literals.length == 0) {
+            return 0;
+        }
+        final int[] indices = getSortedIndices(literals);
+        if (indices == null) {
+            return 0;
+        }
+        if (indices.length == 1) {
+            return counts[indices[0]];
+        }
+        if (allDense(indices)) {
+            final int numberOfUsedWords = wordIndex(sampleSize - 1) + 1;
+            final long[] words0 = bitSets[indices[0]];
+            int count = 0;
+            for (int w = 0; w < numberOfUsedWords; w++) {
+                long word = words0[w];
+                for (int k = 1; word != 0 && k < indices.length; k++) {
+                    word &= bitSets[indices[k]][w];
+                }
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+        final int[] cursors = new int[indices.length];
+        int count = 0;
+        for (int id = nextIndexMixed(0, indices, cursors);
+                id >= 0 && id < Integer.MAX_VALUE;
+                id = nextIndexMixed(id + 1, indices, cursors)) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return sampleSize;
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    private boolean contains(int literal, int id) {
+        final int j = numberOfVariables + literal;
+        final long[] words = bitSets[j];
+        if (words != null) {
+            final int wordIndex = wordIndex(id);
+            return wordIndex < words.length && (words[wordIndex] & (1L << id)) != 0;
+        } else {
+            return Arrays.binarySearch(ids[j], 0, counts[j], id) >= 0;
+        }
+    }
+
+    @Override
+    public int[] getConfiguration(int id) {
+        int[] model = new int[numberOfVariables];
+        for (int i = 1; i <= numberOfVariables; i++) {
+            if (contains(i, id)) {
+                model[i - 1] = i;
+            } else if (contains(-i, id)) {
+                model[i - 1] = -i;
+            }
+        }
+        return model;
+    }
+
+    @Override
+    public SampleHybridIndex adapt(VariableMap newVariableMap) {
+        int newNumberOfVariables = newVariableMap.size();
+        long[][] newBitSets = new long[2 * newNumberOfVariables + 1][];
+        int[][] newIds = new int[2 * newNumberOfVariables + 1][];
+        int[] newCounts = new int[2 * newNumberOfVariables + 1];
+
+        final int[] translationTable = variableMap.getTranslationTable(newVariableMap);
+        for (int i = 1; i <= numberOfVariables; i++) {
+            int adapt = i < translationTable.length ? translationTable[i] : 0;
+            if (adapt == 0) {
+                adapt = variableMap.adapt(i, newVariableMap, true);
+            }
+            newBitSets[newNumberOfVariables + adapt] = bitSets[numberOfVariables + i];
+            newIds[newNumberOfVariables + adapt] = ids[numberOfVariables + i];
+            newCounts[newNumberOfVariables + adapt] = counts[numberOfVariables + i];
+            newBitSets[newNumberOfVariables - adapt] = bitSets[numberOfVariables - i];
+            newIds[newNumberOfVariables - adapt] = ids[numberOfVariables - i];
+            newCounts[newNumberOfVariables - adapt] = counts[numberOfVariables - i];
+        }
+        for (int j = 0; j < newBitSets.length; j++) {
+            if (newBitSets[j] == null && newIds[j] == null) {
+                newIds[j] = new int[0];
+            }
+        }
+        numberOfVariables = newNumberOfVariables;
+        bitSets = newBitSets;
+        ids = newIds;
+        counts = newCounts;
+        variableMap = newVariableMap;
+        return this;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.nio.file.Path;
+
+/**
+ * Implementations of {@link ISampleIndex} that can be created for a sample.
+ *
+ * One of:
+ * <ul>
+ * 	<li>BIT - {@link SampleBitIndex}, one bit vector per literal</li>
+ * 	<li>LIST - {@link SampleListIndex}, one sorted list of ids per literal</li>
+ * 	<li>COMPRESSED - {@link SampleCompressedIndex}, one compressed bitmap per literal</li>
+ * 	<li>ADAPTIVE - {@link SampleHybridIndex}, bit vectors for dense literals and sorted arrays for sparse literals</li>
+ * </ul>
+ * Computations use {@link #ADAPTIVE} by default; the other types can be forced for benchmarking.
+ * With {@link #ADAPTIVE} or {@link #BIT}, computations may also use algorithms that operate directly on the bit vectors of a {@link SampleBitIndex}
+ * (see {@link #allowsBitIndex()}).
+ *
+ * @author agent
+ */
+public enum SampleIndexType {
+    BIT,
+    LIST,
+    COMPRESSED,
+    ADAPTIVE;
+
+    /**
+     * {@return whether a computation may use a {@link SampleBitIndex} instead of an index of this type}
+     * This is the case for {@link #BIT} and for the default {@link #ADAPTIVE}, which leaves the choice to the computation.
+     * Forcing {@link #LIST} or {@link #COMPRESSED} disables all algorithms that require bit vectors.
+     */
+    public boolean allowsBitIndex() {
+        return this == BIT || this == ADAPTIVE;
+    }
+
+    /**
+     * {@return a new index of this type containing all assignments of the given sample}
+     * @param sample the sample
+     */
+    public ISampleIndex create(BooleanAssignmentList sample) {
+        switch (this) {
+            case BIT:
+                return new SampleBitIndex(sample);
+            case LIST:
+                return new SampleListIndex(sample);
+            case COMPRESSED:
+                return new SampleCompressedIndex(sample);
+            case ADAPTIVE:
+                return new SampleHybridIndex(sample);
+            default:
+                throw new IllegalStateException(String.valueOf(this));
+        }
+    }
+
+    /**
+     * {@return a new index of this type containing all assignments of the given sample, which was read from the given file}
+     * If this type allows a {@link SampleBitIndex} and a sample file is given,
+     * the index is stored in an index file next to the sample file (see {@link MappedSampleBitIndex#createBitIndex(BooleanAssignmentList, Path)}).
+     *
+     * @param sample the sample
+     * @param sampleFile the file from which the sample was read, or {@link MappedSampleBitIndex#NO_SAMPLE_FILE}
+     */
+    public ISampleIndex create(BooleanAssignmentList sample, Path sampleFile) {
+        if (allowsBitIndex() && !MappedSampleBitIndex.NO_SAMPLE_FILE.equals(sampleFile)) {
+            return MappedSampleBitIndex.createBitIndex(sample, sampleFile);
+        }
+        return create(sample);
+    }
+}
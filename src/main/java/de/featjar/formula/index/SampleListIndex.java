@@ -25,15 +25,20 @@ import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
- * Calculates statistics regarding t-wise feature coverage of a set of
- * solutions.
+ * Stores assignments in a way that makes it easy to see which assignments share one or more given literals.
+ * For each literal, the ids of all assignments containing this literal are stored in a sorted list.
+ * Lists are intersected starting with the shortest list.
+ * Lists of similar length are merged linearly, whereas much longer lists are searched by galloping (i.e., exponential search).
  *
  * @author Sebastian Krieter
  */
 public class SampleListIndex implements ISampleIndex {
 
+    private static final int GALLOPING_RATIO = 32;
+
     private final ExpandableIntegerList[] configurationIndices;
     private final int numberOfVariables;
     private int sampleSize;
@@ -89,50 +94,197 @@ public class SampleListIndex implements ISampleIndex {
     }
 
     public int index(int... literals) {
-        if (literals.length < 2) {
-            ExpandableIntegerList i0 = configurationIndices[numberOfVariables + literals[0]];
-            return i0.isEmpty() ? -1 : i0.get(0);
+        return nextIndex(0, literals);
+    }
+
+    public int nextIndex(int fromIndex, int... literals) {
+        if (literals.length == 0) {
+            return -1;
         }
-        ExpandableIntegerList[] selectedIndexedSolutions = new ExpandableIntegerList[literals.length];
-        for (int i = 0; i < literals.length; i++) {
-            final ExpandableIntegerList indexedSolution = configurationIndices[numberOfVariables + literals[i]];
-            if (indexedSolution.size() == 0) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        final ExpandableIntegerList[] lists = getSortedLists(literals);
+        if (lists == null) {
+            return -1;
+        }
+        final int[] positions = new int[lists.length];
+        int agreeing = 0;
+        int candidate = fromIndex;
+        for (int k = 0; agreeing < lists.length; k = k + 1 == lists.length ? 0 : k + 1) {
+            final ExpandableIntegerList list = lists[k];
+            final int position = gallop(list.getInternalArray(), positions[k], list.size(), candidate);
+            if (position == list.size()) {
                 return -1;
             }
-            selectedIndexedSolutions[i] = indexedSolution;
-        }
-        Arrays.sort(selectedIndexedSolutions, (a, b) -> a.size() - b.size());
-        final int[] searchIndices = new int[literals.length - 1];
-
-        final ExpandableIntegerList i0 = selectedIndexedSolutions[0];
-        final int[] ia0 = i0.getInternalArray();
-        loop:
-        for (int i = 0; i < i0.size(); i++) {
-            int id0 = ia0[i];
-            for (int j = 1; j < literals.length; j++) {
-                final ExpandableIntegerList ij = selectedIndexedSolutions[j];
-                final int searchIndex = search(ij, searchIndices[j - 1], id0);
-                if (searchIndex < 0) {
-                    int nextIndex = -searchIndex - 1;
-                    if (nextIndex < ij.size()) {
-                        searchIndices[j - 1] = nextIndex;
-                        continue loop;
-                    } else {
-                        return -1;
-                    }
-                } else {
-                    searchIndices[j - 1] = searchIndex;
-                }
+            positions[k] = position;
+            final int id = list.getInternalArray()[position];
+            if (id == candidate) {
+                agreeing++;
+            } else {
+                candidate = id;
+                agreeing = 1;
             }
-            return id0;
         }
-        return -1;
+        return candidate;
+    }
+
+    /**
+     * {@return the lists of the given literals sorted by ascending size, or null if any list is empty}
+     */
+    private ExpandableIntegerList[] getSortedLists(int[] literals) {
+        final ExpandableIntegerList[] lists = new ExpandableIntegerList[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            final ExpandableIntegerList list = configurationIndices[numberOfVariables + literals[i]];
+            if (list.size() == 0) {
+                return null;
+            }
+            lists[i] = list;
+        }
+        if (lists.length > 1) {
+            Arrays.sort(lists, (a, b) -> a.size() - b.size());
+        }
+        return lists;
     }
 
     @Override
     public int size(int... literals) {
-        // TODO implement exhaustive search
-        throw new UnsupportedOperationException();
+        if (literals.length == 0) {
+            return 0;
+        }
+        final ExpandableIntegerList[] lists = getSortedLists(literals);
+        if (lists == null) {
+            return 0;
+        }
+        switch (lists.length) {
+            case 1:
+                return lists[0].size();
+            case 2:
+                return intersect(
+                        lists[0].getInternalArray(),
+                        lists[0].size(),
+                        lists[1].getInternalArray(),
+                        lists[1].size(),
+                        null);
+            default:
+                final int[] ids = new int[lists[0].size()];
+                return intersectAll(lists, ids);
+        }
+    }
+
+    @Override
+    public void forEachMatch(IntConsumer action, int... literals) {
+        if (literals.length == 0) {
+            return;
+        }
+        final ExpandableIntegerList[] lists = getSortedLists(literals);
+        if (lists == null) {
+            return;
+        }
+        final int[] ids;
+        final int size;
+        if (lists.length == 1) {
+            ids = lists[0].getInternalArray();
+            size = lists[0].size();
+        } else {
+            ids = new int[lists[0].size()];
+            size = intersectAll(lists, ids);
+        }
+        for (int i = 0; i < size; i++) {
+            action.accept(ids[i]);
+        }
+    }
+
+    /**
+     * Intersects the given lists, which must contain at least two lists and be sorted by ascending size.
+     * @param lists the lists
+     * @param ids the array to store the intersection in, must be at least as long as the first list
+     * @return the number of ids in the intersection
+     */
+    private static int intersectAll(ExpandableIntegerList[] lists, int[] ids) {
+        int size = intersect(
+                lists[0].getInternalArray(), lists[0].size(), lists[1].getInternalArray(), lists[1].size(), ids);
+        for (int k = 2; size > 0 && k < lists.length; k++) {
+            size = intersect(ids, size, lists[k].getInternalArray(), lists[k].size(), ids);
+        }
+        return size;
+    }
+
+    /**
+     * Intersects two sorted arrays.
+     * If the second array is much longer than the first one, it is searched by galloping.
+     * Otherwise, both arrays are merged without branching on the comparison of their elements.
+     *
+     * @param a the shorter array
+     * @param aSize the number of elements used in the shorter array
+     * @param b the longer array
+     * @param bSize the number of elements used in the longer array
+     * @param out the array to store the intersection in, may be {@code a} itself, or {@code null} to only count the intersection
+     * @return the number of elements in the intersection
+     */
+    private static int intersect(int[] a, int aSize, int[] b, int bSize, int[] out) {
+        int count = 0;
+        if (bSize > GALLOPING_RATIO * aSize) {
+            int j = 0;
+            for (int i = 0; i < aSize; i++) {
+                final int id = a[i];
+                j = gallop(b, j, bSize, id);
+                if (j == bSize) {
+                    break;
+                }
+                if (b[j] == id) {
+                    if (out != null) {
+                        out[count] = id;
+                    }
+                    count++;
+                }
+            }
+        } else if (out == null) {
+            int i = 0;
+            int j = 0;
+            while (i < aSize && j < bSize) {
+                final int x = a[i];
+                final int y = b[j];
+                count += x == y ? 1 : 0;
+                i += x <= y ? 1 : 0;
+                j += y <= x ? 1 : 0;
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < aSize && j < bSize) {
+                final int x = a[i];
+                final int y = b[j];
+                out[count] = x;
+                count += x == y ? 1 : 0;
+                i += x <= y ? 1 : 0;
+                j += y <= x ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@return the index of the first element in the given range of a sorted array that is greater or equal to the given key, or {@code to} if there is none}
+     * Searches exponentially from the start of the range, so the cost depends on the distance to the result instead of the length of the range.
+     *
+     * @param array the sorted array
+     * @param from the start of the range (inclusive)
+     * @param to the end of the range (exclusive)
+     * @param key the key
+     */
+    static int gallop(int[] array, int from, int to, int key) {
+        if (from >= to || array[from] >= key) {
+            return from;
+        }
+        int bound = 1;
+        while (from + bound < to && array[from + bound] < key) {
+            bound <<= 1;
+        }
+        final int low = from + (bound >> 1) + 1;
+        final int high = Math.min(from + bound + 1, to);
+        final int index = Arrays.binarySearch(array, low, high, key);
+        return index < 0 ? -index - 1 : index;
     }
 
     private int search(ExpandableIntegerList ij, int minIndex, int id0) {
@@ -61,39 +61,39 @@ public class BooleanAssignmentListBinaryFormat extends ABinaryFormat<BooleanAssi
             writeString(out, variableMap.get(i).orElse(""));
         }
         out.writeInt(assignmentList.size());
-        for (BooleanAssignment assignment : assignmentList) {
-            final int[] literals = assignment.get();
-            if (assignment instanceof BooleanSolution) {
-                out.writeByte(BooleanSolutionType);
-                final BitSet bs = new BitSet(2 * maxIndex);
-                for (int i = 0, bsIndex = 0; i < literals.length; i++) {
-                    final int l = literals[i];
-                    if (l == 0) {
-                        bs.set(bsIndex++, false);
-                        bs.set(bsIndex++, variableMap.has(i + 1));
-                    } else {
-                        bs.set(bsIndex++, true);
-                        bs.set(bsIndex++, l > 0);
-                    }
-                }
-                writeByteArray(out, bs.toByteArray());
-            } else if (assignment instanceof BooleanClause) {
-                out.writeByte(BooleanClauseType);
-                out.writeInt(literals.length);
-                for (int l : literals) {
-                    out.writeInt(l);
-                }
-            } else if (assignment instanceof BooleanAssignment) {
-                out.writeByte(BooleanAssignmentType);
-                out.writeInt(literals.length);
-                for (int l : literals) {
-                    out.writeInt(l);
+        final BooleanAssignmentList.Row row = assignmentList.row();
+        for (int j = 0; j < assignmentList.size(); j++) {
+            row.moveTo(j);
+            final byte type =
+                    row.isSolution() ? BooleanSolutionType : row.isClause() ? BooleanClauseType : BooleanAssignmentType;
+            writeLiterals(out, variableMap, type, row.getArray(), row.getOffset(), row.size());
+        }
+        out.flush();
+    }
+
+    private void writeLiterals(
+            AOutput out, VariableMap variableMap, byte type, int[] literals, int offset, int length)
+            throws IOException {
+        out.writeByte(type);
+        if (type == BooleanSolutionType) {
+            final BitSet bs = new BitSet(2 * variableMap.maxIndex());
+            for (int i = 0, bsIndex = 0; i < length; i++) {
+                final int l = literals[offset + i];
+                if (l == 0) {
+                    bs.set(bsIndex++, false);
+                    bs.set(bsIndex++, variableMap.has(i + 1));
+                } else {
+                    bs.set(bsIndex++, true);
+                    bs.set(bsIndex++, l > 0);
                 }
-            } else {
-                throw new IllegalArgumentException(assignment.getClass().toString());
+            }
+            writeByteArray(out, bs.toByteArray());
+        } else {
+            out.writeInt(length);
+            for (int i = offset, end = offset + length; i < end; i++) {
+                out.writeInt(literals[i]);
             }
         }
-        out.flush();
     }
 
     @Override
@@ -65,7 +65,7 @@ public class BooleanAssignmentGroupsUngroupedCSVFormat implements IBooleanAssign
         }
         csv.append(LINE_SEPARATOR);
         int configurationIndex = 0;
-        for (final BooleanAssignment configuration : booleanAssignmentGroups.getMergedGroups()) {
+        for (final BooleanAssignment configuration : booleanAssignmentGroups.getMergedGroupsView()) {
             csv.append(configurationIndex++);
             final int[] literals = configuration.toSolution(variableMap.size()).get();
             for (int l : literals) {
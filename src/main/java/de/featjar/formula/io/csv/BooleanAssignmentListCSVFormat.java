@@ -28,7 +28,6 @@ import de.featjar.base.io.input.InputHeader;
 import de.featjar.base.io.output.AOutput;
 import de.featjar.base.io.output.AOutputMapper;
 import de.featjar.formula.VariableMap;
-import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
 import de.featjar.formula.io.IBooleanAssignmentListFormat;
@@ -66,10 +65,11 @@ public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFor
             output.writeText(name != null ? name : "");
         }
         output.writeText(LINE_SEPARATOR);
-        int configurationIndex = 0;
-        for (final BooleanAssignment configuration : booleanAssignmentList) {
-            output.writeText(Integer.toString(configurationIndex++));
-            final int[] literals = configuration.toSolution(variableMap.size()).get();
+        final int[] buffer = new int[variableMap.size()];
+        final BooleanAssignmentList.Row row = booleanAssignmentList.row();
+        for (int configurationIndex = 0; configurationIndex < booleanAssignmentList.size(); configurationIndex++) {
+            output.writeText(Integer.toString(configurationIndex));
+            final int[] literals = row.moveTo(configurationIndex).toSolution(buffer);
             for (int l : literals) {
                 output.writeText(VALUE_SEPARATOR);
                 output.writeText(l == 0 ? NULL_VALUE : l > 0 ? POSITIVE_VALUE : NEGATIVE_VALUE);
@@ -89,10 +89,11 @@ public class BooleanAssignmentListCSVFormat implements IBooleanAssignmentListFor
             csv.append(name != null ? name : "");
         }
         csv.append(LINE_SEPARATOR);
-        int configurationIndex = 0;
-        for (final BooleanAssignment configuration : booleanAssignmentList) {
-            csv.append(configurationIndex++);
-            final int[] literals = configuration.toSolution(variableMap.size()).get();
+        final int[] buffer = new int[variableMap.size()];
+        final BooleanAssignmentList.Row row = booleanAssignmentList.row();
+        for (int configurationIndex = 0; configurationIndex < booleanAssignmentList.size(); configurationIndex++) {
+            csv.append(configurationIndex);
+            final int[] literals = row.moveTo(configurationIndex).toSolution(buffer);
             for (int l : literals) {
                 csv.append(VALUE_SEPARATOR);
                 csv.append(l == 0 ? NULL_VALUE : l > 0 ? POSITIVE_VALUE : NEGATIVE_VALUE);
@@ -46,7 +46,7 @@ public class BooleanAssignmentGroupsDimacsFormat implements IBooleanAssignmentGr
         Objects.requireNonNull(assignmentSpace);
         return Result.of(DimacsSerializer.serialize(
                 assignmentSpace.getVariableMap(),
-                assignmentSpace.getMergedGroups().getAll(),
+                assignmentSpace.getMergedGroupsView().getAll(),
                 BooleanAssignment::get));
     }
 
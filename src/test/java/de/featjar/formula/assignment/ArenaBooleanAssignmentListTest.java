@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.io.IO;
+import de.featjar.base.io.format.IFormat;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.io.binary.BooleanAssignmentListBinaryFormat;
+import de.featjar.formula.io.csv.BooleanAssignmentListCSVFormat;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link ArenaBooleanAssignmentList} with a {@link BooleanAssignmentList}.
+ * Most tests use small chunks, such that assignments are spread over several chunks.
+ *
+ * @author agent
+ */
+public class ArenaBooleanAssignmentListTest {
+
+    private static final int NUMBER_OF_VARIABLES = 10;
+    private static final int SMALL_CHUNK_SIZE = 64;
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void solutionsAcrossChunkBoundaries() {
+        Random random = new Random(1);
+        BooleanAssignmentList expected = new BooleanAssignmentList(variableMap(NUMBER_OF_VARIABLES));
+        for (int i = 0; i < 50; i++) {
+            expected.add(randomSolution(random, NUMBER_OF_VARIABLES));
+        }
+        ArenaBooleanAssignmentList list = arena(expected);
+        assertRows(expected, list);
+        assertEquals(50L * NUMBER_OF_VARIABLES, list.getNumberOfLiterals());
+    }
+
+    @Test
+    void mixedAssignmentsAcrossChunkBoundaries() {
+        BooleanAssignmentList expected = randomMixedList(new Random(2), 100);
+        expected.add(new BooleanClause(IntStream.rangeClosed(1, SMALL_CHUNK_SIZE + 5).toArray(), false));
+        expected.add(new BooleanAssignment(1, -2));
+        ArenaBooleanAssignmentList list = arena(expected);
+        assertRows(expected, list);
+        assertEquals(expected.stream().mapToLong(BooleanAssignment::size).sum(), list.getNumberOfLiterals());
+    }
+
+    @Test
+    void insertsReplacesAndRemovesAssignments() {
+        Random random = new Random(3);
+        BooleanAssignmentList expected = randomMixedList(random, 40);
+        ArenaBooleanAssignmentList list = arena(expected);
+        for (int i = 0; i < 40; i++) {
+            BooleanAssignment assignment = randomAssignment(random);
+            int index = random.nextInt(expected.size() + 1);
+            switch (random.nextInt(3)) {
+                case 0:
+                    expected.getAll().add(index, assignment);
+                    list.getAll().add(index, assignment);
+                    break;
+                case 1:
+                    if (index < expected.size()) {
+                        expected.getAll().set(index, assignment);
+                        list.getAll().set(index, assignment);
+                    }
+                    break;
+                default:
+                    if (index < expected.size()) {
+                        expected.getAll().remove(index);
+                        list.getAll().remove(index);
+                    }
+                    break;
+            }
+            assertRows(expected, list);
+        }
+    }
+
+    @Test
+    void adaptsSolutionMatrixWithSameNumberOfVariables() {
+        BooleanAssignmentList expected = new BooleanAssignmentList(variableMap(NUMBER_OF_VARIABLES));
+        Random random = new Random(4);
+        for (int i = 0; i < 30; i++) {
+            expected.add(randomSolution(random, NUMBER_OF_VARIABLES));
+        }
+        List<String> names = new ArrayList<>(variableMap(NUMBER_OF_VARIABLES).getVariableNames());
+        names.remove(3);
+        names.add("new");
+        Collections.reverse(names);
+        assertAdapt(expected, new VariableMap(names), false);
+    }
+
+    @Test
+    void adaptsSolutionMatrixWithDifferentNumberOfVariables() {
+        BooleanAssignmentList expected = new BooleanAssignmentList(variableMap(NUMBER_OF_VARIABLES));
+        Random random = new Random(5);
+        for (int i = 0; i < 30; i++) {
+            expected.add(randomSolution(random, NUMBER_OF_VARIABLES));
+        }
+        List<String> names = new ArrayList<>(variableMap(NUMBER_OF_VARIABLES).getVariableNames());
+        names.remove(7);
+        names.remove(2);
+        names.add(0, "new");
+        assertAdapt(expected, new VariableMap(names), false);
+        names.add("other");
+        names.add("another");
+        assertAdapt(expected, new VariableMap(names), false);
+    }
+
+    @Test
+    void adaptsMixedAssignments() {
+        List<String> names = new ArrayList<>(variableMap(NUMBER_OF_VARIABLES).getVariableNames());
+        names.remove(5);
+        names.add(1, "new");
+        VariableMap newVariables = new VariableMap(names);
+        assertAdapt(randomMixedList(new Random(6), 40), newVariables, false);
+
+        // solutions cannot integrate old variables
+        BooleanAssignmentList expected = new BooleanAssignmentList(
+                variableMap(NUMBER_OF_VARIABLES),
+                randomMixedList(new Random(7), 40).stream()
+                        .filter(assignment -> !(assignment instanceof BooleanSolution))
+                        .collect(Collectors.toList()));
+        assertAdapt(expected, newVariables, true);
+    }
+
+    @Test
+    void adaptsClauses() {
+        Random random = new Random(8);
+        BooleanAssignmentList expected = new BooleanAssignmentList(variableMap(NUMBER_OF_VARIABLES));
+        for (int i = 0; i < 40; i++) {
+            expected.add(new BooleanClause(randomLiterals(random), false));
+        }
+        List<String> names = new ArrayList<>(variableMap(NUMBER_OF_VARIABLES).getVariableNames());
+        names.remove(0);
+        Collections.shuffle(names, random);
+        assertAdapt(expected, new VariableMap(names), false);
+    }
+
+    @Test
+    void cloneIsIndependent() {
+        BooleanAssignmentList expected = randomMixedList(new Random(9), 30);
+        ArenaBooleanAssignmentList list = arena(expected);
+        ArenaBooleanAssignmentList clone = list.clone();
+        assertNotSame(list, clone);
+        assertRows(expected, clone);
+
+        clone.getAll().set(0, new BooleanAssignment(1, 2, 3));
+        clone.getAll().remove(5);
+        clone.add(new BooleanClause(-4, 5));
+        clone.adapt(new VariableMap(List.of("1", "3", "2")));
+        assertRows(expected, list);
+        assertEquals(expected.getVariableMap(), list.getVariableMap());
+    }
+
+    @Test
+    void binaryFormatRoundTrip() throws IOException {
+        BooleanAssignmentList expected = randomMixedList(new Random(10), 50);
+        assertRows(expected, roundTrip(arena(expected), new BooleanAssignmentListBinaryFormat(), ".bin"));
+    }
+
+    @Test
+    void csvFormatRoundTrip() throws IOException {
+        Random random = new Random(11);
+        BooleanAssignmentList expected = new BooleanAssignmentList(variableMap(NUMBER_OF_VARIABLES));
+        for (int i = 0; i < 50; i++) {
+            int[] literals = randomSolution(random, NUMBER_OF_VARIABLES).get();
+            literals[random.nextInt(NUMBER_OF_VARIABLES)] = 0;
+            expected.add(new BooleanSolution(literals, false));
+        }
+        assertRows(expected, roundTrip(arena(expected), new BooleanAssignmentListCSVFormat(), ".csv"));
+    }
+
+    private static BooleanAssignmentList roundTrip(
+            BooleanAssignmentList list, IFormat<BooleanAssignmentList> format, String suffix) throws IOException {
+        Path file = Files.createTempFile("arena", suffix);
+        try {
+            IO.save(list, file, format);
+            return IO.load(file, format).orElseThrow();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void assertAdapt(BooleanAssignmentList expected, VariableMap newVariables, boolean integrate) {
+        ArenaBooleanAssignmentList list = arena(expected);
+        expected = expected.clone().adapt(newVariables.clone(), integrate);
+        list.adapt(newVariables.clone(), integrate);
+        assertEquals(expected.getVariableMap(), list.getVariableMap());
+        assertRows(expected, list);
+    }
+
+    private static void assertRows(BooleanAssignmentList expected, BooleanAssignmentList actual) {
+        assertEquals(expected.size(), actual.size());
+        BooleanAssignmentList.Row row = actual.row();
+        for (int i = 0; i < expected.size(); i++) {
+            BooleanAssignment expectedAssignment = expected.get(i);
+            BooleanAssignment actualAssignment = actual.get(i);
+            assertEquals(expectedAssignment.getClass(), actualAssignment.getClass(), "row " + i);
+            assertArrayEquals(expectedAssignment.get(), actualAssignment.get(), "row " + i);
+            assertArrayEquals(expectedAssignment.get(), row.moveTo(i).get(), "row " + i);
+            assertArrayEquals(expectedAssignment.get(), actual.row(i).get(), "row " + i);
+            assertEquals(expectedAssignment instanceof BooleanSolution, row.isSolution(), "row " + i);
+            assertEquals(expectedAssignment instanceof BooleanClause, row.isClause(), "row " + i);
+        }
+        List<BooleanAssignment> iterated = new ArrayList<>();
+        actual.forEach(iterated::add);
+        assertEquals(expected.size(), iterated.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i).get(), iterated.get(i).get(), "row " + i);
+        }
+    }
+
+    private static ArenaBooleanAssignmentList arena(BooleanAssignmentList list) {
+        ArenaBooleanAssignmentList arena = new ArenaBooleanAssignmentList(list.getVariableMap(), SMALL_CHUNK_SIZE);
+        for (BooleanAssignment assignment : list) {
+            arena.add(assignment.clone());
+        }
+        return arena;
+    }
+
+    private static BooleanAssignmentList randomMixedList(Random random, int size) {
+        BooleanAssignmentList list = new BooleanAssignmentList(variableMap(NUMBER_OF_VARIABLES));
+        for (int i = 0; i < size; i++) {
+            list.add(randomAssignment(random));
+        }
+        return list;
+    }
+
+    private static BooleanAssignment randomAssignment(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return randomSolution(random, NUMBER_OF_VARIABLES);
+            case 1:
+                return new BooleanClause(randomLiterals(random), false);
+            default:
+                return new BooleanAssignment(randomLiterals(random));
+        }
+    }
+
+    private static BooleanSolution randomSolution(Random random, int numberOfVariables) {
+        int[] literals = new int[numberOfVariables];
+        for (int v = 1; v <= numberOfVariables; v++) {
+            literals[v - 1] = random.nextBoolean() ? v : -v;
+        }
+        return new BooleanSolution(literals, false);
+    }
+
+    private static int[] randomLiterals(Random random) {
+        return IntStream.rangeClosed(1, NUMBER_OF_VARIABLES)
+                .filter(v -> random.nextInt(3) == 0)
+                .map(v -> random.nextBoolean() ? v : -v)
+                .toArray();
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.io.csv.BooleanAssignmentGroupsUngroupedCSVFormat;
+import de.featjar.formula.io.dimacs.BooleanAssignmentGroupsDimacsFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BooleanAssignmentGroups}.
+ *
+ * @author agent
+ */
+public class BooleanAssignmentGroupsTest {
+
+    private static final int NUMBER_OF_VARIABLES = 8;
+
+    private static final int[][] GROUP_SIZES = {
+        {}, {0}, {0, 0, 0}, {5}, {0, 3, 0, 0, 2, 0, 4, 0}, {1, 1, 1, 1}, {100, 0, 37, 1, 0, 250}
+    };
+
+    @Test
+    void getsAssignmentsAcrossEmptyGroups() {
+        Random random = new Random(1);
+        for (int[] groupSizes : GROUP_SIZES) {
+            BooleanAssignmentGroups groups = randomGroups(random, groupSizes);
+            List<BooleanAssignment> expected = flatten(groups);
+            BooleanAssignmentList view = groups.getMergedGroupsView();
+            assertSame(groups.getVariableMap(), view.getVariableMap());
+            assertEquals(expected.size(), view.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i), view.get(i));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(-1));
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(expected.size()));
+        }
+    }
+
+    @Test
+    void iteratesAcrossEmptyGroups() {
+        Random random = new Random(2);
+        for (int[] groupSizes : GROUP_SIZES) {
+            BooleanAssignmentGroups groups = randomGroups(random, groupSizes);
+            List<BooleanAssignment> expected = flatten(groups);
+            Iterator<BooleanAssignment> iterator =
+                    groups.getMergedGroupsView().getAll().iterator();
+            for (BooleanAssignment assignment : expected) {
+                assertSame(assignment, iterator.next());
+            }
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+    }
+
+    @Test
+    void splitsAcrossEmptyGroups() {
+        Random random = new Random(3);
+        for (int[] groupSizes : GROUP_SIZES) {
+            BooleanAssignmentGroups groups = randomGroups(random, groupSizes);
+            List<BooleanAssignment> expected = flatten(groups);
+            List<BooleanAssignment> view = groups.getMergedGroupsView().getAll();
+
+            Spliterator<BooleanAssignment> spliterator = view.spliterator();
+            assertEquals(expected.size(), spliterator.estimateSize());
+            List<BooleanAssignment> traversed = new ArrayList<>();
+            split(spliterator, traversed);
+            assertSameElements(expected, traversed);
+
+            assertSameElements(expected, view.stream().collect(Collectors.toList()));
+            assertSameElements(expected, view.parallelStream().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void splitsPartiallyTraversedSpliterator() {
+        BooleanAssignmentGroups groups = randomGroups(new Random(4), new int[] {0, 6, 0, 3, 4});
+        List<BooleanAssignment> expected = flatten(groups);
+        Spliterator<BooleanAssignment> spliterator =
+                groups.getMergedGroupsView().getAll().spliterator();
+        List<BooleanAssignment> traversed = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            spliterator.tryAdvance(traversed::add);
+        }
+        assertEquals(expected.size() - 2, spliterator.estimateSize());
+
+        Spliterator<BooleanAssignment> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(expected.size() - 2, prefix.estimateSize() + spliterator.estimateSize());
+        prefix.forEachRemaining(traversed::add);
+        assertEquals(0, prefix.estimateSize());
+        spliterator.forEachRemaining(traversed::add);
+        assertEquals(0, spliterator.estimateSize());
+        assertFalse(spliterator.tryAdvance(traversed::add));
+        assertSameElements(expected, traversed);
+    }
+
+    @Test
+    void copiesMergedGroups() {
+        BooleanAssignmentGroups groups = randomGroups(new Random(5), new int[] {2, 0, 3});
+        List<BooleanAssignment> expected = flatten(groups);
+        BooleanAssignmentList mergedGroups = groups.getMergedGroups();
+        assertSameElements(expected, mergedGroups.getAll());
+
+        mergedGroups.add(new BooleanAssignment(1, 2));
+        mergedGroups.getAll().remove(0);
+        assertEquals(6, mergedGroups.size());
+        assertSameElements(expected, flatten(groups));
+        assertNotSame(mergedGroups, groups.getMergedGroups());
+        assertEquals(5, groups.getMergedGroups().size());
+    }
+
+    @Test
+    void detachesAdaptedView() {
+        BooleanAssignmentGroups groups = randomGroups(new Random(6), new int[] {2, 0, 3});
+        List<int[]> literals =
+                flatten(groups).stream().map(a -> a.get().clone()).collect(Collectors.toList());
+        List<String> names = new ArrayList<>(groups.getVariableMap().getVariableNames());
+        Collections.reverse(names);
+
+        BooleanAssignmentList view = groups.getMergedGroupsView();
+        view.adapt(new VariableMap(names));
+        List<BooleanAssignment> assignments = flatten(groups);
+        for (int i = 0; i < assignments.size(); i++) {
+            assertArrayEquals(literals.get(i), assignments.get(i).get());
+            assertEquals(
+                    NUMBER_OF_VARIABLES + 1,
+                    Math.abs(assignments.get(i).get()[0]) + Math.abs(view.get(i).get()[0]));
+        }
+    }
+
+    @Test
+    void serializesAllGroups() {
+        BooleanAssignmentGroups groups = randomGroups(new Random(7), new int[] {2, 0, 3, 1});
+        BooleanAssignmentGroups mergedGroups = new BooleanAssignmentGroups(groups.getMergedGroups());
+        assertEquals(
+                new BooleanAssignmentGroupsDimacsFormat()
+                        .serialize(mergedGroups)
+                        .orElseThrow(),
+                new BooleanAssignmentGroupsDimacsFormat().serialize(groups).orElseThrow());
+        assertEquals(
+                new BooleanAssignmentGroupsUngroupedCSVFormat()
+                        .serialize(mergedGroups)
+                        .orElseThrow(),
+                new BooleanAssignmentGroupsUngroupedCSVFormat()
+                        .serialize(groups)
+                        .orElseThrow());
+    }
+
+    /**
+     * Splits the given spliterator as far as possible and traverses the resulting parts in order.
+     * Checks that the size estimate of each split equals the sum of the estimates of both parts.
+     */
+    private static void split(Spliterator<BooleanAssignment> spliterator, List<BooleanAssignment> traversed) {
+        long size = spliterator.estimateSize();
+        Spliterator<BooleanAssignment> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            spliterator.forEachRemaining(traversed::add);
+        } else {
+            assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+            split(prefix, traversed);
+            split(spliterator, traversed);
+        }
+    }
+
+    private static void assertSameElements(List<BooleanAssignment> expected, List<BooleanAssignment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static List<BooleanAssignment> flatten(BooleanAssignmentGroups groups) {
+        List<BooleanAssignment> assignments = new ArrayList<>();
+        for (BooleanAssignmentList group : groups) {
+            assignments.addAll(group.getAll());
+        }
+        return assignments;
+    }
+
+    private static BooleanAssignmentGroups randomGroups(Random random, int[] groupSizes) {
+        VariableMap variableMap = new VariableMap(IntStream.rangeClosed(1, NUMBER_OF_VARIABLES)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+        List<BooleanAssignmentList> groups = new ArrayList<>();
+        for (int size : groupSizes) {
+            BooleanAssignmentList group = new BooleanAssignmentList(variableMap);
+            for (int i = 0; i < size; i++) {
+                int[] literals = new int[NUMBER_OF_VARIABLES];
+                for (int v = 1; v <= NUMBER_OF_VARIABLES; v++) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+                group.add(new BooleanAssignment(literals));
+            }
+            groups.add(group);
+        }
+        return new BooleanAssignmentGroups(variableMap, groups);
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.featjar.formula.VariableMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BooleanAssignmentList}.
+ *
+ * @author agent
+ */
+public class BooleanAssignmentListTest {
+
+    private static final int NUMBER_OF_VARIABLES = 10;
+
+    @Test
+    void adaptsAssignmentsInPlaceAndReplacesSolutions() {
+        Random random = new Random(1);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        VariableMap newVariableMap = reversedVariableMap(variableMap);
+        BooleanAssignmentList list = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 300; i++) {
+            switch (i % 3) {
+                case 0:
+                    list.add(new BooleanAssignment(randomLiterals(random)));
+                    break;
+                case 1:
+                    list.add(new BooleanClause(randomLiterals(random)));
+                    break;
+                default:
+                    list.add(new BooleanSolution(randomSolution(random), false));
+                    break;
+            }
+        }
+        List<BooleanAssignment> originals = new ArrayList<>(list.getAll());
+        List<int[]> expected = adaptCopies(list, variableMap, newVariableMap);
+
+        assertSame(list, list.adapt(newVariableMap));
+        assertSame(newVariableMap, list.getVariableMap());
+        assertEquals(originals.size(), list.size());
+        for (int i = 0; i < list.size(); i++) {
+            BooleanAssignment assignment = list.get(i);
+            assertArrayEquals(expected.get(i), assignment.get());
+            assertSame(originals.get(i).getClass(), assignment.getClass());
+            if (!(assignment instanceof BooleanSolution)) {
+                assertSame(originals.get(i), assignment);
+            }
+        }
+    }
+
+    @Test
+    void integratesOldVariables() {
+        Random random = new Random(2);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        BooleanAssignmentList list = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 2 == 0 ? new BooleanAssignment(randomLiterals(random)) : new BooleanClause(randomLiterals(random)));
+        }
+        List<String> names = List.of("3", "x", "1", "7");
+        VariableMap expectedVariableMap = new VariableMap(names);
+        List<int[]> expected = list.stream()
+                .map(a -> a.clone().adapt(variableMap, expectedVariableMap, true).get())
+                .collect(Collectors.toList());
+
+        VariableMap newVariableMap = new VariableMap(names);
+        list.adapt(newVariableMap, true);
+        assertEquals(expectedVariableMap.getVariableNames(), newVariableMap.getVariableNames());
+        for (int i = 0; i < list.size(); i++) {
+            assertArrayEquals(expected.get(i), list.get(i).get());
+        }
+    }
+
+    @Test
+    void adaptsViewsWithoutChangingViewedList() {
+        Random random = new Random(3);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        VariableMap newVariableMap = reversedVariableMap(variableMap);
+        BooleanAssignmentList assignments = new BooleanAssignmentList(variableMap);
+        BooleanAssignmentList clauses = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 100; i++) {
+            assignments.add(new BooleanAssignment(randomLiterals(random)));
+            clauses.add(new BooleanClause(randomLiterals(random)));
+        }
+        assertAdaptedView(assignments, BooleanAssignmentList::toAssignmentListView, newVariableMap);
+        assertAdaptedView(clauses, BooleanAssignmentList::toClauseListView, newVariableMap);
+        assertAdaptedView(assignments, BooleanAssignmentList::toSolutionListView, newVariableMap);
+    }
+
+    @Test
+    void viewsConvertLazily() {
+        Random random = new Random(4);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        BooleanAssignmentList list = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 10; i++) {
+            list.add(new BooleanAssignment(randomLiterals(random)));
+        }
+        BooleanAssignmentList clauseView = list.toClauseListView();
+        BooleanAssignmentList solutionView = list.toSolutionListView();
+        assertSame(variableMap, clauseView.getVariableMap());
+        assertInstanceOf(BooleanClause.class, clauseView.get(0));
+        assertNotSame(clauseView.get(0), clauseView.get(0));
+        assertSame(list.get(0), list.toAssignmentListView().get(0));
+
+        list.add(new BooleanAssignment(2, -5));
+        list.getAll().set(0, new BooleanAssignment(-1, 3));
+        assertEquals(list.size(), clauseView.size());
+        assertEquals(list.size(), solutionView.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertArrayEquals(list.get(i).toClause().get(), clauseView.get(i).get());
+            assertArrayEquals(
+                    list.get(i).toSolution(NUMBER_OF_VARIABLES).get(),
+                    solutionView.get(i).get());
+        }
+        assertArrayEquals(new int[] {-1, 0, 3, 0, 0, 0, 0, 0, 0, 0}, solutionView.get(0).get());
+    }
+
+    @Test
+    void convertsInParallelInOrder() {
+        Random random = new Random(5);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        BooleanAssignmentList list = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 10_000; i++) {
+            switch (i % 3) {
+                case 0:
+                    list.add(new BooleanAssignment(randomLiterals(random)));
+                    break;
+                case 1:
+                    list.add(new BooleanClause(randomLiterals(random)));
+                    break;
+                default:
+                    list.add(new BooleanSolution(randomSolution(random), false));
+                    break;
+            }
+        }
+        assertConverted(list, list.toAssignmentList(true), BooleanAssignment::toAssignment);
+        assertConverted(list, list.toClauseList(true), BooleanAssignment::toClause);
+        assertConverted(list, list.toSolutionList(true), a -> a.toSolution(NUMBER_OF_VARIABLES));
+        assertConverted(list, list.toAssignmentList(), BooleanAssignment::toAssignment);
+        assertConverted(list, list.toClauseList(), BooleanAssignment::toClause);
+        assertConverted(list, list.toSolutionList(), a -> a.toSolution(NUMBER_OF_VARIABLES));
+    }
+
+    @Test
+    void returnsConvertedListsUnchanged() {
+        Random random = new Random(6);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        BooleanAssignmentList assignments = new BooleanAssignmentList(variableMap);
+        BooleanAssignmentList clauses = new BooleanAssignmentList(variableMap);
+        BooleanAssignmentList solutions = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 1000; i++) {
+            assignments.add(new BooleanAssignment(randomLiterals(random)));
+            clauses.add(new BooleanClause(randomLiterals(random)));
+            solutions.add(new BooleanSolution(randomSolution(random), false));
+        }
+        for (boolean parallel : new boolean[] {false, true}) {
+            assertSame(assignments, assignments.toAssignmentList(parallel));
+            assertSame(clauses, clauses.toClauseList(parallel));
+            assertSame(solutions, solutions.toSolutionList(parallel));
+            assertNotSame(assignments, assignments.toClauseList(parallel));
+            assertNotSame(clauses, clauses.toSolutionList(parallel));
+            assertNotSame(solutions, solutions.toAssignmentList(parallel));
+        }
+        assertSame(assignments, assignments.toAssignmentList());
+        assertSame(clauses, clauses.toClauseList());
+        assertSame(solutions, solutions.toSolutionList());
+
+        BooleanAssignmentList mixed = new BooleanAssignmentList(variableMap, clauses.getAll());
+        mixed.add(new BooleanAssignment(1, 2));
+        BooleanAssignmentList converted = mixed.toClauseList();
+        assertNotSame(mixed, converted);
+        assertInstanceOf(BooleanAssignment.class, mixed.get(mixed.size() - 1));
+        assertSame(clauses.get(0), converted.get(0));
+    }
+
+    private static void assertConverted(
+            BooleanAssignmentList list,
+            BooleanAssignmentList convertedList,
+            UnaryOperator<BooleanAssignment> converter) {
+        assertSame(list.getVariableMap(), convertedList.getVariableMap());
+        assertEquals(list.size(), convertedList.size());
+        for (int i = 0; i < list.size(); i++) {
+            BooleanAssignment expected = converter.apply(list.get(i));
+            assertSame(expected.getClass(), convertedList.get(i).getClass());
+            assertArrayEquals(expected.get(), convertedList.get(i).get());
+        }
+    }
+
+    private static void assertAdaptedView(
+            BooleanAssignmentList list, UnaryOperator<BooleanAssignmentList> viewFunction, VariableMap newVariableMap) {
+        VariableMap variableMap = list.getVariableMap();
+        List<int[]> originalLiterals =
+                list.stream().map(a -> a.get().clone()).collect(Collectors.toList());
+        BooleanAssignmentList view = viewFunction.apply(list);
+        List<int[]> expected = adaptCopies(view, variableMap, newVariableMap);
+
+        view.adapt(newVariableMap);
+        assertSame(newVariableMap, view.getVariableMap());
+        assertSame(variableMap, list.getVariableMap());
+        assertEquals(list.size(), view.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertArrayEquals(expected.get(i), view.get(i).get());
+            assertArrayEquals(originalLiterals.get(i), list.get(i).get());
+        }
+
+        list.add(new BooleanClause(1));
+        assertEquals(list.size() - 1, view.size());
+        list.getAll().remove(list.size() - 1);
+    }
+
+    private static List<int[]> adaptCopies(
+            BooleanAssignmentList list, VariableMap variableMap, VariableMap newVariableMap) {
+        return list.stream()
+                .map(a -> a.clone().adapt(variableMap, newVariableMap).get())
+                .collect(Collectors.toList());
+    }
+
+    private static int[] randomLiterals(Random random) {
+        return random.ints(1, NUMBER_OF_VARIABLES + 1)
+                .distinct()
+                .limit(1 + random.nextInt(NUMBER_OF_VARIABLES))
+                .map(v -> random.nextBoolean() ? v : -v)
+                .toArray();
+    }
+
+    private static int[] randomSolution(Random random) {
+        int[] literals = new int[NUMBER_OF_VARIABLES];
+        for (int v = 1; v <= NUMBER_OF_VARIABLES; v++) {
+            literals[v - 1] = random.nextInt(4) == 0 ? 0 : random.nextBoolean() ? v : -v;
+        }
+        return literals;
+    }
+
+    private static VariableMap reversedVariableMap(VariableMap variableMap) {
+        List<String> names = new ArrayList<>(variableMap.getVariableNames());
+        Collections.reverse(names);
+        names.add(0, "new");
+        return new VariableMap(names);
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the static helpers of {@link BooleanAssignment}.
+ *
+ * @author agent
+ */
+public class BooleanAssignmentTest {
+
+    private static final int NUMBER_OF_VARIABLES = 10;
+
+    @Test
+    void simplifiesLikeLinkedHashSet() {
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            int[] literals = randomLiterals(random, true);
+            int[] copy = literals.clone();
+            assertArrayEquals(simplify(literals), BooleanAssignment.simplify(literals));
+            assertArrayEquals(copy, literals);
+        }
+        assertArrayEquals(new int[] {1, -2, 3}, BooleanAssignment.simplify(new int[] {1, -2, 1, 3, -2}));
+        assertArrayEquals(new int[0], BooleanAssignment.simplify(new int[] {1, -2, 2}));
+        assertArrayEquals(new int[] {0, 1}, BooleanAssignment.simplify(new int[] {0, 1, 0}));
+    }
+
+    @Test
+    void propagatesUnitsLikeLinkedHashSet() {
+        Random random = new Random(2);
+        for (int i = 0; i < 1000; i++) {
+            BooleanClause clause = new BooleanClause(randomLiterals(random, false));
+            BooleanAssignment core = new BooleanAssignment(BooleanAssignment.simplify(randomLiterals(random, false)));
+            assertArrayEquals(unitPropagation(clause, core), BooleanAssignment.unitPropagation(clause, core));
+        }
+        assertArrayEquals(
+                new int[] {3, -4},
+                BooleanAssignment.unitPropagation(new BooleanClause(-1, 3, -4, 3), new BooleanAssignment(1, 2)));
+        assertNull(BooleanAssignment.unitPropagation(new BooleanClause(-1, 2), new BooleanAssignment(2)));
+        assertNull(BooleanAssignment.unitPropagation(new BooleanClause(3, -1, -3), new BooleanAssignment(1)));
+    }
+
+    @Test
+    void shufflesDistinctLiterals() {
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            int[] literals = randomLiterals(random, true);
+            int[] copy = literals.clone();
+            long seed = random.nextLong();
+            int[] shuffled = BooleanAssignment.shuffle(literals, new Random(seed));
+            assertArrayEquals(copy, literals);
+            assertArrayEquals(shuffle(literals, new Random(seed)), shuffled);
+            assertArrayEquals(shuffled, BooleanAssignment.shuffle(literals, new Random(seed)));
+
+            int[] sortedShuffled = shuffled.clone();
+            Arrays.sort(sortedShuffled);
+            int[] distinct = Arrays.stream(literals).filter(l -> l != 0).distinct().sorted().toArray();
+            assertArrayEquals(distinct, sortedShuffled);
+        }
+    }
+
+    @Test
+    void shufflesIntoAllPermutations() {
+        Random random = new Random(4);
+        Set<String> permutations = new HashSet<>();
+        for (int i = 0; i < 600; i++) {
+            permutations.add(Arrays.toString(BooleanAssignment.shuffle(new int[] {1, -2, 3, 1, 0}, random)));
+        }
+        assertEquals(6, permutations.size());
+    }
+
+    /**
+     * Simplifies the literals like {@link BooleanAssignment#simplify(int[])} did before it used a {@link LiteralSet}.
+     */
+    private static int[] simplify(int[] literals) {
+        LinkedHashSet<Integer> integerSet = new LinkedHashSet<>();
+        for (int integer : literals) {
+            if (integer != 0 && integerSet.contains(-integer)) {
+                return new int[] {};
+            } else {
+                integerSet.add(integer);
+            }
+        }
+        if (integerSet.size() == literals.length) {
+            return Arrays.copyOf(literals, literals.length);
+        }
+        return integerSet.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Propagates the core like {@link BooleanAssignment#unitPropagation(BooleanClause, BooleanAssignment)} did before it used a {@link LiteralSet}.
+     */
+    private static int[] unitPropagation(BooleanClause clause, BooleanAssignment core) {
+        LinkedHashSet<Integer> literalSet = new LinkedHashSet<>();
+        for (int var : clause.get()) {
+            if (core.indexOf(var) >= 0) {
+                return null;
+            } else if (core.indexOf(-var) < 0) {
+                if (literalSet.contains(-var)) {
+                    return null;
+                } else {
+                    literalSet.add(var);
+                }
+            }
+        }
+        return literalSet.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Shuffles the distinct non-zero literals with a Fisher-Yates shuffle.
+     * Previously, {@link BooleanAssignment#shuffle(int[], Random)} permuted the given array instead of its result and returned the distinct literals in their original order.
+     */
+    private static int[] shuffle(int[] literals, Random random) {
+        Random curRandom = new Random(random.nextLong());
+        int[] newArray = Arrays.stream(literals).filter(l -> l != 0).distinct().toArray();
+        for (int i = newArray.length - 1; i > 0; --i) {
+            int swapIndex = curRandom.nextInt(i + 1);
+            int temp = newArray[i];
+            newArray[i] = newArray[swapIndex];
+            newArray[swapIndex] = temp;
+        }
+        return newArray;
+    }
+
+    private static int[] randomLiterals(Random random, boolean withZeros) {
+        int[] literals = new int[random.nextInt(2 * NUMBER_OF_VARIABLES)];
+        for (int i = 0; i < literals.length; i++) {
+            int variable = random.nextInt(NUMBER_OF_VARIABLES) + (withZeros ? 0 : 1);
+            literals[i] = random.nextBoolean() ? variable : -variable;
+        }
+        return literals;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ComputeSimplifiedClauseList}.
+ *
+ * @author agent
+ */
+public class ComputeSimplifiedClauseListTest {
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("a", "b", "c", "d"));
+
+    @Test
+    void removesTautologies() {
+        assertClauses(simplify(false, new int[] {1, -1, 2}, new int[] {1, 2}, new int[] {3, -3}), new int[] {1, 2});
+    }
+
+    @Test
+    void removesDuplicates() {
+        assertClauses(
+                simplify(false, new int[] {1, 2}, new int[] {2, 1}, new int[] {-3}, new int[] {1, 2, 2}),
+                new int[] {1, 2},
+                new int[] {-3});
+    }
+
+    @Test
+    void removesSubsumedClauses() {
+        assertClauses(
+                simplify(false, new int[] {1, 2, 3}, new int[] {1}, new int[] {2, 3}, new int[] {-2, 3, 4}),
+                new int[] {1},
+                new int[] {2, 3},
+                new int[] {-2, 3, 4});
+    }
+
+    @Test
+    void strengthensClausesBySelfSubsumingResolution() {
+        assertClauses(
+                simplify(true, new int[] {1, 2}, new int[] {-1, 2, 3}), new int[] {1, 2}, new int[] {2, 3});
+        assertClauses(
+                simplify(false, new int[] {1, 2}, new int[] {-1, 2, 3}), new int[] {1, 2}, new int[] {-1, 2, 3});
+    }
+
+    @Test
+    void removesClausesSubsumedAfterStrengthening() {
+        assertClauses(simplify(true, new int[] {1, 2}, new int[] {-1, 2}, new int[] {2, 3}), new int[] {2});
+    }
+
+    @Test
+    void returnsEmptyClauseForContradiction() {
+        assertClauses(simplify(true, new int[] {1, 2}, new int[] {-1}, new int[] {1}), new int[] {});
+        assertClauses(
+                simplify(false, new int[] {1, 2}, new int[] {-1}, new int[] {1}),
+                new int[] {-1},
+                new int[] {1});
+    }
+
+    @Test
+    void rejectsZeroLiterals() {
+        assertThrows(IllegalArgumentException.class, () -> simplify(false, new int[] {1, 0}));
+    }
+
+    @Test
+    void computesSimplifiedClauseList() {
+        BooleanAssignmentList clauseList =
+                new BooleanAssignmentList(VARIABLE_MAP, new BooleanClause(1, 2), new BooleanClause(-1, 2, 3));
+        assertClauses(
+                Computations.of(clauseList).map(ComputeSimplifiedClauseList::new).compute(),
+                new int[] {1, 2},
+                new int[] {2, 3});
+    }
+
+    private static BooleanAssignmentList simplify(boolean selfSubsumingResolution, int[]... clauses) {
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(VARIABLE_MAP);
+        for (int[] clause : clauses) {
+            clauseList.add(new BooleanAssignment(clause));
+        }
+        return ComputeSimplifiedClauseList.simplify(clauseList, selfSubsumingResolution);
+    }
+
+    private static void assertClauses(BooleanAssignmentList clauseList, int[]... expectedClauses) {
+        assertEquals(expectedClauses.length, clauseList.size());
+        for (int i = 0; i < expectedClauses.length; i++) {
+            assertArrayEquals(expectedClauses[i], clauseList.get(i).get());
+        }
+    }
+}
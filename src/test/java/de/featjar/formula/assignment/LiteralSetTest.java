@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LiteralSet}.
+ *
+ * @author agent
+ */
+public class LiteralSetTest {
+
+    @Test
+    void keepsInsertionOrder() {
+        LiteralSet set = new LiteralSet();
+        assertTrue(set.add(5));
+        assertTrue(set.add(-3));
+        assertTrue(set.add(0));
+        assertFalse(set.add(5));
+        assertTrue(set.add(3));
+        assertFalse(set.add(-3));
+        assertEquals(4, set.size());
+        assertArrayEquals(new int[] {5, -3, 0, 3}, set.toArray());
+        assertEquals(-3, set.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(4));
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(-5));
+    }
+
+    @Test
+    void behavesLikeLinkedHashSet() {
+        Random random = new Random(1);
+        for (int expectedSize : new int[] {0, 1, 16, 1000}) {
+            LiteralSet set = new LiteralSet(expectedSize);
+            for (int round = 0; round < 20; round++) {
+                LinkedHashSet<Integer> expected = new LinkedHashSet<>();
+                int range = 1 + random.nextInt(5000);
+                for (int i = random.nextInt(3000); i > 0; i--) {
+                    int element = random.nextInt(2 * range + 1) - range;
+                    assertEquals(expected.add(element), set.add(element));
+                }
+                assertEquals(expected.size(), set.size());
+                assertArrayEquals(
+                        expected.stream().mapToInt(Integer::intValue).toArray(), set.toArray());
+                for (int element = -range - 1; element <= range + 1; element++) {
+                    assertEquals(expected.contains(element), set.contains(element));
+                }
+                set.clear();
+            }
+        }
+    }
+
+    @Test
+    void clearsAllElements() {
+        LiteralSet set = new LiteralSet();
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 1; i <= 10; i++) {
+                assertTrue(set.add(round % 2 == 0 ? i : -i));
+            }
+            set.clear();
+            assertEquals(0, set.size());
+            assertArrayEquals(new int[0], set.toArray());
+            for (int i = 1; i <= 10; i++) {
+                assertFalse(set.contains(i));
+                assertFalse(set.contains(-i));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertTrue(set.add(42));
+        assertArrayEquals(new int[] {42}, set.toArray());
+    }
+
+    @Test
+    void reusesSmallThreadLocalSet() {
+        LiteralSet set = LiteralSet.threadLocal();
+        set.add(1);
+        set.add(2);
+        LiteralSet reusedSet = LiteralSet.threadLocal();
+        assertSame(set, reusedSet);
+        assertEquals(0, reusedSet.size());
+        assertFalse(reusedSet.contains(1));
+    }
+
+    @Test
+    void replacesLargeThreadLocalSet() {
+        LiteralSet set = LiteralSet.threadLocal();
+        for (int i = 0; i < 1 << 16; i++) {
+            set.add(i);
+        }
+        LiteralSet newSet = LiteralSet.threadLocal();
+        assertNotSame(set, newSet);
+        assertEquals(0, newSet.size());
+        assertSame(newSet, LiteralSet.threadLocal());
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.formula.VariableMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MappedSampleStore}.
+ *
+ * @author agent
+ */
+public class MappedSampleStoreTest {
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("sample", ".store");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void writesAndOpensSample() throws IOException {
+        for (int numberOfVariables : new int[] {1, 63, 64, 65, 130}) {
+            BooleanAssignmentList sample = randomSample(new Random(numberOfVariables), variableMap(numberOfVariables), 30);
+            MappedSampleStore store = MappedSampleStore.write(file, sample);
+            assertEquals(numberOfVariables, store.getNumberOfColumns());
+            assertStore(sample, store);
+        }
+    }
+
+    @Test
+    void writesVariableMapWithGaps() throws IOException {
+        VariableMap variableMap = new VariableMap();
+        variableMap.add(2, "b");
+        variableMap.add(3, "c");
+        variableMap.add(7, "g");
+        BooleanAssignmentList sample = randomSample(new Random(1), variableMap, 20);
+
+        try (MappedSampleStore.Writer writer = MappedSampleStore.create(file, variableMap)) {
+            for (BooleanAssignment assignment : sample) {
+                writer.add(assignment);
+            }
+            assertEquals(sample.size(), writer.size());
+        }
+        MappedSampleStore store = MappedSampleStore.open(file);
+        assertEquals(7, store.getNumberOfColumns());
+        assertEquals(7, store.getVariableMap().maxIndex());
+        for (int v = 1; v <= 7; v++) {
+            assertEquals(variableMap.get(v).orElse(null), store.getVariableMap().get(v).orElse(null));
+        }
+        assertStore(sample, store);
+    }
+
+    @Test
+    void rejectsVariablesOutsideOfVariableMap() throws IOException {
+        try (MappedSampleStore.Writer writer = MappedSampleStore.create(file, variableMap(3))) {
+            assertThrows(IllegalArgumentException.class, () -> writer.add(new BooleanSolution(1, -2, 3, 4)));
+            writer.add(new BooleanSolution(1, -2, 3));
+        }
+        assertEquals(1, MappedSampleStore.open(file).size());
+    }
+
+    @Test
+    void opensEmptySample() throws IOException {
+        MappedSampleStore store = MappedSampleStore.write(file, new BooleanAssignmentList(variableMap(5)));
+        assertEquals(0, store.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getLiteral(0, 1));
+    }
+
+    @Test
+    void adaptsRemappedAndRemovedVariables() throws IOException {
+        VariableMap variableMap = variableMap(70);
+        BooleanAssignmentList sample = randomSample(new Random(2), variableMap, 20);
+        MappedSampleStore store = MappedSampleStore.write(file, sample);
+
+        List<String> names = new ArrayList<>(variableMap.getVariableNames());
+        names.remove("5");
+        names.remove("66");
+        names.add(0, "new");
+        names.add(10, "other");
+        VariableMap newVariableMap = new VariableMap(names);
+        MappedSampleStore adaptedStore = store.clone().adapt(newVariableMap, false);
+        assertSame(newVariableMap, adaptedStore.getVariableMap());
+        assertAdapted(sample, newVariableMap, adaptedStore);
+
+        names.remove("1");
+        names.add("another");
+        VariableMap secondVariableMap = new VariableMap(names);
+        assertAdapted(sample, secondVariableMap, adaptedStore.adapt(secondVariableMap, false));
+    }
+
+    @Test
+    void cloneIsIndependent() throws IOException {
+        BooleanAssignmentList sample = randomSample(new Random(3), variableMap(10), 20);
+        MappedSampleStore store = MappedSampleStore.write(file, sample);
+        MappedSampleStore clone = store.clone();
+        assertEquals(store, clone);
+
+        List<String> names = new ArrayList<>(sample.getVariableMap().getVariableNames());
+        names.remove("3");
+        Collections.reverse(names);
+        VariableMap newVariableMap = new VariableMap(names);
+        clone.adapt(newVariableMap);
+        assertAdapted(sample, newVariableMap, clone);
+        assertEquals(sample.getVariableMap(), store.getVariableMap());
+        assertStore(sample, store);
+
+        MappedSampleStore secondClone = clone.clone();
+        secondClone.adapt(sample.getVariableMap());
+        assertAdapted(sample, newVariableMap, clone);
+    }
+
+    @Test
+    void equalsAndHashCode() throws IOException {
+        BooleanAssignmentList sample = randomSample(new Random(4), variableMap(10), 20);
+        Path sameFile = Files.createTempFile("sample", ".store");
+        Path otherFile = Files.createTempFile("sample", ".store");
+        try {
+            MappedSampleStore store = MappedSampleStore.write(file, sample);
+            MappedSampleStore sameStore = MappedSampleStore.write(sameFile, sample);
+            assertEquals(store, sameStore);
+            assertEquals(store.hashCode(), sameStore.hashCode());
+            assertEquals(store.hashCode(), store.clone().hashCode());
+
+            BooleanAssignmentList otherSample = sample.clone();
+            otherSample.getAll().set(5, otherSample.get(5).inverse());
+            MappedSampleStore otherStore = MappedSampleStore.write(otherFile, otherSample);
+            assertNotEquals(store, otherStore);
+            assertNotEquals(store, sample);
+        } finally {
+            Files.deleteIfExists(sameFile);
+            Files.deleteIfExists(otherFile);
+        }
+    }
+
+    @Test
+    void detectsTruncatedFile() throws IOException {
+        MappedSampleStore.write(file, randomSample(new Random(5), variableMap(10), 20));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertThrows(IOException.class, () -> MappedSampleStore.open(file));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(10);
+        }
+        assertThrows(IOException.class, () -> MappedSampleStore.open(file));
+    }
+
+    @Test
+    void detectsInvalidHeader() throws IOException {
+        MappedSampleStore.write(file, randomSample(new Random(6), variableMap(10), 20));
+        overwrite(0, 0x12345678);
+        assertThrows(IOException.class, () -> MappedSampleStore.open(file));
+
+        MappedSampleStore.write(file, randomSample(new Random(6), variableMap(10), 20));
+        overwrite(Integer.BYTES, 2);
+        assertThrows(IOException.class, () -> MappedSampleStore.open(file));
+
+        Files.write(file, new byte[0]);
+        assertThrows(IOException.class, () -> MappedSampleStore.open(file));
+    }
+
+    private void overwrite(long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+            buffer.putInt(value).flip();
+            channel.write(buffer, position);
+        }
+    }
+
+    private static void assertStore(BooleanAssignmentList sample, MappedSampleStore store) {
+        int maxIndex = sample.getVariableMap().maxIndex();
+        assertEquals(sample.size(), store.size());
+        int[] buffer = new int[maxIndex];
+        BooleanAssignmentList.Row row = store.row();
+        for (int i = 0; i < sample.size(); i++) {
+            int[] literals = sample.get(i).get();
+            assertArrayEquals(literals, store.getLiterals(i, buffer));
+            assertArrayEquals(literals, store.get(i).get());
+            assertArrayEquals(literals, row.moveTo(i).get());
+            for (int v = 1; v <= maxIndex; v++) {
+                assertEquals(literals[v - 1], store.getLiteral(i, v));
+            }
+        }
+        int[] index = {0};
+        store.forEachRow(r -> assertArrayEquals(sample.get(index[0]++).get(), r.get()));
+        assertEquals(sample.size(), index[0]);
+    }
+
+    /**
+     * Checks that each variable of the new variable map has the value of the variable with the same name in the sample.
+     */
+    private static void assertAdapted(
+            BooleanAssignmentList sample, VariableMap newVariableMap, MappedSampleStore store) {
+        VariableMap oldVariableMap = sample.getVariableMap();
+        int maxIndex = newVariableMap.maxIndex();
+        int[] buffer = new int[maxIndex];
+        BooleanAssignmentList.Row row = store.row();
+        for (int i = 0; i < sample.size(); i++) {
+            int[] expected = new int[maxIndex];
+            for (int v = 1; v <= maxIndex; v++) {
+                String name = newVariableMap.get(v).orElse(null);
+                int oldVariable = name == null ? 0 : oldVariableMap.get(name).orElse(0);
+                int oldLiteral = oldVariable == 0 ? 0 : sample.get(i).get()[oldVariable - 1];
+                expected[v - 1] = oldLiteral == 0 ? 0 : oldLiteral > 0 ? v : -v;
+            }
+            assertArrayEquals(expected, store.getLiterals(i, buffer));
+            assertArrayEquals(expected, store.get(i).get());
+            assertArrayEquals(expected, row.moveTo(i).get());
+            for (int v = 1; v <= maxIndex; v++) {
+                assertEquals(expected[v - 1], store.getLiteral(i, v));
+            }
+            assertEquals(0, store.getLiteral(i, maxIndex + 1));
+        }
+    }
+
+    private static BooleanAssignmentList randomSample(Random random, VariableMap variableMap, int size) {
+        int maxIndex = variableMap.maxIndex();
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[maxIndex];
+            for (int v = 1; v <= maxIndex; v++) {
+                if (variableMap.has(v) && random.nextInt(4) != 0) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(variableMap, solutions);
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+}
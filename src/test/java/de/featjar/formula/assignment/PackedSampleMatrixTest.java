@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.metrics.DistanceMetrics;
+import de.featjar.formula.assignment.metrics.HammingDistance;
+import de.featjar.formula.assignment.metrics.IDistanceFunction;
+import de.featjar.formula.assignment.metrics.JaccardSelectedDistance;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link PackedSampleMatrix} with computations on the literal arrays of each {@link BooleanAssignment}.
+ *
+ * @author agent
+ */
+public class PackedSampleMatrixTest {
+
+    private static final int[] NUMBER_OF_VARIABLES = {1, 5, 63, 64, 65, 130};
+
+    @Test
+    void storesLiterals() {
+        Random random = new Random(1);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 20, 0.3);
+            PackedSampleMatrix matrix = new PackedSampleMatrix(sample);
+            assertEquals(sample.size(), matrix.size());
+            assertEquals(numberOfVariables, matrix.getNumberOfVariables());
+            assertEquals((numberOfVariables + 63) / 64, matrix.getWordsPerRow());
+            for (int i = 0; i < sample.size(); i++) {
+                int[] literals = sample.get(i).get();
+                assertArrayEquals(literals, matrix.getLiterals(i));
+                assertArrayEquals(literals, matrix.get(i).get());
+                for (int v = 1; v <= numberOfVariables; v++) {
+                    assertEquals(literals[v - 1], matrix.getLiteral(i, v));
+                }
+            }
+            ArenaBooleanAssignmentList list = matrix.toAssignmentList();
+            for (int i = 0; i < sample.size(); i++) {
+                assertArrayEquals(sample.get(i).get(), list.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    void indexesUnorderedAssignmentsByVariable() {
+        PackedSampleMatrix matrix = new PackedSampleMatrix(variableMap(70));
+        matrix.add(new BooleanAssignment(70, -3, 1));
+        matrix.add(new BooleanClause(-65, 64));
+        int[] expected = new int[70];
+        expected[0] = 1;
+        expected[2] = -3;
+        expected[69] = 70;
+        assertArrayEquals(expected, matrix.getLiterals(0));
+        expected = new int[70];
+        expected[63] = 64;
+        expected[64] = -65;
+        assertArrayEquals(expected, matrix.getLiterals(1));
+        assertThrows(IllegalArgumentException.class, () -> matrix.add(new BooleanAssignment(71)));
+    }
+
+    @Test
+    void countsDifferences() {
+        Random random = new Random(2);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 15, 0.3);
+            PackedSampleMatrix matrix = new PackedSampleMatrix(sample);
+            for (int i = 0; i < sample.size(); i++) {
+                int[] literals1 = sample.get(i).get();
+                for (int j = 0; j < sample.size(); j++) {
+                    int[] literals2 = sample.get(j).get();
+                    int differences = 0;
+                    int commonPositives = 0;
+                    int commonNegatives = 0;
+                    for (int k = 0; k < numberOfVariables; k++) {
+                        if (literals1[k] != literals2[k]) {
+                            differences++;
+                        } else if (literals1[k] > 0) {
+                            commonPositives++;
+                        } else if (literals1[k] < 0) {
+                            commonNegatives++;
+                        }
+                    }
+                    assertEquals(differences, matrix.countDifferences(i, j));
+                    assertEquals(commonPositives, matrix.countCommonPositives(i, j));
+                    assertEquals(commonNegatives, matrix.countCommonNegatives(i, j));
+                }
+                assertEquals(IntStream.of(literals1).filter(l -> l > 0).count(), matrix.countPositives(i));
+                assertEquals(IntStream.of(literals1).filter(l -> l < 0).count(), matrix.countNegatives(i));
+            }
+        }
+    }
+
+    @Test
+    void computesJaccardDistance() {
+        Random random = new Random(3);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 15, 0.3);
+            BooleanAssignmentList completeSample = randomSample(random, numberOfVariables, 15, 0);
+            PackedSampleMatrix matrix = new PackedSampleMatrix(sample);
+            PackedSampleMatrix completeMatrix = new PackedSampleMatrix(completeSample);
+            JaccardSelectedDistance jaccard = new JaccardSelectedDistance();
+            for (int i = 0; i < sample.size(); i++) {
+                for (int j = 0; j < sample.size(); j++) {
+                    assertEquals(
+                            jaccardDistance(sample.get(i).get(), sample.get(j).get()),
+                            matrix.computeJaccardDistance(i, j),
+                            1e-12);
+                    int[] literals1 = completeSample.get(i).get();
+                    int[] literals2 = completeSample.get(j).get();
+                    if (IntStream.of(literals1).anyMatch(l -> l > 0) || IntStream.of(literals2).anyMatch(l -> l > 0)) {
+                        assertEquals(
+                                jaccard.computeDistance(literals1, literals2),
+                                completeMatrix.computeJaccardDistance(i, j),
+                                1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void countsLiteralFrequencies() {
+        Random random = new Random(4);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 30, 0.3);
+            int[] expected = new int[2 * numberOfVariables + 1];
+            for (BooleanAssignment assignment : sample) {
+                for (int literal : assignment.get()) {
+                    if (literal != 0) {
+                        expected[numberOfVariables + literal]++;
+                    }
+                }
+            }
+            assertArrayEquals(expected, new PackedSampleMatrix(sample).countLiteralFrequencies());
+        }
+    }
+
+    @Test
+    void removesDuplicates() {
+        Random random = new Random(5);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 20, 0.3);
+            for (int i = 0; i < 20; i++) {
+                sample.add(sample.get(random.nextInt(sample.size())).clone());
+            }
+            sample.add(new BooleanSolution(new int[numberOfVariables], false));
+            sample.add(new BooleanSolution(new int[numberOfVariables], false));
+            Map<List<Integer>, int[]> distinctRows = new LinkedHashMap<>();
+            for (BooleanAssignment assignment : sample) {
+                int[] literals = assignment.get();
+                distinctRows.putIfAbsent(IntStream.of(literals).boxed().collect(Collectors.toList()), literals);
+            }
+
+            PackedSampleMatrix matrix = new PackedSampleMatrix(sample).removeDuplicates();
+            assertEquals(distinctRows.size(), matrix.size());
+            int row = 0;
+            for (int[] literals : distinctRows.values()) {
+                assertArrayEquals(literals, matrix.getLiterals(row++));
+            }
+            for (int i = 0; i < matrix.size(); i++) {
+                for (int j = 0; j < matrix.size(); j++) {
+                    assertEquals(i == j, matrix.equals(i, j));
+                }
+            }
+        }
+    }
+
+    @Test
+    void projectsVariables() {
+        Random random = new Random(6);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 20, 0.3);
+            int[] variables = IntStream.rangeClosed(1, numberOfVariables)
+                    .filter(v -> random.nextBoolean())
+                    .map(v -> random.nextBoolean() ? v : -v)
+                    .toArray();
+            PackedSampleMatrix matrix = new PackedSampleMatrix(sample).project(variables);
+            assertEquals(sample.size(), matrix.size());
+            for (int i = 0; i < sample.size(); i++) {
+                int[] expected = sample.get(i).get().clone();
+                for (int k = 0; k < numberOfVariables; k++) {
+                    final int variable = k + 1;
+                    if (IntStream.of(variables).noneMatch(v -> Math.abs(v) == variable)) {
+                        expected[k] = 0;
+                    }
+                }
+                assertArrayEquals(expected, matrix.getLiterals(i));
+            }
+            PackedSampleMatrix unprojectedMatrix = new PackedSampleMatrix(sample);
+            assertThrows(IllegalArgumentException.class, () -> unprojectedMatrix.project(numberOfVariables + 1));
+        }
+    }
+
+    @Test
+    void distanceMetricsUsePackedSample() {
+        Random random = new Random(7);
+        for (int numberOfVariables : NUMBER_OF_VARIABLES) {
+            BooleanAssignmentList sample = randomSample(random, numberOfVariables, 15, 0.2);
+            BooleanAssignmentList assignments = new BooleanAssignmentList(
+                    sample.getVariableMap(),
+                    sample.stream()
+                            .map(solution -> new BooleanAssignment(solution.get()))
+                            .collect(Collectors.toList()));
+            for (IDistanceFunction function : List.of(new HammingDistance(), new JaccardSelectedDistance())) {
+                DistanceMetrics packedMetrics = new DistanceMetrics(function);
+                packedMetrics.setSample(sample);
+                DistanceMetrics metrics = new DistanceMetrics(function);
+                metrics.setSample(assignments);
+                double[] expected = new double[sample.size() * (sample.size() - 1) / 2];
+                int index = 0;
+                for (int i = 0; i < sample.size() - 1; i++) {
+                    for (int j = i + 1; j < sample.size(); j++) {
+                        expected[index++] = function.computeDistance(sample.get(i).get(), sample.get(j).get());
+                    }
+                }
+                assertArrayEquals(expected, metrics.getValues(), 1e-12);
+                assertArrayEquals(expected, packedMetrics.getValues(), 1e-12);
+            }
+        }
+    }
+
+    private static double jaccardDistance(int[] literals1, int[] literals2) {
+        int intersection = 0;
+        int union = 0;
+        for (int k = 0; k < literals1.length; k++) {
+            if (literals1[k] > 0 && literals2[k] > 0) {
+                intersection++;
+            }
+            if (literals1[k] > 0 || literals2[k] > 0) {
+                union++;
+            }
+        }
+        return union == 0 ? 0 : 1 - ((double) intersection / union);
+    }
+
+    private static BooleanAssignmentList randomSample(
+            Random random, int numberOfVariables, int size, double unassigned) {
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[numberOfVariables];
+            for (int v = 1; v <= numberOfVariables; v++) {
+                if (random.nextDouble() >= unassigned) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(variableMap(numberOfVariables), solutions);
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SortedBooleanAssignment} and the variable filters of {@link BooleanAssignment}.
+ *
+ * @author agent
+ */
+public class SortedBooleanAssignmentTest {
+
+    private static final int NUMBER_OF_VARIABLES = 20;
+
+    @Test
+    void sortsLiteralsByVariable() {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            int[] literals = randomLiterals(random);
+            int[] copy = literals.clone();
+            SortedBooleanAssignment assignment = new SortedBooleanAssignment(literals);
+            assertArrayEquals(copy, literals);
+            assertArrayEquals(sorted(literals), assignment.get());
+            assertArrayEquals(sorted(literals), new SortedBooleanAssignment(new BooleanAssignment(literals)).get());
+            assertArrayEquals(assignment.get(), new SortedBooleanAssignment(assignment).get());
+            assertArrayEquals(assignment.get(), assignment.clone().get());
+        }
+        assertArrayEquals(new int[] {-1, 1, 1, -2, 3, -4, -4, 4}, SortedBooleanAssignment.sortByVariable(new int[] {
+            4, 1, -4, 3, -1, -2, 1, -4
+        }));
+    }
+
+    @Test
+    void findsLiteralsAndVariables() {
+        Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            int[] literals = randomLiterals(random);
+            SortedBooleanAssignment assignment = new SortedBooleanAssignment(literals);
+            BooleanAssignment unsorted = new BooleanAssignment(literals);
+            BooleanAssignment reference = new BooleanAssignment(assignment.get());
+            for (int variable = 0; variable <= NUMBER_OF_VARIABLES + 1; variable++) {
+                for (int literal : new int[] {variable, -variable}) {
+                    assertEquals(reference.indexOf(literal), assignment.indexOf(literal));
+                    assertArrayEquals(reference.indicesOf(literal), assignment.indicesOf(literal));
+                    assertEquals(unsorted.indexOf(literal) >= 0, assignment.indexOf(literal) >= 0);
+                }
+                assertEquals(reference.indexOfVariable(variable), assignment.indexOfVariable(variable));
+                assertArrayEquals(reference.indicesOfVariable(variable), assignment.indicesOfVariable(variable));
+                assertEquals(unsorted.containsVariable(variable), assignment.containsVariable(variable));
+            }
+            assertThrows(IllegalArgumentException.class, () -> assignment.indexOfVariable(-1));
+            assertThrows(IllegalArgumentException.class, () -> assignment.indicesOfVariable(-1));
+        }
+    }
+
+    @Test
+    void findsBothSignsOfVariable() {
+        SortedBooleanAssignment assignment = new SortedBooleanAssignment(3, -5, 5, -3, 5, 1);
+        assertArrayEquals(new int[] {1, -3, 3, -5, 5, 5}, assignment.get());
+        assertEquals(1, assignment.indexOfVariable(3));
+        assertArrayEquals(new int[] {1, 2}, assignment.indicesOfVariable(3));
+        assertArrayEquals(new int[] {3, 4, 5}, assignment.indicesOfVariable(5));
+        assertEquals(1, assignment.indexOf(-3));
+        assertEquals(2, assignment.indexOf(3));
+        assertEquals(4, assignment.indexOf(5));
+        assertArrayEquals(new int[] {4, 5}, assignment.indicesOf(5));
+        assertArrayEquals(new int[] {3}, assignment.indicesOf(-5));
+        assertEquals(-1, assignment.indexOf(-1));
+        assertArrayEquals(new int[0], assignment.indicesOfVariable(2));
+    }
+
+    @Test
+    void filtersVariablesLikeBefore() {
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            int[] literals = randomLiterals(random);
+            int[] query = randomVariables(random);
+            BooleanAssignment unsorted = new BooleanAssignment(literals);
+            SortedBooleanAssignment sorted = new SortedBooleanAssignment(literals);
+
+            int[] retained = filter(literals, query, true);
+            int[] removed = filter(literals, query, false);
+            assertArrayEquals(retained, unsorted.retainAllVariables(query));
+            assertArrayEquals(removed, unsorted.removeAllVariables(query));
+            assertArrayEquals(retained, unsorted.retainAllVariables(new BooleanAssignment(query)).get());
+            assertArrayEquals(removed, unsorted.removeAllVariables(new BooleanAssignment(query)).get());
+            assertArrayEquals(retained, unsorted.retainAllVariables(new SortedBooleanAssignment(query)).get());
+            assertArrayEquals(removed, unsorted.removeAllVariables(new SortedBooleanAssignment(query)).get());
+            assertArrayEquals(retained, new BooleanClause(literals).retainAllVariables(new BooleanAssignment(query)).get());
+            assertArrayEquals(removed, new BooleanClause(literals).removeAllVariables(new BooleanAssignment(query)).get());
+
+            int[] sortedRetained = filter(sorted.get(), query, true);
+            int[] sortedRemoved = filter(sorted.get(), query, false);
+            assertArrayEquals(sortedRetained, sorted.retainAllVariables(query));
+            assertArrayEquals(sortedRemoved, sorted.removeAllVariables(query));
+            for (BooleanAssignment queryAssignment :
+                    new BooleanAssignment[] {new BooleanAssignment(query), new SortedBooleanAssignment(query)}) {
+                SortedBooleanAssignment retainedAssignment = sorted.retainAllVariables(queryAssignment);
+                SortedBooleanAssignment removedAssignment = sorted.removeAllVariables(queryAssignment);
+                assertArrayEquals(sortedRetained, retainedAssignment.get());
+                assertArrayEquals(sortedRemoved, removedAssignment.get());
+                assertInstanceOf(SortedBooleanAssignment.class, retainedAssignment);
+                assertInstanceOf(SortedBooleanAssignment.class, removedAssignment);
+            }
+        }
+    }
+
+    @Test
+    void rejectsNegativeVariables() {
+        BooleanAssignment unsorted = new BooleanAssignment(1, -2, 3);
+        SortedBooleanAssignment sorted = new SortedBooleanAssignment(1, -2, 3);
+        for (BooleanAssignment assignment : new BooleanAssignment[] {unsorted, sorted, new BooleanAssignment()}) {
+            assertThrows(IllegalArgumentException.class, () -> assignment.retainAllVariables(2, -3));
+            assertThrows(IllegalArgumentException.class, () -> assignment.removeAllVariables(2, -3));
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> assignment.retainAllVariables(new SortedBooleanAssignment(2, -3)));
+            assertThrows(
+                    IllegalArgumentException.class, () -> assignment.removeAllVariables(new BooleanAssignment(2, -3)));
+        }
+    }
+
+    @Test
+    void keepsOrderAfterAdapt() {
+        Random random = new Random(4);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        List<String> names = new ArrayList<>(variableMap.getVariableNames());
+        Collections.reverse(names);
+        names.add(3, "new");
+        VariableMap newVariableMap = new VariableMap(names);
+        int[] translationTable = variableMap.getTranslationTable(newVariableMap);
+        for (int i = 0; i < 200; i++) {
+            int[] literals = randomLiterals(random);
+            int[] expected = sorted(new BooleanAssignment(literals)
+                    .adapt(variableMap, newVariableMap)
+                    .get());
+
+            SortedBooleanAssignment assignment = new SortedBooleanAssignment(literals);
+            assignment.hashCode();
+            assertArrayEquals(expected, assignment.adapt(variableMap, newVariableMap).get());
+            assertEquals(new SortedBooleanAssignment(expected).hashCode(), assignment.hashCode());
+
+            assignment = new SortedBooleanAssignment(literals);
+            assignment.hashCode();
+            assertArrayEquals(
+                    expected,
+                    assignment
+                            .adapt(variableMap, newVariableMap, translationTable)
+                            .get());
+            assertEquals(new SortedBooleanAssignment(expected).hashCode(), assignment.hashCode());
+        }
+    }
+
+    @Test
+    void keepsOrderAfterInverse() {
+        Random random = new Random(5);
+        for (int i = 0; i < 200; i++) {
+            int[] literals = randomLiterals(random);
+            SortedBooleanAssignment inverse = new SortedBooleanAssignment(literals).inverse();
+            assertArrayEquals(
+                    sorted(Arrays.stream(literals).map(l -> -l).toArray()), inverse.get());
+            assertTrue(Arrays.equals(sorted(literals), inverse.inverse().get()));
+        }
+    }
+
+    /**
+     * Filters the literals the way {@link BooleanAssignment} did before it used binary search, i.e., by marking the indices of each queried variable.
+     */
+    private static int[] filter(int[] literals, int[] variables, boolean retain) {
+        BooleanAssignment assignment = new BooleanAssignment(literals);
+        boolean[] marker = new boolean[literals.length];
+        for (int variable : variables) {
+            for (int index : assignment.indicesOfVariable(variable)) {
+                marker[index] = true;
+            }
+        }
+        return IntStream.range(0, literals.length)
+                .filter(i -> marker[i] == retain)
+                .map(i -> literals[i])
+                .toArray();
+    }
+
+    private static int[] sorted(int[] literals) {
+        return Arrays.stream(literals)
+                .boxed()
+                .sorted((l1, l2) -> Math.abs(l1) != Math.abs(l2)
+                        ? Integer.compare(Math.abs(l1), Math.abs(l2))
+                        : Integer.compare(l1, l2))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * {@return random literals, which may contain duplicates and both signs of a variable}
+     */
+    private static int[] randomLiterals(Random random) {
+        int[] literals = new int[random.nextInt(2 * NUMBER_OF_VARIABLES)];
+        for (int i = 0; i < literals.length; i++) {
+            int variable = random.nextInt(NUMBER_OF_VARIABLES) + 1;
+            literals[i] = random.nextBoolean() ? variable : -variable;
+        }
+        return literals;
+    }
+
+    /**
+     * {@return random unsorted variables, which may contain duplicates}
+     */
+    private static int[] randomVariables(Random random) {
+        int[] variables = new int[random.nextInt(NUMBER_OF_VARIABLES)];
+        for (int i = 0; i < variables.length; i++) {
+            variables[i] = random.nextInt(NUMBER_OF_VARIABLES + 2) + 1;
+        }
+        return variables;
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+}
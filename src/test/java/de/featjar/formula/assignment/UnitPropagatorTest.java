@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link UnitPropagator}.
+ *
+ * @author agent
+ */
+public class UnitPropagatorTest {
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("a", "b", "c", "d", "e", "f"));
+
+    @Test
+    void propagatesUnitChainAtRootLevel() {
+        UnitPropagator propagator =
+                propagator(new int[] {-1, 2}, new int[] {-2, 3}, new int[] {-3, 4}, new int[] {1}, new int[] {5, 6});
+        assertFalse(propagator.isUnsatisfiable());
+        assertEquals(0, propagator.getLevel());
+        assertArrayEquals(new int[] {1, 2, 3, 4}, propagator.getRootAssignment().get());
+        assertEquals(0, propagator.getValue(5));
+        assertEquals(-1, propagator.getValue(-4));
+    }
+
+    @Test
+    void propagatesUnitChainFromAssumption() {
+        UnitPropagator propagator = propagator(new int[] {-1, 2}, new int[] {-2, 3}, new int[] {-3, -4, 5});
+        assertTrue(propagator.assume(1, 4));
+        assertEquals(1, propagator.getLevel());
+        assertArrayEquals(new int[] {1, 4, 2, 3, 5}, propagator.getAssignment().get());
+        assertArrayEquals(new int[0], propagator.getRootAssignment().get());
+    }
+
+    @Test
+    void detectsConflictAtRootLevel() {
+        UnitPropagator propagator = propagator(new int[] {1}, new int[] {-1, 2}, new int[] {-2});
+        assertTrue(propagator.isUnsatisfiable());
+        assertFalse(propagator.assume(3));
+        assertFalse(propagator.test(3));
+    }
+
+    @Test
+    void leavesStateUnchangedAfterConflictingTest() {
+        UnitPropagator propagator =
+                propagator(new int[] {-1, 2}, new int[] {-1, 3}, new int[] {-2, -3}, new int[] {-4, 5});
+        assertTrue(propagator.assume(4));
+        int[] assignment = propagator.getAssignment().get();
+
+        assertFalse(propagator.test(1));
+        assertFalse(propagator.test(-5));
+        assertEquals(1, propagator.getLevel());
+        assertArrayEquals(assignment, propagator.getAssignment().get());
+        assertEquals(0, propagator.getValue(1));
+        assertEquals(0, propagator.getValue(2));
+        assertEquals(0, propagator.getValue(3));
+
+        assertTrue(propagator.test(2));
+        assertEquals(1, propagator.getLevel());
+        assertArrayEquals(assignment, propagator.getAssignment().get());
+        assertTrue(propagator.assume(-1));
+    }
+
+    @Test
+    void repropagatesAfterMultiLevelBacktrack() {
+        UnitPropagator propagator =
+                propagator(new int[] {-1, 2}, new int[] {-3, 4}, new int[] {-2, -4, 5}, new int[] {-5, 6});
+        assertTrue(propagator.assume(1));
+        assertTrue(propagator.assume(3));
+        assertEquals(2, propagator.getLevel());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, propagator.getAssignment().get());
+        assertFalse(propagator.assume(-6));
+        assertEquals(2, propagator.getLevel());
+
+        propagator.backtrack(0);
+        assertEquals(0, propagator.getLevel());
+        assertArrayEquals(new int[0], propagator.getAssignment().get());
+        for (int variable = 1; variable <= 6; variable++) {
+            assertEquals(0, propagator.getValue(variable));
+        }
+
+        assertTrue(propagator.assume(1));
+        assertTrue(propagator.assume(-6));
+        assertEquals(2, propagator.getLevel());
+        assertArrayEquals(new int[] {1, 2, -6, -5, -4, -3}, propagator.getAssignment().get());
+
+        propagator.backtrack(1);
+        assertArrayEquals(new int[] {1, 2}, propagator.getAssignment().get());
+        assertTrue(propagator.assume(3));
+        assertEquals(1, propagator.getValue(6));
+        propagator.backtrack();
+        propagator.backtrack();
+        assertEquals(0, propagator.getLevel());
+    }
+
+    @Test
+    void rejectsInvalidLevelsAndLiterals() {
+        UnitPropagator propagator = propagator(new int[] {-1, 2});
+        assertThrows(IllegalStateException.class, propagator::backtrack);
+        assertThrows(IllegalArgumentException.class, () -> propagator.backtrack(1));
+        assertThrows(IllegalArgumentException.class, () -> propagator.assume(0));
+        assertThrows(IllegalArgumentException.class, () -> propagator.getValue(7));
+    }
+
+    private static UnitPropagator propagator(int[]... clauses) {
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(VARIABLE_MAP);
+        for (int[] clause : clauses) {
+            clauseList.add(new BooleanAssignment(clause));
+        }
+        return new UnitPropagator(clauseList);
+    }
+}
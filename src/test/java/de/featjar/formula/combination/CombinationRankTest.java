@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.combination;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ranking and unranking of {@link ICombinationSpecification combination specifications}.
+ *
+ * @author agent
+ */
+public class CombinationRankTest {
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("a", "b", "c", "d", "e"));
+
+    @Test
+    void variableCombinations() {
+        test(new VariableCombinationSpecification(3, VARIABLE_MAP));
+    }
+
+    @Test
+    void literalCombinations() {
+        test(new LiteralCombinationSpecification(2, new int[] {1, -2, 3, -4, 5}, VARIABLE_MAP));
+    }
+
+    @Test
+    void literalSetsCombinations() {
+        test(new LiteralSetsCombinationSpecification(
+                new int[] {2, 1}, new int[][] {{1, -2, 3}, {-4, 5}}, VARIABLE_MAP));
+    }
+
+    @Test
+    void variableSetsCombinations() {
+        test(new VariableSetsCombinationSpecification(new int[] {1, 2}, new int[][] {{1, 2}, {3, 4, 5}}, VARIABLE_MAP));
+    }
+
+    @Test
+    void booleanAssignmentListCombinations() {
+        test(new BooleanAssignmentListCombinationSpecification(new BooleanAssignmentList(
+                VARIABLE_MAP, new BooleanAssignment(1, -2), new BooleanAssignment(3), new BooleanAssignment(-4, 5, 1))));
+    }
+
+    @Test
+    void multiCombinations() {
+        test(new MultiCombinationSpecification(
+                new VariableCombinationSpecification(1, VARIABLE_MAP),
+                new VariableCombinationSpecification(2, VARIABLE_MAP)));
+    }
+
+    private static void test(ICombinationSpecification specification) {
+        long count = specification.loopCount();
+        List<int[]> combinations = new ArrayList<>();
+        Set<String> distinctCombinations = new HashSet<>();
+        for (long rank = 0; rank < count; rank++) {
+            int[] combination = specification.unrank(rank);
+            combinations.add(combination);
+            assertTrue(distinctCombinations.add(Arrays.toString(combination)));
+            assertEquals(rank, specification.rank(combination));
+        }
+
+        long middle = count / 2;
+        List<int[]> rangeCombinations = new ArrayList<>();
+        specification.forEach(0, middle, combination -> rangeCombinations.add(combination.clone()));
+        specification.forEach(middle, count, combination -> rangeCombinations.add(combination.clone()));
+        assertEquals(combinations.size(), rangeCombinations.size());
+        for (int i = 0; i < combinations.size(); i++) {
+            assertArrayEquals(combinations.get(i), rangeCombinations.get(i));
+        }
+
+        List<int[]> sequentialCombinations = new ArrayList<>();
+        specification.forEach(combination -> sequentialCombinations.add(combination.clone()));
+        assertEquals(toSortedStrings(rangeCombinations), toSortedStrings(sequentialCombinations));
+
+        List<int[]> parallelCombinations = Collections.synchronizedList(new ArrayList<>());
+        specification.forEachParallel(combination -> parallelCombinations.add(combination.clone()));
+        assertEquals(toSortedStrings(rangeCombinations), toSortedStrings(parallelCombinations));
+    }
+
+    private static List<String> toSortedStrings(List<int[]> combinations) {
+        return combinations.stream().map(Arrays::toString).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.ICombinationFilter;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.index.SampleIndexType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares each entry of {@link ComputeCoverageCurve} with {@link ComputeAbsoluteTWiseCoverage} of the corresponding prefix of the sample.
+ *
+ * @author agent
+ */
+public class ComputeCoverageCurveTest {
+
+    private static final ICombinationFilter EXCLUDE_FIRST_VARIABLE =
+            literals -> IntStream.of(literals).anyMatch(literal -> literal == 1);
+    private static final ICombinationFilter INCLUDE_WITHOUT_SECOND_VARIABLE =
+            literals -> IntStream.of(literals).noneMatch(literal -> literal == -2);
+
+    @Test
+    void completeSamples() {
+        Random random = new Random(1);
+        for (int i = 0; i < 5; i++) {
+            compare(
+                    randomSample(random, 3 + random.nextInt(6), 1 + random.nextInt(20), 0),
+                    ICombinationFilter.ACCEPT_NONE,
+                    ICombinationFilter.ACCEPT_ALL);
+        }
+    }
+
+    @Test
+    void partialSamples() {
+        Random random = new Random(2);
+        for (int i = 0; i < 5; i++) {
+            compare(
+                    randomSample(random, 3 + random.nextInt(6), 1 + random.nextInt(20), 0.3),
+                    ICombinationFilter.ACCEPT_NONE,
+                    ICombinationFilter.ACCEPT_ALL);
+        }
+    }
+
+    @Test
+    void filtersAreApplied() {
+        Random random = new Random(3);
+        for (int i = 0; i < 5; i++) {
+            compare(
+                    randomSample(random, 3 + random.nextInt(6), 1 + random.nextInt(20), 0.2),
+                    EXCLUDE_FIRST_VARIABLE,
+                    INCLUDE_WITHOUT_SECOND_VARIABLE);
+        }
+    }
+
+    @Test
+    void emptySample() {
+        BooleanAssignmentList sample = randomSample(new Random(4), 5, 0, 0);
+        assertTrue(computeCurve(
+                        sample, 2, SampleIndexType.ADAPTIVE, ICombinationFilter.ACCEPT_NONE, ICombinationFilter.ACCEPT_ALL)
+                .isEmpty());
+    }
+
+    private static void compare(
+            BooleanAssignmentList sample, ICombinationFilter excludeFilter, ICombinationFilter includeFilter) {
+        for (SampleIndexType indexType : SampleIndexType.values()) {
+            for (int t = 1; t <= 3; t++) {
+                List<CoverageStatistic> curve = computeCurve(sample, t, indexType, excludeFilter, includeFilter);
+                assertEquals(sample.size(), curve.size());
+                for (int i = 0; i < sample.size(); i++) {
+                    BooleanAssignmentList prefix = new BooleanAssignmentList(
+                            sample.getVariableMap(),
+                            IntStream.rangeClosed(0, i).mapToObj(sample::get).collect(Collectors.toList()));
+                    CoverageStatistic expected = Computations.of(prefix)
+                            .map(ComputeAbsoluteTWiseCoverage::new)
+                            .set(
+                                    AComputeTWiseCoverage.COMBINATION_SET,
+                                    new VariableCombinationSpecification(t, sample.getVariableMap()))
+                            .set(AComputeTWiseCoverage.EXCLUDE_INTERACTIONS, excludeFilter)
+                            .set(AComputeTWiseCoverage.INCLUDE_INTERACTIONS, includeFilter)
+                            .compute();
+                    String message = String.format("%s t=%d i=%d", indexType, t, i);
+                    CoverageStatistic statistic = curve.get(i);
+                    assertEquals(expected.covered(), statistic.covered(), message);
+                    assertEquals(expected.uncovered(), statistic.uncovered(), message);
+                    assertEquals(expected.ignored(), statistic.ignored(), message);
+                    assertEquals(expected.invalid(), statistic.invalid(), message);
+                }
+            }
+        }
+    }
+
+    private static List<CoverageStatistic> computeCurve(
+            BooleanAssignmentList sample,
+            int t,
+            SampleIndexType indexType,
+            ICombinationFilter excludeFilter,
+            ICombinationFilter includeFilter) {
+        return Computations.of(sample)
+                .map(ComputeCoverageCurve::new)
+                .set(
+                        ComputeCoverageCurve.COMBINATION_SET,
+                        new VariableCombinationSpecification(t, sample.getVariableMap()))
+                .set(ComputeCoverageCurve.EXCLUDE_INTERACTIONS, excludeFilter)
+                .set(ComputeCoverageCurve.INCLUDE_INTERACTIONS, includeFilter)
+                .set(ComputeCoverageCurve.INDEX_TYPE, indexType)
+                .compute();
+    }
+
+    private static BooleanAssignmentList randomSample(
+            Random random, int numberOfVariables, int size, double unassigned) {
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[numberOfVariables];
+            for (int v = 1; v <= numberOfVariables; v++) {
+                if (random.nextDouble() >= unassigned) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(
+                new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.toList())),
+                solutions);
+    }
+}
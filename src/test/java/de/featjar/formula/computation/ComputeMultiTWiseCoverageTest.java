@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Result;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.LiteralCombinationSpecification;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.index.SampleIndexType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link ComputeMultiTWiseCoverage} with computing {@link ComputeAbsoluteTWiseCoverage} for each t separately.
+ *
+ * @author agent
+ */
+public class ComputeMultiTWiseCoverageTest {
+
+    @Test
+    void completeSamples() {
+        Random random = new Random(1);
+        for (int i = 0; i < 5; i++) {
+            compareAllIndexTypes(randomSample(random, 3 + random.nextInt(6), 1 + random.nextInt(80), 0));
+        }
+    }
+
+    @Test
+    void partialSamples() {
+        Random random = new Random(2);
+        for (int i = 0; i < 5; i++) {
+            compareAllIndexTypes(randomSample(random, 3 + random.nextInt(6), 1 + random.nextInt(80), 0.3));
+        }
+    }
+
+    @Test
+    void emptySample() {
+        compareAllIndexTypes(randomSample(new Random(3), 5, 0, 0));
+    }
+
+    @Test
+    void rejectsMinimumTOutOfRange() {
+        BooleanAssignmentList sample = randomSample(new Random(4), 5, 10, 0);
+        assertFalse(computeResult(sample, 3, 0, SampleIndexType.ADAPTIVE).isPresent());
+        assertFalse(computeResult(sample, 3, -1, SampleIndexType.ADAPTIVE).isPresent());
+        assertFalse(computeResult(sample, 3, 4, SampleIndexType.ADAPTIVE).isPresent());
+        assertFalse(computeResult(sample, 3, 4, SampleIndexType.LIST).isPresent());
+    }
+
+    @Test
+    void rejectsOtherCombinationSpecifications() {
+        BooleanAssignmentList sample = randomSample(new Random(5), 5, 10, 0);
+        Result<List<CoverageStatistic>> result = Computations.of(sample)
+                .map(ComputeMultiTWiseCoverage::new)
+                .set(
+                        ComputeMultiTWiseCoverage.COMBINATION_SET,
+                        new LiteralCombinationSpecification(2, new int[] {1, -1, 2, -2}, sample.getVariableMap()))
+                .computeResult();
+        assertFalse(result.isPresent());
+    }
+
+    private static void compareAllIndexTypes(BooleanAssignmentList sample) {
+        for (SampleIndexType indexType : SampleIndexType.values()) {
+            for (int maxT = 1; maxT <= 3; maxT++) {
+                for (int minT = 1; minT <= maxT; minT++) {
+                    List<CoverageStatistic> statistics = computeResult(sample, maxT, minT, indexType).get();
+                    assertEquals(maxT - minT + 1, statistics.size());
+                    for (int t = minT; t <= maxT; t++) {
+                        CoverageStatistic expected = Computations.of(sample)
+                                .map(ComputeAbsoluteTWiseCoverage::new)
+                                .set(
+                                        AComputeTWiseCoverage.COMBINATION_SET,
+                                        new VariableCombinationSpecification(t, sample.getVariableMap()))
+                                .compute();
+                        String message = String.format("%s t=%d minT=%d maxT=%d", indexType, t, minT, maxT);
+                        CoverageStatistic statistic = statistics.get(t - minT);
+                        assertEquals(expected.covered(), statistic.covered(), message);
+                        assertEquals(expected.uncovered(), statistic.uncovered(), message);
+                        assertEquals(expected.ignored(), statistic.ignored(), message);
+                        assertEquals(expected.invalid(), statistic.invalid(), message);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Result<List<CoverageStatistic>> computeResult(
+            BooleanAssignmentList sample, int maxT, int minT, SampleIndexType indexType) {
+        return Computations.of(sample)
+                .map(ComputeMultiTWiseCoverage::new)
+                .set(
+                        ComputeMultiTWiseCoverage.COMBINATION_SET,
+                        new VariableCombinationSpecification(maxT, sample.getVariableMap()))
+                .set(ComputeMultiTWiseCoverage.MIN_T, minT)
+                .set(ComputeMultiTWiseCoverage.INDEX_TYPE, indexType)
+                .computeResult();
+    }
+
+    private static BooleanAssignmentList randomSample(
+            Random random, int numberOfVariables, int size, double unassigned) {
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[numberOfVariables];
+            for (int v = 1; v <= numberOfVariables; v++) {
+                if (random.nextDouble() >= unassigned) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(
+                new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.toList())),
+                solutions);
+    }
+}
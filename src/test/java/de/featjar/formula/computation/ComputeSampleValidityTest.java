@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.index.SampleBitIndex;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link ComputeSampleValidity} with evaluating each clause for each configuration.
+ *
+ * @author agent
+ */
+public class ComputeSampleValidityTest {
+
+    private static final int NUMBER_OF_VARIABLES = 12;
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void completeSamples() {
+        Random random = new Random(1);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        for (int size : new int[] {0, 1, 63, 64, 65, 200}) {
+            compare(randomSample(random, variableMap, size, 0), randomClauses(random, variableMap, 50, 4));
+        }
+    }
+
+    @Test
+    void partialSamples() {
+        Random random = new Random(2);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        for (int size : new int[] {0, 1, 63, 64, 65, 200}) {
+            compare(randomSample(random, variableMap, size, 0.4), randomClauses(random, variableMap, 50, 4));
+        }
+    }
+
+    @Test
+    void manyClauses() {
+        Random random = new Random(3);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        for (int size : new int[] {63, 64, 65}) {
+            compare(randomSample(random, variableMap, size, 0.1), randomClauses(random, variableMap, 3000, 6));
+        }
+    }
+
+    @Test
+    void emptyClauses() {
+        Random random = new Random(4);
+        VariableMap variableMap = variableMap(NUMBER_OF_VARIABLES);
+        BooleanAssignmentList sample = randomSample(random, variableMap, 65, 0.2);
+        compare(sample, new BooleanAssignmentList(variableMap));
+        compare(sample, new BooleanAssignmentList(variableMap, new BooleanClause(new int[0], false)));
+    }
+
+    @Test
+    void differentVariableMaps() {
+        Random random = new Random(5);
+        VariableMap sampleVariableMap = variableMap(NUMBER_OF_VARIABLES);
+        List<String> names = new ArrayList<>(sampleVariableMap.getVariableNames());
+        Collections.shuffle(names, random);
+        names.remove(0);
+        names.add(3, "x");
+        names.add("y");
+        VariableMap clauseVariableMap = new VariableMap(names);
+        for (int size : new int[] {0, 63, 64, 65}) {
+            compare(
+                    randomSample(random, sampleVariableMap, size, 0.3),
+                    randomClauses(random, clauseVariableMap, 200, 4));
+        }
+    }
+
+    /**
+     * Compares the computation and the static methods with evaluating each clause for each configuration.
+     * If sample and clauses have different variable maps, only the computation is checked, as only it merges the variable maps.
+     */
+    private static void compare(BooleanAssignmentList sample, BooleanAssignmentList clauses) {
+        int[] expected = countViolations(sample, clauses);
+        BitSet expectedValid = new BitSet();
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] == 0) {
+                expectedValid.set(i);
+            }
+        }
+
+        int[] violatedClauses = Computations.of(sample)
+                .map(s -> new ComputeSampleValidity(s, Computations.of(clauses)))
+                .compute();
+        assertArrayEquals(expected, violatedClauses);
+        assertEquals(expectedValid, ComputeSampleValidity.getValidConfigurations(violatedClauses));
+
+        if (sample.getVariableMap().equals(clauses.getVariableMap())) {
+            SampleBitIndex index = new SampleBitIndex(sample);
+            assertArrayEquals(expected, ComputeSampleValidity.countViolations(index, clauses));
+            assertEquals(expectedValid, ComputeSampleValidity.getValidConfigurations(index, clauses));
+        }
+    }
+
+    /**
+     * Counts the violated clauses of each configuration by comparing the names of the variables.
+     * A clause is violated if the configuration contains none of its literals.
+     */
+    private static int[] countViolations(BooleanAssignmentList sample, BooleanAssignmentList clauses) {
+        VariableMap sampleVariableMap = sample.getVariableMap();
+        VariableMap clauseVariableMap = clauses.getVariableMap();
+        int[] violatedClauses = new int[sample.size()];
+        for (int i = 0; i < sample.size(); i++) {
+            int[] configuration = sample.get(i).get();
+            for (BooleanAssignment clause : clauses) {
+                boolean satisfied = false;
+                for (int literal : clause.get()) {
+                    String name = clauseVariableMap.get(Math.abs(literal)).orElseThrow();
+                    int variable = sampleVariableMap.get(name).orElse(0);
+                    if (variable != 0 && configuration[variable - 1] == (literal > 0 ? variable : -variable)) {
+                        satisfied = true;
+                        break;
+                    }
+                }
+                if (!satisfied) {
+                    violatedClauses[i]++;
+                }
+            }
+        }
+        return violatedClauses;
+    }
+
+    private static BooleanAssignmentList randomClauses(
+            Random random, VariableMap variableMap, int numberOfClauses, int maxLength) {
+        int maxIndex = variableMap.maxIndex();
+        BooleanAssignmentList clauses = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < numberOfClauses; i++) {
+            int[] literals = new int[1 + random.nextInt(maxLength)];
+            for (int k = 0; k < literals.length; k++) {
+                int variable = random.nextInt(maxIndex) + 1;
+                literals[k] = random.nextBoolean() ? variable : -variable;
+            }
+            clauses.add(new BooleanClause(literals));
+        }
+        return clauses;
+    }
+
+    private static BooleanAssignmentList randomSample(
+            Random random, VariableMap variableMap, int size, double unassigned) {
+        int maxIndex = variableMap.maxIndex();
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[maxIndex];
+            for (int v = 1; v <= maxIndex; v++) {
+                if (random.nextDouble() >= unassigned) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(variableMap, solutions);
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+}
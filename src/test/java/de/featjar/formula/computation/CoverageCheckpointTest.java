@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.ICombinationFilter;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CoverageCheckpoint} and resuming {@link ComputeAbsoluteTWiseCoverage} from it.
+ *
+ * @author agent
+ */
+public class CoverageCheckpointTest {
+
+    /**
+     * Excludes no interaction, but counts its calls and throws after a given number of calls to interrupt a computation.
+     */
+    private static final class InterruptingFilter implements ICombinationFilter {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile int interruptAfter = Integer.MAX_VALUE;
+
+        @Override
+        public boolean test(int... literals) {
+            if (calls.incrementAndGet() > interruptAfter) {
+                throw new IllegalStateException("interrupted");
+            }
+            return false;
+        }
+    }
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("coverage-checkpoint");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void loadsWrittenProgress() {
+        Path file = directory.resolve("test.checkpoint");
+        CoverageCheckpoint checkpoint = new CoverageCheckpoint(file, "key", 2, 0);
+        checkpoint.update(1, 5, statistic(3, 2, 1, 0));
+        checkpoint.close();
+
+        CoverageCheckpoint loaded = new CoverageCheckpoint(file, "key", 2, 0);
+        assertTrue(loaded.load());
+        assertEquals(0, loaded.getPosition(0));
+        assertEquals(5, loaded.getPosition(1));
+        assertStatistic(statistic(3, 2, 1, 0), loaded.getStatistic(1));
+    }
+
+    @Test
+    void rejectsIncompatibleCheckpoint() {
+        Path file = directory.resolve("test.checkpoint");
+        CoverageCheckpoint checkpoint = new CoverageCheckpoint(file, "key", 2, 0);
+        checkpoint.update(0, 5, statistic(3, 2, 0, 0));
+        checkpoint.close();
+
+        CoverageCheckpoint otherKey = new CoverageCheckpoint(file, "other key", 2, 0);
+        assertFalse(otherKey.load());
+        assertEquals(0, otherKey.getPosition(0));
+        assertFalse(new CoverageCheckpoint(file, "key", 3, 0).load());
+        assertFalse(new CoverageCheckpoint(directory.resolve("missing.checkpoint"), "key", 2, 0).load());
+    }
+
+    @Test
+    void ignoresUpdatesAfterClose() {
+        Path file = directory.resolve("test.checkpoint");
+        CoverageCheckpoint checkpoint = new CoverageCheckpoint(file, "key", 1, 0);
+        checkpoint.update(0, 5, statistic(1, 0, 0, 0));
+        checkpoint.close();
+        checkpoint.update(0, 9, statistic(2, 0, 0, 0));
+        checkpoint.write();
+
+        CoverageCheckpoint loaded = new CoverageCheckpoint(file, "key", 1, 0);
+        assertTrue(loaded.load());
+        assertEquals(5, loaded.getPosition(0));
+    }
+
+    @Test
+    void lockIsExclusive() {
+        Path file = directory.resolve("test.checkpoint");
+        CoverageCheckpoint checkpoint = new CoverageCheckpoint(file, "key", 1, 0);
+        CoverageCheckpoint other = new CoverageCheckpoint(file, "key", 1, 0);
+        assertTrue(checkpoint.lock());
+        assertFalse(other.lock());
+        checkpoint.close();
+        assertTrue(other.lock());
+        other.delete();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void resumedComputationEqualsUninterruptedComputation() {
+        BooleanAssignmentList sample = randomSample(new Random(1), 8, 20);
+        VariableCombinationSpecification specification =
+                new VariableCombinationSpecification(2, sample.getVariableMap());
+        InterruptingFilter filter = new InterruptingFilter();
+        CoverageStatistic expected = compute(sample, specification, filter, Long.MAX_VALUE, false);
+        int numberOfInteractions = filter.calls.get();
+        assertEquals(4 * 28, numberOfInteractions);
+
+        filter.calls.set(0);
+        filter.interruptAfter = numberOfInteractions / 2;
+        try {
+            compute(sample, specification, filter, 1, false);
+        } catch (RuntimeException e) {
+            // the computation is expected to be interrupted
+        }
+        assertTrue(hasCheckpoint());
+
+        filter.calls.set(0);
+        filter.interruptAfter = Integer.MAX_VALUE;
+        assertStatistic(expected, compute(sample, specification, filter, 1, true));
+        assertTrue(filter.calls.get() < numberOfInteractions);
+        assertFalse(hasCheckpoint());
+    }
+
+    @Test
+    void checkpointOfDifferentInteractionsIsNotResumed() {
+        BooleanAssignmentList sample = randomSample(new Random(2), 8, 20);
+        InterruptingFilter filter = new InterruptingFilter();
+        filter.interruptAfter = 4 * 28 / 2;
+        try {
+            compute(sample, new VariableCombinationSpecification(2, sample.getVariableMap()), filter, 1, false);
+        } catch (RuntimeException e) {
+            // the computation is expected to be interrupted
+        }
+        assertTrue(hasCheckpoint());
+
+        VariableCombinationSpecification otherSpecification =
+                new VariableCombinationSpecification(2, new int[] {1, 2, 3, 4, 5, 6, 7}, sample.getVariableMap());
+        filter.calls.set(0);
+        filter.interruptAfter = Integer.MAX_VALUE;
+        CoverageStatistic expected = compute(
+                sample,
+                new VariableCombinationSpecification(otherSpecification),
+                new InterruptingFilter(),
+                Long.MAX_VALUE,
+                false);
+        assertStatistic(expected, compute(sample, otherSpecification, filter, 1, true));
+        assertEquals(4 * 21, filter.calls.get());
+    }
+
+    private CoverageStatistic compute(
+            BooleanAssignmentList sample,
+            VariableCombinationSpecification specification,
+            ICombinationFilter filter,
+            long threshold,
+            boolean resume) {
+        return Computations.of(sample)
+                .map(ComputeAbsoluteTWiseCoverage::new)
+                .set(AComputeTWiseCoverage.COMBINATION_SET, specification)
+                .set(AComputeTWiseCoverage.EXCLUDE_INTERACTIONS, filter)
+                .set(AComputeTWiseCoverage.CHECKPOINT_DIRECTORY, directory)
+                .set(AComputeTWiseCoverage.CHECKPOINT_THRESHOLD, threshold)
+                .set(AComputeTWiseCoverage.RESUME, resume)
+                .compute();
+    }
+
+    private boolean hasCheckpoint() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(".checkpoint"));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static CoverageStatistic statistic(long covered, long uncovered, long invalid, long ignored) {
+        CoverageStatistic statistic = new CoverageStatistic();
+        statistic.setNumberOfCoveredElements(covered);
+        statistic.setNumberOfUncoveredElements(uncovered);
+        statistic.setNumberOfInvalidElements(invalid);
+        statistic.setNumberOfIgnoredElements(ignored);
+        return statistic;
+    }
+
+    private static void assertStatistic(CoverageStatistic expected, CoverageStatistic actual) {
+        assertEquals(expected.covered(), actual.covered());
+        assertEquals(expected.uncovered(), actual.uncovered());
+        assertEquals(expected.ignored(), actual.ignored());
+        assertEquals(expected.invalid(), actual.invalid());
+    }
+
+    private static BooleanAssignmentList randomSample(Random random, int numberOfVariables, int size) {
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[numberOfVariables];
+            for (int v = 1; v <= numberOfVariables; v++) {
+                literals[v - 1] = random.nextBoolean() ? v : -v;
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(
+                new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.toList())),
+                solutions);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.LiteralCombinationSpecification;
+import de.featjar.formula.index.SampleBitIndex;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link GreedySampleReducer}.
+ *
+ * @author agent
+ */
+public class GreedySampleReducerTest {
+
+    @Test
+    void selectsSolutionWithHighestScore() {
+        BooleanAssignmentList sample = new BooleanAssignmentList(
+                variableMap(2),
+                List.of(
+                        new BooleanSolution(1, 2),
+                        new BooleanSolution(-1, -2),
+                        new BooleanSolution(1, -2),
+                        new BooleanSolution(-1, 2)));
+        BooleanAssignmentList reducedSample = reduce(sample, 1, 1);
+        assertEquals(2, reducedSample.size());
+        assertArrayEquals(new int[] {1, 2}, reducedSample.get(0).get());
+        assertArrayEquals(new int[] {-1, -2}, reducedSample.get(1).get());
+    }
+
+    @Test
+    void removesDuplicates() {
+        BooleanAssignmentList sample = new BooleanAssignmentList(
+                variableMap(3),
+                List.of(
+                        new BooleanSolution(1, 2, 3),
+                        new BooleanSolution(1, 2, 3),
+                        new BooleanSolution(-1, -2, -3),
+                        new BooleanSolution(1, 2, 3)));
+        BooleanAssignmentList reducedSample = reduce(sample, 2, 1);
+        assertEquals(2, reducedSample.size());
+        assertCoverage(sample, reducedSample, 2);
+    }
+
+    @Test
+    void preservesCoverage() {
+        Random random = new Random(1);
+        for (int i = 0; i < 30; i++) {
+            BooleanAssignmentList sample = randomSample(random, 3 + random.nextInt(10), 1 + random.nextInt(60));
+            for (int t = 1; t <= 3; t++) {
+                BooleanAssignmentList reducedSample = reduce(sample, t, 1);
+                assertTrue(reducedSample.size() <= sample.size());
+                assertCoverage(sample, reducedSample, t);
+            }
+        }
+    }
+
+    @Test
+    void removesSolutionsMadeRedundantByLaterSelections() {
+        BooleanAssignmentList sample = new BooleanAssignmentList(
+                variableMap(3),
+                List.of(
+                        new BooleanSolution(1, -2, 3),
+                        new BooleanSolution(1, 2, -3),
+                        new BooleanSolution(-1, -2, 3),
+                        new BooleanSolution(1, 2, -3),
+                        new BooleanSolution(-1, 2, 3),
+                        new BooleanSolution(-1, 2, 3)));
+        BooleanAssignmentList reducedSample = reduce(sample, 1, 1);
+        assertEquals(2, reducedSample.size());
+        assertArrayEquals(new int[] {1, 2, -3}, reducedSample.get(0).get());
+        assertArrayEquals(new int[] {-1, -2, 3}, reducedSample.get(1).get());
+    }
+
+    @Test
+    void removesSolutionsMadeRedundantByUniquelyCoveringSolutions() {
+        BooleanAssignmentList sample = new BooleanAssignmentList(
+                variableMap(10),
+                List.of(
+                        new BooleanSolution(-1, -2, 3, 4, 5, 6, 7, 8, 9, 10),
+                        new BooleanSolution(1, -2, -3, -4, -5, -6, 7, 8, 9, 10),
+                        new BooleanSolution(1, 2, -3, -4, 5, 6, -7, -8, 9, 10),
+                        new BooleanSolution(1, 2, 3, 4, -5, -6, 7, 8, -9, -10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, -7, 8, 9, 10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, 7, -8, 9, 10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, -7, 8, 9, 10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, 7, -8, 9, 10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, 7, 8, -9, 10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, 7, 8, 9, -10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, 7, 8, -9, 10),
+                        new BooleanSolution(1, 2, 3, 4, 5, 6, 7, 8, 9, -10)));
+        // The first solution uniquely covers -1 and is kept.
+        // The second solution is selected first, but -3 to -6 are covered by the two later selections
+        // and -2 is only covered by the first solution besides it.
+        BooleanAssignmentList reducedSample = reduce(sample, 1, 1);
+        assertEquals(3, reducedSample.size());
+        assertArrayEquals(sample.get(0).get(), reducedSample.get(0).get());
+        assertArrayEquals(sample.get(2).get(), reducedSample.get(1).get());
+        assertArrayEquals(sample.get(3).get(), reducedSample.get(2).get());
+        assertCoverage(sample, reducedSample, 1);
+    }
+
+    @Test
+    void removesRedundantSolutions() {
+        Random random = new Random(2);
+        for (int i = 0; i < 30; i++) {
+            BooleanAssignmentList sample = randomSample(random, 3 + random.nextInt(10), 1 + random.nextInt(60));
+            int t = 1 + random.nextInt(3);
+            BooleanAssignmentList reducedSample = reduce(sample, t, 1);
+            for (int j = 0; j < reducedSample.size(); j++) {
+                BooleanAssignmentList otherSolutions = new BooleanAssignmentList(sample.getVariableMap());
+                for (int k = 0; k < reducedSample.size(); k++) {
+                    if (k != j) {
+                        otherSolutions.add(reducedSample.get(k));
+                    }
+                }
+                assertFalse(covers(otherSolutions, reducedSample, t), "solution " + j + " is redundant");
+            }
+        }
+    }
+
+    @Test
+    void multipleRunsAreNotWorse() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10; i++) {
+            BooleanAssignmentList sample = randomSample(random, 10 + random.nextInt(10), 50 + random.nextInt(100));
+            BooleanAssignmentList reducedSample = reduce(sample, 2, 4);
+            assertTrue(reducedSample.size() <= reduce(sample, 2, 1).size());
+            assertCoverage(sample, reducedSample, 2);
+        }
+    }
+
+    @Test
+    void returnsPartialResultIfTimeBudgetIsExhausted() {
+        BooleanAssignmentList sample = randomSample(new Random(4), 30, 300);
+        Result<BooleanAssignmentList> result = Computations.of(sample)
+                .map(GreedySampleReducer::new)
+                .set(GreedySampleReducer.T, 3)
+                .set(GreedySampleReducer.TIME_BUDGET, Duration.ofNanos(1))
+                .computeResult();
+        assertTrue(result.isPresent());
+        assertTrue(result.get().size() <= sample.size());
+        assertEquals(1, result.getProblems().size());
+        assertEquals(Problem.Severity.WARNING, result.getProblems().get(0).getSeverity());
+    }
+
+    private static BooleanAssignmentList reduce(BooleanAssignmentList sample, int t, int numberOfRuns) {
+        return Computations.of(sample)
+                .map(GreedySampleReducer::new)
+                .set(GreedySampleReducer.T, t)
+                .set(GreedySampleReducer.NUMBER_OF_RUNS, numberOfRuns)
+                .compute();
+    }
+
+    private static VariableMap variableMap(int numberOfVariables) {
+        return new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+    }
+
+    private static BooleanAssignmentList randomSample(Random random, int numberOfVariables, int size) {
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[numberOfVariables];
+            for (int v = 1; v <= numberOfVariables; v++) {
+                literals[v - 1] = random.nextInt(4) == 0 ? -v : v;
+            }
+            solutions.add(new BooleanSolution(literals));
+        }
+        return new BooleanAssignmentList(variableMap(numberOfVariables), solutions);
+    }
+
+    private static void assertCoverage(BooleanAssignmentList sample, BooleanAssignmentList reducedSample, int t) {
+        assertTrue(covers(reducedSample, sample, t));
+        Set<BooleanAssignment> solutions = new HashSet<>(reducedSample.getAll());
+        assertEquals(reducedSample.size(), solutions.size());
+    }
+
+    private static boolean covers(BooleanAssignmentList sample, BooleanAssignmentList referenceSample, int t) {
+        SampleBitIndex index = new SampleBitIndex(sample);
+        SampleBitIndex referenceIndex = new SampleBitIndex(referenceSample);
+        boolean[] covers = {true};
+        int[] literals = IntStream.rangeClosed(-sample.getVariableMap().size(), sample.getVariableMap().size())
+                .filter(literal -> literal != 0)
+                .toArray();
+        new LiteralCombinationSpecification(t, literals, sample.getVariableMap()).forEach(interaction -> {
+            if (referenceIndex.test(interaction) && !index.test(interaction)) {
+                covers[0] = false;
+            }
+        });
+        return covers[0];
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.combination.ICombinationFilter;
+import de.featjar.formula.combination.VariableCombinationSpecification;
+import de.featjar.formula.index.SampleBitIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link PrefixCoverageTraversal} and {@link ComputeAbsoluteTWiseCoverage} with testing each interaction individually.
+ *
+ * @author agent
+ */
+public class PrefixCoverageTraversalTest {
+
+    private static final ICombinationFilter EXCLUDE_FIRST_VARIABLE =
+            literals -> IntStream.of(literals).anyMatch(literal -> literal == 1);
+    private static final ICombinationFilter INCLUDE_WITHOUT_SECOND_VARIABLE =
+            literals -> IntStream.of(literals).noneMatch(literal -> literal == -2);
+
+    @Test
+    void completeSamples() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10; i++) {
+            compare(randomSample(random, 3 + random.nextInt(8), 1 + random.nextInt(40), 0));
+        }
+    }
+
+    @Test
+    void partialSamples() {
+        Random random = new Random(2);
+        for (int i = 0; i < 10; i++) {
+            compare(randomSample(random, 3 + random.nextInt(8), 1 + random.nextInt(40), 0.3));
+        }
+    }
+
+    @Test
+    void sampleLargerThanOneWord() {
+        compare(randomSample(new Random(3), 6, 150, 0.1));
+    }
+
+    @Test
+    void emptySample() {
+        compare(randomSample(new Random(4), 5, 0, 0));
+    }
+
+    @Test
+    void filtersAreApplied() {
+        Random random = new Random(5);
+        for (int i = 0; i < 5; i++) {
+            BooleanAssignmentList sample = randomSample(random, 3 + random.nextInt(6), 1 + random.nextInt(40), 0.2);
+            for (int t = 1; t <= 3; t++) {
+                CoverageStatistic expected =
+                        countIndividually(sample, t, EXCLUDE_FIRST_VARIABLE, INCLUDE_WITHOUT_SECOND_VARIABLE);
+                CoverageStatistic statistic = Computations.of(sample)
+                        .map(ComputeAbsoluteTWiseCoverage::new)
+                        .set(AComputeTWiseCoverage.COMBINATION_SET, specification(sample, t))
+                        .set(AComputeTWiseCoverage.EXCLUDE_INTERACTIONS, EXCLUDE_FIRST_VARIABLE)
+                        .set(AComputeTWiseCoverage.INCLUDE_INTERACTIONS, INCLUDE_WITHOUT_SECOND_VARIABLE)
+                        .compute();
+                assertTrue(expected.ignored() > 0);
+                assertStatistic(expected, statistic, "t=" + t);
+            }
+        }
+    }
+
+    private static void compare(BooleanAssignmentList sample) {
+        for (int t = 1; t <= 3; t++) {
+            CoverageStatistic expected =
+                    countIndividually(sample, t, ICombinationFilter.ACCEPT_NONE, ICombinationFilter.ACCEPT_ALL);
+
+            PrefixCoverageTraversal traversal =
+                    new PrefixCoverageTraversal(new SampleBitIndex(sample), specification(sample, t).elements(), t);
+            CoverageStatistic traversalStatistic = new CoverageStatistic();
+            for (int i = 0; i < traversal.getNumberOfSubTraversals(); i++) {
+                traversal.traverse(i, traversalStatistic);
+            }
+            assertStatistic(expected, traversalStatistic, "traversal t=" + t);
+
+            CoverageStatistic statistic = Computations.of(sample)
+                    .map(ComputeAbsoluteTWiseCoverage::new)
+                    .set(AComputeTWiseCoverage.COMBINATION_SET, specification(sample, t))
+                    .compute();
+            assertStatistic(expected, statistic, "computation t=" + t);
+        }
+    }
+
+    private static CoverageStatistic countIndividually(
+            BooleanAssignmentList sample, int t, ICombinationFilter excludeFilter, ICombinationFilter includeFilter) {
+        SampleBitIndex index = new SampleBitIndex(sample);
+        CoverageStatistic statistic = new CoverageStatistic();
+        specification(sample, t).forEach(interaction -> {
+            if (excludeFilter.test(interaction) || !includeFilter.test(interaction)) {
+                statistic.incNumberOfIgnoredElements();
+            } else if (index.test(interaction)) {
+                statistic.incNumberOfCoveredElements();
+            } else {
+                statistic.incNumberOfUncoveredElements();
+            }
+        });
+        return statistic;
+    }
+
+    private static VariableCombinationSpecification specification(BooleanAssignmentList sample, int t) {
+        return new VariableCombinationSpecification(t, sample.getVariableMap());
+    }
+
+    private static void assertStatistic(CoverageStatistic expected, CoverageStatistic actual, String message) {
+        assertEquals(expected.covered(), actual.covered(), message);
+        assertEquals(expected.uncovered(), actual.uncovered(), message);
+        assertEquals(expected.ignored(), actual.ignored(), message);
+        assertEquals(expected.invalid(), actual.invalid(), message);
+    }
+
+    private static BooleanAssignmentList randomSample(
+            Random random, int numberOfVariables, int size, double unassigned) {
+        List<BooleanAssignment> solutions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int[] literals = new int[numberOfVariables];
+            for (int v = 1; v <= numberOfVariables; v++) {
+                if (random.nextDouble() >= unassigned) {
+                    literals[v - 1] = random.nextBoolean() ? v : -v;
+                }
+            }
+            solutions.add(new BooleanSolution(literals, false));
+        }
+        return new BooleanAssignmentList(
+                new VariableMap(IntStream.rangeClosed(1, numberOfVariables)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.toList())),
+                solutions);
+    }
+}
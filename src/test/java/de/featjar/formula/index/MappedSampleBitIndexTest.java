@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import de.featjar.formula.computation.PrefixCoverageTraversal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MappedSampleBitIndex}.
+ *
+ * @author agent
+ */
+public class MappedSampleBitIndexTest {
+
+    private static final VariableMap VARIABLE_MAP = new VariableMap(List.of("a", "b", "c"));
+
+    private static final BooleanAssignmentList SAMPLE = new BooleanAssignmentList(
+            VARIABLE_MAP, new BooleanSolution(1, -2, 3), new BooleanSolution(-1, 2, 3), new BooleanSolution(1, 2, -3));
+
+    private static final BooleanAssignmentList OTHER_SAMPLE = new BooleanAssignmentList(
+            VARIABLE_MAP,
+            new BooleanSolution(-1, -2, -3),
+            new BooleanSolution(-1, 2, 3),
+            new BooleanSolution(1, 2, -3));
+
+    @Test
+    void validatesContentHash() throws IOException {
+        Path indexFile = Files.createTempFile("sample", ".index");
+        try {
+            long contentHash = MappedSampleBitIndex.computeContentHash(SAMPLE);
+            assertNotEquals(contentHash, MappedSampleBitIndex.computeContentHash(OTHER_SAMPLE));
+            MappedSampleBitIndex.write(indexFile, SAMPLE);
+            assertEquals(contentHash, MappedSampleBitIndex.open(indexFile, SAMPLE).getContentHash());
+            assertThrows(IOException.class, () -> MappedSampleBitIndex.open(indexFile, OTHER_SAMPLE));
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    void reusesIndexFileForSameSample() throws IOException {
+        Path sampleFile = Files.createTempFile("sample", ".csv");
+        Path indexFile = indexFile(sampleFile);
+        try {
+            ISampleIndex index = MappedSampleBitIndex.createBitIndex(SAMPLE, sampleFile);
+            assertTrue(index instanceof MappedSampleBitIndex);
+            assertConfigurations(SAMPLE, index);
+            Object fileKey = fileKey(indexFile);
+
+            assertConfigurations(SAMPLE, MappedSampleBitIndex.createBitIndex(SAMPLE.clone(), sampleFile));
+            assertEquals(fileKey, fileKey(indexFile));
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(sampleFile);
+        }
+    }
+
+    @Test
+    void rewritesIndexFileForDifferentSampleOfSameSize() throws IOException {
+        Path sampleFile = Files.createTempFile("sample", ".csv");
+        Path indexFile = indexFile(sampleFile);
+        try {
+            assertConfigurations(SAMPLE, MappedSampleBitIndex.createBitIndex(SAMPLE, sampleFile));
+            assertConfigurations(OTHER_SAMPLE, MappedSampleBitIndex.createBitIndex(OTHER_SAMPLE, sampleFile));
+            assertConfigurations(OTHER_SAMPLE, MappedSampleBitIndex.open(indexFile, OTHER_SAMPLE));
+        } finally {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(sampleFile);
+        }
+    }
+
+    @Test
+    void rewritesIndexFileForDifferentSample() throws IOException {
+        Path indexFile = Files.createTempFile("sample", ".index");
+        try {
+            MappedSampleBitIndex.write(indexFile, SAMPLE);
+            BooleanAssignmentList largerSample = SAMPLE.clone();
+            largerSample.add(new BooleanSolution(-1, -2, -3));
+            assertConfigurations(largerSample, MappedSampleBitIndex.openOrCreate(indexFile, largerSample));
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    void traversesMappedBitVectors() throws IOException {
+        Path indexFile = Files.createTempFile("sample", ".index");
+        try {
+            int[] variables = {1, 2, 3};
+            CoverageStatistic mappedStatistic = new CoverageStatistic();
+            new PrefixCoverageTraversal(MappedSampleBitIndex.write(indexFile, SAMPLE), variables, 2)
+                    .traverse(0, mappedStatistic);
+            CoverageStatistic statistic = new CoverageStatistic();
+            new PrefixCoverageTraversal(new SampleBitIndex(SAMPLE), variables, 2).traverse(0, statistic);
+            assertEquals(statistic.covered(), mappedStatistic.covered());
+            assertEquals(statistic.uncovered(), mappedStatistic.uncovered());
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    void createsIndexInMemoryWithoutSampleFile() {
+        assertConfigurations(SAMPLE, MappedSampleBitIndex.createBitIndex(SAMPLE, MappedSampleBitIndex.NO_SAMPLE_FILE));
+        assertFalse(Files.exists(indexFile(MappedSampleBitIndex.NO_SAMPLE_FILE)));
+    }
+
+    @Test
+    void convertsAdaptedIndexToSampleBitIndex() throws IOException {
+        Path indexFile = Files.createTempFile("sample", ".index");
+        try {
+            VariableMap newVariableMap = new VariableMap(List.of("c", "d", "a", "b"));
+            SampleBitIndex index = MappedSampleBitIndex.write(indexFile, SAMPLE)
+                    .adapt(newVariableMap)
+                    .toSampleBitIndex();
+            SampleBitIndex referenceIndex = new SampleBitIndex(SAMPLE).adapt(newVariableMap);
+            assertEquals(referenceIndex.size(), index.size());
+            for (int id = 0; id < referenceIndex.size(); id++) {
+                assertArrayEquals(referenceIndex.getConfiguration(id), index.getConfiguration(id));
+            }
+            assertEquals(referenceIndex.size(1, -3), index.size(1, -3));
+            assertEquals(0, index.size(2));
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    private static Path indexFile(Path sampleFile) {
+        return sampleFile.resolveSibling(sampleFile.getFileName() + MappedSampleBitIndex.FILE_SUFFIX);
+    }
+
+    private static Object fileKey(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+    }
+
+    private static void assertConfigurations(BooleanAssignmentList sample, ISampleIndex index) {
+        assertEquals(sample.size(), index.size());
+        for (int id = 0; id < sample.size(); id++) {
+            assertArrayEquals(sample.get(id).get(), index.getConfiguration(id));
+        }
+    }
+}
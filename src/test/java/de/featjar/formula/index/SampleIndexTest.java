@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula.
+ *
+ * formula is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula> for further information.
+ */
+package de.featjar.formula.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests all implementations of {@link ISampleIndex} against {@link SampleBitIndex}.
+ *
+ * @author agent
+ */
+public class SampleIndexTest {
+
+    private static final double[] DENSITIES = {0.5, 0.5, 0.9, 0.1, 0.001, 0.999, 0.02, 0.0};
+
+    @Test
+    void smallSample() throws IOException {
+        compare(randomSample(new Random(1), 130, 0));
+    }
+
+    @Test
+    void partialSample() throws IOException {
+        compare(randomSample(new Random(2), 1000, 0.2));
+    }
+
+    @Test
+    void sampleCrossingChunkBoundary() throws IOException {
+        compare(randomSample(new Random(3), (1 << 16) + 3000, 0.01));
+    }
+
+    @Test
+    void adaptedConcurrentIndex() {
+        final BooleanAssignmentList sample = randomSample(new Random(4), 3 * 4096 + 100, 0.1);
+        final List<String> names = new ArrayList<>(sample.getVariableMap().getVariableNames());
+        Collections.reverse(names);
+        names.add(1, "new");
+        final VariableMap newVariableMap = new VariableMap(names);
+        compare(
+                new SampleBitIndex(sample).adapt(newVariableMap),
+                new ConcurrentSampleBitIndex(sample).adapt(newVariableMap),
+                queries(new Random(4), newVariableMap.size()),
+                fromIndices(new Random(4), sample.size()));
+    }
+
+    @Test
+    void concurrentIndexRejectsInvalidLiteralsWithoutBlocking() {
+        final BooleanAssignmentList sample = randomSample(new Random(5), 100, 0);
+        final ConcurrentSampleBitIndex index = new ConcurrentSampleBitIndex(sample.getVariableMap());
+        index.add(sample.get(0).get());
+        assertThrows(IllegalArgumentException.class, () -> index.add(1, DENSITIES.length + 1));
+        for (int i = 1; i < sample.size(); i++) {
+            index.add(sample.get(i).get());
+        }
+        assertEquals(sample.size(), index.getReservedSize());
+        compare(
+                new SampleBitIndex(sample),
+                index,
+                queries(new Random(5), sample.getVariableMap().size()),
+                fromIndices(new Random(5), sample.size()));
+    }
+
+    private static void compare(BooleanAssignmentList sample) throws IOException {
+        final SampleBitIndex reference = new SampleBitIndex(sample);
+        final Path file = Files.createTempFile("sample", ".index");
+        try {
+            final SampleCompressedIndex unoptimizedIndex = new SampleCompressedIndex(sample.getVariableMap());
+            sample.forEach(unoptimizedIndex::addConfiguration);
+            final SampleCompressedIndex appendedIndex = new SampleCompressedIndex(sample.getVariableMap());
+            for (int i = 0; i < sample.size(); i++) {
+                if (i == sample.size() / 2) {
+                    appendedIndex.optimize();
+                }
+                appendedIndex.addConfiguration(sample.get(i));
+            }
+            final List<ISampleIndex> indexes = List.of(
+                    new SampleListIndex(sample),
+                    new SampleCompressedIndex(sample),
+                    unoptimizedIndex,
+                    appendedIndex,
+                    new SampleHybridIndex(sample),
+                    new ConcurrentSampleBitIndex(sample),
+                    MappedSampleBitIndex.write(file, sample),
+                    MappedSampleBitIndex.open(file).toSampleBitIndex());
+            final List<int[]> queries = queries(new Random(sample.size()), sample.getVariableMap().size());
+            final int[] fromIndices = fromIndices(new Random(sample.size()), sample.size());
+            for (ISampleIndex index : indexes) {
+                compare(reference, index, queries, fromIndices);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void compare(SampleBitIndex reference, ISampleIndex index, List<int[]> queries, int[] fromIndices) {
+        final String name = index.getClass().getSimpleName();
+        assertEquals(reference.size(), index.size(), name);
+        assertEquals(reference.getNumberOfVariables(), index.getNumberOfVariables(), name);
+        for (int id : new int[] {0, 63, 64, (1 << 16) - 1, 1 << 16, reference.size() - 1}) {
+            if (id < reference.size()) {
+                assertArrayEquals(reference.getConfiguration(id), index.getConfiguration(id), name + " " + id);
+            }
+        }
+        for (int[] literals : queries) {
+            final String message = name + " " + Arrays.toString(literals);
+            assertEquals(reference.test(literals), index.test(literals), message);
+            assertEquals(reference.index(literals), index.index(literals), message);
+            assertEquals(reference.size(literals), index.size(literals), message);
+            for (int fromIndex : fromIndices) {
+                assertEquals(
+                        reference.nextIndex(fromIndex, literals),
+                        index.nextIndex(fromIndex, literals),
+                        message + " from " + fromIndex);
+            }
+            assertArrayEquals(matches(reference, literals), matches(index, literals), message);
+        }
+    }
+
+    private static int[] matches(ISampleIndex index, int[] literals) {
+        final IntStream.Builder ids = IntStream.builder();
+        index.forEachMatch(ids::add, literals);
+        return ids.build().toArray();
+    }
+
+    private static List<int[]> queries(Random random, int numberOfVariables) {
+        final List<int[]> queries = new ArrayList<>();
+        queries.add(new int[0]);
+        final int[] literals = IntStream.rangeClosed(-numberOfVariables, numberOfVariables)
+                .filter(literal -> literal != 0)
+                .toArray();
+        for (int i = 0; i < literals.length; i++) {
+            queries.add(new int[] {literals[i]});
+            for (int j = i + 1; j < literals.length; j++) {
+                if (literals[i] != -literals[j]) {
+                    queries.add(new int[] {literals[i], literals[j]});
+                }
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            queries.add(random.ints(3, 1, numberOfVariables + 1)
+                    .distinct()
+                    .map(variable -> random.nextBoolean() ? variable : -variable)
+                    .toArray());
+        }
+        return queries;
+    }
+
+    private static int[] fromIndices(Random random, int size) {
+        final int[] fromIndices = {
+            -1, 0, 1, 63, 64, (1 << 16) - 1, 1 << 16, (1 << 16) + 1, size - 1, size, size + 1, 0, 0, 0
+        };
+        for (int i = fromIndices.length - 3; i < fromIndices.length; i++) {
+            fromIndices[i] = random.nextInt(size);
+        }
+        return fromIndices;
+    }
+
+    private static BooleanAssignmentList randomSample(Random random, int size, double unassigned) {
+        final VariableMap variableMap = new VariableMap(IntStream.rangeClosed(1, DENSITIES.length)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.toList()));
+        final BooleanAssignmentList sample = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < size; i++) {
+            final int[] literals = new int[DENSITIES.length];
+            for (int v = 1; v <= literals.length; v++) {
+                if (random.nextDouble() >= unassigned) {
+                    literals[v - 1] = random.nextDouble() < DENSITIES[v - 1] ? v : -v;
+                }
+            }
+            sample.add(new BooleanSolution(literals, false));
+        }
+        return sample;
+    }
+}